@@ -0,0 +1,32 @@
+#!/usr/bin/env sh
+# ===========================================
+# Load test: open-model HTTP load with latency percentiles per operation
+# ===========================================
+#
+# Usage: scripts/load-test.sh [--key=value...]
+#   JAR       application jar holding the driver (default target/loan_origination_system-0.0.1-SNAPSHOT.jar)
+#
+# Options (defaults in brackets):
+#   --base-url=URL            [http://localhost:8080]
+#   --username=, --password=  user the driver logs in as [admin / admin]
+#   --rate=N                  requests started per second [50]
+#   --duration=, --warmup=    ISO-8601 or seconds [PT5M / PT30S]
+#   --max-in-flight=N         outstanding requests before new ones are dropped [200]
+#   --mix=op:weight,...       e.g. --mix=loan-lookup:50,origination:0 (see Operation)
+#   --payment-method-id=, --payment-type-id=   used for repayments [1 / 1]
+#   --histogram-dir=DIR       write one .hgrm percentile distribution per operation
+#
+# Generate a portfolio first, against the same database the application uses:
+#   java -jar "$JAR" --spring.profiles.active=datagen --loan.datagen.loans=1000000
+# then start the application and run e.g.:
+#   scripts/load-test.sh --rate=200 --duration=PT10M --histogram-dir=target/load-test
+
+JAR=${JAR:-target/loan_origination_system-0.0.1-SNAPSHOT.jar}
+
+if [ ! -f "$JAR" ]; then
+    echo "$JAR not found; build it with ./mvnw package -DskipTests"
+    exit 1
+fi
+
+exec java -cp "$JAR" -Dloader.main=com.example.loan_origination_system.loadtest.LoadTestDriver \
+    org.springframework.boot.loader.launch.PropertiesLauncher "$@"
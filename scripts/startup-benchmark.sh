@@ -0,0 +1,57 @@
+#!/usr/bin/env sh
+# ===========================================
+# Startup benchmark: time from JVM launch to readiness UP
+# ===========================================
+#
+# Usage: scripts/startup-benchmark.sh [runs] [-- java options...]
+#   JAR       application jar (default target/loan_origination_system-0.0.1-SNAPSHOT.jar)
+#   PORT      port to start on (default 18080)
+#   TIMEOUT   seconds to wait for readiness per run (default 180)
+#
+# The database and other variables from application.properties (DB_URL, JWT_TOKEN, ...)
+# must be set as for a normal run. Compare e.g.:
+#   scripts/startup-benchmark.sh 5
+#   scripts/startup-benchmark.sh 5 -- -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true
+
+RUNS=${1:-5}
+[ $# -gt 0 ] && shift
+[ "$1" = "--" ] && shift
+JAR=${JAR:-target/loan_origination_system-0.0.1-SNAPSHOT.jar}
+PORT=${PORT:-18080}
+TIMEOUT=${TIMEOUT:-180}
+URL="http://localhost:$PORT/actuator/health/readiness"
+
+now_ms() {
+    date +%s%3N
+}
+
+results=""
+i=1
+while [ "$i" -le "$RUNS" ]; do
+    start=$(now_ms)
+    SERVER_PORT=$PORT java "$@" -jar "$JAR" > "startup-benchmark-$i.log" 2>&1 &
+    pid=$!
+    ready=""
+    while [ -z "$ready" ] && kill -0 "$pid" 2>/dev/null; do
+        if curl -fs "$URL" 2>/dev/null | grep -q '"UP"'; then
+            ready=$(( $(now_ms) - start ))
+        elif [ $(( $(now_ms) - start )) -gt $(( TIMEOUT * 1000 )) ]; then
+            break
+        else
+            sleep 0.05
+        fi
+    done
+    kill "$pid" 2>/dev/null
+    wait "$pid" 2>/dev/null
+    if [ -z "$ready" ]; then
+        echo "run $i: not ready (see startup-benchmark-$i.log)"
+        exit 1
+    fi
+    echo "run $i: ready in ${ready} ms"
+    results="$results$ready\n"
+    i=$(( i + 1 ))
+done
+
+printf "$results" | sort -n | awk '{ v[NR] = $1 } END {
+    printf "time-to-ready over %d runs: min %d ms, median %d ms, max %d ms\n", NR, v[1], v[int((NR + 1) / 2)], v[NR]
+}'
@@ -0,0 +1,193 @@
+package com.example.loan_origination_system.bot;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.loan_origination_system.model.bot.ChatSession;
+import com.example.loan_origination_system.model.enums.ConversationState;
+import com.example.loan_origination_system.repository.ChatSessionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded, expiring per-chat conversation state.
+ *
+ * Business Rules:
+ * 1. A chat with no stored state is IDLE; IDLE is never stored
+ * 2. State expires after idleTtl without activity
+ * 3. At most maxChats states are held in memory; the least recently active chat is evicted first
+ * 4. With persistence enabled, states are written through to bot_chat_session and
+ *    reloaded on a cache miss, so a restart does not drop in-flight conversations
+ *
+ * Entries are kept in order of last state change, so the head of the map is always
+ * the least recently active chat and eviction on overflow is O(1).
+ */
+@Component
+@Slf4j
+public class ConversationStateStore {
+
+    private final ChatSessionRepository chatSessionRepository;
+    private final Clock clock;
+    private final Duration idleTtl;
+    private final int maxChats;
+    private final boolean persistent;
+
+    private final LinkedHashMap<Long, Entry> states;
+    private final Counter evictions;
+
+    @Autowired
+    public ConversationStateStore(ChatSessionRepository chatSessionRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${telegram.bot.state.idle-ttl:PT30M}") Duration idleTtl,
+                                  @Value("${telegram.bot.state.max-chats:10000}") int maxChats,
+                                  @Value("${telegram.bot.state.persistent:false}") boolean persistent) {
+        this(chatSessionRepository, meterRegistry, idleTtl, maxChats, persistent, Clock.systemDefaultZone());
+    }
+
+    ConversationStateStore(ChatSessionRepository chatSessionRepository, MeterRegistry meterRegistry,
+                           Duration idleTtl, int maxChats, boolean persistent, Clock clock) {
+        this.chatSessionRepository = chatSessionRepository;
+        this.idleTtl = idleTtl;
+        this.maxChats = maxChats;
+        this.persistent = persistent;
+        this.clock = clock;
+
+        this.states = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > ConversationStateStore.this.maxChats) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        Gauge.builder("telegram.conversations.active", this, ConversationStateStore::size)
+            .description("Chats with conversation state in memory")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("telegram.conversations.evicted")
+            .description("Conversation states evicted because the store was full")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get the current state of a chat, IDLE if none or expired.
+     */
+    public ConversationState get(long chatId) {
+        Instant now = clock.instant();
+        synchronized (states) {
+            Entry entry = states.get(chatId);
+            if (entry != null) {
+                if (!entry.isExpired(now, idleTtl)) {
+                    return entry.state();
+                }
+                states.remove(chatId);
+                return ConversationState.IDLE;
+            }
+        }
+        return persistent ? load(chatId, now) : ConversationState.IDLE;
+    }
+
+    /**
+     * Set the state of a chat, refreshing its idle timer.
+     */
+    public void set(long chatId, ConversationState state) {
+        if (state == ConversationState.IDLE) {
+            clear(chatId);
+            return;
+        }
+        Instant now = clock.instant();
+        synchronized (states) {
+            // Re-insert so the chat moves to the most recently active end
+            states.remove(chatId);
+            states.put(chatId, new Entry(state, now));
+        }
+        if (persistent) {
+            ChatSession session = new ChatSession();
+            session.setChatId(chatId);
+            session.setState(state);
+            session.setUpdatedAt(LocalDateTime.ofInstant(now, clock.getZone()));
+            chatSessionRepository.save(session);
+        }
+    }
+
+    /**
+     * Return a chat to IDLE.
+     */
+    public void clear(long chatId) {
+        synchronized (states) {
+            states.remove(chatId);
+        }
+        if (persistent) {
+            // The row may outlive the in-memory entry (evicted or restarted), so always delete it
+            chatSessionRepository.deleteById(chatId);
+        }
+    }
+
+    public int size() {
+        synchronized (states) {
+            return states.size();
+        }
+    }
+
+    /**
+     * Drop expired states from memory (and from the table when persistent).
+     */
+    @Scheduled(fixedDelayString = "${telegram.bot.state.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        Instant now = clock.instant();
+        int removed = 0;
+        synchronized (states) {
+            Iterator<Entry> it = states.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().isExpired(now, idleTtl)) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        }
+        if (persistent) {
+            chatSessionRepository.deleteIdleSince(LocalDateTime.ofInstant(now.minus(idleTtl), clock.getZone()));
+        }
+        if (removed > 0) {
+            log.debug("Expired {} idle bot conversations", removed);
+        }
+    }
+
+    private ConversationState load(long chatId, Instant now) {
+        return chatSessionRepository.findById(chatId)
+            .filter(session -> session.getUpdatedAt() != null)
+            .map(session -> {
+                Instant updatedAt = session.getUpdatedAt().atZone(clock.getZone()).toInstant();
+                Entry entry = new Entry(session.getState(), updatedAt);
+                if (entry.isExpired(now, idleTtl)) {
+                    return ConversationState.IDLE;
+                }
+                synchronized (states) {
+                    states.putIfAbsent(chatId, entry);
+                }
+                return entry.state();
+            })
+            .orElse(ConversationState.IDLE);
+    }
+
+    private record Entry(ConversationState state, Instant lastActivity) {
+        boolean isExpired(Instant now, Duration ttl) {
+            return lastActivity.plus(ttl).isBefore(now);
+        }
+    }
+}
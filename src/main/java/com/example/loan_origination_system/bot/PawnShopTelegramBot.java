@@ -1,65 +1,106 @@
 package com.example.loan_origination_system.bot;
 
 import com.example.loan_origination_system.exception.BusinessException;
-import com.example.loan_origination_system.model.loan.PawnLoan;
-import com.example.loan_origination_system.service.PawnLoanService;
+import com.example.loan_origination_system.model.enums.ConversationState;
+import com.example.loan_origination_system.model.loan.LoanStatusView;
+import com.example.loan_origination_system.service.LoanStatusCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.telegram.telegrambots.bots.TelegramLongPollingBot;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
 import org.telegram.telegrambots.meta.api.objects.Update;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Component
-public class PawnShopTelegramBot extends TelegramLongPollingBot {
+@Slf4j
+public class PawnShopTelegramBot extends TelegramLongPollingBot implements TelegramTransport {
+
+    private static final int TOO_MANY_REQUESTS = 429;
 
     @Value("${telegram.bot.username}")
     private String botUsername;
 
-    private final PawnLoanService pawnLoanService;
-    private final Map<Long, String> userStates = new ConcurrentHashMap<>();
+    private final LoanStatusCache loanStatusCache;
+    private final UpdateDispatcher updateDispatcher;
+    private final TelegramRateLimiter rateLimiter;
+    private final TelegramTransport transport;
+    private final ConversationStateStore conversationStates;
+
+    @Autowired
+    public PawnShopTelegramBot(@Value("${telegram.bot.token}") String botToken, LoanStatusCache loanStatusCache,
+                               UpdateDispatcher updateDispatcher, TelegramRateLimiter rateLimiter,
+                               ConversationStateStore conversationStates) {
+        this(botToken, loanStatusCache, updateDispatcher, rateLimiter, conversationStates, null);
+    }
 
-    public PawnShopTelegramBot(@Value("${telegram.bot.token}") String botToken, PawnLoanService pawnLoanService) {
+    /**
+     * Test constructor: sends through the given transport instead of the Telegram API.
+     */
+    PawnShopTelegramBot(String botToken, LoanStatusCache loanStatusCache, UpdateDispatcher updateDispatcher,
+                        TelegramRateLimiter rateLimiter, ConversationStateStore conversationStates,
+                        TelegramTransport transport) {
         super(botToken);
-        this.pawnLoanService = pawnLoanService;
+        this.loanStatusCache = loanStatusCache;
+        this.updateDispatcher = updateDispatcher;
+        this.rateLimiter = rateLimiter;
+        this.conversationStates = conversationStates;
+        this.transport = transport != null ? transport : message -> execute(message);
     }
 
     @Override
     public String getBotUsername() { return botUsername; }
 
+    /**
+     * Raw outbound send, shared with other senders such as the reminder broadcaster.
+     * Callers are responsible for rate limiting and retries.
+     */
+    @Override
+    public void send(SendMessage message) throws TelegramApiException {
+        transport.send(message);
+    }
+
+    /**
+     * Called on the long-polling thread: only hands the update to the dispatcher,
+     * so a slow lookup or send for one chat never delays the others.
+     */
     @Override
     public void onUpdateReceived(Update update) {
         if (update.hasMessage() && update.getMessage().hasText()) {
             String messageText = update.getMessage().getText().trim();
             long chatId = update.getMessage().getChatId();
+            updateDispatcher.dispatch(chatId, () -> handleMessage(chatId, messageText));
+        }
+    }
 
-            if (messageText.equalsIgnoreCase("/start") || messageText.equalsIgnoreCase("/cancel")) {
-                userStates.remove(chatId);
-                sendMessage(chatId, "🏦 *Welcome to Loy Pawn Shop!*\n\n1️⃣ Check Loan Status\n2️⃣ Pay Bill (Soon)\n\n_Type /cancel to return here._");
-                return;
-            }
+    private void handleMessage(long chatId, String messageText) {
+        if (messageText.equalsIgnoreCase("/start") || messageText.equalsIgnoreCase("/cancel")) {
+            conversationStates.clear(chatId);
+            sendMessage(chatId, "🏦 *Welcome to Loy Pawn Shop!*\n\n1️⃣ Check Loan Status\n2️⃣ Pay Bill (Soon)\n\n_Type /cancel to return here._");
+            return;
+        }
 
-            String state = userStates.getOrDefault(chatId, "NONE");
+        ConversationState state = conversationStates.get(chatId);
 
-            if (state.equals("NONE") && messageText.equals("1")) {
-                userStates.put(chatId, "WAITING_FOR_CODE");
-                sendMessage(chatId, "🔍 Please enter your *Loan Code* (e.g., LOAN-XXXXXX):");
-            } else if (state.equals("WAITING_FOR_CODE")) {
-                handleStatus(chatId, messageText);
-            }
+        if (state == ConversationState.IDLE && messageText.equals("1")) {
+            conversationStates.set(chatId, ConversationState.AWAITING_LOAN_CODE);
+            sendMessage(chatId, "🔍 Please enter your *Loan Code* (e.g., LOAN-001-0000001234-5):");
+        } else if (state == ConversationState.AWAITING_LOAN_CODE) {
+            handleStatus(chatId, messageText);
         }
     }
 
     private void handleStatus(long chatId, String code) {
         try {
-            PawnLoan loan = pawnLoanService.getLoanByCode(code);
-            String resp = String.format("📄 *Loan Found!*\n🔖 Code: `%s`\n💰 Principal: $%.2f\n📅 Due: %s",
-                    loan.getLoanCode(), loan.getLoanAmount(), loan.getDueDate());
+            LoanStatusView loan = loanStatusCache.getByCode(code);
+            String resp = String.format("📄 *Loan Found!*\n🔖 Code: `%s`\n💰 Principal: $%.2f\n📅 Due: %s\n📌 Status: %s\n💵 Remaining: $%.2f",
+                    loan.loanCode(), loan.principal(), loan.dueDate(), loan.status(), loan.remainingBalance());
             sendMessage(chatId, resp);
-            userStates.remove(chatId);
+            conversationStates.clear(chatId);
         } catch (BusinessException e) {
             sendMessage(chatId, "❌ " + e.getMessage());
         }
@@ -70,6 +111,29 @@ public class PawnShopTelegramBot extends TelegramLongPollingBot {
         sm.setChatId(String.valueOf(chatId));
         sm.setText(text);
         sm.setParseMode("Markdown");
-        try { execute(sm); } catch (TelegramApiException e) { e.printStackTrace(); }
+        try {
+            rateLimiter.acquire(chatId);
+            sendHonouringRetryAfter(sm);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TelegramApiException e) {
+            log.error("Failed to send message to chat {}: {}", chatId, e.getMessage());
+        }
+    }
+
+    /**
+     * Send once, honouring a single retry_after if Telegram still throttles us.
+     */
+    private void sendHonouringRetryAfter(SendMessage sm) throws TelegramApiException, InterruptedException {
+        try {
+            transport.send(sm);
+        } catch (TelegramApiRequestException e) {
+            if (e.getErrorCode() == null || e.getErrorCode() != TOO_MANY_REQUESTS
+                    || e.getParameters() == null || e.getParameters().getRetryAfter() == null) {
+                throw e;
+            }
+            TimeUnit.SECONDS.sleep(e.getParameters().getRetryAfter());
+            transport.send(sm);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,298 @@
+package com.example.loan_origination_system.bot;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import com.example.loan_origination_system.model.bot.ReminderDeadLetter;
+import com.example.loan_origination_system.model.bot.ReminderTarget;
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.enums.ReminderType;
+import com.example.loan_origination_system.repository.PawnLoanRepository;
+import com.example.loan_origination_system.repository.ReminderDeadLetterRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Due-date reminder fan-out to customers' linked Telegram chats.
+ *
+ * Business Rules:
+ * 1. ACTIVE and PARTIALLY_PAID loans due in exactly daysBefore days get a DUE_SOON reminder
+ * 2. OVERDUE loans get an OVERDUE reminder on every run
+ * 3. Only customers with a linked telegramChatId are contacted
+ * 4. Failed sends are retried with exponential backoff (honouring Telegram's retry_after);
+ *    permanent failures (chat blocked or not found) and exhausted retries go to bot_reminder_dead_letter
+ *
+ * A run executes on its own thread, so the scheduler thread returns immediately.
+ * Targets are read in keyset-paged projections and each send runs on a virtual thread;
+ * a semaphore bounds sends in flight, so memory stays flat however many loans are due.
+ * Throughput is capped by TelegramRateLimiter (about 30 messages per second).
+ */
+@Component
+@Slf4j
+public class ReminderBroadcaster implements DisposableBean {
+
+    private static final List<LoanStatus> DUE_SOON_STATUSES = List.of(LoanStatus.ACTIVE, LoanStatus.PARTIALLY_PAID);
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final PawnLoanRepository pawnLoanRepository;
+    private final ReminderDeadLetterRepository deadLetterRepository;
+    private final TelegramTransport transport;
+    private final TelegramRateLimiter rateLimiter;
+
+    private final int daysBefore;
+    private final int pageSize;
+    private final int maxInFlight;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+
+    private final ExecutorService runExecutor = Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().name("reminder-broadcast").daemon().factory());
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter sentCounter;
+    private final Counter deadLetterCounter;
+
+    public ReminderBroadcaster(PawnLoanRepository pawnLoanRepository,
+                               ReminderDeadLetterRepository deadLetterRepository,
+                               TelegramTransport transport,
+                               TelegramRateLimiter rateLimiter,
+                               MeterRegistry meterRegistry,
+                               @Value("${telegram.reminders.days-before:3}") int daysBefore,
+                               @Value("${telegram.reminders.page-size:500}") int pageSize,
+                               @Value("${telegram.reminders.max-in-flight:100}") int maxInFlight,
+                               @Value("${telegram.reminders.max-attempts:3}") int maxAttempts,
+                               @Value("${telegram.reminders.initial-backoff-ms:1000}") long initialBackoffMillis) {
+        this.pawnLoanRepository = pawnLoanRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.transport = transport;
+        this.rateLimiter = rateLimiter;
+        this.daysBefore = daysBefore;
+        this.pageSize = pageSize;
+        this.maxInFlight = maxInFlight;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+
+        this.sentCounter = Counter.builder("telegram.reminders.sent")
+            .description("Reminders delivered to Telegram")
+            .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("telegram.reminders.dead.lettered")
+            .description("Reminders that could not be delivered")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Start a reminder run in the background.
+     * A run already in progress is not overlapped; the returned future then completes with an empty result.
+     *
+     * @param asOfDate Business date the reminders are for
+     */
+    public CompletableFuture<BroadcastResult> broadcastAsync(LocalDate asOfDate) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Reminder run for {} skipped: previous run still in progress", asOfDate);
+            return CompletableFuture.completedFuture(new BroadcastResult(0, 0, 0));
+        }
+        return CompletableFuture.supplyAsync(() -> broadcast(asOfDate), runExecutor)
+            .whenComplete((result, error) -> {
+                running.set(false);
+                if (error != null) {
+                    log.error("Reminder run for {} failed: {}", asOfDate, error.getMessage());
+                } else {
+                    log.info("Reminder run for {}: {} targets, {} sent, {} dead-lettered",
+                        asOfDate, result.targets(), result.sent(), result.deadLettered());
+                }
+            });
+    }
+
+    /**
+     * Run both reminder passes to completion on the calling thread.
+     */
+    BroadcastResult broadcast(LocalDate asOfDate) {
+        Run run = new Run(asOfDate);
+        LocalDate dueDate = asOfDate.plusDays(daysBefore);
+
+        run.fanOut(ReminderType.DUE_SOON, afterId ->
+            pawnLoanRepository.findReminderTargetsDueOn(DUE_SOON_STATUSES, dueDate, afterId, PageRequest.of(0, pageSize)));
+        run.fanOut(ReminderType.OVERDUE, afterId ->
+            pawnLoanRepository.findOverdueReminderTargets(asOfDate, afterId, PageRequest.of(0, pageSize)));
+
+        run.awaitInFlight();
+        run.flushDeadLetters();
+        return new BroadcastResult(run.targets, run.sent.get(), run.deadLettered.get());
+    }
+
+    @Override
+    public void destroy() {
+        runExecutor.shutdownNow();
+        sendExecutor.shutdownNow();
+    }
+
+    static String messageFor(ReminderType type, ReminderTarget target, LocalDate asOfDate) {
+        long days = Math.abs(ChronoUnit.DAYS.between(asOfDate, target.dueDate()));
+        String amount = String.format("%s %.2f", target.currencyCode(), target.amountDue());
+        if (type == ReminderType.OVERDUE) {
+            return String.format("⚠️ *Loan Overdue*\n🔖 Code: `%s`\n📅 Was due: %s (%d days ago)\n💰 Amount due: %s",
+                target.loanCode(), target.dueDate(), days, amount);
+        }
+        return String.format("⏰ *Payment Reminder*\n🔖 Code: `%s`\n📅 Due: %s (in %d days)\n💰 Amount due: %s",
+            target.loanCode(), target.dueDate(), days, amount);
+    }
+
+    /**
+     * State of a single run. Sends complete on virtual threads; dead letters are
+     * queued by them and persisted in batches from the run thread.
+     */
+    private class Run {
+        private final LocalDate asOfDate;
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+        private final Queue<ReminderDeadLetter> deadLetters = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger deadLettered = new AtomicInteger();
+        private int targets;
+
+        Run(LocalDate asOfDate) {
+            this.asOfDate = asOfDate;
+        }
+
+        void fanOut(ReminderType type, LongFunction<List<ReminderTarget>> pageAfter) {
+            long cursor = 0L;
+            while (true) {
+                List<ReminderTarget> page = pageAfter.apply(cursor);
+                if (page.isEmpty()) {
+                    return;
+                }
+                for (ReminderTarget target : page) {
+                    // Blocks once maxInFlight sends are pending, so reading never runs ahead of sending
+                    inFlight.acquireUninterruptibly();
+                    sendExecutor.execute(() -> {
+                        try {
+                            deliver(type, target);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+                targets += page.size();
+                cursor = page.get(page.size() - 1).loanId();
+                if (deadLetters.size() >= pageSize) {
+                    flushDeadLetters();
+                }
+            }
+        }
+
+        void awaitInFlight() {
+            inFlight.acquireUninterruptibly(maxInFlight);
+            inFlight.release(maxInFlight);
+        }
+
+        void flushDeadLetters() {
+            List<ReminderDeadLetter> batch = new ArrayList<>();
+            ReminderDeadLetter deadLetter;
+            while ((deadLetter = deadLetters.poll()) != null) {
+                batch.add(deadLetter);
+            }
+            if (!batch.isEmpty()) {
+                deadLetterRepository.saveAll(batch);
+            }
+        }
+
+        private void deliver(ReminderType type, ReminderTarget target) {
+            SendMessage message = new SendMessage();
+            message.setChatId(String.valueOf(target.chatId()));
+            message.setText(messageFor(type, target, asOfDate));
+            message.setParseMode("Markdown");
+
+            long backoffMillis = initialBackoffMillis;
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    rateLimiter.acquire(target.chatId());
+                    transport.send(message);
+                    sent.incrementAndGet();
+                    sentCounter.increment();
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    deadLetter(type, target, message, attempt, "Interrupted");
+                    return;
+                } catch (TelegramApiException e) {
+                    if (attempt >= maxAttempts || !isRetryable(e)) {
+                        deadLetter(type, target, message, attempt, e.getMessage());
+                        return;
+                    }
+                    long delayMillis = Math.max(backoffMillis, retryAfterMillis(e));
+                    backoffMillis *= 2;
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(delayMillis);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        deadLetter(type, target, message, attempt, e.getMessage());
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void deadLetter(ReminderType type, ReminderTarget target, SendMessage message,
+                                int attempts, String error) {
+            ReminderDeadLetter deadLetter = new ReminderDeadLetter();
+            deadLetter.setPawnLoanId(target.loanId());
+            deadLetter.setLoanCode(target.loanCode());
+            deadLetter.setChatId(target.chatId());
+            deadLetter.setReminderType(type);
+            deadLetter.setMessage(message.getText());
+            deadLetter.setAttempts(attempts);
+            deadLetter.setLastError(error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            deadLetters.add(deadLetter);
+            deadLettered.incrementAndGet();
+            deadLetterCounter.increment();
+        }
+    }
+
+    /**
+     * Rate limiting and server errors are transient; other API errors
+     * (bot blocked, chat not found, bad request) will fail the same way again.
+     * Exceptions without an error code are network failures and worth retrying.
+     */
+    private static boolean isRetryable(TelegramApiException e) {
+        if (e instanceof TelegramApiRequestException requestException && requestException.getErrorCode() != null) {
+            int code = requestException.getErrorCode();
+            return code == TOO_MANY_REQUESTS || code >= 500;
+        }
+        return true;
+    }
+
+    private static long retryAfterMillis(TelegramApiException e) {
+        if (e instanceof TelegramApiRequestException requestException
+                && requestException.getParameters() != null
+                && requestException.getParameters().getRetryAfter() != null) {
+            return TimeUnit.SECONDS.toMillis(requestException.getParameters().getRetryAfter());
+        }
+        return 0L;
+    }
+
+    public record BroadcastResult(int targets, int sent, int deadLettered) {}
+}
@@ -0,0 +1,110 @@
+package com.example.loan_origination_system.bot;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.meta.TelegramBotsApi;
+import org.telegram.telegrambots.meta.generics.BotSession;
+import org.telegram.telegrambots.meta.generics.LongPollingBot;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registers the long-polling bot with Telegram off the startup path.
+ *
+ * Registration calls the Telegram API. It starts after the application is ready and,
+ * when Telegram is unreachable, is retried on the task scheduler with exponential backoff
+ * (initialBackoff doubling up to maxBackoff) until it succeeds. Outbound sends such as
+ * reminders do not need the long-polling session and work meanwhile.
+ */
+@Component
+@Slf4j
+public class TelegramBotRegistrar implements DisposableBean {
+
+    private final TelegramBotsApi telegramBotsApi;
+    private final LongPollingBot bot;
+    private final TaskScheduler taskScheduler;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private volatile BotSession session;
+    private volatile ScheduledFuture<?> pendingAttempt;
+    private volatile boolean stopped;
+    private int attempts;
+
+    @Autowired
+    public TelegramBotRegistrar(TelegramBotsApi telegramBotsApi,
+                                PawnShopTelegramBot bot,
+                                TaskScheduler taskScheduler,
+                                @Value("${telegram.bot.registration.initial-backoff:PT5S}") Duration initialBackoff,
+                                @Value("${telegram.bot.registration.max-backoff:PT5M}") Duration maxBackoff) {
+        this(telegramBotsApi, (LongPollingBot) bot, taskScheduler, initialBackoff, maxBackoff);
+    }
+
+    /**
+     * Test constructor: registers any long-polling bot.
+     */
+    TelegramBotRegistrar(TelegramBotsApi telegramBotsApi, LongPollingBot bot, TaskScheduler taskScheduler,
+                         Duration initialBackoff, Duration maxBackoff) {
+        this.telegramBotsApi = telegramBotsApi;
+        this.bot = bot;
+        this.taskScheduler = taskScheduler;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerOnStartup() {
+        schedule(Instant.now());
+    }
+
+    public boolean isRegistered() {
+        return session != null;
+    }
+
+    private synchronized void schedule(Instant at) {
+        if (!stopped) {
+            pendingAttempt = taskScheduler.schedule(this::attempt, at);
+        }
+    }
+
+    private void attempt() {
+        if (stopped || session != null) {
+            return;
+        }
+        try {
+            session = telegramBotsApi.registerBot(bot);
+            log.info("Telegram bot {} registered after {} attempt(s)", bot.getBotUsername(), attempts + 1);
+        } catch (Exception e) {
+            Duration backoff = backoff(attempts++);
+            log.warn("Telegram bot registration failed (attempt {}), retrying in {}: {}",
+                attempts, backoff, e.getMessage());
+            schedule(Instant.now().plus(backoff));
+        }
+    }
+
+    Duration backoff(int failedAttempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(failedAttempts, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        stopped = true;
+        if (pendingAttempt != null) {
+            pendingAttempt.cancel(false);
+        }
+        BotSession current = session;
+        if (current != null && current.isRunning()) {
+            current.stop();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.loan_origination_system.bot;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Token-bucket limiter for outbound bot messages.
+ *
+ * Telegram allows roughly 30 messages per second overall and 1 per second per chat;
+ * a send must take a token from both the global bucket and the chat's bucket.
+ * Callers block until tokens are available, which is cheap on virtual threads.
+ */
+@Component
+public class TelegramRateLimiter {
+
+    // Above this many tracked chats, idle (fully refilled) chat buckets are discarded
+    private static final int MAX_TRACKED_CHATS = 10_000;
+
+    private final TokenBucket globalBucket;
+    private final Map<Long, TokenBucket> chatBuckets = new ConcurrentHashMap<>();
+    private final double perChatPerSecond;
+    private final int perChatBurst;
+
+    private final Counter throttledSends;
+    private final Timer waitTime;
+
+    public TelegramRateLimiter(@Value("${telegram.bot.rate.global-per-second:30}") double globalPerSecond,
+                               @Value("${telegram.bot.rate.per-chat-per-second:1}") double perChatPerSecond,
+                               @Value("${telegram.bot.rate.per-chat-burst:3}") int perChatBurst,
+                               MeterRegistry meterRegistry) {
+        this.globalBucket = new TokenBucket((int) Math.max(1, globalPerSecond), globalPerSecond);
+        this.perChatPerSecond = perChatPerSecond;
+        this.perChatBurst = perChatBurst;
+
+        Gauge.builder("telegram.outbound.tracked.chats", chatBuckets, Map::size)
+            .description("Chats with an outbound rate-limit bucket")
+            .register(meterRegistry);
+        this.throttledSends = Counter.builder("telegram.outbound.throttled")
+            .description("Outbound messages delayed by the rate limiter")
+            .register(meterRegistry);
+        this.waitTime = Timer.builder("telegram.outbound.wait")
+            .description("Time outbound messages waited for a rate-limit token")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Block until a message may be sent to the chat.
+     */
+    public void acquire(long chatId) throws InterruptedException {
+        if (chatBuckets.size() > MAX_TRACKED_CHATS) {
+            chatBuckets.values().removeIf(TokenBucket::isFull);
+        }
+        TokenBucket chatBucket = chatBuckets.computeIfAbsent(chatId, id -> new TokenBucket(perChatBurst, perChatPerSecond));
+
+        // Chat first, so a chatty chat waits on its own bucket without holding global tokens
+        long waitNanos = chatBucket.reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        long globalWaitNanos = globalBucket.reserve();
+        if (globalWaitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(globalWaitNanos);
+        }
+
+        long totalWait = waitNanos + globalWaitNanos;
+        if (totalWait > 0) {
+            throttledSends.increment();
+        }
+        waitTime.record(totalWait, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Classic token bucket. reserve() always takes a token, letting the balance go
+     * negative, and returns how long the caller must wait for it; this keeps callers
+     * in FIFO order without holding the lock while sleeping.
+     */
+    static class TokenBucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(int capacity, double tokensPerSecond) {
+            this.capacity = capacity;
+            this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.tokens = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        synchronized long reserve() {
+            refill();
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+        }
+
+        synchronized boolean isFull() {
+            refill();
+            return tokens >= capacity;
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
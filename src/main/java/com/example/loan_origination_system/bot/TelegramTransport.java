@@ -0,0 +1,13 @@
+package com.example.loan_origination_system.bot;
+
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+
+/**
+ * Outbound channel to Telegram. The bot sends through its own execute() by default;
+ * tests plug in a local fake so no network calls are made.
+ */
+@FunctionalInterface
+public interface TelegramTransport {
+    void send(SendMessage message) throws TelegramApiException;
+}
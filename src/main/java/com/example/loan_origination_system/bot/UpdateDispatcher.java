@@ -0,0 +1,125 @@
+package com.example.loan_origination_system.bot;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs bot updates off the long-polling thread.
+ *
+ * Business Rules:
+ * 1. Updates from the same chat run one at a time, in arrival order
+ * 2. Different chats run concurrently on virtual threads
+ * 3. At most maxPendingUpdates are queued or running; when full the polling thread
+ *    waits up to enqueueTimeoutMs and then drops the update (counted in metrics)
+ */
+@Component
+@Slf4j
+public class UpdateDispatcher implements DisposableBean {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Long, CompletableFuture<Void>> chatTails = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Semaphore capacity;
+    private final long enqueueTimeoutMs;
+
+    private final Counter droppedUpdates;
+    private final Timer processingTime;
+
+    public UpdateDispatcher(@Value("${telegram.bot.max-pending-updates:1000}") int maxPendingUpdates,
+                            @Value("${telegram.bot.enqueue-timeout-ms:2000}") long enqueueTimeoutMs,
+                            MeterRegistry meterRegistry) {
+        this.capacity = new Semaphore(maxPendingUpdates);
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+
+        Gauge.builder("telegram.updates.pending", pending, AtomicInteger::get)
+            .description("Bot updates queued or running")
+            .register(meterRegistry);
+        Gauge.builder("telegram.updates.active.chats", chatTails, Map::size)
+            .description("Chats with updates queued or running")
+            .register(meterRegistry);
+        this.droppedUpdates = Counter.builder("telegram.updates.dropped")
+            .description("Bot updates dropped because the queue was full")
+            .register(meterRegistry);
+        this.processingTime = Timer.builder("telegram.updates.processing")
+            .description("Time spent handling a bot update")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queue a task behind any earlier tasks for the same chat.
+     *
+     * @return false if the update was dropped because the queue stayed full
+     */
+    public boolean dispatch(long chatId, Runnable task) {
+        if (!reserveSlot()) {
+            droppedUpdates.increment();
+            log.warn("Dropped update for chat {}: {} updates already pending", chatId, pending.get());
+            return false;
+        }
+        pending.incrementAndGet();
+
+        CompletableFuture<Void> tail = chatTails.compute(chatId, (id, previous) ->
+            (previous != null ? previous : CompletableFuture.<Void>completedFuture(null))
+                .thenRunAsync(() -> run(chatId, task), executor));
+
+        tail.whenComplete((result, error) -> {
+            pending.decrementAndGet();
+            capacity.release();
+            // Forget the chat once its last queued update has finished
+            chatTails.remove(chatId, tail);
+        });
+        return true;
+    }
+
+    /**
+     * Number of updates queued or running.
+     */
+    public int pendingUpdates() {
+        return pending.get();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Bot update executor did not finish within 5 seconds; {} updates abandoned", pending.get());
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean reserveSlot() {
+        try {
+            return capacity.tryAcquire(enqueueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run(long chatId, Runnable task) {
+        processingTime.record(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // Never let one bad update break the chain for this chat
+                log.error("Failed to handle update for chat {}", chatId, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.loan_origination_system.controller;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.loan_origination_system.dto.ApiResponse;
+import com.example.loan_origination_system.dto.JournalEntryResponse;
+import com.example.loan_origination_system.dto.LedgerAccountResponse;
+import com.example.loan_origination_system.dto.TrialBalanceResponse;
+import com.example.loan_origination_system.model.enums.LedgerAccountType;
+import com.example.loan_origination_system.service.LedgerService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/ledger")
+@RequiredArgsConstructor
+public class LedgerController {
+
+    private final LedgerService ledgerService;
+
+    /**
+     * Get running balances of all accounts for a branch and currency
+     * GET /api/ledger/accounts?branchId=1&currencyId=1
+     */
+    @GetMapping("/accounts")
+    public ResponseEntity<ApiResponse<List<LedgerAccountResponse>>> getAccountBalances(
+            @RequestParam Long branchId,
+            @RequestParam Long currencyId) {
+        List<LedgerAccountResponse> accounts = ledgerService.getAccountBalances(branchId, currencyId);
+        return ResponseEntity.ok(ApiResponse.success("Account balances retrieved successfully", accounts));
+    }
+
+    /**
+     * Get running balance of one account
+     * GET /api/ledger/accounts/CASH?branchId=1&currencyId=1
+     */
+    @GetMapping("/accounts/{accountType}")
+    public ResponseEntity<ApiResponse<LedgerAccountResponse>> getAccountBalance(
+            @PathVariable LedgerAccountType accountType,
+            @RequestParam Long branchId,
+            @RequestParam Long currencyId) {
+        LedgerAccountResponse account = ledgerService.getAccountBalance(branchId, currencyId, accountType);
+        return ResponseEntity.ok(ApiResponse.success("Account balance retrieved successfully", account));
+    }
+
+    /**
+     * Get the trial balance at the end of a month
+     * GET /api/ledger/trial-balance?branchId=1&currencyId=1&period=2026-09
+     */
+    @GetMapping("/trial-balance")
+    public ResponseEntity<ApiResponse<TrialBalanceResponse>> getTrialBalance(
+            @RequestParam Long branchId,
+            @RequestParam Long currencyId,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth period) {
+        YearMonth reportPeriod = period != null ? period : YearMonth.now();
+        TrialBalanceResponse trialBalance = ledgerService.getTrialBalance(branchId, currencyId, reportPeriod);
+        return ResponseEntity.ok(ApiResponse.success("Trial balance retrieved successfully", trialBalance));
+    }
+
+    /**
+     * Get journal entries posted for a loan
+     * GET /api/ledger/loans/{loanId}/journal
+     */
+    @GetMapping("/loans/{loanId}/journal")
+    public ResponseEntity<ApiResponse<List<JournalEntryResponse>>> getLoanJournal(@PathVariable Long loanId) {
+        List<JournalEntryResponse> entries = ledgerService.getLoanJournal(loanId);
+        return ResponseEntity.ok(ApiResponse.success("Journal entries retrieved successfully", entries));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.loan_origination_system.controller;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -23,6 +24,7 @@ import org.springframework.web.bind.annotation.RestController;
 import com.example.loan_origination_system.dto.ApiResponse;
 import com.example.loan_origination_system.dto.PawnLoanCreateFullRequest;
 import com.example.loan_origination_system.dto.PawnLoanRequest;
+import com.example.loan_origination_system.metrics.StatementBudget;
 import com.example.loan_origination_system.model.enums.LoanStatus;
 import com.example.loan_origination_system.model.loan.PawnLoan;
 import com.example.loan_origination_system.model.loan.PaymentScheduleItem;
@@ -210,6 +212,7 @@ public class PawnLoanController {
      * GET /api/pawn-loans/upcoming-repayments
      */
     @GetMapping("/upcoming-repayments")
+    @StatementBudget(4)
     public ResponseEntity<ApiResponse<List<PawnLoan>>> getLoansWithUpcomingRepayments(
             @RequestParam(defaultValue = "7") int daysAhead) {
         List<PawnLoan> loans = pawnLoanService.getLoansWithUpcomingRepayments(daysAhead);
@@ -260,11 +263,13 @@ public class PawnLoanController {
      * GET /api/pawn-loans/upcoming-repayments/detailed
      */
     @GetMapping("/upcoming-repayments/detailed")
+    @StatementBudget(4)
     public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getDetailedUpcomingRepayments(
             @RequestParam(defaultValue = "7") int daysAhead) {
         
         List<PawnLoan> loans = pawnLoanService.getLoansWithUpcomingRepayments(daysAhead);
         List<Map<String, Object>> detailedLoans = new ArrayList<>();
+        LocalDate today = LocalDate.now();
         
         for (PawnLoan loan : loans) {
             Map<String, Object> loanDetails = new HashMap<>();
@@ -275,9 +280,9 @@ public class PawnLoanController {
             loanDetails.put("loanAmount", loan.getLoanAmount());
             loanDetails.put("totalPayableAmount", loan.getTotalPayableAmount());
             loanDetails.put("dueDate", loan.getDueDate());
-            loanDetails.put("daysUntilDue", pawnLoanService.calculateDaysUntilDue(loan.getDueDate()));
-            loanDetails.put("overdueDays", pawnLoanService.calculateOverdueDays(loan.getDueDate()));
-            loanDetails.put("followUpPriority", pawnLoanService.determineFollowUpPriority(loan.getDueDate()));
+            loanDetails.put("daysUntilDue", pawnLoanService.calculateDaysUntilDue(loan.getDueDate(), today));
+            loanDetails.put("overdueDays", pawnLoanService.calculateOverdueDays(loan.getDueDate(), today));
+            loanDetails.put("followUpPriority", pawnLoanService.determineFollowUpPriority(loan.getDueDate(), today));
             loanDetails.put("status", loan.getStatus());
             
             // Add payment schedule for next payment
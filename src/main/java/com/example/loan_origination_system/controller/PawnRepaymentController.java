@@ -1,5 +1,6 @@
 package com.example.loan_origination_system.controller;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -20,6 +21,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.example.loan_origination_system.dto.ApiResponse;
 import com.example.loan_origination_system.dto.PawnRepaymentRequest;
+import com.example.loan_origination_system.dto.RepaymentAllocationResponse;
 import com.example.loan_origination_system.dto.UpcomingRepaymentLoanResponse;
 import com.example.loan_origination_system.model.loan.PawnRepayment;
 import com.example.loan_origination_system.service.PawnRepaymentService;
@@ -40,14 +42,22 @@ public class PawnRepaymentController {
      */
     @PostMapping
     public ResponseEntity<ApiResponse<PawnRepayment>> createRepayment(@Valid @RequestBody PawnRepaymentRequest request) {
-        try {
-            PawnRepayment repayment = pawnRepaymentService.createRepayment(request);
-            return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Repayment created successfully", repayment));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest()
-                .body(ApiResponse.error("Invalid payment amounts: " + e.getMessage()));
-        }
+        PawnRepayment repayment = pawnRepaymentService.createRepayment(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .body(ApiResponse.success("Repayment created successfully", repayment));
+    }
+    
+    /**
+     * Preview how a payment would be split without recording it
+     * GET /api/pawn-repayments/loan/{loanId}/allocation-preview?amount=100.00
+     * Omit amount to preview paying off the loan.
+     */
+    @GetMapping("/loan/{loanId}/allocation-preview")
+    public ResponseEntity<ApiResponse<RepaymentAllocationResponse>> previewAllocation(
+            @PathVariable Long loanId,
+            @RequestParam(required = false) BigDecimal amount) {
+        RepaymentAllocationResponse allocation = pawnRepaymentService.previewAllocation(loanId, amount);
+        return ResponseEntity.ok(ApiResponse.success("Repayment allocation calculated successfully", allocation));
     }
     
     /**
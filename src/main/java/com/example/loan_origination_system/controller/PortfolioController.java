@@ -0,0 +1,62 @@
+package com.example.loan_origination_system.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.loan_origination_system.dto.AgingReportResponse;
+import com.example.loan_origination_system.dto.ApiResponse;
+import com.example.loan_origination_system.dto.PortfolioSnapshotResponse;
+import com.example.loan_origination_system.service.PortfolioAgingService;
+import com.example.loan_origination_system.service.PortfolioSnapshotService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/portfolio")
+@RequiredArgsConstructor
+public class PortfolioController {
+
+    private final PortfolioSnapshotService portfolioSnapshotService;
+    private final PortfolioAgingService portfolioAgingService;
+
+    /**
+     * Get portfolio KPIs per branch and currency, optionally for one branch
+     * GET /api/portfolio/snapshot?branchId=1
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<ApiResponse<PortfolioSnapshotResponse>> getSnapshot(
+            @RequestParam(required = false) Long branchId) {
+        PortfolioSnapshotResponse snapshot = portfolioSnapshotService.getSnapshot(branchId);
+        return ResponseEntity.ok(ApiResponse.success("Portfolio snapshot retrieved successfully", snapshot));
+    }
+
+    /**
+     * Get portfolio-at-risk aging of open loans, computed live
+     * GET /api/portfolio/aging?asOfDate=2026-10-19&branchId=1
+     */
+    @GetMapping("/aging")
+    public ResponseEntity<ApiResponse<AgingReportResponse>> getAgingReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOfDate,
+            @RequestParam(required = false) Long branchId) {
+        AgingReportResponse report = portfolioAgingService.compute(asOfDate != null ? asOfDate : LocalDate.now(), branchId);
+        return ResponseEntity.ok(ApiResponse.success("Aging report generated successfully", report));
+    }
+
+    /**
+     * Recompute the snapshot from the loan and repayment tables
+     * POST /api/portfolio/snapshot/refresh
+     */
+    @PostMapping("/snapshot/refresh")
+    public ResponseEntity<ApiResponse<PortfolioSnapshotResponse>> refreshSnapshot() {
+        portfolioSnapshotService.refresh(LocalDate.now());
+        PortfolioSnapshotResponse snapshot = portfolioSnapshotService.getSnapshot(null);
+        return ResponseEntity.ok(ApiResponse.success("Portfolio snapshot refreshed successfully", snapshot));
+    }
+}
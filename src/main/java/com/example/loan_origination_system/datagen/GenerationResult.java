@@ -0,0 +1,23 @@
+package com.example.loan_origination_system.datagen;
+
+import java.util.Map;
+
+import com.example.loan_origination_system.model.enums.LoanStatus;
+
+/**
+ * Rows written by one PortfolioGenerator run.
+ */
+public record GenerationResult(int customers, int loans, long repayments,
+                               Map<LoanStatus, Integer> loansByStatus, long millis) {
+
+    /**
+     * Customers, collateral items, loans and repayments inserted.
+     */
+    public long rows() {
+        return customers + 2L * loans + repayments;
+    }
+
+    public double rowsPerSecond() {
+        return millis > 0 ? rows() * 1000.0 / millis : rows();
+    }
+}
@@ -0,0 +1,567 @@
+package com.example.loan_origination_system.datagen;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.loan_origination_system.model.enums.CollateralStatus;
+import com.example.loan_origination_system.model.enums.CustomerStatus;
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.enums.PaymentFrequency;
+import com.example.loan_origination_system.model.loan.LoanProductRule;
+import com.example.loan_origination_system.model.master.Branch;
+import com.example.loan_origination_system.model.master.Currency;
+import com.example.loan_origination_system.model.master.PaymentMethod;
+import com.example.loan_origination_system.model.master.PaymentType;
+import com.example.loan_origination_system.repository.BranchRepository;
+import com.example.loan_origination_system.repository.CurrencyRepository;
+import com.example.loan_origination_system.repository.PaymentMethodRepository;
+import com.example.loan_origination_system.repository.PaymentTypeRepository;
+import com.example.loan_origination_system.service.SequenceLoanCodeGenerator;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes a synthetic portfolio straight into the database, for load and performance testing.
+ *
+ * Business Rules:
+ * 1. Customers, collateral items, loans and repayments are inserted with batched JDBC, one
+ *    transaction per batch of loans; nothing passes through the persistence context
+ * 2. Every LoanStatus is generated: the first loans take one status each, the rest follow
+ *    STATUS_WEIGHTS. Dates, collateral status and running totals are consistent with the status
+ * 3. A loan's repayments add up to its principalPaid and interestPaid (interest is paid first);
+ *    REDEEMED loans are paid in full
+ * 4. Branches named "Generated Branch NN", the USD, KHR and THB currencies, a CASH payment method
+ *    and a REPAYMENT payment type are created when missing
+ * 5. IDs and loan code numbers are taken above the current sequence values, and the sequences are
+ *    moved past them afterwards so the application keeps allocating without collisions. Run it on
+ *    a quiet database: a node allocating from the same sequences meanwhile could collide
+ *
+ * No journal entries or accruals history are written, so ledger balances do not include
+ * generated loans; the portfolio snapshot must be refreshed after a run. The bean only exists
+ * under the datagen profile, so a serving instance cannot write synthetic data.
+ */
+@Component
+@Profile("datagen")
+@Slf4j
+public class PortfolioGenerator {
+
+    static final String CUSTOMER_SEQUENCE = "m_customer_seq";
+    static final String ITEM_SEQUENCE = "pawn_item_seq";
+    static final String LOAN_SEQUENCE = "pawn_loan_seq";
+    static final String REPAYMENT_SEQUENCE = "pawn_repayment_seq";
+
+    // Entity sequences hand out (value - 49 .. value] per call (pooled optimizer, allocationSize = 50)
+    private static final int ID_BLOCK = 50;
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+    private static final int GRACE_DAYS = LoanProductRule.DEFAULT_GRACE_PERIOD_DAYS;
+    private static final int FORFEIT_DAYS = LoanProductRule.DEFAULT_AUTO_FORFEIT_DAYS;
+
+    // Share of generated loans per status, in percent
+    private static final Map<LoanStatus, Integer> STATUS_WEIGHTS = new EnumMap<>(Map.of(
+        LoanStatus.CREATED, 2,
+        LoanStatus.PENDING, 1,
+        LoanStatus.ACTIVE, 22,
+        LoanStatus.PARTIALLY_PAID, 12,
+        LoanStatus.OVERDUE, 6,
+        LoanStatus.REDEEMED, 46,
+        LoanStatus.DEFAULTED, 8,
+        LoanStatus.CANCELLED, 3));
+    private static final LoanStatus[] STATUSES = LoanStatus.values();
+
+    private static final List<CurrencyProfile> CURRENCIES = List.of(
+        new CurrencyProfile("USD", "US Dollar", "$", 2, 50, 3_000, 60),
+        new CurrencyProfile("KHR", "Cambodian Riel", "៛", 0, 200_000, 12_000_000, 30),
+        new CurrencyProfile("THB", "Thai Baht", "฿", 2, 1_500, 100_000, 10));
+
+    private static final BigDecimal[] INTEREST_RATES =
+        {new BigDecimal("2.50"), new BigDecimal("3.00"), new BigDecimal("4.00")};
+    private static final int[] DURATIONS = {30, 30, 60, 90};
+
+    private static final String[] FIRST_NAMES = {"Sokha", "Dara", "Chenda", "Vannak", "Sreymom", "Piseth",
+        "Malis", "Rithy", "Bopha", "Kosal", "Nary", "Veasna", "Sophea", "Vuthy", "Channary", "Pheakdey"};
+    private static final String[] LAST_NAMES = {"Chan", "Sok", "Kim", "Heng", "Ly", "Meas", "Prak", "Seng",
+        "Tan", "Vong", "Keo", "Chea"};
+    private static final String[] CITIES = {"Phnom Penh", "Siem Reap", "Battambang", "Kampong Cham", "Kampot"};
+    private static final String[] ITEM_TYPES = {"GOLD_RING", "GOLD_NECKLACE", "WATCH", "PHONE", "LAPTOP", "MOTORBIKE"};
+    private static final String[] ITEM_DESCRIPTIONS = {"Gold ring, 18k", "Gold necklace, 24k, 2 chi",
+        "Wrist watch with box and papers", "Smartphone, 128 GB, unlocked", "Laptop, 14 inch, with charger",
+        "Motorbike, 125cc, with registration card"};
+
+    private static final String INSERT_CUSTOMER = "INSERT INTO m_customer (id, version, full_name, phone, "
+        + "id_number, address, status, created_at, updated_at) VALUES (?, 0, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] CUSTOMER_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+        Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP};
+
+    private static final String INSERT_ITEM = "INSERT INTO pawn_item (id, version, customer_id, item_type, "
+        + "description, estimated_value, status, created_at, updated_at) VALUES (?, 0, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] ITEM_TYPES_SQL = {Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR,
+        Types.DECIMAL, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP};
+
+    private static final String INSERT_LOAN = "INSERT INTO pawn_loan (id, version, loan_code, customer_id, "
+        + "pawn_item_id, currency_id, branch_id, loan_amount, interest_rate, total_payable_amount, loan_date, "
+        + "due_date, redemption_deadline, grace_period_end_date, loan_duration_days, grace_period_days, "
+        + "storage_fee, penalty_rate, payment_frequency, number_of_installments, status, accrued_interest, "
+        + "accrued_penalty, last_accrual_date, principal_paid, interest_paid, penalty_paid, created_at, "
+        + "updated_at, redeemed_at, defaulted_at, overdue_at) "
+        + "VALUES (?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] LOAN_TYPES = {Types.BIGINT, Types.VARCHAR, Types.BIGINT, Types.BIGINT,
+        Types.BIGINT, Types.BIGINT, Types.DECIMAL, Types.DECIMAL, Types.DECIMAL, Types.DATE, Types.DATE,
+        Types.DATE, Types.DATE, Types.INTEGER, Types.INTEGER, Types.DECIMAL, Types.DECIMAL, Types.VARCHAR,
+        Types.INTEGER, Types.VARCHAR, Types.DECIMAL, Types.DECIMAL, Types.DATE, Types.DECIMAL, Types.DECIMAL,
+        Types.DECIMAL, Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP};
+
+    private static final String INSERT_REPAYMENT = "INSERT INTO pawn_repayment (id, pawn_loan_id, currency_id, "
+        + "payment_method_id, payment_type_id, payment_date, paid_amount, principal_paid, interest_paid, "
+        + "penalty_paid, remaining_principal, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] REPAYMENT_TYPES = {Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.BIGINT,
+        Types.BIGINT, Types.DATE, Types.DECIMAL, Types.DECIMAL, Types.DECIMAL, Types.DECIMAL, Types.DECIMAL,
+        Types.TIMESTAMP};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BranchRepository branchRepository;
+    private final CurrencyRepository currencyRepository;
+    private final PaymentMethodRepository paymentMethodRepository;
+    private final PaymentTypeRepository paymentTypeRepository;
+    private final Dialect dialect;
+    private final int codeBlockSize;
+
+    public PortfolioGenerator(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              BranchRepository branchRepository,
+                              CurrencyRepository currencyRepository,
+                              PaymentMethodRepository paymentMethodRepository,
+                              PaymentTypeRepository paymentTypeRepository,
+                              EntityManagerFactory entityManagerFactory,
+                              @Value("${loan.code.block-size:50}") int codeBlockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.branchRepository = branchRepository;
+        this.currencyRepository = currencyRepository;
+        this.paymentMethodRepository = paymentMethodRepository;
+        this.paymentTypeRepository = paymentTypeRepository;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.codeBlockSize = codeBlockSize;
+    }
+
+    /**
+     * Generate a portfolio.
+     *
+     * @param spec Size and shape of the portfolio
+     * @return Rows written per table and loans per status
+     */
+    public GenerationResult generate(PortfolioSpec spec) {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        Context context = new Context(spec, random, ensureBranches(spec.branches()), ensureCurrencies(),
+            ensurePaymentMethod(), ensurePaymentType());
+
+        long firstCustomerId = nextValue(CUSTOMER_SEQUENCE) + 1;
+        context.firstCustomerId = firstCustomerId;
+        insertCustomers(context);
+        restart(CUSTOMER_SEQUENCE, firstCustomerId + spec.customers() - 1 + ID_BLOCK);
+
+        context.nextItemId = nextValue(ITEM_SEQUENCE) + 1;
+        context.nextLoanId = nextValue(LOAN_SEQUENCE) + 1;
+        context.nextRepaymentId = nextValue(REPAYMENT_SEQUENCE) + 1;
+        context.nextCodeNumber = nextLoanCodeNumber();
+
+        for (int from = 0; from < spec.loans(); from += spec.batchSize()) {
+            int to = Math.min(spec.loans(), from + spec.batchSize());
+            insertLoans(context, from, to);
+            if ((from / spec.batchSize()) % 20 == 19) {
+                log.info("Generated {} of {} loans", to, spec.loans());
+            }
+        }
+
+        if (spec.loans() > 0) {
+            restart(ITEM_SEQUENCE, context.nextItemId - 1 + ID_BLOCK);
+            restart(LOAN_SEQUENCE, context.nextLoanId - 1 + ID_BLOCK);
+            restart(REPAYMENT_SEQUENCE, context.nextRepaymentId - 1 + ID_BLOCK);
+            restart(SequenceLoanCodeGenerator.SEQUENCE_NAME, context.nextCodeNumber);
+        }
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        GenerationResult result = new GenerationResult(spec.customers(), spec.loans(), context.repayments,
+            context.loansByStatus, millis);
+        log.info("Generated {} customers, {} loans and {} repayments in {} ms ({} rows/s); loans by status: {}",
+            result.customers(), result.loans(), result.repayments(), millis,
+            Math.round(result.rowsPerSecond()), result.loansByStatus());
+        return result;
+    }
+
+    private void insertCustomers(Context context) {
+        PortfolioSpec spec = context.spec;
+        SplittableRandom random = context.random;
+        int historyDays = spec.historyMonths() * 30;
+        for (int from = 0; from < spec.customers(); from += spec.batchSize()) {
+            int to = Math.min(spec.customers(), from + spec.batchSize());
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                long id = context.firstCustomerId + i;
+                LocalDateTime createdAt = spec.asOf().minusDays(historyDays + 30L)
+                    .plusDays(random.nextInt(historyDays)).atTime(8 + random.nextInt(10), random.nextInt(60));
+                rows.add(new Object[] {
+                    id,
+                    pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES),
+                    String.format("0%08d", random.nextInt(10_000_000, 100_000_000)),
+                    String.format("G%011d", id),
+                    "No. " + random.nextInt(1, 400) + ", Street " + random.nextInt(1, 600) + ", " + pick(random, CITIES),
+                    random.nextInt(100) < 97 ? CustomerStatus.ACTIVE.name() : CustomerStatus.INACTIVE.name(),
+                    createdAt,
+                    createdAt
+                });
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_CUSTOMER, rows, CUSTOMER_TYPES));
+        }
+    }
+
+    private void insertLoans(Context context, int from, int to) {
+        List<Object[]> items = new ArrayList<>(to - from);
+        List<Object[]> loans = new ArrayList<>(to - from);
+        List<Object[]> repayments = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            addLoan(context, index, items, loans, repayments);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_ITEM, items, ITEM_TYPES_SQL);
+            jdbcTemplate.batchUpdate(INSERT_LOAN, loans, LOAN_TYPES);
+            jdbcTemplate.batchUpdate(INSERT_REPAYMENT, repayments, REPAYMENT_TYPES);
+        });
+        context.repayments += repayments.size();
+    }
+
+    private void addLoan(Context context, int index, List<Object[]> items, List<Object[]> loans,
+                         List<Object[]> repayments) {
+        PortfolioSpec spec = context.spec;
+        SplittableRandom random = context.random;
+        LocalDate asOf = spec.asOf();
+
+        LoanStatus status = index < STATUSES.length ? STATUSES[index] : pickStatus(random);
+        CurrencyRef currency = pickCurrency(random, context.currencies);
+        long branchId = context.branchIds.get(random.nextInt(context.branchIds.size()));
+        long customerId = context.firstCustomerId + random.nextInt(spec.customers());
+        long itemId = context.nextItemId++;
+        long loanId = context.nextLoanId++;
+
+        BigDecimal amount = currency.randomAmount(random);
+        BigDecimal rate = INTEREST_RATES[random.nextInt(INTEREST_RATES.length)];
+        int duration = DURATIONS[random.nextInt(DURATIONS.length)];
+        BigDecimal interest = amount.multiply(rate).divide(HUNDRED, currency.scale(), RoundingMode.HALF_UP);
+        BigDecimal total = amount.add(interest);
+
+        int historyDays = Math.max(spec.historyMonths() * 30, duration + FORFEIT_DAYS + 2);
+        LocalDate loanDate = switch (status) {
+            case CREATED, PENDING -> asOf.minusDays(random.nextInt(4));
+            case ACTIVE, PARTIALLY_PAID -> asOf.minusDays(random.nextInt(duration));
+            // Due 1 to FORFEIT_DAYS days ago, so still within the grace period
+            case OVERDUE -> asOf.minusDays(duration + 1 + random.nextInt(FORFEIT_DAYS));
+            case DEFAULTED -> asOf.minusDays(random.nextInt(duration + FORFEIT_DAYS + 1, historyDays + 1));
+            case REDEEMED, CANCELLED -> asOf.minusDays(random.nextInt(1, historyDays + 1));
+        };
+        LocalDate dueDate = loanDate.plusDays(duration);
+        LocalDate redemptionDeadline = dueDate.plusDays(GRACE_DAYS);
+        LocalDate graceEnd = dueDate.plusDays(FORFEIT_DAYS);
+        LocalDateTime createdAt = loanDate.atTime(8 + random.nextInt(9), random.nextInt(60));
+
+        LocalDate redeemedOn = status == LoanStatus.REDEEMED
+            ? min(loanDate.plusDays(random.nextInt(1, duration + 1)), asOf) : null;
+        LocalDateTime overdueAt = status == LoanStatus.OVERDUE || status == LoanStatus.DEFAULTED
+            ? dueDate.plusDays(1).atTime(0, 30) : null;
+        LocalDateTime defaultedAt = status == LoanStatus.DEFAULTED ? graceEnd.plusDays(1).atTime(0, 30) : null;
+
+        // Repayment history: amounts per payment, split interest first
+        List<BigDecimal> payments = switch (status) {
+            case REDEEMED -> split(total, 1 + random.nextInt(3), currency.scale());
+            case PARTIALLY_PAID -> split(fraction(total, random.nextInt(20, 71), currency.scale()),
+                1 + random.nextInt(2), currency.scale());
+            case OVERDUE -> random.nextInt(2) == 0 ? List.of(interest) : List.of();
+            case DEFAULTED -> random.nextInt(10) < 3 ? List.of(interest) : List.of();
+            default -> List.of();
+        };
+        LocalDate lastPaymentOn = switch (status) {
+            case REDEEMED -> redeemedOn;
+            case PARTIALLY_PAID -> asOf;
+            default -> min(dueDate.minusDays(1), asOf);
+        };
+        List<LocalDate> paymentDates = paymentDates(random, payments.size(), loanDate, lastPaymentOn, status);
+
+        BigDecimal principalPaid = BigDecimal.ZERO;
+        BigDecimal interestPaid = BigDecimal.ZERO;
+        for (int p = 0; p < payments.size(); p++) {
+            BigDecimal paid = payments.get(p);
+            BigDecimal interestPart = paid.min(interest.subtract(interestPaid));
+            BigDecimal principalPart = paid.subtract(interestPart);
+            interestPaid = interestPaid.add(interestPart);
+            principalPaid = principalPaid.add(principalPart);
+            LocalDate paidOn = paymentDates.get(p);
+            repayments.add(new Object[] {
+                context.nextRepaymentId++, loanId, currency.id(), context.paymentMethodId, context.paymentTypeId,
+                paidOn, paid, principalPart, interestPart, BigDecimal.ZERO, amount.subtract(principalPaid),
+                paidOn.atTime(9 + random.nextInt(8), random.nextInt(60))
+            });
+        }
+
+        LocalDate lastAccrualDate = switch (status) {
+            case ACTIVE, PARTIALLY_PAID, OVERDUE -> asOf;
+            case DEFAULTED -> defaultedAt.toLocalDate();
+            case REDEEMED -> redeemedOn;
+            default -> null;
+        };
+        BigDecimal accruedInterest = lastAccrualDate == null ? BigDecimal.ZERO
+            : interest.multiply(BigDecimal.valueOf(Math.min(duration, ChronoUnit.DAYS.between(loanDate, lastAccrualDate))))
+                .divide(BigDecimal.valueOf(duration), 2, RoundingMode.HALF_UP);
+        LocalDateTime updatedAt = switch (status) {
+            case REDEEMED -> redeemedOn.atTime(16, 0);
+            case DEFAULTED -> defaultedAt;
+            case OVERDUE -> overdueAt;
+            case CANCELLED -> createdAt.plusHours(2);
+            default -> paymentDates.isEmpty() ? createdAt : paymentDates.get(paymentDates.size() - 1).atTime(16, 0);
+        };
+
+        int itemType = random.nextInt(ITEM_TYPES.length);
+        BigDecimal loanToValue = BigDecimal.valueOf(random.nextInt(45, 71), 2);
+        items.add(new Object[] {
+            itemId, customerId, ITEM_TYPES[itemType], ITEM_DESCRIPTIONS[itemType],
+            amount.divide(loanToValue, currency.scale(), RoundingMode.HALF_UP), collateralStatus(status).name(),
+            createdAt, updatedAt
+        });
+        loans.add(new Object[] {
+            loanId, SequenceLoanCodeGenerator.format(branchId, context.nextCodeNumber++), customerId, itemId,
+            currency.id(), branchId, amount, rate, total, loanDate,
+            dueDate, redemptionDeadline, graceEnd, duration, GRACE_DAYS,
+            BigDecimal.ZERO, BigDecimal.ZERO, PaymentFrequency.ONE_TIME.name(), 1, status.name(), accruedInterest,
+            BigDecimal.ZERO, lastAccrualDate, principalPaid, interestPaid, BigDecimal.ZERO, createdAt,
+            updatedAt, redeemedOn != null ? redeemedOn.atTime(16, 0) : null, defaultedAt, overdueAt
+        });
+        context.loansByStatus.merge(status, 1, Integer::sum);
+    }
+
+    private static CollateralStatus collateralStatus(LoanStatus status) {
+        return switch (status) {
+            case ACTIVE, PARTIALLY_PAID, OVERDUE -> CollateralStatus.PAWNED;
+            case REDEEMED -> CollateralStatus.REDEEMED;
+            case DEFAULTED -> CollateralStatus.FORFEITED;
+            case CREATED, PENDING, CANCELLED -> CollateralStatus.AVAILABLE;
+        };
+    }
+
+    /**
+     * Split an amount into parts that add up to it exactly; the last part takes the rounding.
+     */
+    private static List<BigDecimal> split(BigDecimal amount, int parts, int scale) {
+        List<BigDecimal> result = new ArrayList<>(parts);
+        BigDecimal part = amount.divide(BigDecimal.valueOf(parts), scale, RoundingMode.DOWN);
+        if (part.signum() == 0) {
+            return List.of(amount);
+        }
+        for (int i = 1; i < parts; i++) {
+            result.add(part);
+        }
+        result.add(amount.subtract(part.multiply(BigDecimal.valueOf(parts - 1L))));
+        return result;
+    }
+
+    private static BigDecimal fraction(BigDecimal amount, int percent, int scale) {
+        BigDecimal part = amount.multiply(BigDecimal.valueOf(percent)).divide(HUNDRED, scale, RoundingMode.DOWN);
+        return part.signum() > 0 ? part : amount;
+    }
+
+    private static List<LocalDate> paymentDates(SplittableRandom random, int count, LocalDate loanDate,
+                                                LocalDate lastDate, LoanStatus status) {
+        List<LocalDate> dates = new ArrayList<>(count);
+        LocalDate first = min(loanDate.plusDays(1), lastDate);
+        long span = ChronoUnit.DAYS.between(first, lastDate);
+        for (int i = 0; i < count; i++) {
+            dates.add(first.plusDays(span > 0 ? random.nextLong(span + 1) : 0));
+        }
+        dates.sort(null);
+        // A redeemed loan is settled by its last payment
+        if (status == LoanStatus.REDEEMED && count > 0) {
+            dates.set(count - 1, lastDate);
+        }
+        return dates;
+    }
+
+    private static LoanStatus pickStatus(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        for (Map.Entry<LoanStatus, Integer> weight : STATUS_WEIGHTS.entrySet()) {
+            roll -= weight.getValue();
+            if (roll < 0) {
+                return weight.getKey();
+            }
+        }
+        return LoanStatus.REDEEMED;
+    }
+
+    private static CurrencyRef pickCurrency(SplittableRandom random, List<CurrencyRef> currencies) {
+        int roll = random.nextInt(100);
+        for (CurrencyRef currency : currencies) {
+            roll -= currency.profile().weight();
+            if (roll < 0) {
+                return currency;
+            }
+        }
+        return currencies.get(0);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private List<Long> ensureBranches(int count) {
+        Map<String, Long> existing = new HashMap<>();
+        for (Branch branch : branchRepository.findAll()) {
+            existing.put(branch.getName(), branch.getId());
+        }
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String name = String.format("Generated Branch %02d", i);
+            Long id = existing.get(name);
+            if (id == null) {
+                Branch branch = new Branch();
+                branch.setName(name);
+                branch.setAddress(CITIES[(i - 1) % CITIES.length]);
+                id = branchRepository.save(branch).getId();
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private List<CurrencyRef> ensureCurrencies() {
+        Map<String, Currency> existing = new HashMap<>();
+        for (Currency currency : currencyRepository.findAll()) {
+            existing.put(currency.getCode(), currency);
+        }
+        List<CurrencyRef> refs = new ArrayList<>(CURRENCIES.size());
+        for (CurrencyProfile profile : CURRENCIES) {
+            Currency currency = existing.get(profile.code());
+            if (currency == null) {
+                currency = new Currency();
+                currency.setCode(profile.code());
+                currency.setName(profile.name());
+                currency.setSymbol(profile.symbol());
+                currency.setDecimalPlace(profile.decimalPlace());
+                currency = currencyRepository.save(currency);
+            }
+            int scale = currency.getDecimalPlace() != null ? currency.getDecimalPlace() : profile.decimalPlace();
+            refs.add(new CurrencyRef(currency.getId(), profile, scale));
+        }
+        return refs;
+    }
+
+    private long ensurePaymentMethod() {
+        return paymentMethodRepository.findAll().stream()
+            .filter(method -> "CASH".equals(method.getCode()))
+            .findFirst()
+            .orElseGet(() -> {
+                PaymentMethod method = new PaymentMethod();
+                method.setCode("CASH");
+                method.setName("Cash");
+                return paymentMethodRepository.save(method);
+            })
+            .getId();
+    }
+
+    private long ensurePaymentType() {
+        return paymentTypeRepository.findAll().stream()
+            .filter(type -> "REPAYMENT".equals(type.getCode()))
+            .findFirst()
+            .orElseGet(() -> {
+                PaymentType type = new PaymentType();
+                type.setCode("REPAYMENT");
+                type.setName("Loan repayment");
+                return paymentTypeRepository.save(type);
+            })
+            .getId();
+    }
+
+    private long nextValue(String sequence) {
+        return jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+    }
+
+    /**
+     * First loan code number to use; the sequence hands out the start of a block of numbers.
+     */
+    private long nextLoanCodeNumber() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SequenceLoanCodeGenerator.SEQUENCE_NAME
+            + " START WITH 1 INCREMENT BY " + codeBlockSize);
+        return nextValue(SequenceLoanCodeGenerator.SEQUENCE_NAME);
+    }
+
+    private void restart(String sequence, long value) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + value);
+    }
+
+    /**
+     * Currency a generated loan can be issued in, with the range of its loan amounts.
+     */
+    private record CurrencyProfile(String code, String name, String symbol, int decimalPlace,
+                                   long minAmount, long maxAmount, int weight) {}
+
+    private record CurrencyRef(long id, CurrencyProfile profile, int scale) {
+
+        BigDecimal randomAmount(SplittableRandom random) {
+            long units = random.nextLong(profile.minAmount(), profile.maxAmount() + 1);
+            // Round to a tenth of the minimum, as a teller would: whole dollars, thousands of riel
+            long step = Math.max(1, profile.minAmount() / 10);
+            return BigDecimal.valueOf(Math.max(step, units / step * step)).setScale(scale);
+        }
+    }
+
+    /**
+     * State of one run: reference data, the random source and the next IDs to hand out.
+     */
+    private static final class Context {
+        private final PortfolioSpec spec;
+        private final SplittableRandom random;
+        private final List<Long> branchIds;
+        private final List<CurrencyRef> currencies;
+        private final long paymentMethodId;
+        private final long paymentTypeId;
+        private final Map<LoanStatus, Integer> loansByStatus = new EnumMap<>(LoanStatus.class);
+        private long firstCustomerId;
+        private long nextItemId;
+        private long nextLoanId;
+        private long nextRepaymentId;
+        private long nextCodeNumber;
+        private long repayments;
+
+        Context(PortfolioSpec spec, SplittableRandom random, List<Long> branchIds, List<CurrencyRef> currencies,
+                long paymentMethodId, long paymentTypeId) {
+            this.spec = spec;
+            this.random = random;
+            this.branchIds = branchIds;
+            this.currencies = currencies;
+            this.paymentMethodId = paymentMethodId;
+            this.paymentTypeId = paymentTypeId;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.loan_origination_system.datagen;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.example.loan_origination_system.service.PortfolioSnapshotService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the PortfolioGenerator once and exits, when the application is started with the
+ * datagen profile, e.g.
+ * java -jar app.jar --spring.profiles.active=datagen --loan.datagen.loans=1000000
+ *
+ * Exits before the application is ready, so the scheduler's startup catch-up and the
+ * Telegram registration never run; the portfolio snapshot is refreshed for the as-of date.
+ *
+ * With spring.aot.enabled the profile is fixed when the AOT build runs, which is without
+ * datagen, so this runner is absent; start the generator without AOT.
+ */
+@Component
+@Profile("datagen")
+@Slf4j
+public class PortfolioGeneratorRunner implements ApplicationRunner {
+
+    private final PortfolioGenerator portfolioGenerator;
+    private final PortfolioSnapshotService portfolioSnapshotService;
+    private final ConfigurableApplicationContext context;
+    private final PortfolioSpec spec;
+
+    public PortfolioGeneratorRunner(PortfolioGenerator portfolioGenerator,
+                                    PortfolioSnapshotService portfolioSnapshotService,
+                                    ConfigurableApplicationContext context,
+                                    @Value("${loan.datagen.loans:100000}") int loans,
+                                    @Value("${loan.datagen.customers:0}") int customers,
+                                    @Value("${loan.datagen.branches:5}") int branches,
+                                    @Value("${loan.datagen.history-months:24}") int historyMonths,
+                                    @Value("${loan.datagen.batch-size:1000}") int batchSize,
+                                    @Value("${loan.datagen.seed:42}") long seed,
+                                    @Value("${loan.datagen.as-of:}") String asOf) {
+        this.portfolioGenerator = portfolioGenerator;
+        this.portfolioSnapshotService = portfolioSnapshotService;
+        this.context = context;
+        // About four loans per customer unless set
+        this.spec = new PortfolioSpec(loans, customers > 0 ? customers : Math.max(1, loans / 4), branches,
+            historyMonths, batchSize, seed, asOf.isBlank() ? LocalDate.now() : LocalDate.parse(asOf));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            log.info("Generating portfolio: {}", spec);
+            GenerationResult result = portfolioGenerator.generate(spec);
+            int stats = portfolioSnapshotService.refresh(spec.asOf());
+            log.info("Portfolio snapshot refreshed as of {} ({} rows); {} rows generated in {} ms",
+                spec.asOf(), stats, result.rows(), result.millis());
+        } catch (RuntimeException e) {
+            log.error("Portfolio generation failed", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.loan_origination_system.datagen;
+
+import java.time.LocalDate;
+
+/**
+ * Size and shape of a generated portfolio.
+ *
+ * @param loans Loans to generate, each with its own collateral item
+ * @param customers Customers the loans are spread over
+ * @param branches Branches the loans are spread over (created when missing)
+ * @param historyMonths How far back closed loans and repayments go
+ * @param batchSize Loans per JDBC batch and transaction
+ * @param seed Random seed; the same seed and spec give the same portfolio
+ * @param asOf Date the portfolio is generated as of (open loans are current on it)
+ */
+public record PortfolioSpec(int loans, int customers, int branches, int historyMonths,
+                            int batchSize, long seed, LocalDate asOf) {
+
+    public PortfolioSpec {
+        if (loans < 0 || customers < 1 || branches < 1 || historyMonths < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Portfolio spec needs loans >= 0 and at least one customer, "
+                + "branch, month of history and row per batch: " + loans + " loans, " + customers + " customers, "
+                + branches + " branches, " + historyMonths + " months, batch " + batchSize);
+        }
+        if (asOf == null) {
+            throw new IllegalArgumentException("Portfolio spec needs an as-of date");
+        }
+    }
+}
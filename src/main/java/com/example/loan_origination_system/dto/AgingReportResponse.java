@@ -0,0 +1,39 @@
+package com.example.loan_origination_system.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.loan_origination_system.model.enums.ParBucket;
+
+import lombok.Data;
+
+@Data
+public class AgingReportResponse {
+    private LocalDate asOfDate;
+    private LocalDateTime generatedAt;
+    private long loansScanned;
+    private List<Segment> segments;
+
+    /**
+     * Aging of open loans for one branch and currency; amounts are in that currency.
+     */
+    @Data
+    public static class Segment {
+        private Long branchId;
+        private Long currencyId;
+        private String currencyCode;
+        private long openLoans;
+        private BigDecimal outstandingPrincipal;
+        private BigDecimal parRatio; // Share of outstanding principal past due
+        private List<Bucket> buckets;
+    }
+
+    @Data
+    public static class Bucket {
+        private ParBucket bucket;
+        private long loans;
+        private BigDecimal outstandingPrincipal;
+    }
+}
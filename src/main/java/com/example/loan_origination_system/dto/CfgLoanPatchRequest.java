@@ -11,6 +11,7 @@ public class CfgLoanPatchRequest {
     private Long currencyId;
     private BigDecimal minLoanAmount;
     private BigDecimal maxLoanAmount;
+    private BigDecimal maxLoanToValue;
     private BigDecimal interestRate;
     private String interestType;
     private String interestPeriod;
@@ -18,6 +19,7 @@ public class CfgLoanPatchRequest {
     private Integer penaltyGraceDays;
     private Integer maxLoanDuration;
     private Integer autoForfeitDays;
+    private String allocationOrder;
     private String status;
     private LocalDate effectiveFrom;
     private LocalDate effectiveTo;
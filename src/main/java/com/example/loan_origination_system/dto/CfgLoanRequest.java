@@ -20,6 +20,8 @@ public class CfgLoanRequest {
     @NotNull(message = "Maximum loan amount is required")
     private BigDecimal maxLoanAmount;
     
+    private BigDecimal maxLoanToValue;
+    
     @NotNull(message = "Interest rate is required")
     private BigDecimal interestRate;
     
@@ -29,6 +31,7 @@ public class CfgLoanRequest {
     private Integer penaltyGraceDays;
     private Integer maxLoanDuration;
     private Integer autoForfeitDays;
+    private String allocationOrder;
     private String status = "ACTIVE";
     private LocalDate effectiveFrom;
     private LocalDate effectiveTo;
@@ -15,6 +15,7 @@ public class CfgLoanResponse {
     private String currencyCode;
     private BigDecimal minLoanAmount;
     private BigDecimal maxLoanAmount;
+    private BigDecimal maxLoanToValue;
     private BigDecimal interestRate;
     private String interestType;
     private String interestPeriod;
@@ -22,6 +23,7 @@ public class CfgLoanResponse {
     private Integer penaltyGraceDays;
     private Integer maxLoanDuration;
     private Integer autoForfeitDays;
+    private String allocationOrder;
     private String status;
     private LocalDate effectiveFrom;
     private LocalDate effectiveTo;
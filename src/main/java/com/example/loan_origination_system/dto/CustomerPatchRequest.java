@@ -8,4 +8,5 @@ public class CustomerPatchRequest {
     private String phone;
     private String idNumber;
     private String address;
+    private Long telegramChatId;
 }
\ No newline at end of file
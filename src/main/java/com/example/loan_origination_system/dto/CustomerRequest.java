@@ -14,4 +14,5 @@ public class CustomerRequest {
     private String idNumber;
     
     private String address;
+    private Long telegramChatId;
 }
\ No newline at end of file
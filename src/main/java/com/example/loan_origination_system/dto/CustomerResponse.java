@@ -13,6 +13,7 @@ public class CustomerResponse {
     private String phone;
     private String idNumber;
     private String address;
+    private Long telegramChatId;
     private CustomerStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
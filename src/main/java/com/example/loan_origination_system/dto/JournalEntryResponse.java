@@ -0,0 +1,29 @@
+package com.example.loan_origination_system.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.loan_origination_system.model.enums.JournalSource;
+import com.example.loan_origination_system.model.enums.LedgerAccountType;
+
+import lombok.Data;
+
+@Data
+public class JournalEntryResponse {
+    private Long id;
+    private LocalDate entryDate;
+    private JournalSource source;
+    private Long sourceId;
+    private String description;
+    private List<Line> lines;
+    private LocalDateTime createdAt;
+
+    @Data
+    public static class Line {
+        private LedgerAccountType accountType;
+        private BigDecimal debit;
+        private BigDecimal credit;
+    }
+}
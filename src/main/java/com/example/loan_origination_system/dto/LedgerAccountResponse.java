@@ -0,0 +1,18 @@
+package com.example.loan_origination_system.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.example.loan_origination_system.model.enums.LedgerAccountType;
+
+import lombok.Data;
+
+@Data
+public class LedgerAccountResponse {
+    private Long id;
+    private Long branchId;
+    private Long currencyId;
+    private LedgerAccountType accountType;
+    private BigDecimal balance; // On the account's normal side
+    private LocalDateTime updatedAt;
+}
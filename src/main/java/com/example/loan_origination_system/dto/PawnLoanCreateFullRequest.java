@@ -94,16 +94,16 @@ public class PawnLoanCreateFullRequest {
         private LocalDate redemptionDeadline;
         
         @Min(value = 1, message = "Loan duration must be at least 1 day")
-        private Integer loanDurationDays = 30;
+        private Integer loanDurationDays; // Defaults from the loan product rule
         
         @Min(value = 0, message = "Grace period cannot be negative")
-        private Integer gracePeriodDays = 7;
+        private Integer gracePeriodDays; // Defaults from the loan product rule
         
         @Positive(message = "Storage fee must be positive if provided")
         private BigDecimal storageFee = BigDecimal.ZERO;
         
         @Positive(message = "Penalty rate must be positive if provided")
-        private BigDecimal penaltyRate = BigDecimal.ZERO;
+        private BigDecimal penaltyRate; // Defaults from the loan product rule
         
         private PaymentFrequency paymentFrequency = PaymentFrequency.ONE_TIME;
         
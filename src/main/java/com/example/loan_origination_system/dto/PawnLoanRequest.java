@@ -42,16 +42,16 @@ public class PawnLoanRequest {
     private LocalDate redemptionDeadline;
     
     @Min(value = 1, message = "Loan duration must be at least 1 day")
-    private Integer loanDurationDays = 30; // Default 30 days
+    private Integer loanDurationDays; // Defaults from the loan product rule
     
     @Min(value = 0, message = "Grace period cannot be negative")
-    private Integer gracePeriodDays = 7; // Default 7 days grace period
+    private Integer gracePeriodDays; // Defaults from the loan product rule
     
     @Positive(message = "Storage fee must be positive if provided")
     private BigDecimal storageFee = BigDecimal.ZERO;
     
     @Positive(message = "Penalty rate must be positive if provided")
-    private BigDecimal penaltyRate = BigDecimal.ZERO;
+    private BigDecimal penaltyRate; // Defaults from the loan product rule
     
     private PaymentFrequency paymentFrequency = PaymentFrequency.ONE_TIME;
     
@@ -0,0 +1,41 @@
+package com.example.loan_origination_system.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import com.example.loan_origination_system.model.enums.CollateralStatus;
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.enums.ParBucket;
+
+import lombok.Data;
+
+@Data
+public class PortfolioSnapshotResponse {
+    private LocalDateTime loadedAt;      // When this copy was read from portfolio_snapshot
+    private LocalDateTime lastUpdatedAt; // Latest change to any aggregate
+    private LocalDate parAsOfDate;       // Business date the aging buckets were computed for
+    private List<Segment> segments;
+
+    /**
+     * KPIs for one branch and currency; amounts are in that currency.
+     */
+    @Data
+    public static class Segment {
+        private Long branchId;
+        private Long currencyId;
+        private BigDecimal outstandingPrincipal;
+        private long openLoans;
+        private Map<LoanStatus, Long> loansByStatus;
+        private Map<LoanStatus, BigDecimal> outstandingByStatus;
+        private Map<CollateralStatus, Long> collateralByStatus;
+        private Map<CollateralStatus, BigDecimal> collateralValueByStatus;
+        private Map<ParBucket, Long> parLoans;
+        private Map<ParBucket, BigDecimal> parOutstanding;
+        private BigDecimal collectionsMonthToDate;
+        private long repaymentsMonthToDate;
+        private Map<String, BigDecimal> collectionsByMonth; // yyyy-MM, last 12 months
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.loan_origination_system.dto;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+
+@Data
+public class RepaymentAllocationResponse {
+    private Long loanId;
+    private String loanCode;
+    private BigDecimal amount;
+    
+    // Outstanding before the payment
+    private BigDecimal penaltyDue;
+    private BigDecimal interestDue;
+    private BigDecimal principalDue;
+    private BigDecimal totalDue;
+    
+    // Allocation of the payment
+    private BigDecimal penalty;
+    private BigDecimal interest;
+    private BigDecimal principal;
+    
+    // Outstanding after the payment
+    private BigDecimal remainingPrincipal;
+    private BigDecimal remainingBalance;
+    private boolean settlesLoan;
+}
@@ -0,0 +1,27 @@
+package com.example.loan_origination_system.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.example.loan_origination_system.model.enums.LedgerAccountType;
+
+import lombok.Data;
+
+@Data
+public class TrialBalanceResponse {
+    private Long branchId;
+    private Long currencyId;
+    private LocalDate asOfDate;
+    private List<Line> lines;
+    private BigDecimal totalDebits;
+    private BigDecimal totalCredits;
+    private boolean balanced;
+
+    @Data
+    public static class Line {
+        private LedgerAccountType accountType;
+        private BigDecimal debit;
+        private BigDecimal credit;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.loan_origination_system.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load-test settings, from --key=value arguments.
+ *
+ * @param baseUrl Application root, e.g. http://localhost:8080
+ * @param username User the driver logs in as; originations and repayments are recorded under it
+ * @param password Password of that user
+ * @param rate Requests per second started, whatever the response times (open model)
+ * @param duration Length of the measured run
+ * @param warmup Load applied before measuring, at the same rate, so the JIT and pools settle
+ * @param maxInFlight Requests outstanding at once; a request due while this many are open is dropped and counted
+ * @param mix Relative weight of each operation; operations with weight 0 are not sent
+ * @param paymentMethodId Payment method used for repayments (there is no endpoint listing them)
+ * @param paymentTypeId Payment type used for repayments
+ * @param histogramDir Directory the per-operation .hgrm percentile distributions are written to, or null
+ * @param seed Random seed for the operation sequence and request data
+ */
+public record LoadTestConfig(String baseUrl, String username, String password, int rate, Duration duration,
+                             Duration warmup, int maxInFlight, Map<Operation, Integer> mix,
+                             long paymentMethodId, long paymentTypeId, Path histogramDir, long seed) {
+
+    public LoadTestConfig {
+        if (rate < 1 || maxInFlight < 1 || duration.isNegative() || duration.isZero() || warmup.isNegative()) {
+            throw new IllegalArgumentException("rate, max-in-flight and duration must be positive");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() < 1) {
+            throw new IllegalArgumentException("The mix needs at least one operation with a positive weight");
+        }
+        mix = Map.copyOf(mix);
+    }
+
+    /**
+     * Parse --key=value arguments; unknown keys are rejected so a typo does not silently use a default.
+     * Durations are ISO-8601 (PT5M) or seconds (300). --mix=loan-lookup:50,repayment:10 replaces the
+     * default weights of the listed operations and leaves the rest as they are; weight 0 disables one.
+     */
+    public static LoadTestConfig parse(String[] args) {
+        String baseUrl = "http://localhost:8080";
+        String username = "admin";
+        String password = "admin";
+        int rate = 50;
+        Duration duration = Duration.ofMinutes(5);
+        Duration warmup = Duration.ofSeconds(30);
+        int maxInFlight = 200;
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            mix.put(operation, operation.defaultWeight());
+        }
+        long paymentMethodId = 1;
+        long paymentTypeId = 1;
+        Path histogramDir = null;
+        long seed = 42;
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+            String key = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (key) {
+                case "base-url" -> baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "username" -> username = value;
+                case "password" -> password = value;
+                case "rate" -> rate = Integer.parseInt(value);
+                case "duration" -> duration = parseDuration(value);
+                case "warmup" -> warmup = parseDuration(value);
+                case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "mix" -> parseMix(value, mix);
+                case "payment-method-id" -> paymentMethodId = Long.parseLong(value);
+                case "payment-type-id" -> paymentTypeId = Long.parseLong(value);
+                case "histogram-dir" -> histogramDir = Path.of(value);
+                case "seed" -> seed = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + key);
+            }
+        }
+        return new LoadTestConfig(baseUrl, username, password, rate, duration, warmup, maxInFlight, mix,
+            paymentMethodId, paymentTypeId, histogramDir, seed);
+    }
+
+    private static void parseMix(String value, Map<Operation, Integer> mix) {
+        for (String entry : value.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Mix entries are operation:weight, got " + entry);
+            }
+            int weight = Integer.parseInt(entry.substring(separator + 1).trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights cannot be negative: " + entry);
+            }
+            mix.put(Operation.fromKey(entry.substring(0, separator)), weight);
+        }
+    }
+
+    private static Duration parseDuration(String value) {
+        return value.startsWith("P") || value.startsWith("p")
+            ? Duration.parse(value) : Duration.ofSeconds(Long.parseLong(value));
+    }
+}
@@ -0,0 +1,483 @@
+package com.example.loan_origination_system.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * Open-model HTTP load test against a running instance, reporting latency percentiles
+ * per operation from HdrHistogram.
+ *
+ * Business Rules:
+ * 1. Requests start at a fixed rate whatever the response times, like independent tellers
+ *    and customers would; a slow server does not slow the load down
+ * 2. Latency is measured from when a request was due to start, not from when it was sent,
+ *    so time spent queued behind a stalled client or server counts (no coordinated omission)
+ * 3. At most maxInFlight requests are outstanding; one due while the limit is reached is
+ *    dropped and counted, since sending it late would understate latency
+ * 4. Operations are chosen by the configured mix; one whose data is missing (no open loans,
+ *    no customers) is left out and reported
+ * 5. The warm-up runs at the full rate and is not measured
+ * 6. Originations use random national IDs, so every one creates a customer; repayments are
+ *    small part-payments on open loans, recorded as received by the logged-in user
+ *
+ * Run against a generated portfolio (PortfolioGeneratorRunner) and a user allowed to originate
+ * and post repayments; scripts/load-test.sh launches it from the application jar.
+ */
+public final class LoadTestDriver {
+
+    private static final Duration REPORT_INTERVAL = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int DISCOVERY_PAGE_SIZE = 500;
+    private static final int LISTING_PAGES = 10;
+    private static final int SUMMARY_MONTHS = 6;
+    private static final long RIEL_PER_DOLLAR = 4_000;
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    private String token;
+    private long userId;
+    private List<Long> branchIds = List.of();
+    private List<CurrencyRef> currencies = List.of();
+    private List<Long> loanIds = List.of();
+    private List<Long> customerIds = List.of();
+    private final List<OpenLoan> openLoans = Collections.synchronizedList(new ArrayList<>());
+
+    LoadTestDriver(LoadTestConfig config) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    public static void main(String[] args) {
+        int exitCode;
+        try {
+            exitCode = new LoadTestDriver(LoadTestConfig.parse(args)).run(System.out);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            exitCode = 2;
+        }
+        System.exit(exitCode);
+    }
+
+    int run(PrintStream out) {
+        try {
+            discover(out);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Discovery failed: " + e);
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        }
+
+        Map<Operation, Integer> mix = effectiveMix(out);
+        if (mix.isEmpty()) {
+            System.err.println("No operation in the mix has the data it needs");
+            return 1;
+        }
+        out.printf("Load: %d req/s for %s after %s warm-up, at most %d in flight, mix %s%n",
+            config.rate(), config.duration(), config.warmup(), config.maxInFlight(), mix);
+
+        Histogram total = drive(mix, out);
+        report(out, total);
+        writeHistograms(out);
+        return 0;
+    }
+
+    // ---------------------------------------------------------------- discovery
+
+    private void discover(PrintStream out) throws IOException, InterruptedException {
+        token = login();
+        userId = get("/api/users/me").path("id").asLong();
+        branchIds = ids(items(get("/api/branches")));
+        List<CurrencyRef> found = new ArrayList<>();
+        for (JsonNode currency : items(get("/api/currencies"))) {
+            found.add(new CurrencyRef(currency.path("id").asLong(), currency.path("decimalPlace").asInt(2)));
+        }
+        currencies = found;
+        for (String status : List.of("ACTIVE", "PARTIALLY_PAID")) {
+            for (JsonNode loan : items(get("/api/pawn-loans/status/" + status + "?size=" + DISCOVERY_PAGE_SIZE))) {
+                openLoans.add(new OpenLoan(loan.path("id").asLong(), loan.path("currency").path("id").asLong(),
+                    loan.path("currency").path("decimalPlace").asInt(2)));
+            }
+        }
+        loanIds = ids(items(get("/api/pawn-loans?size=" + DISCOVERY_PAGE_SIZE)));
+        customerIds = ids(items(get("/api/customers?size=" + DISCOVERY_PAGE_SIZE)));
+        out.printf("Discovered user %d, %d branches, %d currencies, %d open loans, %d loans, %d customers%n",
+            userId, branchIds.size(), currencies.size(), openLoans.size(), loanIds.size(), customerIds.size());
+    }
+
+    private String login() throws IOException, InterruptedException {
+        ObjectNode body = jsonMapper.createObjectNode()
+            .put("username", config.username())
+            .put("password", config.password());
+        HttpResponse<String> response = client.send(request("/api/auth/login")
+            .POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(body))).build(),
+            HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + config.username() + " returned " + response.statusCode());
+        }
+        return jsonMapper.readTree(response.body()).path("token").asString();
+    }
+
+    private JsonNode get(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request(path).GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return jsonMapper.readTree(response.body());
+    }
+
+    /**
+     * Elements of a response: a bare array, ApiResponse data, or a page under data.content.
+     */
+    private static List<JsonNode> items(JsonNode response) {
+        JsonNode node = response.has("data") ? response.path("data") : response;
+        if (node.has("content")) {
+            node = node.path("content");
+        }
+        List<JsonNode> result = new ArrayList<>();
+        node.forEach(result::add);
+        return result;
+    }
+
+    private static List<Long> ids(List<JsonNode> nodes) {
+        return nodes.stream().map(node -> node.path("id").asLong()).filter(id -> id > 0).toList();
+    }
+
+    private Map<Operation, Integer> effectiveMix(PrintStream out) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (Map.Entry<Operation, Integer> entry : config.mix().entrySet()) {
+            if (entry.getValue() <= 0) {
+                continue;
+            }
+            if (hasData(entry.getKey())) {
+                mix.put(entry.getKey(), entry.getValue());
+            } else {
+                out.printf("Leaving out %s: no data to send it with%n", entry.getKey().key());
+            }
+        }
+        return mix;
+    }
+
+    private boolean hasData(Operation operation) {
+        return switch (operation) {
+            case LOGIN, LOAN_LISTING, CUSTOMER_LISTING -> true;
+            case ORIGINATION -> !branchIds.isEmpty() && !currencies.isEmpty();
+            case REPAYMENT -> !openLoans.isEmpty();
+            case LOAN_LOOKUP -> !loanIds.isEmpty();
+            case AGING_REPORT, DAILY_COLLECTION_REPORT -> !branchIds.isEmpty();
+            case CUSTOMER_SUMMARY_REPORT -> !customerIds.isEmpty();
+        };
+    }
+
+    // ---------------------------------------------------------------- load
+
+    private Histogram drive(Map<Operation, Integer> mix, PrintStream out) {
+        Operation[] wheel = wheel(mix);
+        SplittableRandom random = new SplittableRandom(config.seed());
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        long nextReport = measureFrom + REPORT_INTERVAL.toNanos();
+        Histogram total = new Histogram(3);
+        Histogram interval = new Histogram(3);
+        long intervalStart = measureFrom;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (intended >= nextReport) {
+                    collect(interval, total);
+                    printInterval(out, intended - measureFrom, interval, intended - intervalStart);
+                    interval.reset();
+                    intervalStart = intended;
+                    nextReport += REPORT_INTERVAL.toNanos();
+                }
+
+                Operation operation = wheel[random.nextInt(wheel.length)];
+                boolean measured = intended >= measureFrom;
+                if (!inFlight.tryAcquire()) {
+                    if (measured) {
+                        stats.get(operation).dropped.increment();
+                    }
+                    continue;
+                }
+                long seed = random.nextLong();
+                executor.execute(() -> {
+                    try {
+                        boolean ok = send(operation, new SplittableRandom(seed));
+                        if (measured) {
+                            OperationStats operationStats = stats.get(operation);
+                            operationStats.recorder.recordValue(
+                                Math.max(1, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended)));
+                            if (!ok) {
+                                operationStats.errors.increment();
+                            }
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            // Closing the executor waits for the requests still in flight
+        }
+        collect(interval, total);
+        return total;
+    }
+
+    /**
+     * Operations repeated by weight, so a uniform pick follows the mix.
+     */
+    private static Operation[] wheel(Map<Operation, Integer> mix) {
+        List<Operation> wheel = new ArrayList<>();
+        mix.forEach((operation, weight) -> wheel.addAll(Collections.nCopies(weight, operation)));
+        return wheel.toArray(Operation[]::new);
+    }
+
+    private void collect(Histogram interval, Histogram total) {
+        for (OperationStats operationStats : stats.values()) {
+            Histogram histogram = operationStats.recorder.getIntervalHistogram();
+            operationStats.histogram.add(histogram);
+            interval.add(histogram);
+        }
+        total.add(interval);
+    }
+
+    private static void printInterval(PrintStream out, long elapsedNanos, Histogram interval, long intervalNanos) {
+        out.printf("%6ds  %8.1f req/s  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms%n",
+            TimeUnit.NANOSECONDS.toSeconds(elapsedNanos),
+            interval.getTotalCount() * 1e9 / Math.max(1, intervalNanos),
+            millis(interval.getValueAtPercentile(50)), millis(interval.getValueAtPercentile(99)),
+            millis(interval.getMaxValue()));
+    }
+
+    // ---------------------------------------------------------------- requests
+
+    /**
+     * Send one request; true when the server answered 2xx.
+     */
+    private boolean send(Operation operation, SplittableRandom random) {
+        try {
+            return switch (operation) {
+                case LOGIN -> post("/api/auth/login", jsonMapper.createObjectNode()
+                    .put("username", config.username())
+                    .put("password", config.password())) != null;
+                case ORIGINATION -> originate(random);
+                case REPAYMENT -> repay(random);
+                case LOAN_LISTING -> ok("/api/pawn-loans?page=" + random.nextInt(LISTING_PAGES) + "&size=20");
+                case CUSTOMER_LISTING -> ok("/api/customers?page=" + random.nextInt(LISTING_PAGES) + "&size=20");
+                case LOAN_LOOKUP -> ok("/api/pawn-loans/" + pick(random, loanIds));
+                case AGING_REPORT -> ok("/api/portfolio/aging?branchId=" + pick(random, branchIds));
+                case DAILY_COLLECTION_REPORT -> ok("/api/pawn-repayments/daily-collection/" + pick(random, branchIds));
+                case CUSTOMER_SUMMARY_REPORT -> ok("/api/pawn-repayments/customer/" + pick(random, customerIds)
+                    + "/summary/" + SUMMARY_MONTHS);
+            };
+        } catch (IOException | RuntimeException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean originate(SplittableRandom random) throws IOException, InterruptedException {
+        CurrencyRef currency = currencies.get(random.nextInt(currencies.size()));
+        // 100 to 1000 dollars, or the equivalent in riel for a currency without minor units
+        long units = random.nextLong(100, 1_001);
+        BigDecimal amount = BigDecimal.valueOf(currency.decimalPlace() == 0 ? units * RIEL_PER_DOLLAR : units);
+        ObjectNode body = jsonMapper.createObjectNode()
+            .put("nationalId", String.valueOf(random.nextLong(100_000_000L, 1_000_000_000L)));
+        body.putObject("customerInfo")
+            .put("fullName", "Load Test Customer")
+            .put("phone", "012" + random.nextInt(100_000, 1_000_000))
+            .put("address", "Load test address");
+        body.putObject("collateralInfo")
+            .put("itemType", "GOLD_RING")
+            .put("description", "Gold ring, load test")
+            .put("estimatedValue", amount.multiply(BigDecimal.TWO));
+        body.putObject("loanInfo")
+            .put("currencyId", currency.id())
+            .put("branchId", pick(random, branchIds))
+            .put("loanAmount", amount)
+            .put("interestRate", new BigDecimal("3.00"))
+            .put("dueDate", LocalDate.now().plusDays(30).toString())
+            // The request defaults it to zero, which fails @Positive; no fee is null
+            .putNull("storageFee");
+        JsonNode created = post("/api/pawn-loans/create-full", body);
+        if (created == null) {
+            return false;
+        }
+        JsonNode loan = created.path("data");
+        openLoans.add(new OpenLoan(loan.path("id").asLong(), currency.id(), currency.decimalPlace()));
+        return true;
+    }
+
+    private boolean repay(SplittableRandom random) throws IOException, InterruptedException {
+        OpenLoan loan;
+        synchronized (openLoans) {
+            if (openLoans.isEmpty()) {
+                return false;
+            }
+            loan = openLoans.get(random.nextInt(openLoans.size()));
+        }
+        // A small part-payment, so a loan takes many repayments to close
+        BigDecimal amount = loan.decimalPlace() == 0 ? BigDecimal.valueOf(5 * RIEL_PER_DOLLAR) : new BigDecimal("5.00");
+        ObjectNode body = jsonMapper.createObjectNode()
+            .put("pawnLoanId", loan.id())
+            .put("currencyId", loan.currencyId())
+            .put("paymentMethodId", config.paymentMethodId())
+            .put("paymentTypeId", config.paymentTypeId())
+            .put("paidAmount", amount)
+            .put("receivedBy", userId);
+        if (post("/api/pawn-repayments", body) == null) {
+            // Most likely closed meanwhile; stop paying into it
+            openLoans.remove(loan);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean ok(String path) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request(path).GET().build(), HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() / 100 == 2;
+    }
+
+    /**
+     * POST a JSON body; the parsed response, or null when the server did not answer 2xx.
+     */
+    private JsonNode post(String path, ObjectNode body) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request(path)
+            .POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(body))).build(),
+            HttpResponse.BodyHandlers.ofString());
+        return response.statusCode() / 100 == 2 ? jsonMapper.readTree(response.body()) : null;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(config.baseUrl() + path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Accept", "application/json")
+            .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private static long pick(SplittableRandom random, List<Long> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    // ---------------------------------------------------------------- report
+
+    private void report(PrintStream out, Histogram total) {
+        double seconds = config.duration().toNanos() / 1e9;
+        out.printf("%n%-24s %9s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+            "operation", "count", "errors", "dropped", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long errors = 0;
+        long dropped = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            if (operationStats.histogram.getTotalCount() == 0 && operationStats.dropped.sum() == 0) {
+                continue;
+            }
+            errors += operationStats.errors.sum();
+            dropped += operationStats.dropped.sum();
+            printRow(out, entry.getKey().key(), operationStats.histogram, operationStats.errors.sum(),
+                operationStats.dropped.sum(), seconds);
+        }
+        printRow(out, "all", total, errors, dropped, seconds);
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, long errors, long dropped,
+                                 double seconds) {
+        out.printf("%-24s %9d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+            name, histogram.getTotalCount(), errors, dropped, histogram.getTotalCount() / seconds,
+            millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+            millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+            millis(histogram.getMaxValue()));
+    }
+
+    private void writeHistograms(PrintStream out) {
+        Path dir = config.histogramDir();
+        if (dir == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+                Histogram histogram = entry.getValue().histogram;
+                if (histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                try (PrintStream file = new PrintStream(Files.newOutputStream(dir.resolve(entry.getKey().key() + ".hgrm")))) {
+                    // Values are recorded in microseconds; the distribution is written in milliseconds
+                    histogram.outputPercentileDistribution(file, 1000.0);
+                }
+            }
+            out.println("Percentile distributions written to " + dir.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not write histograms to " + dir + ": " + e.getMessage());
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private record CurrencyRef(long id, int decimalPlace) {}
+
+    private record OpenLoan(long id, long currencyId, int decimalPlace) {}
+
+    private static final class OperationStats {
+        private final Recorder recorder = new Recorder(3);
+        private final Histogram histogram = new Histogram(3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.loan_origination_system.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Requests the load-test driver sends, with their default share of the mix.
+ * The defaults approximate a branch day: mostly lookups and listings, one origination
+ * for every two repayments, and occasional reports.
+ */
+public enum Operation {
+    LOGIN(2),
+    ORIGINATION(10),
+    REPAYMENT(20),
+    LOAN_LISTING(15),
+    CUSTOMER_LISTING(10),
+    LOAN_LOOKUP(30),
+    AGING_REPORT(2),
+    DAILY_COLLECTION_REPORT(6),
+    CUSTOMER_SUMMARY_REPORT(5);
+
+    private final int defaultWeight;
+
+    Operation(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    public int defaultWeight() {
+        return defaultWeight;
+    }
+
+    /**
+     * Name as written in --mix, e.g. loan-lookup.
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    public static Operation fromKey(String key) {
+        return valueOf(key.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
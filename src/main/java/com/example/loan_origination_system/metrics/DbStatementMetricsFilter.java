@@ -0,0 +1,73 @@
+package com.example.loan_origination_system.metrics;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records how many SQL statements each HTTP request issued (http.server.requests.db.statements)
+ * and how long they took to execute (http.server.requests.db.time), tagged by method and
+ * URI template so N+1 endpoints stand out. Requests over their StatementBudget are counted
+ * (http.server.requests.db.budget.exceeded) and logged with their statements.
+ * Runs first in the chain, so statements made during authentication are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class DbStatementMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public DbStatementMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementStats stats = StatementCountingInspector.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementCountingInspector.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+            DistributionSummary.builder("http.server.requests.db.statements")
+                .description("SQL statements issued per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+            Timer.builder("http.server.requests.db.time")
+                .description("Time spent executing SQL per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getJdbcTime());
+            if (stats.isOverBudget()) {
+                Counter.builder("http.server.requests.db.budget.exceeded")
+                    .description("Requests that issued more SQL statements than their budget")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+                log.warn("{} {} issued {} SQL statements, budget {}:\n{}", request.getMethod(), uri,
+                    stats.getStatements(), stats.getBudget(),
+                    StatementBudgetExceededException.format(stats.getStatementCounts()));
+            }
+        }
+    }
+}
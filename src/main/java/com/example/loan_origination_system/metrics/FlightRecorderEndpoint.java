@@ -0,0 +1,214 @@
+package com.example.loan_origination_system.metrics;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * On-demand JFR recordings at /actuator/jfr, restricted to the ops roles by SecurityConfig.
+ *
+ * Business Rules:
+ * 1. GET /actuator/jfr lists the recordings started here
+ * 2. POST /actuator/jfr {"duration": "PT2M", "settings": "profile"} starts a recording; it stops
+ *    itself after the duration, which defaults to loan.jfr.default-duration and is capped at
+ *    loan.jfr.max-duration. Settings are the JDK "default" (about 1% overhead) or "profile"
+ * 3. GET /actuator/jfr/{id} downloads the recording as a .jfr file; a running one is dumped as-is
+ * 4. DELETE /actuator/jfr/{id} stops and discards a recording
+ * 5. At most loan.jfr.max-recordings are kept at once; delete one to start another
+ *
+ * The application's own events (LoanOriginationEvent, RepaymentPostingEvent, LoanTransitionEvent,
+ * SchedulerChunkEvent, JwtValidationEvent) are in the "Loan Origination System" category.
+ */
+@Component
+@Endpoint(id = "jfr")
+@Slf4j
+public class FlightRecorderEndpoint implements DisposableBean {
+
+    private static final String NAME_PREFIX = "actuator-";
+
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final int maxRecordings;
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FlightRecorderEndpoint(@Value("${loan.jfr.default-duration:PT1M}") Duration defaultDuration,
+                                  @Value("${loan.jfr.max-duration:PT15M}") Duration maxDuration,
+                                  @Value("${loan.jfr.max-recordings:2}") int maxRecordings) {
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.maxRecordings = maxRecordings;
+    }
+
+    @ReadOperation
+    public List<RecordingInfo> recordings() {
+        List<RecordingInfo> result = new ArrayList<>();
+        for (Recording recording : recordings.values()) {
+            result.add(RecordingInfo.of(recording));
+        }
+        result.sort(Comparator.comparingLong(RecordingInfo::id));
+        return result;
+    }
+
+    @WriteOperation
+    public synchronized RecordingInfo start(@Nullable String duration, @Nullable String settings) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new InvalidEndpointRequestException("Flight recorder is not available in this JVM",
+                "Flight recorder not available");
+        }
+        if (recordings.size() >= maxRecordings) {
+            throw new InvalidEndpointRequestException("At most " + maxRecordings
+                + " recordings are kept; delete one first", "Too many recordings");
+        }
+
+        Duration length = parseDuration(duration);
+        String settingsName = settings != null ? settings : "default";
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            throw new InvalidEndpointRequestException("Unknown JFR settings '" + settingsName
+                + "'; use default or profile", "Unknown settings");
+        }
+
+        Recording recording = new Recording(configuration);
+        recording.setName(NAME_PREFIX + Instant.now());
+        recording.setDuration(length);
+        recording.setToDisk(true);
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        log.info("Started JFR recording {} for {} with {} settings", recording.getId(), length, settingsName);
+        return RecordingInfo.of(recording);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector long id) throws IOException {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = Files.createTempFile("recording-" + id + "-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new WebEndpointResponse<>(new TemporaryFileResource(file.toFile()), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<RecordingInfo> delete(@Selector long id) {
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        RecordingInfo info = RecordingInfo.of(recording);
+        recording.close();
+        log.info("Closed JFR recording {}", id);
+        return new WebEndpointResponse<>(info, WebEndpointResponse.STATUS_OK);
+    }
+
+    @Override
+    public void destroy() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+
+    private Duration parseDuration(String duration) {
+        if (duration == null) {
+            return defaultDuration;
+        }
+        Duration parsed;
+        try {
+            parsed = Duration.parse(duration);
+        } catch (RuntimeException e) {
+            throw new InvalidEndpointRequestException("Duration must be ISO-8601, e.g. PT2M", "Invalid duration");
+        }
+        if (parsed.isNegative() || parsed.isZero()) {
+            throw new InvalidEndpointRequestException("Duration must be positive", "Invalid duration");
+        }
+        return parsed.compareTo(maxDuration) > 0 ? maxDuration : parsed;
+    }
+
+    public record RecordingInfo(long id, String name, RecordingState state, Instant startTime,
+                                Duration duration, Instant stopTime, long size) {
+
+        static RecordingInfo of(Recording recording) {
+            Instant stop = recording.getStopTime();
+            if (stop == null && recording.getStartTime() != null && recording.getDuration() != null) {
+                stop = recording.getStartTime().plus(recording.getDuration());
+            }
+            return new RecordingInfo(recording.getId(), recording.getName(), recording.getState(),
+                recording.getStartTime(), recording.getDuration(), stop, recording.getSize());
+        }
+    }
+
+    /**
+     * A dumped recording, deleted once the response has been streamed.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(File file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+
+        @Override
+        public ReadableByteChannel readableChannel() throws IOException {
+            return Channels.newChannel(getInputStream());
+        }
+
+        @Override
+        public String getFilename() {
+            return getFile().getName();
+        }
+    }
+}
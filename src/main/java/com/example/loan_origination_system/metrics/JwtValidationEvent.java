@@ -0,0 +1,35 @@
+package com.example.loan_origination_system.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Bearer token handling in JwtFilter: blacklist check, parsing, user lookup and validation.
+ */
+@Name("com.example.loan.JwtValidation")
+@Label("JWT Validation")
+@Description("Validation of a bearer token for one request")
+@Category({"Loan Origination System", "Security"})
+public class JwtValidationEvent extends jdk.jfr.Event {
+
+    public static final String VALID = "valid";
+    public static final String INVALID = "invalid";
+    public static final String BLACKLISTED = "blacklisted";
+
+    @Label("Username")
+    String username;
+
+    @Label("Outcome")
+    String outcome;
+
+    public void complete(String username, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.username = username;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
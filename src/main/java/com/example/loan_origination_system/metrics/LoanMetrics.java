@@ -0,0 +1,184 @@
+package com.example.loan_origination_system.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.loan_origination_system.model.enums.LoanEvent;
+import com.example.loan_origination_system.model.enums.LoanStatus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters for the loan lifecycle hot paths and scheduled jobs.
+ *
+ * Meters:
+ * 1. loan.origination, loan.repayment: timers including the commit, tagged with outcome
+ * 2. loan.transition: timer per event; loan.transitions: counter per event and from/to status pair;
+ *    loan.transitions.rejected: counter per event and from status
+ * 3. scheduler.job: timer per job and outcome; scheduler.job.last.duration,
+ *    scheduler.job.last.processed and scheduler.job.last.success: gauges with the latest run of each job
+ *    scheduler.job.skipped: counter per job of rows that failed on their own and were left for the next run
+ *
+ * Timers of work done inside a transaction stop when the transaction completes, so
+ * writes deferred to commit (ledger postings, portfolio deltas) are part of the time.
+ * Origination and repayment also emit a JFR event over the same interval, carrying the
+ * loan and branch, so a flight recording ties slow transactions to GC, lock and I/O events.
+ */
+@Component
+public class LoanMetrics {
+
+    public static final String ORIGINATION = "loan.origination";
+    public static final String REPAYMENT = "loan.repayment";
+
+    private static final String SUCCESS = "success";
+    private static final String FAILURE = "failure";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, JobStats> jobs = new ConcurrentHashMap<>();
+
+    public LoanMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Time the current transaction from now until it completes, so validation failures and
+     * rollbacks are recorded with outcome failure. Call at the start of a transactional method;
+     * without a transaction nothing meaningful can be timed and the sample is stopped at once.
+     *
+     * @param flightEvent JFR event committed when the transaction completes
+     * @return The flight event, to attach the loan with forLoan once it is known
+     */
+    public <E extends LoanTransactionEvent> E timeTransaction(E flightEvent, String name, String... tags) {
+        Timer.Sample sample = start();
+        flightEvent.begin();
+        onCompletion(committed -> {
+            sample.stop(Timer.builder(name)
+                .tags(tags)
+                .tag("outcome", committed ? SUCCESS : FAILURE)
+                .register(meterRegistry));
+            flightEvent.complete(committed);
+        });
+        return flightEvent;
+    }
+
+    /**
+     * Record a completed state machine transition.
+     */
+    public void recordTransition(Timer.Sample sample, LoanEvent event, LoanStatus from, LoanStatus to) {
+        sample.stop(Timer.builder("loan.transition")
+            .description("Time to apply a loan state transition")
+            .tag("event", event.name())
+            .register(meterRegistry));
+        Counter.builder("loan.transitions")
+            .description("Loan state transitions")
+            .tag("event", event.name())
+            .tag("from", from.name())
+            .tag("to", to.name())
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * Count a transition refused because the event is not valid in the loan's status.
+     */
+    public void recordRejectedTransition(LoanEvent event, LoanStatus from) {
+        Counter.builder("loan.transitions.rejected")
+            .description("Loan transitions refused by the state machine")
+            .tag("event", event.name())
+            .tag("from", String.valueOf(from))
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /**
+     * Record a scheduled job run and the rows it processed, once its transaction (if any) completes.
+     *
+     * @param sample Started when the run began
+     * @param processed Rows (loans, repayments, aggregates) the run processed
+     * @param succeeded False if the run stopped early on an error; a rollback also counts as failure
+     */
+    public void recordJob(String job, Timer.Sample sample, long processed, boolean succeeded) {
+        JobStats stats = jobs.computeIfAbsent(job, this::registerJob);
+        onCompletion(committed -> {
+            boolean success = succeeded && committed;
+            long nanos = sample.stop(Timer.builder("scheduler.job")
+                .description("Scheduled job run time")
+                .tag("job", job)
+                .tag("outcome", success ? SUCCESS : FAILURE)
+                .register(meterRegistry));
+            stats.lastDurationNanos.set(nanos);
+            stats.lastProcessed.set(processed);
+            if (success) {
+                stats.lastSuccessEpochSeconds.set(System.currentTimeMillis() / 1000);
+            }
+        });
+    }
+
+    /**
+     * Count rows a scheduled job skipped because they failed on their own.
+     */
+    public void recordSkipped(String job, long skipped) {
+        Counter.builder("scheduler.job.skipped")
+            .description("Rows a scheduled job skipped and left for the next run")
+            .tag("job", job)
+            .register(meterRegistry)
+            .increment(skipped);
+    }
+
+    private JobStats registerJob(String job) {
+        JobStats stats = new JobStats();
+        Gauge.builder("scheduler.job.last.duration", stats.lastDurationNanos,
+                nanos -> nanos.get() / (double) TimeUnit.SECONDS.toNanos(1))
+            .description("Duration of the latest run")
+            .baseUnit("seconds")
+            .tag("job", job)
+            .register(meterRegistry);
+        Gauge.builder("scheduler.job.last.processed", stats.lastProcessed, AtomicLong::get)
+            .description("Rows processed by the latest run")
+            .tag("job", job)
+            .register(meterRegistry);
+        Gauge.builder("scheduler.job.last.success", stats.lastSuccessEpochSeconds, AtomicLong::get)
+            .description("Epoch second the latest successful run finished, 0 if none since startup")
+            .baseUnit("seconds")
+            .tag("job", job)
+            .register(meterRegistry);
+        return stats;
+    }
+
+    private static void onCompletion(CompletionCallback callback) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    callback.completed(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            callback.completed(true);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CompletionCallback {
+        void completed(boolean committed);
+    }
+
+    private static final class JobStats {
+        private final AtomicLong lastDurationNanos = new AtomicLong();
+        private final AtomicLong lastProcessed = new AtomicLong();
+        private final AtomicLong lastSuccessEpochSeconds = new AtomicLong();
+    }
+}
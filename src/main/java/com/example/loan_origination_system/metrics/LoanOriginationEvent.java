@@ -0,0 +1,18 @@
+package com.example.loan_origination_system.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.loan.Origination")
+@Label("Loan Origination")
+@Description("Loan creation through to the commit of its transaction")
+public class LoanOriginationEvent extends LoanTransactionEvent {
+
+    @Label("Type")
+    String type;
+
+    public LoanOriginationEvent(String type) {
+        this.type = type;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.loan_origination_system.metrics;
+
+import com.example.loan_origination_system.model.loan.PawnLoan;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+
+/**
+ * Base of the JFR events for transactional loan operations. The event spans the same
+ * interval as the matching LoanMetrics timer: from the start of the service method until
+ * its transaction completes.
+ */
+@Category({"Loan Origination System", "Transactions"})
+public abstract class LoanTransactionEvent extends jdk.jfr.Event {
+
+    @Label("Loan ID")
+    long loanId;
+
+    @Label("Branch ID")
+    long branchId;
+
+    @Label("Committed")
+    boolean committed;
+
+    /**
+     * Attach the loan the operation worked on, once it is known (after save for a new loan).
+     */
+    public void forLoan(PawnLoan loan) {
+        if (loan.getId() != null) {
+            loanId = loan.getId();
+        }
+        if (loan.getBranch() != null && loan.getBranch().getId() != null) {
+            branchId = loan.getBranch().getId();
+        }
+    }
+
+    void complete(boolean committed) {
+        end();
+        if (shouldCommit()) {
+            this.committed = committed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.loan_origination_system.metrics;
+
+import com.example.loan_origination_system.model.enums.LoanEvent;
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One LoanStateMachine transition, from the status check to the save. Rejected
+ * transitions are not recorded; loan.transitions.rejected counts them.
+ */
+@Name("com.example.loan.Transition")
+@Label("Loan Transition")
+@Description("A loan state machine transition")
+@Category({"Loan Origination System", "Lifecycle"})
+public class LoanTransitionEvent extends jdk.jfr.Event {
+
+    @Label("Loan ID")
+    long loanId;
+
+    @Label("Branch ID")
+    long branchId;
+
+    @Label("Event")
+    String event;
+
+    @Label("From")
+    String from;
+
+    @Label("To")
+    String to;
+
+    public void complete(PawnLoan loan, LoanEvent event, LoanStatus from, LoanStatus to) {
+        end();
+        if (shouldCommit()) {
+            loanId = loan.getId() != null ? loan.getId() : 0;
+            branchId = loan.getBranch() != null && loan.getBranch().getId() != null ? loan.getBranch().getId() : 0;
+            this.event = event.name();
+            this.from = from.name();
+            this.to = to.name();
+            commit();
+        }
+    }
+}
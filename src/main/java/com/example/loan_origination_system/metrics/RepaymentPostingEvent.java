@@ -0,0 +1,11 @@
+package com.example.loan_origination_system.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.loan.RepaymentPosting")
+@Label("Repayment Posting")
+@Description("Repayment allocation and ledger posting through to the commit of its transaction")
+public class RepaymentPostingEvent extends LoanTransactionEvent {
+}
@@ -0,0 +1,62 @@
+package com.example.loan_origination_system.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One chunk (one transaction) of a chunked scheduled job.
+ */
+@Name("com.example.loan.SchedulerChunk")
+@Label("Scheduler Chunk")
+@Description("One chunk of a scheduled job, including its commit")
+@Category({"Loan Origination System", "Scheduler"})
+public class SchedulerChunkEvent extends jdk.jfr.Event {
+
+    @Label("Job")
+    String job;
+
+    @Label("After ID")
+    @Description("Cursor the chunk started after")
+    long afterId;
+
+    @Label("Last ID")
+    @Description("Cursor for the next chunk")
+    long lastId;
+
+    @Label("Processed")
+    int processed;
+
+    @Label("Failed")
+    boolean failed;
+
+    /**
+     * Begin timing a chunk that processes IDs greater than afterId.
+     */
+    public static SchedulerChunkEvent start(String job, long afterId) {
+        SchedulerChunkEvent event = new SchedulerChunkEvent();
+        event.job = job;
+        event.afterId = afterId;
+        event.begin();
+        return event;
+    }
+
+    public void complete(long lastId, int processed) {
+        end();
+        if (shouldCommit()) {
+            this.lastId = lastId;
+            this.processed = processed;
+            commit();
+        }
+    }
+
+    public void fail() {
+        end();
+        if (shouldCommit()) {
+            lastId = afterId;
+            failed = true;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.loan_origination_system.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum SQL statements a request to this endpoint may issue, including those made while
+ * authenticating it. Overrides loan.sql-budget.default-max; on a class it applies to every
+ * handler method that does not declare its own.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface StatementBudget {
+
+    int value();
+}
@@ -0,0 +1,20 @@
+package com.example.loan_origination_system.metrics;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A request issued more SQL statements than its budget allows (fail mode only, dev and test).
+ */
+public class StatementBudgetExceededException extends IllegalStateException {
+
+    public StatementBudgetExceededException(String endpoint, int budget, Map<String, Integer> statementCounts) {
+        super(endpoint + " exceeded its budget of " + budget + " SQL statements:\n" + format(statementCounts));
+    }
+
+    static String format(Map<String, Integer> statementCounts) {
+        return statementCounts.entrySet().stream()
+            .map(e -> "  " + e.getValue() + "x " + e.getKey())
+            .collect(Collectors.joining("\n"));
+    }
+}
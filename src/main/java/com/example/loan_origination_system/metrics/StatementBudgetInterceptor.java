@@ -0,0 +1,50 @@
+package com.example.loan_origination_system.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies the endpoint's SQL statement budget to the request's counting scope (opened by
+ * DbStatementMetricsFilter) once the handler is known.
+ *
+ * Modes (loan.sql-budget.mode):
+ * - OFF: no budget, statements are only measured (production)
+ * - LOG: a request over budget is logged with its statements and counted (development)
+ * - FAIL: the statement that exceeds the budget throws StatementBudgetExceededException (tests)
+ */
+@Component
+public class StatementBudgetInterceptor implements HandlerInterceptor {
+
+    public enum Mode { OFF, LOG, FAIL }
+
+    private final Mode mode;
+    private final int defaultMax;
+
+    public StatementBudgetInterceptor(@Value("${loan.sql-budget.mode:OFF}") Mode mode,
+                                      @Value("${loan.sql-budget.default-max:20}") int defaultMax) {
+        this.mode = mode;
+        this.defaultMax = defaultMax;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        StatementStats stats = StatementCountingInspector.current();
+        if (mode == Mode.OFF || stats == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        StatementBudget budget = handlerMethod.getMethodAnnotation(StatementBudget.class);
+        if (budget == null) {
+            budget = handlerMethod.getBeanType().getAnnotation(StatementBudget.class);
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        stats.setBudget(request.getMethod() + " " + pattern, budget != null ? budget.value() : defaultMax,
+            mode == Mode.FAIL);
+        return true;
+    }
+}
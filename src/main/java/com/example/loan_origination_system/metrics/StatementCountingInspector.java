@@ -0,0 +1,60 @@
+package com.example.loan_origination_system.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts SQL statements Hibernate prepares on the current thread while counting is active.
+ * Registered through hibernate.session_factory.statement_inspector; Hibernate instantiates it,
+ * so the per-thread state is static. JDBC time is added by StatementTimingListener.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    private static final ThreadLocal<StatementStats> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        for (StatementStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.statement(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Start a counting scope on this thread, nested in any scope already active.
+     */
+    public static StatementStats begin() {
+        StatementStats stats = new StatementStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * End the innermost counting scope on this thread.
+     * @return Statements prepared since the matching begin(), or 0 if counting was not active
+     */
+    public static long end() {
+        StatementStats stats = CURRENT.get();
+        if (stats == null) {
+            return 0L;
+        }
+        if (stats.parent != null) {
+            CURRENT.set(stats.parent);
+        } else {
+            CURRENT.remove();
+        }
+        return stats.getStatements();
+    }
+
+    /**
+     * The innermost active scope on this thread, or null.
+     */
+    public static StatementStats current() {
+        return CURRENT.get();
+    }
+
+    static void addJdbcTime(long nanos) {
+        for (StatementStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.jdbcTime(nanos);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.loan_origination_system.metrics;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL statements and JDBC time collected on one thread between
+ * StatementCountingInspector.begin() and end().
+ *
+ * Scopes nest: a statement counts towards every enclosing scope, so a test helper can
+ * count inside a request that is itself being counted. A scope can carry a statement budget;
+ * in fail mode the statement that exceeds it throws StatementBudgetExceededException, so the
+ * stack trace points at the code issuing the extra queries.
+ */
+public final class StatementStats {
+
+    // Distinct statements kept for the budget report; further ones are only counted
+    private static final int MAX_DISTINCT_STATEMENTS = 50;
+
+    final StatementStats parent;
+    private long statements;
+    private long jdbcNanos;
+    private final Map<String, Integer> statementCounts = new LinkedHashMap<>();
+    private int budget = -1;
+    private boolean failOnExceed;
+    private String endpoint;
+    private boolean failed;
+
+    StatementStats(StatementStats parent) {
+        this.parent = parent;
+    }
+
+    void statement(String sql) {
+        statements++;
+        if (statementCounts.size() < MAX_DISTINCT_STATEMENTS || statementCounts.containsKey(sql)) {
+            statementCounts.merge(sql, 1, Integer::sum);
+        }
+        if (failOnExceed && !failed && isOverBudget()) {
+            failed = true;
+            throw new StatementBudgetExceededException(endpoint, budget, statementCounts);
+        }
+    }
+
+    void jdbcTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    /**
+     * Limit this scope to the given number of statements.
+     *
+     * @param endpoint Name used in the report, e.g. "GET /api/pawn-loans/{id}"
+     * @param failOnExceed Throw on the first statement over budget instead of only reporting
+     */
+    public void setBudget(String endpoint, int budget, boolean failOnExceed) {
+        this.endpoint = endpoint;
+        this.budget = budget;
+        this.failOnExceed = failOnExceed;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public boolean isOverBudget() {
+        return budget >= 0 && statements > budget;
+    }
+
+    /**
+     * Statements by SQL text with how often each ran, in first-seen order.
+     */
+    public Map<String, Integer> getStatementCounts() {
+        return new LinkedHashMap<>(statementCounts);
+    }
+}
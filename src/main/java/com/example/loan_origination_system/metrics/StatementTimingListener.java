@@ -0,0 +1,34 @@
+package com.example.loan_origination_system.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time spent executing JDBC statements and batches to the active
+ * StatementCountingInspector scopes. Registered through hibernate.session.events.auto;
+ * Hibernate creates one per session, and a session is used by one thread at a time.
+ */
+public class StatementTimingListener implements SessionEventListener {
+
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        StatementCountingInspector.addJdbcTime(System.nanoTime() - executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        StatementCountingInspector.addJdbcTime(System.nanoTime() - batchStart);
+    }
+}
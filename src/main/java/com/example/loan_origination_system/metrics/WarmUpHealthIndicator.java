@@ -0,0 +1,35 @@
+package com.example.loan_origination_system.metrics;
+
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import com.example.loan_origination_system.service.WarmUpService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Warm-up progress, included in the readiness group: OUT_OF_SERVICE until every
+ * warm-up step has run, with the current step and completed step timings as details.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmUpHealthIndicator implements HealthIndicator {
+
+    private final WarmUpService warmUpService;
+
+    @Override
+    public Health health() {
+        WarmUpService.Phase phase = warmUpService.getPhase();
+        Health.Builder builder = phase == WarmUpService.Phase.DONE || phase == WarmUpService.Phase.DISABLED
+            ? Health.up() : Health.outOfService();
+        builder.withDetail("phase", phase)
+            .withDetail("completed", warmUpService.getCompletedSteps().size() + "/" + warmUpService.getTotalSteps())
+            .withDetail("stepMillis", warmUpService.getCompletedSteps());
+        String currentStep = warmUpService.getCurrentStep();
+        if (currentStep != null) {
+            builder.withDetail("currentStep", currentStep);
+        }
+        return builder.build();
+    }
+}
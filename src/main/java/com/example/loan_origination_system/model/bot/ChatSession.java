@@ -0,0 +1,29 @@
+package com.example.loan_origination_system.model.bot;
+
+import java.time.LocalDateTime;
+
+import com.example.loan_origination_system.model.enums.ConversationState;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Persisted bot conversation state, so in-flight conversations survive a restart.
+ * Only written when telegram.bot.state.persistent=true.
+ */
+@Entity
+@Table(name = "bot_chat_session")
+@Data
+public class ChatSession {
+    @Id
+    private Long chatId;
+
+    @Enumerated(EnumType.STRING)
+    private ConversationState state;
+
+    private LocalDateTime updatedAt;
+}
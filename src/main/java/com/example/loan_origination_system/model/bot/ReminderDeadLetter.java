@@ -0,0 +1,57 @@
+package com.example.loan_origination_system.model.bot;
+
+import java.time.LocalDateTime;
+
+import com.example.loan_origination_system.model.enums.ReminderType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * A reminder that could not be delivered after all retries, kept for follow-up.
+ */
+@Entity
+@Table(name = "bot_reminder_dead_letter")
+@Data
+public class ReminderDeadLetter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bot_reminder_dead_letter_seq")
+    @SequenceGenerator(name = "bot_reminder_dead_letter_seq", sequenceName = "bot_reminder_dead_letter_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long pawnLoanId;
+
+    private String loanCode;
+
+    @Column(nullable = false)
+    private Long chatId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReminderType reminderType;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    private Integer attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.loan_origination_system.model.bot;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of a loan that should receive a reminder.
+ * Selected directly by the reminder queries so no loan or customer entities are hydrated.
+ */
+public record ReminderTarget(Long loanId, String loanCode, Long chatId, LocalDate dueDate,
+                             BigDecimal amountDue, String currencyCode) {
+}
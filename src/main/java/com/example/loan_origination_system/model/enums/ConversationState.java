@@ -0,0 +1,9 @@
+package com.example.loan_origination_system.model.enums;
+
+/**
+ * Where a chat is in the bot conversation.
+ */
+public enum ConversationState {
+    IDLE,                // At the main menu
+    AWAITING_LOAN_CODE   // Asked for a loan code to look up
+}
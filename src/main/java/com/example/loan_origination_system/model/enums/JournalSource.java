@@ -0,0 +1,10 @@
+package com.example.loan_origination_system.model.enums;
+
+/**
+ * Business event that produced a journal entry.
+ */
+public enum JournalSource {
+    DISBURSEMENT, // Loan issued (CREATED → ACTIVE)
+    REPAYMENT,    // Repayment received
+    FORFEITURE    // Collateral forfeited on default
+}
@@ -0,0 +1,23 @@
+package com.example.loan_origination_system.model.enums;
+
+/**
+ * Ledger accounts kept for every branch and currency.
+ * Each account has a normal balance side used when reporting balances.
+ */
+public enum LedgerAccountType {
+    CASH(true),                 // Cash on hand at the branch
+    LOANS_RECEIVABLE(true),     // Outstanding principal lent to customers
+    COLLATERAL_INVENTORY(true), // Forfeited collateral held for sale
+    INTEREST_INCOME(false),     // Interest collected
+    PENALTY_INCOME(false);      // Penalties collected
+
+    private final boolean debitNormal;
+
+    LedgerAccountType(boolean debitNormal) {
+        this.debitNormal = debitNormal;
+    }
+
+    public boolean isDebitNormal() {
+        return debitNormal;
+    }
+}
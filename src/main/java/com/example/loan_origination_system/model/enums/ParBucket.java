@@ -0,0 +1,28 @@
+package com.example.loan_origination_system.model.enums;
+
+/**
+ * Portfolio-at-risk aging bucket of an open loan, by days past its due date.
+ */
+public enum ParBucket {
+    CURRENT,      // Not past due
+    DAYS_1_7,     // 1 to 7 days past due
+    DAYS_8_14,    // 8 to 14 days past due
+    DAYS_15_30,   // 15 to 30 days past due
+    DAYS_30_PLUS; // More than 30 days past due
+
+    public static ParBucket of(long daysPastDue) {
+        if (daysPastDue <= 0) {
+            return CURRENT;
+        }
+        if (daysPastDue <= 7) {
+            return DAYS_1_7;
+        }
+        if (daysPastDue <= 14) {
+            return DAYS_8_14;
+        }
+        if (daysPastDue <= 30) {
+            return DAYS_15_30;
+        }
+        return DAYS_30_PLUS;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.loan_origination_system.model.enums;
+
+/**
+ * What a portfolio snapshot row aggregates; the row's bucket is a value within the dimension.
+ */
+public enum PortfolioDimension {
+    LOAN_STATUS,       // Bucket is a LoanStatus; amount is outstanding principal
+    COLLATERAL_STATUS, // Bucket is a CollateralStatus held by the branch (PAWNED, FORFEITED); amount is estimated value
+    PAR_BUCKET,        // Bucket is a ParBucket of open loans; amount is outstanding principal
+    COLLECTIONS        // Bucket is a payment month (yyyy-MM); amount is total paid
+}
@@ -0,0 +1,9 @@
+package com.example.loan_origination_system.model.enums;
+
+/**
+ * Kind of repayment reminder sent to a customer's linked Telegram chat.
+ */
+public enum ReminderType {
+    DUE_SOON,   // Due date is a configured number of days away
+    OVERDUE     // Due date has passed and the loan is still open
+}
@@ -0,0 +1,10 @@
+package com.example.loan_origination_system.model.enums;
+
+/**
+ * Components a repayment is allocated to, in the order configured on CfgLoan.
+ */
+public enum RepaymentComponent {
+    PENALTY,   // Accrued late-payment penalty
+    INTEREST,  // Contractual interest and fees
+    PRINCIPAL  // Loan principal
+}
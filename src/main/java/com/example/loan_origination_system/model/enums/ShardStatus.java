@@ -0,0 +1,10 @@
+package com.example.loan_origination_system.model.enums;
+
+/**
+ * Progress of one loan-ID range of a sharded scheduler job run.
+ */
+public enum ShardStatus {
+    PENDING,  // Planned, not yet claimed by a node
+    RUNNING,  // Claimed; owner heartbeats while processing
+    DONE      // Range fully processed
+}
@@ -0,0 +1,117 @@
+package com.example.loan_origination_system.model.ledger;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.loan_origination_system.model.enums.JournalSource;
+import com.example.loan_origination_system.model.enums.LedgerAccountType;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+import com.example.loan_origination_system.model.master.Branch;
+import com.example.loan_origination_system.model.master.Currency;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Immutable double-entry journal entry. Entries are never updated or deleted;
+ * corrections are posted as new entries.
+ */
+@Entity
+@Table(name = "journal_entry")
+@Getter
+@Setter
+@NoArgsConstructor
+public class JournalEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "journal_entry_seq")
+    @SequenceGenerator(name = "journal_entry_seq", sequenceName = "journal_entry_seq", allocationSize = 50)
+    private Long id;
+
+    private LocalDate entryDate;
+
+    @Enumerated(EnumType.STRING)
+    private JournalSource source;
+    private Long sourceId; // ID of the loan or repayment that produced the entry
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pawn_loan_id")
+    private PawnLoan pawnLoan;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "branch_id", nullable = false)
+    private Branch branch;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "currency_id", nullable = false)
+    private Currency currency;
+
+    private String description;
+
+    @OneToMany(mappedBy = "journalEntry", cascade = CascadeType.PERSIST)
+    private List<JournalLine> lines = new ArrayList<>();
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public JournalEntry(JournalSource source, Long sourceId, PawnLoan loan, LocalDate entryDate, String description) {
+        this.source = source;
+        this.sourceId = sourceId;
+        this.pawnLoan = loan;
+        this.branch = loan.getBranch();
+        this.currency = loan.getCurrency();
+        this.entryDate = entryDate;
+        this.description = description;
+    }
+
+    public JournalEntry debit(LedgerAccountType accountType, BigDecimal amount) {
+        return addLine(accountType, amount, BigDecimal.ZERO);
+    }
+
+    public JournalEntry credit(LedgerAccountType accountType, BigDecimal amount) {
+        return addLine(accountType, BigDecimal.ZERO, amount);
+    }
+
+    public BigDecimal totalDebits() {
+        return lines.stream().map(JournalLine::getDebit).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public BigDecimal totalCredits() {
+        return lines.stream().map(JournalLine::getCredit).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private JournalEntry addLine(LedgerAccountType accountType, BigDecimal debit, BigDecimal credit) {
+        // Zero lines carry no information
+        if (debit.signum() == 0 && credit.signum() == 0) {
+            return this;
+        }
+        JournalLine line = new JournalLine();
+        line.setJournalEntry(this);
+        line.setAccountType(accountType);
+        line.setDebit(debit);
+        line.setCredit(credit);
+        lines.add(line);
+        return this;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.loan_origination_system.model.ledger;
+
+import java.math.BigDecimal;
+
+import com.example.loan_origination_system.model.enums.LedgerAccountType;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "journal_line")
+@Getter
+@Setter
+public class JournalLine {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "journal_line_seq")
+    @SequenceGenerator(name = "journal_line_seq", sequenceName = "journal_line_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "journal_entry_id", nullable = false)
+    private JournalEntry journalEntry;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ledger_account_id", nullable = false)
+    private LedgerAccount ledgerAccount;
+
+    private BigDecimal debit = BigDecimal.ZERO;
+    private BigDecimal credit = BigDecimal.ZERO;
+
+    // Resolved to ledgerAccount when the entry is posted
+    @Transient
+    private LedgerAccountType accountType;
+}
@@ -0,0 +1,61 @@
+package com.example.loan_origination_system.model.ledger;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.example.loan_origination_system.model.enums.LedgerAccountType;
+import com.example.loan_origination_system.model.master.Branch;
+import com.example.loan_origination_system.model.master.Currency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * Ledger account for one branch and currency. The balance column is the running
+ * balance (debits minus credits), maintained on every posting so reads are O(1).
+ */
+@Entity
+@Table(name = "ledger_account",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"branch_id", "currency_id", "account_type"}))
+@Data
+public class LedgerAccount {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_account_seq")
+    @SequenceGenerator(name = "ledger_account_seq", sequenceName = "ledger_account_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "branch_id", nullable = false)
+    private Branch branch;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "currency_id", nullable = false)
+    private Currency currency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "account_type", nullable = false)
+    private LedgerAccountType accountType;
+
+    private BigDecimal balance = BigDecimal.ZERO; // Debits minus credits
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
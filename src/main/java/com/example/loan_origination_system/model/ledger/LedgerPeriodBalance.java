@@ -0,0 +1,40 @@
+package com.example.loan_origination_system.model.ledger;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * Monthly debit/credit rollup per ledger account, maintained on posting.
+ * Trial balances sum these rows instead of scanning journal lines.
+ */
+@Entity
+@Table(name = "ledger_period_balance",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"ledger_account_id", "period_start"}))
+@Data
+public class LedgerPeriodBalance {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_period_balance_seq")
+    @SequenceGenerator(name = "ledger_period_balance_seq", sequenceName = "ledger_period_balance_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ledger_account_id", nullable = false)
+    private LedgerAccount ledgerAccount;
+
+    private LocalDate periodStart; // First day of the month
+
+    private BigDecimal debitTotal = BigDecimal.ZERO;
+    private BigDecimal creditTotal = BigDecimal.ZERO;
+}
@@ -40,6 +40,7 @@ public class CfgLoan {
 
     private BigDecimal minLoanAmount;
     private BigDecimal maxLoanAmount;
+    private BigDecimal maxLoanToValue; // Fraction of collateral value that may be lent, e.g. 0.70
     private BigDecimal interestRate;
     private String interestType;
     private String interestPeriod;
@@ -47,6 +48,7 @@ public class CfgLoan {
     private Integer penaltyGraceDays;
     private Integer maxLoanDuration;
     private Integer autoForfeitDays;
+    private String allocationOrder; // Repayment waterfall, e.g. PENALTY,INTEREST,PRINCIPAL
 
     private String status;
     private LocalDate effectiveFrom;
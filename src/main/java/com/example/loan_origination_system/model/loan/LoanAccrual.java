@@ -0,0 +1,55 @@
+package com.example.loan_origination_system.model.loan;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * Accrual ledger entry: interest and penalty accrued on a loan for the days
+ * after periodStart up to and including accrualDate. Rows are append-only;
+ * the running totals are mirrored on PawnLoan for O(1) balance reads.
+ */
+@Entity
+@Table(name = "pawn_loan_accrual",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"pawn_loan_id", "accrual_date"}))
+@Data
+public class LoanAccrual {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pawn_loan_accrual_seq")
+    @SequenceGenerator(name = "pawn_loan_accrual_seq", sequenceName = "pawn_loan_accrual_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pawn_loan_id", nullable = false)
+    private PawnLoan pawnLoan;
+
+    private LocalDate periodStart; // Exclusive: last date already accrued
+    private LocalDate accrualDate; // Inclusive: as-of date of this accrual
+    private Integer days;
+
+    private BigDecimal interestAccrued; // Increment for this period
+    private BigDecimal penaltyAccrued;  // Increment for this period
+    private BigDecimal cumulativeInterest;
+    private BigDecimal cumulativePenalty;
+    private BigDecimal outstandingBalance; // Balance the penalty was computed on
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
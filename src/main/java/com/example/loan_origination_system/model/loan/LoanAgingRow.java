@@ -0,0 +1,12 @@
+package com.example.loan_origination_system.model.loan;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Minimal projection of an open loan for portfolio aging.
+ * Selected as a projection, so no entity or lazy relation is ever loaded for it.
+ */
+public record LoanAgingRow(Long branchId, Long currencyId, LocalDate dueDate,
+                           BigDecimal outstandingPrincipal) {
+}
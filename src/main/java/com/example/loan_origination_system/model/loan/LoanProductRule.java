@@ -0,0 +1,195 @@
+package com.example.loan_origination_system.model.loan;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import com.example.loan_origination_system.exception.BusinessException;
+import com.example.loan_origination_system.model.enums.RepaymentComponent;
+
+/**
+ * Immutable, pre-compiled view of a CfgLoan row used at origination.
+ * Built once per configuration and cached, so validating and defaulting
+ * loan terms never touches the database.
+ */
+public record LoanProductRule(
+        Long cfgLoanId,
+        Long branchId,
+        Long currencyId,
+        BigDecimal minLoanAmount,
+        BigDecimal maxLoanAmount,
+        BigDecimal maxLoanToValue,
+        BigDecimal interestRate,
+        BigDecimal penaltyRate,
+        int penaltyGraceDays,
+        int defaultLoanDurationDays,
+        Integer maxLoanDuration,
+        Integer autoForfeitDays,
+        List<RepaymentComponent> allocationOrder,
+        LocalDate effectiveFrom,
+        LocalDate effectiveTo) {
+
+    public static final BigDecimal DEFAULT_LOAN_TO_VALUE = new BigDecimal("0.70");
+    public static final int DEFAULT_LOAN_DURATION_DAYS = 30;
+    public static final int DEFAULT_GRACE_PERIOD_DAYS = 7;
+    public static final int DEFAULT_AUTO_FORFEIT_DAYS = 30;
+    public static final List<RepaymentComponent> DEFAULT_ALLOCATION_ORDER =
+            List.of(RepaymentComponent.PENALTY, RepaymentComponent.INTEREST, RepaymentComponent.PRINCIPAL);
+
+    /**
+     * Fallback rule used when no active configuration exists for a branch and currency.
+     * Mirrors the terms that were previously hardcoded in PawnLoanService.
+     */
+    public static LoanProductRule defaults(Long branchId, Long currencyId) {
+        return new LoanProductRule(null, branchId, currencyId, null, null,
+                DEFAULT_LOAN_TO_VALUE, null, BigDecimal.ZERO,
+                DEFAULT_GRACE_PERIOD_DAYS, DEFAULT_LOAN_DURATION_DAYS,
+                null, null, DEFAULT_ALLOCATION_ORDER, null, null);
+    }
+
+    /**
+     * Compile a configuration row into a rule, filling unset columns with defaults.
+     */
+    public static LoanProductRule compile(CfgLoan cfg, Long branchId, Long currencyId) {
+        Integer maxDuration = cfg.getMaxLoanDuration();
+        int defaultDuration = maxDuration != null && maxDuration < DEFAULT_LOAN_DURATION_DAYS
+                ? maxDuration : DEFAULT_LOAN_DURATION_DAYS;
+
+        return new LoanProductRule(
+                cfg.getId(),
+                branchId,
+                currencyId,
+                cfg.getMinLoanAmount(),
+                cfg.getMaxLoanAmount(),
+                cfg.getMaxLoanToValue() != null ? cfg.getMaxLoanToValue() : DEFAULT_LOAN_TO_VALUE,
+                cfg.getInterestRate(),
+                cfg.getPenaltyRate() != null ? cfg.getPenaltyRate() : BigDecimal.ZERO,
+                cfg.getPenaltyGraceDays() != null ? cfg.getPenaltyGraceDays() : DEFAULT_GRACE_PERIOD_DAYS,
+                defaultDuration,
+                maxDuration,
+                cfg.getAutoForfeitDays(),
+                cfg.getAllocationOrder() != null
+                        ? parseAllocationOrder(cfg.getAllocationOrder()) : DEFAULT_ALLOCATION_ORDER,
+                cfg.getEffectiveFrom(),
+                cfg.getEffectiveTo());
+    }
+
+    /**
+     * Parse a comma-separated allocation order such as "PENALTY,INTEREST,PRINCIPAL".
+     *
+     * @throws BusinessException unless every component appears exactly once
+     */
+    public static List<RepaymentComponent> parseAllocationOrder(String value) {
+        List<RepaymentComponent> order = new ArrayList<>();
+        EnumSet<RepaymentComponent> seen = EnumSet.noneOf(RepaymentComponent.class);
+
+        for (String part : value.split(",")) {
+            RepaymentComponent component;
+            try {
+                component = RepaymentComponent.valueOf(part.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw invalidAllocationOrder(value);
+            }
+            if (!seen.add(component)) {
+                throw invalidAllocationOrder(value);
+            }
+            order.add(component);
+        }
+
+        if (seen.size() != RepaymentComponent.values().length) {
+            throw invalidAllocationOrder(value);
+        }
+        return List.copyOf(order);
+    }
+
+    private static BusinessException invalidAllocationOrder(String value) {
+        return new BusinessException("INVALID_ALLOCATION_ORDER",
+            "Allocation order must list PENALTY, INTEREST and PRINCIPAL exactly once: " + value);
+    }
+
+    /**
+     * Whether this rule is in force on the given date (open-ended bounds are inclusive).
+     */
+    public boolean isEffectiveOn(LocalDate date) {
+        return (effectiveFrom == null || !date.isBefore(effectiveFrom))
+                && (effectiveTo == null || !date.isAfter(effectiveTo));
+    }
+
+    /**
+     * Maximum principal allowed against a collateral value: the lower of the
+     * loan-to-value limit and the configured maximum loan amount.
+     */
+    public BigDecimal maxLoanAmountFor(BigDecimal collateralValue) {
+        BigDecimal limit = collateralValue.multiply(maxLoanToValue).setScale(2, RoundingMode.HALF_UP);
+        if (maxLoanAmount != null && maxLoanAmount.compareTo(limit) < 0) {
+            return maxLoanAmount;
+        }
+        return limit;
+    }
+
+    /**
+     * Fill in loan terms the caller left blank.
+     */
+    public void applyDefaults(PawnLoan loan) {
+        if (loan.getInterestRate() == null) {
+            loan.setInterestRate(interestRate);
+        }
+        if (loan.getLoanDurationDays() == null) {
+            loan.setLoanDurationDays(defaultLoanDurationDays);
+        }
+        if (loan.getGracePeriodDays() == null) {
+            loan.setGracePeriodDays(penaltyGraceDays);
+        }
+        if (loan.getPenaltyRate() == null) {
+            loan.setPenaltyRate(penaltyRate);
+        }
+    }
+
+    /**
+     * Date an overdue loan's grace period ends, after which it is defaulted and its collateral
+     * forfeited: autoForfeitDays (default 30) after the due date, but never before the loan's
+     * own redemption deadline.
+     */
+    public LocalDate forfeitureDate(PawnLoan loan, LocalDate dueDate) {
+        LocalDate forfeitOn = dueDate.plusDays(autoForfeitDays != null ? autoForfeitDays : DEFAULT_AUTO_FORFEIT_DAYS);
+        LocalDate redemptionDeadline = loan.getRedemptionDeadline();
+        if (redemptionDeadline == null && loan.getGracePeriodDays() != null) {
+            redemptionDeadline = dueDate.plusDays(loan.getGracePeriodDays());
+        }
+        return redemptionDeadline != null && redemptionDeadline.isAfter(forfeitOn) ? redemptionDeadline : forfeitOn;
+    }
+
+    /**
+     * Validate loan terms against this rule.
+     * Business Rules:
+     * 1. minLoanAmount <= loanAmount <= maxLoanAmount
+     * 2. loanAmount <= maxLoanToValue of collateral estimatedValue
+     * 3. loanDurationDays <= maxLoanDuration
+     */
+    public void validate(PawnLoan loan, BigDecimal collateralValue) {
+        BigDecimal loanAmount = loan.getLoanAmount();
+
+        if (minLoanAmount != null && loanAmount.compareTo(minLoanAmount) < 0) {
+            throw new BusinessException("LOAN_AMOUNT_BELOW_MINIMUM",
+                String.format("Loan amount %.2f is below the minimum allowed %.2f",
+                    loanAmount, minLoanAmount));
+        }
+
+        BigDecimal maxAllowed = maxLoanAmountFor(collateralValue);
+        if (loanAmount.compareTo(maxAllowed) > 0) {
+            throw new BusinessException("LOAN_AMOUNT_EXCEEDS_LIMIT",
+                String.format("Loan amount %.2f exceeds maximum allowed %.2f (%.0f%% of collateral value %.2f)",
+                    loanAmount, maxAllowed, maxLoanToValue.movePointRight(2), collateralValue));
+        }
+
+        if (maxLoanDuration != null && loan.getLoanDurationDays() != null
+                && loan.getLoanDurationDays() > maxLoanDuration) {
+            throw new BusinessException("LOAN_DURATION_EXCEEDS_LIMIT",
+                "Loan duration " + loan.getLoanDurationDays() + " days exceeds maximum allowed "
+                    + maxLoanDuration + " days");
+        }
+    }
+}
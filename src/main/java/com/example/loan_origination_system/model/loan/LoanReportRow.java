@@ -0,0 +1,13 @@
+package com.example.loan_origination_system.model.loan;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A loan as report jobs see it, read straight from the row by {@code ReportReader}.
+ */
+public record LoanReportRow(long loanId, String loanCode, long branchId, long currencyId,
+                            String customerName, BigDecimal loanAmount, BigDecimal principalPaid,
+                            LocalDate dueDate, LocalDateTime defaultedAt) {
+}
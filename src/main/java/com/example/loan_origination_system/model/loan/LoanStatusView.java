@@ -0,0 +1,16 @@
+package com.example.loan_origination_system.model.loan;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.example.loan_origination_system.model.enums.LoanStatus;
+
+/**
+ * Compact, immutable loan status for customer-facing channels.
+ * Selected as a projection, so no entity or lazy relation is ever loaded for it.
+ *
+ * @param remainingBalance Outstanding principal, interest and accrued penalty
+ */
+public record LoanStatusView(String loanCode, BigDecimal principal, LocalDate dueDate,
+                             LoanStatus status, BigDecimal remainingBalance) {
+}
@@ -0,0 +1,221 @@
+package com.example.loan_origination_system.model.loan;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+import com.example.loan_origination_system.model.master.Currency;
+
+/**
+ * An amount as a whole number of minor units at a fixed scale, e.g. 1030.50 USD is
+ * 103050 at scale 2 and 400000 KHR is 400000 at scale 0.
+ *
+ * Loan arithmetic that runs per loan in batch jobs or per row in reports uses Money
+ * instead of BigDecimal: adding two amounts is one long addition, and a whole
+ * interest or accrual formula allocates one object at most. Entities and DTOs keep
+ * BigDecimal; amounts are converted with of() on the way in and toBigDecimal() on
+ * the way out.
+ *
+ * Business Rules:
+ * 1. Amounts of different scales are never mixed; plus, minus and compareTo reject them
+ * 2. Every operation that can lose digits takes an explicit RoundingMode; the rest are exact
+ * 3. times() and timesRate() compute the full product before dividing, so
+ *    round(amount * rate * days / 3000) rounds once, as BigDecimal.divide(..., scale, mode) does
+ * 4. A product that overflows a long falls back to BigDecimal for that call, so results
+ *    are exact for any amount a DECIMAL(19,2) column holds
+ *
+ * @param minorUnits Amount in units of 10^-scale
+ * @param scale Decimal places, 0 to 18
+ */
+public record Money(long minorUnits, int scale) implements Comparable<Money> {
+
+    /**
+     * Scale of the amount columns (DECIMAL(19,2)). Loan amounts, interest and accruals are
+     * stored and computed at this scale for every currency; Currency.decimalPlace governs
+     * how totals are reported.
+     */
+    public static final int STORAGE_SCALE = 2;
+
+    private static final int MAX_SCALE = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    public Money {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Money scale must be between 0 and " + MAX_SCALE + ": " + scale);
+        }
+    }
+
+    public static Money zero(int scale) {
+        return new Money(0, scale);
+    }
+
+    /**
+     * A stored amount at STORAGE_SCALE; null is zero.
+     */
+    public static Money of(BigDecimal amount) {
+        return of(amount, STORAGE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * An amount at the given scale; null is zero.
+     */
+    public static Money of(BigDecimal amount, int scale, RoundingMode mode) {
+        return new Money(toMinorUnits(amount, scale, mode), scale);
+    }
+
+    /**
+     * Decimal places of a currency's amounts; STORAGE_SCALE when the currency or its setting is missing.
+     */
+    public static int scaleOf(Currency currency) {
+        return currency != null && currency.getDecimalPlace() != null ? currency.getDecimalPlace() : STORAGE_SCALE;
+    }
+
+    /**
+     * Minor units of an amount at the given scale, without creating a Money; null is zero.
+     * For summing into a long accumulator.
+     *
+     * @throws ArithmeticException if the amount does not fit in a long at that scale,
+     *         or needs rounding and mode is UNNECESSARY
+     */
+    public static long toMinorUnits(BigDecimal amount, int scale, RoundingMode mode) {
+        if (amount == null) {
+            return 0L;
+        }
+        BigDecimal scaled = amount.scale() == scale ? amount : amount.setScale(scale, mode);
+        // Shifting to scale 0 keeps a compact value compact, where unscaledValue() would build a BigInteger
+        return scaled.scaleByPowerOfTen(scale).longValueExact();
+    }
+
+    /**
+     * A percentage in basis points (hundredths of a percent), rounded half up: 3.00 is 300.
+     * Matches percent.divide(100, 4, HALF_UP), the rate precision interest has always used.
+     */
+    public static long basisPoints(BigDecimal percent) {
+        return toMinorUnits(percent, 2, RoundingMode.HALF_UP);
+    }
+
+    public Money plus(Money other) {
+        checkScale(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), scale);
+    }
+
+    public Money minus(Money other) {
+        checkScale(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), scale);
+    }
+
+    public Money max(Money other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+
+    public Money min(Money other) {
+        return compareTo(other) <= 0 ? this : other;
+    }
+
+    /**
+     * This amount times numerator / denominator, rounded once to this scale.
+     */
+    public Money times(long numerator, long denominator, RoundingMode mode) {
+        if (denominator <= 0) {
+            throw new IllegalArgumentException("Denominator must be positive: " + denominator);
+        }
+        long product;
+        try {
+            product = Math.multiplyExact(minorUnits, numerator);
+        } catch (ArithmeticException overflow) {
+            BigInteger exact = BigInteger.valueOf(minorUnits).multiply(BigInteger.valueOf(numerator));
+            return new Money(new BigDecimal(exact).divide(BigDecimal.valueOf(denominator), 0, mode).longValueExact(),
+                scale);
+        }
+        return new Money(divide(product, denominator, mode), scale);
+    }
+
+    public Money dividedBy(long divisor, RoundingMode mode) {
+        return times(1, divisor, mode);
+    }
+
+    /**
+     * This amount times rate times numerator / denominator, rounded once to this scale,
+     * e.g. a daily penalty: outstanding.timesRate(ratePercent, days, 100 * 30, HALF_UP).
+     */
+    public Money timesRate(BigDecimal rate, long numerator, long denominator, RoundingMode mode) {
+        int rateScale = rate.scale();
+        if (rateScale >= 0 && rateScale <= MAX_SCALE && rate.precision() <= MAX_SCALE) {
+            try {
+                long rateNumerator = Math.multiplyExact(rate.unscaledValue().longValue(), numerator);
+                long rateDenominator = Math.multiplyExact(denominator, POWERS_OF_TEN[rateScale]);
+                return times(rateNumerator, rateDenominator, mode);
+            } catch (ArithmeticException overflow) {
+                // Fall through to the exact path
+            }
+        }
+        return of(toBigDecimal().multiply(rate).multiply(BigDecimal.valueOf(numerator))
+            .divide(BigDecimal.valueOf(denominator), scale, mode), scale, RoundingMode.UNNECESSARY);
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkScale(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    private void checkScale(Money other) {
+        if (other.scale != scale) {
+            throw new IllegalArgumentException("Cannot combine amounts of scale " + scale + " and " + other.scale);
+        }
+    }
+
+    /**
+     * dividend / divisor rounded with the given mode, as BigDecimal would at scale 0.
+     */
+    static long divide(long dividend, long divisor, RoundingMode mode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int sign = Long.signum(dividend) * Long.signum(divisor);
+        long absRemainder = Math.abs(remainder);
+        long absDivisor = Math.abs(divisor);
+        boolean awayFromZero = switch (mode) {
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary: " + dividend + " / " + divisor);
+            case DOWN -> false;
+            case UP -> true;
+            case FLOOR -> sign < 0;
+            case CEILING -> sign > 0;
+            case HALF_UP, HALF_DOWN, HALF_EVEN -> {
+                // Compares 2 * remainder with the divisor without overflowing
+                long diff = absRemainder - (absDivisor - absRemainder);
+                if (diff != 0) {
+                    yield diff > 0;
+                }
+                yield mode == RoundingMode.HALF_UP || (mode == RoundingMode.HALF_EVEN && (quotient & 1) != 0);
+            }
+        };
+        return awayFromZero ? quotient + sign : quotient;
+    }
+}
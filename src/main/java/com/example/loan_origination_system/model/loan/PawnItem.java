@@ -6,6 +6,7 @@ import java.time.LocalDateTime;
 import com.example.loan_origination_system.model.enums.CollateralStatus;
 import com.example.loan_origination_system.model.people.Customer;
 
+import jakarta.persistence.Basic;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -15,17 +16,24 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
 @Table(name = "pawn_item")
-@Data
+@Getter
+@Setter
+@ToString(of = {"id", "itemType", "status"})
 public class PawnItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pawn_item_seq")
+    @SequenceGenerator(name = "pawn_item_seq", sequenceName = "pawn_item_seq", allocationSize = 50)
     private Long id;
 
     @Version
@@ -36,19 +44,44 @@ public class PawnItem {
     private Customer customer;
 
     private String itemType;
+    @Basic(fetch = FetchType.LAZY)
     private String description;
     private BigDecimal estimatedValue;
+    @Basic(fetch = FetchType.LAZY)
     private String photoUrl;
     
     @Enumerated(EnumType.STRING)
     private CollateralStatus status = CollateralStatus.AVAILABLE;
     
-    private LocalDateTime createdAt = LocalDateTime.now();
+    private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime deletedAt;
     
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PawnItem other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return PawnItem.class.hashCode();
+    }
+}
@@ -3,7 +3,6 @@ package com.example.loan_origination_system.model.loan;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 import com.example.loan_origination_system.model.enums.LoanStatus;
@@ -23,18 +22,25 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import jakarta.persistence.Version;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
 @Table(name = "pawn_loan")
-@Data
+@Getter
+@Setter
+@ToString(of = {"id", "loanCode", "status"})
 public class PawnLoan {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pawn_loan_seq")
+    @SequenceGenerator(name = "pawn_loan_seq", sequenceName = "pawn_loan_seq", allocationSize = 50)
     private Long id;
 
     @Version
@@ -68,7 +74,7 @@ public class PawnLoan {
     @Column(nullable = false)
     private BigDecimal totalPayableAmount;
 
-    private LocalDate loanDate = LocalDate.now();
+    private LocalDate loanDate;
     private LocalDate dueDate;
     private LocalDate redemptionDeadline; // When user can collect their item
     private LocalDate gracePeriodEndDate; // End date of grace period after overdue
@@ -88,17 +94,59 @@ public class PawnLoan {
     @Enumerated(EnumType.STRING)
     private LoanStatus status = LoanStatus.CREATED;
     
+    // Running accrual totals, maintained by LoanAccrualService
+    private BigDecimal accruedInterest = BigDecimal.ZERO;
+    private BigDecimal accruedPenalty = BigDecimal.ZERO;
+    private LocalDate lastAccrualDate;
+    
+    // Running repayment totals, maintained by PawnRepaymentService
+    private BigDecimal principalPaid = BigDecimal.ZERO;
+    private BigDecimal interestPaid = BigDecimal.ZERO;
+    private BigDecimal penaltyPaid = BigDecimal.ZERO;
+    
     @Transient
-    private List<PaymentScheduleItem> paymentSchedule = new ArrayList<>();
+    private List<PaymentScheduleItem> paymentSchedule = List.of();
     
-    private LocalDateTime createdAt = LocalDateTime.now();
+    private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime redeemedAt;
     private LocalDateTime defaultedAt;
     private LocalDateTime overdueAt; // When loan was marked as overdue
+    private LocalDateTime archivedAt; // When repayments were moved to pawn_repayment_archive
     
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (loanDate == null) {
+            loanDate = createdAt.toLocalDate();
+        }
+    }
+
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
-}
\ No newline at end of file
+
+    /**
+     * Identity is the database ID: a new entity equals only itself, and the hash is constant
+     * so an entity keeps its bucket when persist assigns the ID. Compares through getId() so
+     * an uninitialized proxy is not loaded.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PawnLoan other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return PawnLoan.class.hashCode();
+    }
+}
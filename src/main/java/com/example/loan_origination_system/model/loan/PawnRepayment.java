@@ -16,15 +16,22 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
 @Table(name = "pawn_repayment")
-@Data
+@Getter
+@Setter
+@ToString(of = {"id", "paymentDate", "paidAmount"})
 public class PawnRepayment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pawn_repayment_seq")
+    @SequenceGenerator(name = "pawn_repayment_seq", sequenceName = "pawn_repayment_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -43,7 +50,7 @@ public class PawnRepayment {
     @JoinColumn(name = "payment_type_id")
     private PaymentType paymentType;
 
-    private LocalDate paymentDate = LocalDate.now();
+    private LocalDate paymentDate;
 
     private BigDecimal paidAmount;
     private BigDecimal principalPaid;
@@ -55,5 +62,31 @@ public class PawnRepayment {
     @JoinColumn(name = "received_by")
     private User receivedBy;
 
-    private LocalDateTime createdAt = LocalDateTime.now();
-}
\ No newline at end of file
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (paymentDate == null) {
+            paymentDate = createdAt.toLocalDate();
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PawnRepayment other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return PawnRepayment.class.hashCode();
+    }
+}
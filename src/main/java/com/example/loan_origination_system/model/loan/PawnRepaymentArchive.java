@@ -0,0 +1,83 @@
+package com.example.loan_origination_system.model.loan;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.example.loan_origination_system.model.master.Currency;
+import com.example.loan_origination_system.model.master.PaymentMethod;
+import com.example.loan_origination_system.model.master.PaymentType;
+import com.example.loan_origination_system.model.people.User;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Cold copy of a PawnRepayment belonging to a closed loan, moved by RepaymentArchiveService.
+ * Keeps the original ID; rows are only ever inserted by the archive job and read back.
+ */
+@Entity
+@Table(name = "pawn_repayment_archive")
+@Data
+public class PawnRepaymentArchive {
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pawn_loan_id")
+    private PawnLoan pawnLoan;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "currency_id")
+    private Currency currency;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_method_id")
+    private PaymentMethod paymentMethod;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_type_id")
+    private PaymentType paymentType;
+
+    private LocalDate paymentDate;
+
+    private BigDecimal paidAmount;
+    private BigDecimal principalPaid;
+    private BigDecimal interestPaid;
+    private BigDecimal penaltyPaid;
+    private BigDecimal remainingPrincipal;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "received_by")
+    private User receivedBy;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime archivedAt;
+
+    /**
+     * Detached PawnRepayment view of this row, so history callers see one type
+     * whichever table the repayment lives in. Never persist the result.
+     */
+    public PawnRepayment toRepayment() {
+        PawnRepayment repayment = new PawnRepayment();
+        repayment.setId(id);
+        repayment.setPawnLoan(pawnLoan);
+        repayment.setCurrency(currency);
+        repayment.setPaymentMethod(paymentMethod);
+        repayment.setPaymentType(paymentType);
+        repayment.setPaymentDate(paymentDate);
+        repayment.setPaidAmount(paidAmount);
+        repayment.setPrincipalPaid(principalPaid);
+        repayment.setInterestPaid(interestPaid);
+        repayment.setPenaltyPaid(penaltyPaid);
+        repayment.setRemainingPrincipal(remainingPrincipal);
+        repayment.setReceivedBy(receivedBy);
+        repayment.setCreatedAt(createdAt);
+        return repayment;
+    }
+}
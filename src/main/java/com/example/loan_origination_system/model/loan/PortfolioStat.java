@@ -0,0 +1,61 @@
+package com.example.loan_origination_system.model.loan;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.example.loan_origination_system.model.enums.PortfolioDimension;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * One aggregate of the portfolio snapshot: loan count and amount for a branch, currency,
+ * dimension and bucket. Maintained incrementally by PortfolioSnapshotService and
+ * reconciled by its periodic full refresh.
+ */
+@Entity
+@Table(name = "portfolio_snapshot",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"branch_id", "currency_id", "dimension", "bucket"}))
+@Data
+public class PortfolioStat {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "portfolio_snapshot_seq")
+    @SequenceGenerator(name = "portfolio_snapshot_seq", sequenceName = "portfolio_snapshot_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long branchId;
+
+    @Column(nullable = false)
+    private Long currencyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private PortfolioDimension dimension;
+
+    @Column(nullable = false, length = 30)
+    private String bucket;
+
+    private long itemCount;
+
+    private BigDecimal amount = BigDecimal.ZERO;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (updatedAt == null) {
+            updatedAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.loan_origination_system.model.loan;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.example.loan_origination_system.exception.BusinessException;
+import com.example.loan_origination_system.model.enums.RepaymentComponent;
+
+/**
+ * Split of a repayment amount across penalty, interest and principal.
+ *
+ * Amounts due are read from the running totals persisted on PawnLoan, so an
+ * allocation is computed in constant time without re-reading repayment history.
+ * Interest due includes the storage fee (both are part of totalPayableAmount).
+ */
+public record RepaymentAllocation(
+        BigDecimal amount,
+        BigDecimal penaltyDue,
+        BigDecimal interestDue,
+        BigDecimal principalDue,
+        BigDecimal penalty,
+        BigDecimal interest,
+        BigDecimal principal) {
+
+    /**
+     * Allocate an amount to the loan's outstanding components in the given order.
+     *
+     * @throws BusinessException if the amount is not positive or exceeds the total due
+     */
+    public static RepaymentAllocation allocate(PawnLoan loan, BigDecimal amount, List<RepaymentComponent> order) {
+        BigDecimal penaltyDue = penaltyDue(loan);
+        BigDecimal interestDue = interestDue(loan);
+        BigDecimal principalDue = principalDue(loan);
+        BigDecimal totalDue = penaltyDue.add(interestDue).add(principalDue);
+
+        if (amount == null || amount.signum() <= 0) {
+            throw new BusinessException("INVALID_PAYMENT_AMOUNT", "Payment amount must be positive");
+        }
+        if (amount.compareTo(totalDue) > 0) {
+            throw new BusinessException("PAYMENT_EXCEEDS_TOTAL",
+                "Payment exceeds total outstanding amount. Outstanding: " + totalDue + ", New payment: " + amount);
+        }
+
+        BigDecimal penalty = BigDecimal.ZERO;
+        BigDecimal interest = BigDecimal.ZERO;
+        BigDecimal principal = BigDecimal.ZERO;
+        BigDecimal remaining = amount;
+
+        for (RepaymentComponent component : order) {
+            switch (component) {
+                case PENALTY -> {
+                    penalty = remaining.min(penaltyDue);
+                    remaining = remaining.subtract(penalty);
+                }
+                case INTEREST -> {
+                    interest = remaining.min(interestDue);
+                    remaining = remaining.subtract(interest);
+                }
+                case PRINCIPAL -> {
+                    principal = remaining.min(principalDue);
+                    remaining = remaining.subtract(principal);
+                }
+            }
+        }
+
+        return new RepaymentAllocation(amount, penaltyDue, interestDue, principalDue, penalty, interest, principal);
+    }
+
+    /**
+     * Allocation that settles everything outstanding on the loan.
+     */
+    public static RepaymentAllocation payoff(PawnLoan loan) {
+        BigDecimal penaltyDue = penaltyDue(loan);
+        BigDecimal interestDue = interestDue(loan);
+        BigDecimal principalDue = principalDue(loan);
+        return new RepaymentAllocation(penaltyDue.add(interestDue).add(principalDue),
+            penaltyDue, interestDue, principalDue, penaltyDue, interestDue, principalDue);
+    }
+
+    public BigDecimal totalDue() {
+        return penaltyDue.add(interestDue).add(principalDue);
+    }
+
+    public BigDecimal remainingPrincipal() {
+        return principalDue.subtract(principal);
+    }
+
+    public BigDecimal remainingBalance() {
+        return totalDue().subtract(amount);
+    }
+
+    /**
+     * Whether this allocation leaves nothing outstanding on the loan.
+     */
+    public boolean settlesLoan() {
+        return remainingBalance().signum() == 0;
+    }
+
+    /**
+     * Add this allocation to the loan's running repayment totals.
+     */
+    public void applyTo(PawnLoan loan) {
+        loan.setPenaltyPaid(zeroIfNull(loan.getPenaltyPaid()).add(penalty));
+        loan.setInterestPaid(zeroIfNull(loan.getInterestPaid()).add(interest));
+        loan.setPrincipalPaid(zeroIfNull(loan.getPrincipalPaid()).add(principal));
+    }
+
+    public static BigDecimal penaltyDue(PawnLoan loan) {
+        return zeroIfNull(loan.getAccruedPenalty()).subtract(zeroIfNull(loan.getPenaltyPaid())).max(BigDecimal.ZERO);
+    }
+
+    public static BigDecimal interestDue(PawnLoan loan) {
+        return loan.getTotalPayableAmount().subtract(loan.getLoanAmount())
+            .subtract(zeroIfNull(loan.getInterestPaid())).max(BigDecimal.ZERO);
+    }
+
+    public static BigDecimal principalDue(PawnLoan loan) {
+        return loan.getLoanAmount().subtract(zeroIfNull(loan.getPrincipalPaid())).max(BigDecimal.ZERO);
+    }
+
+    private static BigDecimal zeroIfNull(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.loan_origination_system.model.loan;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A repayment, hot or archived, as collection reports aggregate it.
+ */
+public record RepaymentReportRow(long loanId, LocalDate paymentDate, BigDecimal paidAmount,
+                                 BigDecimal principalPaid, BigDecimal interestPaid, BigDecimal penaltyPaid) {
+}
@@ -0,0 +1,31 @@
+package com.example.loan_origination_system.model.scheduler;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Job-run ledger entry: the last business date a daily job completed for.
+ * Mapped so schema management covers the table; JobRunLedger reads and writes it through JDBC.
+ */
+@Entity
+@Table(name = "scheduler_job_run")
+@Data
+public class JobRun {
+    @Id
+    @Column(length = 64)
+    private String jobName;
+
+    @Column(nullable = false)
+    private LocalDate lastBusinessDate;
+
+    @Column(nullable = false)
+    private LocalDateTime completedAt;
+
+    private String completedBy;
+}
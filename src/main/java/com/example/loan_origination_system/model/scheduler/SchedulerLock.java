@@ -0,0 +1,31 @@
+package com.example.loan_origination_system.model.scheduler;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Cluster-wide lock for a scheduled job: the node in lockedBy owns the job until lockUntil.
+ * Mapped so schema management covers the table; JobCoordinator reads and writes it through JDBC.
+ */
+@Entity
+@Table(name = "scheduler_lock")
+@Data
+public class SchedulerLock {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDateTime lockUntil;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(nullable = false)
+    private String lockedBy;
+}
@@ -0,0 +1,27 @@
+package com.example.loan_origination_system.model.scheduler;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * An application node taking part in scheduled jobs; live while its heartbeat is recent.
+ * Mapped so schema management covers the table; JobCoordinator reads and writes it through JDBC.
+ */
+@Entity
+@Table(name = "scheduler_node")
+@Data
+public class SchedulerNode {
+    @Id
+    private String nodeId;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime heartbeatAt;
+}
@@ -0,0 +1,67 @@
+package com.example.loan_origination_system.model.scheduler;
+
+import java.time.LocalDateTime;
+
+import com.example.loan_origination_system.model.enums.ShardStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * One loan-ID range (fromId, toId] of a sharded job run. The owning node advances cursorId
+ * after each chunk; a RUNNING shard whose heartbeat goes stale is taken over by another node.
+ * Mapped so schema management covers the table; JobCoordinator reads and writes it through JDBC.
+ */
+@Entity
+@Table(name = "scheduler_shard",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"job_name", "run_key", "shard_no"}),
+       indexes = @Index(name = "idx_scheduler_shard_status", columnList = "status, heartbeat_at"))
+@Data
+public class SchedulerShard {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String jobName;
+
+    // Identifies the run, e.g. the business date it processes
+    @Column(nullable = false, length = 32)
+    private String runKey;
+
+    @Column(nullable = false)
+    private int shardNo;
+
+    @Column(nullable = false)
+    private long fromId;
+
+    @Column(nullable = false)
+    private long toId;
+
+    @Column(nullable = false)
+    private long cursorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ShardStatus status;
+
+    private String owner;
+
+    private long processed;
+
+    @Column(nullable = false)
+    private LocalDateTime plannedAt;
+
+    private LocalDateTime heartbeatAt;
+
+    private LocalDateTime completedAt;
+}
@@ -1,5 +1,6 @@
 package com.example.loan_origination_system.repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,9 @@ import com.example.loan_origination_system.model.loan.CfgLoan;
 @Repository
 public interface CfgLoanRepository extends JpaRepository<CfgLoan, Long> {
     
+    @Query("SELECT c FROM CfgLoan c WHERE c.status = 'ACTIVE'")
+    List<CfgLoan> findAllActive();
+    
     @Query("SELECT c FROM CfgLoan c WHERE c.branch.id = :branchId AND c.currency.id = :currencyId AND c.status = 'ACTIVE'")
     List<CfgLoan> findActiveByBranchAndCurrency(@Param("branchId") Long branchId, @Param("currencyId") Long currencyId);
     
@@ -21,8 +25,8 @@ public interface CfgLoanRepository extends JpaRepository<CfgLoan, Long> {
     Optional<CfgLoan> findByBranchAndCurrencyAndInterestRate(
             @Param("branchId") Long branchId,
             @Param("currencyId") Long currencyId,
-            @Param("interestRate") Double interestRate);
+            @Param("interestRate") BigDecimal interestRate);
     
     boolean existsByBranchIdAndCurrencyIdAndInterestRateAndIdNot(
-            Long branchId, Long currencyId, Double interestRate, Long id);
+            Long branchId, Long currencyId, BigDecimal interestRate, Long id);
 }
\ No newline at end of file
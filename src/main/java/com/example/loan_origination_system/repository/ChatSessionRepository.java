@@ -0,0 +1,21 @@
+package com.example.loan_origination_system.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.loan_origination_system.model.bot.ChatSession;
+
+@Repository
+public interface ChatSessionRepository extends JpaRepository<ChatSession, Long> {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ChatSession s WHERE s.updatedAt < :cutoff")
+    int deleteIdleSince(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -4,6 +4,7 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,6 +13,10 @@ import org.springframework.stereotype.Repository;
 import com.example.loan_origination_system.model.enums.CustomerStatus;
 import com.example.loan_origination_system.model.people.Customer;
 
+/**
+ * Customer.address is a lazy attribute; queries whose results are rendered as responses
+ * fetch it with an entity graph rather than one extra select per customer.
+ */
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     
@@ -19,9 +24,11 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     
     boolean existsByIdNumber(String idNumber);
     
+    @EntityGraph(attributePaths = "address")
     @Query("SELECT c FROM Customer c WHERE c.status != 'DELETED'")
     Page<Customer> findAllActive(Pageable pageable);
     
+    @EntityGraph(attributePaths = "address")
     @Query("SELECT c FROM Customer c WHERE c.status = :status")
     Page<Customer> findByStatus(@Param("status") CustomerStatus status, Pageable pageable);
     
@@ -31,6 +38,10 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     @Query("SELECT COUNT(c) > 0 FROM Customer c WHERE c.idNumber = :idNumber AND c.id != :excludeId")
     boolean existsByIdNumberAndIdNot(@Param("idNumber") String idNumber, @Param("excludeId") Long excludeId);
     
+    @Query("SELECT COUNT(c) > 0 FROM Customer c WHERE c.telegramChatId = :chatId AND c.id != :excludeId")
+    boolean existsByTelegramChatIdAndIdNot(@Param("chatId") Long chatId, @Param("excludeId") Long excludeId);
+    
+    @EntityGraph(attributePaths = "address")
     @Query("SELECT c FROM Customer c WHERE c.status != 'DELETED' AND " +
            "(LOWER(c.fullName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "c.idNumber LIKE CONCAT('%', :searchTerm, '%'))")
@@ -0,0 +1,18 @@
+package com.example.loan_origination_system.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.loan_origination_system.model.ledger.JournalEntry;
+
+@Repository
+public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long> {
+
+    @Query("SELECT DISTINCT e FROM JournalEntry e LEFT JOIN FETCH e.lines l LEFT JOIN FETCH l.ledgerAccount " +
+           "WHERE e.pawnLoan.id = :pawnLoanId ORDER BY e.id")
+    List<JournalEntry> findWithLinesByPawnLoanId(@Param("pawnLoanId") Long pawnLoanId);
+}
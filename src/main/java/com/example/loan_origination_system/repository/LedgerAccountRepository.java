@@ -0,0 +1,30 @@
+package com.example.loan_origination_system.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.loan_origination_system.model.enums.LedgerAccountType;
+import com.example.loan_origination_system.model.ledger.LedgerAccount;
+
+@Repository
+public interface LedgerAccountRepository extends JpaRepository<LedgerAccount, Long> {
+
+    Optional<LedgerAccount> findByBranchIdAndCurrencyIdAndAccountType(Long branchId, Long currencyId, LedgerAccountType accountType);
+
+    List<LedgerAccount> findByBranchIdAndCurrencyIdOrderByAccountType(Long branchId, Long currencyId);
+
+    /**
+     * Apply a balance delta in place so concurrent postings never lose updates.
+     */
+    @Modifying
+    @Query("UPDATE LedgerAccount a SET a.balance = a.balance + :delta, a.updatedAt = :updatedAt WHERE a.id = :id")
+    int applyDelta(@Param("id") Long id, @Param("delta") BigDecimal delta, @Param("updatedAt") LocalDateTime updatedAt);
+}
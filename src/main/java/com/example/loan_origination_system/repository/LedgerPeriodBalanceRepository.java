@@ -0,0 +1,33 @@
+package com.example.loan_origination_system.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.loan_origination_system.model.ledger.LedgerPeriodBalance;
+
+@Repository
+public interface LedgerPeriodBalanceRepository extends JpaRepository<LedgerPeriodBalance, Long> {
+
+    @Modifying
+    @Query("UPDATE LedgerPeriodBalance p SET p.debitTotal = p.debitTotal + :debit, p.creditTotal = p.creditTotal + :credit " +
+           "WHERE p.ledgerAccount.id = :accountId AND p.periodStart = :periodStart")
+    int addToPeriod(@Param("accountId") Long accountId, @Param("periodStart") LocalDate periodStart,
+                    @Param("debit") BigDecimal debit, @Param("credit") BigDecimal credit);
+
+    /**
+     * Cumulative debit and credit totals per account up to and including the given period.
+     * Returns rows of [accountType, debitTotal, creditTotal].
+     */
+    @Query("SELECT a.accountType, SUM(p.debitTotal), SUM(p.creditTotal) FROM LedgerPeriodBalance p JOIN p.ledgerAccount a " +
+           "WHERE a.branch.id = :branchId AND a.currency.id = :currencyId AND p.periodStart <= :periodStart " +
+           "GROUP BY a.accountType ORDER BY a.accountType")
+    List<Object[]> sumUpToPeriod(@Param("branchId") Long branchId, @Param("currencyId") Long currencyId,
+                                 @Param("periodStart") LocalDate periodStart);
+}
@@ -5,6 +5,7 @@ import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,22 +14,31 @@ import org.springframework.stereotype.Repository;
 import com.example.loan_origination_system.model.enums.CollateralStatus;
 import com.example.loan_origination_system.model.loan.PawnItem;
 
+/**
+ * PawnItem.description and photoUrl are lazy attributes; list queries fetch them with an
+ * entity graph since every caller renders them.
+ */
 @Repository
 public interface PawnItemRepository extends JpaRepository<PawnItem, Long> {
     
+    @EntityGraph(attributePaths = {"description", "photoUrl"})
     List<PawnItem> findByCustomerId(Long customerId);
     
+    @EntityGraph(attributePaths = {"description", "photoUrl"})
     Page<PawnItem> findByCustomerId(Long customerId, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"description", "photoUrl"})
     @Query("SELECT p FROM PawnItem p WHERE p.customer.id = :customerId AND p.status != 'DELETED'")
     List<PawnItem> findActiveByCustomerId(@Param("customerId") Long customerId);
     
+    @EntityGraph(attributePaths = {"description", "photoUrl"})
     @Query("SELECT p FROM PawnItem p WHERE p.status = :status")
     Page<PawnItem> findByStatus(@Param("status") CollateralStatus status, Pageable pageable);
     
     @Query("SELECT COUNT(l) > 0 FROM PawnLoan l WHERE l.pawnItem.id = :pawnItemId AND l.status = 'ACTIVE'")
     boolean isLinkedToActiveLoan(@Param("pawnItemId") Long pawnItemId);
     
+    @EntityGraph(attributePaths = {"description", "photoUrl"})
     @Query("SELECT p FROM PawnItem p WHERE p.status != 'DELETED'")
     Page<PawnItem> findAllActive(Pageable pageable);
     
@@ -1,27 +1,67 @@
 package com.example.loan_origination_system.repository;
 
+import com.example.loan_origination_system.model.bot.ReminderTarget;
 import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.loan.LoanAgingRow;
+import com.example.loan_origination_system.model.loan.LoanStatusView;
 import com.example.loan_origination_system.model.loan.PawnLoan;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PawnLoanRepository extends JpaRepository<PawnLoan, Long> {
     
     Optional<PawnLoan> findByLoanCode(String loanCode);
     
+    /**
+     * Compact status projection for customer-facing lookups (served by the loan_code unique index).
+     */
+    @Query("SELECT new com.example.loan_origination_system.model.loan.LoanStatusView(" +
+           "l.loanCode, l.loanAmount, l.dueDate, l.status, " +
+           "l.totalPayableAmount + COALESCE(l.accruedPenalty, 0) - COALESCE(l.principalPaid, 0) " +
+           "- COALESCE(l.interestPaid, 0) - COALESCE(l.penaltyPaid, 0)) " +
+           "FROM PawnLoan l WHERE l.loanCode = :loanCode")
+    Optional<LoanStatusView> findStatusViewByLoanCode(@Param("loanCode") String loanCode);
+    
+    /**
+     * Load a loan with a row lock so concurrent repayments allocate against a consistent balance.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM PawnLoan l WHERE l.id = :id")
+    Optional<PawnLoan> findByIdForUpdate(@Param("id") Long id);
+    
+    /*
+     * The list queries below feed endpoints that render each loan with its customer, collateral,
+     * currency and branch, so those (and their lazy address, description and photo columns) are
+     * fetched in the same statement instead of one select per loan.
+     */
+    
+    @EntityGraph(attributePaths = {"customer.address", "pawnItem.description", "pawnItem.photoUrl", "currency", "branch"})
     List<PawnLoan> findByCustomerId(Long customerId);
     
+    @EntityGraph(attributePaths = {"customer.address", "pawnItem.description", "pawnItem.photoUrl", "currency", "branch"})
     Page<PawnLoan> findByCustomerId(Long customerId, Pageable pageable);
     
+    @EntityGraph(attributePaths = {"customer.address", "pawnItem.description", "pawnItem.photoUrl", "currency", "branch"})
     Page<PawnLoan> findByStatus(LoanStatus status, Pageable pageable);
     
     @Query("SELECT l FROM PawnLoan l WHERE l.status = 'ACTIVE' AND l.dueDate < :currentDate")
@@ -35,14 +75,28 @@ public interface PawnLoanRepository extends JpaRepository<PawnLoan, Long> {
            "AND l.gracePeriodEndDate <= :currentDate AND l.gracePeriodEndDate IS NOT NULL")
     List<PawnLoan> findOverdueLoansWithExpiredGracePeriod(@Param("currentDate") LocalDate currentDate);
     
+    /**
+     * Keyset-paged ACTIVE and PARTIALLY_PAID loans due on or before asOfDate, ordered by ID.
+     */
+    @Query("SELECT l FROM PawnLoan l WHERE (l.status = 'ACTIVE' OR l.status = 'PARTIALLY_PAID') " +
+           "AND l.dueDate <= :asOfDate AND l.id > :afterId ORDER BY l.id ASC")
+    List<PawnLoan> findDueByDateAfterId(@Param("asOfDate") LocalDate asOfDate,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+    
+    /**
+     * Keyset-paged OVERDUE loans whose grace period ended on or before asOfDate, ordered by ID.
+     */
+    @Query("SELECT l FROM PawnLoan l WHERE l.status = 'OVERDUE' " +
+           "AND l.gracePeriodEndDate <= :asOfDate AND l.id > :afterId ORDER BY l.id ASC")
+    List<PawnLoan> findGraceExpiredAfterId(@Param("asOfDate") LocalDate asOfDate,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+    
     @Query("SELECT l FROM PawnLoan l WHERE l.status = :status")
     List<PawnLoan> findByStatus(@Param("status") LoanStatus status);
     
-    @Query("SELECT l FROM PawnLoan l WHERE l.status = 'DEFAULTED' " +
-           "AND l.defaultedAt >= :startDate AND l.defaultedAt <= :endDate")
-    List<PawnLoan> findDefaultedLoansInPeriod(@Param("startDate") LocalDate startDate,
-                                              @Param("endDate") LocalDate endDate);
-    
+    @EntityGraph(attributePaths = {"customer.address", "pawnItem.description", "pawnItem.photoUrl", "currency", "branch"})
     @Query("SELECT l FROM PawnLoan l WHERE l.status != 'CANCELLED'")
     Page<PawnLoan> findAllActive(Pageable pageable);
     
@@ -56,12 +110,17 @@ public interface PawnLoanRepository extends JpaRepository<PawnLoan, Long> {
     Optional<PawnLoan> findActiveLoanByPawnItemId(@Param("pawnItemId") Long pawnItemId);
     
     /**
-     * Find loans with upcoming repayments (due within the next X days)
+     * Find loans with upcoming repayments (due within the next X days).
+     * Customer (with its lazy address), collateral (with its lazy description and photo),
+     * currency and branch are fetched in the same query, since every caller renders them for each loan.
      * @param startDate Start date for due date range (typically today)
      * @param endDate End date for due date range (today + daysAhead)
      * @return List of loans due within the date range
      */
-    @Query("SELECT l FROM PawnLoan l WHERE (l.status = 'ACTIVE' OR l.status = 'PARTIALLY_PAID') " +
+    @EntityGraph(attributePaths = {"customer.address", "pawnItem.description", "pawnItem.photoUrl"})
+    @Query("SELECT l FROM PawnLoan l JOIN FETCH l.customer JOIN FETCH l.pawnItem " +
+           "JOIN FETCH l.currency JOIN FETCH l.branch " +
+           "WHERE (l.status = 'ACTIVE' OR l.status = 'PARTIALLY_PAID') " +
            "AND l.dueDate >= :startDate AND l.dueDate <= :endDate " +
            "AND l.dueDate IS NOT NULL " +
            "ORDER BY l.dueDate ASC")
@@ -71,6 +130,7 @@ public interface PawnLoanRepository extends JpaRepository<PawnLoan, Long> {
     /**
      * Find loans with upcoming repayments with pagination
      */
+    @EntityGraph(attributePaths = {"customer.address", "pawnItem.description", "pawnItem.photoUrl", "currency", "branch"})
     @Query("SELECT l FROM PawnLoan l WHERE (l.status = 'ACTIVE' OR l.status = 'PARTIALLY_PAID') " +
            "AND l.dueDate >= :startDate AND l.dueDate <= :endDate " +
            "AND l.dueDate IS NOT NULL " +
@@ -82,6 +142,7 @@ public interface PawnLoanRepository extends JpaRepository<PawnLoan, Long> {
     /**
      * Find overdue loans that need follow-up (past due date but not yet defaulted)
      */
+    @EntityGraph(attributePaths = {"customer.address", "pawnItem.description", "pawnItem.photoUrl", "currency", "branch"})
     @Query("SELECT l FROM PawnLoan l WHERE (l.status = 'ACTIVE' OR l.status = 'PARTIALLY_PAID' OR l.status = 'OVERDUE') " +
            "AND l.dueDate < :currentDate " +
            "AND l.dueDate IS NOT NULL " +
@@ -91,9 +152,102 @@ public interface PawnLoanRepository extends JpaRepository<PawnLoan, Long> {
     /**
      * Find loans by customer that need follow-up
      */
+    @EntityGraph(attributePaths = {"customer.address", "pawnItem.description", "pawnItem.photoUrl", "currency", "branch"})
     @Query("SELECT l FROM PawnLoan l WHERE l.customer.id = :customerId " +
            "AND (l.status = 'ACTIVE' OR l.status = 'PARTIALLY_PAID' OR l.status = 'OVERDUE') " +
            "AND l.dueDate IS NOT NULL " +
            "ORDER BY l.dueDate ASC")
     List<PawnLoan> findCustomerLoansNeedingFollowUp(@Param("customerId") Long customerId);
-}
\ No newline at end of file
+    
+    /**
+     * Keyset-paged scan of loans in the given statuses with ID in (afterId, toId], ordered by ID.
+     * Used by batch jobs to walk the portfolio (or one shard of it) in bounded chunks.
+     */
+    @Query("SELECT l FROM PawnLoan l WHERE l.status IN :statuses AND l.id > :afterId AND l.id <= :toId ORDER BY l.id ASC")
+    List<PawnLoan> findByStatusInIdRange(@Param("statuses") Collection<LoanStatus> statuses,
+                                         @Param("afterId") Long afterId,
+                                         @Param("toId") Long toId,
+                                         Pageable pageable);
+    
+    /**
+     * Highest loan ID, or 0 if there are no loans. Used to split batch jobs into ID ranges.
+     */
+    @Query("SELECT COALESCE(MAX(l.id), 0) FROM PawnLoan l")
+    long findMaxId();
+    
+    /**
+     * Keyset-paged reminder targets: loans in the given statuses due on dueDate
+     * whose customer has a linked Telegram chat. Served by idx_pawn_loan_status_due_date.
+     */
+    @Query("SELECT new com.example.loan_origination_system.model.bot.ReminderTarget(" +
+           "l.id, l.loanCode, c.telegramChatId, l.dueDate, " +
+           "l.totalPayableAmount + COALESCE(l.accruedPenalty, 0) - COALESCE(l.principalPaid, 0) " +
+           "- COALESCE(l.interestPaid, 0) - COALESCE(l.penaltyPaid, 0), cur.code) " +
+           "FROM PawnLoan l JOIN l.customer c JOIN l.currency cur " +
+           "WHERE l.status IN :statuses AND l.dueDate = :dueDate " +
+           "AND c.telegramChatId IS NOT NULL AND l.id > :afterId ORDER BY l.id ASC")
+    List<ReminderTarget> findReminderTargetsDueOn(@Param("statuses") Collection<LoanStatus> statuses,
+                                                  @Param("dueDate") LocalDate dueDate,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+    
+    /**
+     * Keyset-paged reminder targets: OVERDUE loans due before asOfDate
+     * whose customer has a linked Telegram chat.
+     */
+    @Query("SELECT new com.example.loan_origination_system.model.bot.ReminderTarget(" +
+           "l.id, l.loanCode, c.telegramChatId, l.dueDate, " +
+           "l.totalPayableAmount + COALESCE(l.accruedPenalty, 0) - COALESCE(l.principalPaid, 0) " +
+           "- COALESCE(l.interestPaid, 0) - COALESCE(l.penaltyPaid, 0), cur.code) " +
+           "FROM PawnLoan l JOIN l.customer c JOIN l.currency cur " +
+           "WHERE l.status = 'OVERDUE' AND l.dueDate < :asOfDate " +
+           "AND c.telegramChatId IS NOT NULL AND l.id > :afterId ORDER BY l.id ASC")
+    List<ReminderTarget> findOverdueReminderTargets(@Param("asOfDate") LocalDate asOfDate,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+    
+    /**
+     * Keyset-paged IDs of closed loans not yet archived whose last change is before closedBefore.
+     */
+    @Query("SELECT l.id FROM PawnLoan l WHERE l.status IN :statuses AND l.archivedAt IS NULL " +
+           "AND COALESCE(l.updatedAt, l.createdAt) < :closedBefore AND l.id > :afterId ORDER BY l.id ASC")
+    List<Long> findArchivableLoanIds(@Param("statuses") Collection<LoanStatus> statuses,
+                                     @Param("closedBefore") LocalDateTime closedBefore,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE PawnLoan l SET l.archivedAt = :archivedAt WHERE l.id IN :ids")
+    int markArchived(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+    
+    @Query("SELECT COUNT(l) > 0 FROM PawnLoan l WHERE l.id = :id AND l.archivedAt IS NOT NULL")
+    boolean isArchived(@Param("id") Long id);
+    
+    /**
+     * Loan count and outstanding principal per branch, currency and status.
+     * Returns rows of [branchId, currencyId, status, count, outstandingPrincipal].
+     */
+    @Query("SELECT l.branch.id, l.currency.id, l.status, COUNT(l), SUM(l.loanAmount - COALESCE(l.principalPaid, 0)) " +
+           "FROM PawnLoan l GROUP BY l.branch.id, l.currency.id, l.status")
+    List<Object[]> sumOutstandingByStatus();
+    
+    /**
+     * Collateral count and estimated value per branch, currency and collateral status,
+     * for collateral held under loans in the given statuses.
+     * Returns rows of [branchId, currencyId, collateralStatus, count, estimatedValue].
+     */
+    @Query("SELECT l.branch.id, l.currency.id, i.status, COUNT(i), SUM(COALESCE(i.estimatedValue, 0)) " +
+           "FROM PawnLoan l JOIN l.pawnItem i WHERE l.status IN :statuses " +
+           "GROUP BY l.branch.id, l.currency.id, i.status")
+    List<Object[]> sumCollateralByStatus(@Param("statuses") Collection<LoanStatus> statuses);
+    
+    /**
+     * Stream open loans for aging, optionally for one branch. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.loan_origination_system.model.loan.LoanAgingRow(" +
+           "l.branch.id, l.currency.id, l.dueDate, l.loanAmount - COALESCE(l.principalPaid, 0)) " +
+           "FROM PawnLoan l WHERE l.status IN :statuses AND (:branchId IS NULL OR l.branch.id = :branchId)")
+    Stream<LoanAgingRow> streamAgingRows(@Param("statuses") Collection<LoanStatus> statuses,
+                                         @Param("branchId") Long branchId);
+}
@@ -0,0 +1,59 @@
+package com.example.loan_origination_system.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.loan_origination_system.model.loan.PawnRepaymentArchive;
+
+@Repository
+public interface PawnRepaymentArchiveRepository extends JpaRepository<PawnRepaymentArchive, Long> {
+
+    List<PawnRepaymentArchive> findByPawnLoanIdOrderByPaymentDateDesc(Long pawnLoanId);
+
+    Page<PawnRepaymentArchive> findByPawnLoanId(Long pawnLoanId, Pageable pageable);
+
+    @Query("SELECT r FROM PawnRepaymentArchive r WHERE r.paymentDate BETWEEN :startDate AND :endDate")
+    Page<PawnRepaymentArchive> findByPaymentDateBetween(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable);
+
+    @Query("SELECT r FROM PawnRepaymentArchive r WHERE r.pawnLoan.customer.id = :customerId AND r.paymentDate BETWEEN :startDate AND :endDate")
+    Page<PawnRepaymentArchive> findByCustomerIdAndPaymentDateBetween(
+            @Param("customerId") Long customerId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable);
+
+    /**
+     * Archived repayment count and total paid per branch, loan currency and payment month.
+     * Returns rows of [branchId, currencyId, year, month, count, paidAmount].
+     */
+    @Query("SELECT l.branch.id, l.currency.id, YEAR(r.paymentDate), MONTH(r.paymentDate), COUNT(r), SUM(r.paidAmount) " +
+           "FROM PawnRepaymentArchive r JOIN r.pawnLoan l " +
+           "GROUP BY l.branch.id, l.currency.id, YEAR(r.paymentDate), MONTH(r.paymentDate)")
+    List<Object[]> sumCollectionsByMonth();
+
+    /**
+     * Copy the hot repayments of the given loans into the archive in one statement.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO pawn_repayment_archive (id, pawn_loan_id, currency_id, payment_method_id, " +
+                   "payment_type_id, payment_date, paid_amount, principal_paid, interest_paid, penalty_paid, " +
+                   "remaining_principal, received_by, created_at, archived_at) " +
+                   "SELECT id, pawn_loan_id, currency_id, payment_method_id, payment_type_id, payment_date, " +
+                   "paid_amount, principal_paid, interest_paid, penalty_paid, remaining_principal, received_by, " +
+                   "created_at, :archivedAt FROM pawn_repayment WHERE pawn_loan_id IN (:loanIds)",
+           nativeQuery = true)
+    int copyFromHot(@Param("loanIds") Collection<Long> loanIds, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -2,12 +2,14 @@ package com.example.loan_origination_system.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -23,6 +25,19 @@ public interface PawnRepaymentRepository extends JpaRepository<PawnRepayment, Lo
     
     List<PawnRepayment> findByPawnLoanIdOrderByPaymentDateDesc(Long pawnLoanId);
     
+    /**
+     * Repayment count and total paid per branch, loan currency and payment month.
+     * Returns rows of [branchId, currencyId, year, month, count, paidAmount].
+     */
+    @Query("SELECT l.branch.id, l.currency.id, YEAR(r.paymentDate), MONTH(r.paymentDate), COUNT(r), SUM(r.paidAmount) " +
+           "FROM PawnRepayment r JOIN r.pawnLoan l " +
+           "GROUP BY l.branch.id, l.currency.id, YEAR(r.paymentDate), MONTH(r.paymentDate)")
+    List<Object[]> sumCollectionsByMonth();
+    
+    @Modifying
+    @Query("DELETE FROM PawnRepayment r WHERE r.pawnLoan.id IN :loanIds")
+    int deleteByPawnLoanIdIn(@Param("loanIds") Collection<Long> loanIds);
+    
     @Query("SELECT r FROM PawnRepayment r WHERE r.pawnLoan.id = :pawnLoanId AND r.paymentDate BETWEEN :startDate AND :endDate")
     List<PawnRepayment> findByPawnLoanIdAndPaymentDateBetween(
             @Param("pawnLoanId") Long pawnLoanId,
@@ -64,9 +79,4 @@ public interface PawnRepaymentRepository extends JpaRepository<PawnRepayment, Lo
     List<PawnRepayment> findByReceivedByAndPaymentDate(
             @Param("userId") Long userId,
             @Param("date") LocalDate date);
-    
-    @Query("SELECT r FROM PawnRepayment r WHERE r.pawnLoan.branch.id = :branchId AND r.paymentDate = :date")
-    List<PawnRepayment> findByBranchAndPaymentDate(
-            @Param("branchId") Long branchId,
-            @Param("date") LocalDate date);
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.example.loan_origination_system.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.loan_origination_system.model.enums.PortfolioDimension;
+import com.example.loan_origination_system.model.loan.PortfolioStat;
+
+@Repository
+public interface PortfolioStatRepository extends JpaRepository<PortfolioStat, Long> {
+
+    /**
+     * Apply a delta in place so concurrent transactions never lose updates.
+     */
+    @Modifying
+    @Query("UPDATE PortfolioStat s SET s.itemCount = s.itemCount + :countDelta, s.amount = s.amount + :amountDelta, " +
+           "s.updatedAt = :updatedAt WHERE s.branchId = :branchId AND s.currencyId = :currencyId " +
+           "AND s.dimension = :dimension AND s.bucket = :bucket")
+    int applyDelta(@Param("branchId") Long branchId, @Param("currencyId") Long currencyId,
+                   @Param("dimension") PortfolioDimension dimension, @Param("bucket") String bucket,
+                   @Param("countDelta") long countDelta, @Param("amountDelta") BigDecimal amountDelta,
+                   @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,14 @@
+package com.example.loan_origination_system.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.loan_origination_system.model.bot.ReminderDeadLetter;
+
+@Repository
+public interface ReminderDeadLetterRepository extends JpaRepository<ReminderDeadLetter, Long> {
+
+    List<ReminderDeadLetter> findByPawnLoanIdOrderByCreatedAtDesc(Long pawnLoanId);
+}
@@ -0,0 +1,131 @@
+package com.example.loan_origination_system.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.loan.LoanReportRow;
+import com.example.loan_origination_system.model.loan.RepaymentReportRow;
+
+/**
+ * Read-only scans for report and export jobs, on plain JDBC.
+ *
+ * Business Rules:
+ * 1. Rows are mapped to records and handed to the callback one at a time; nothing is
+ *    collected, so memory stays flat however many rows the scan covers
+ * 2. No entity is loaded: there is no persistence context to grow, snapshot or dirty-check
+ * 3. Every scan runs in its own read-only transaction, so PostgreSQL streams the result
+ *    with the fetch size instead of materialising it (it ignores the fetch size under autocommit)
+ * 4. Callers that write must not use these rows to do it; they go through the entities
+ */
+@Repository
+public class ReportReader {
+
+    static final int FETCH_SIZE = 1000;
+
+    private static final String LOAN_COLUMNS =
+        "SELECT l.id, l.loan_code, l.branch_id, l.currency_id, c.full_name, l.loan_amount, " +
+        "l.principal_paid, l.due_date, l.defaulted_at " +
+        "FROM pawn_loan l JOIN m_customer c ON c.id = l.customer_id ";
+
+    private static final String REPAYMENT_COLUMNS =
+        "SELECT r.pawn_loan_id, r.payment_date, r.paid_amount, r.principal_paid, r.interest_paid, r.penalty_paid ";
+
+    private static final RowMapper<LoanReportRow> LOAN_ROW = (rs, rowNum) -> new LoanReportRow(
+        rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getLong(4), rs.getString(5),
+        rs.getBigDecimal(6), rs.getBigDecimal(7), toLocalDate(rs.getDate(8)), toLocalDateTime(rs.getTimestamp(9)));
+
+    private static final RowMapper<RepaymentReportRow> REPAYMENT_ROW = (rs, rowNum) -> new RepaymentReportRow(
+        rs.getLong(1), toLocalDate(rs.getDate(2)), rs.getBigDecimal(3),
+        rs.getBigDecimal(4), rs.getBigDecimal(5), rs.getBigDecimal(6));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReportReader(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Loans in a status, in ID order.
+     *
+     * @return Number of rows passed to the action
+     */
+    @Transactional(readOnly = true)
+    public long forEachLoanByStatus(LoanStatus status, Consumer<LoanReportRow> action) {
+        return scan(LOAN_COLUMNS + "WHERE l.status = ? ORDER BY l.id", LOAN_ROW, action, status.name());
+    }
+
+    /**
+     * DEFAULTED loans whose defaultedAt falls on a day from startDate to endDate inclusive, in ID order.
+     *
+     * @return Number of rows passed to the action
+     */
+    @Transactional(readOnly = true)
+    public long forEachLoanDefaultedBetween(LocalDate startDate, LocalDate endDate, Consumer<LoanReportRow> action) {
+        return scan(LOAN_COLUMNS + "WHERE l.status = ? AND l.defaulted_at >= ? AND l.defaulted_at < ? ORDER BY l.id",
+            LOAN_ROW, action, LoanStatus.DEFAULTED.name(),
+            Timestamp.valueOf(startDate.atStartOfDay()), Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+    }
+
+    /**
+     * Repayments of a branch's loans paid on a date, hot and archived.
+     *
+     * @return Number of rows passed to the action
+     */
+    @Transactional(readOnly = true)
+    public long forEachBranchRepayment(Long branchId, LocalDate date, Consumer<RepaymentReportRow> action) {
+        Date day = Date.valueOf(date);
+        return scan(REPAYMENT_COLUMNS +
+            "FROM pawn_repayment r JOIN pawn_loan l ON l.id = r.pawn_loan_id " +
+            "WHERE l.branch_id = ? AND r.payment_date = ? " +
+            "UNION ALL " + REPAYMENT_COLUMNS +
+            "FROM pawn_repayment_archive r JOIN pawn_loan l ON l.id = r.pawn_loan_id " +
+            "WHERE l.branch_id = ? AND r.payment_date = ?",
+            REPAYMENT_ROW, action, branchId, day, branchId, day);
+    }
+
+    /**
+     * A customer's repayments paid from startDate to endDate inclusive, hot and archived.
+     *
+     * @return Number of rows passed to the action
+     */
+    @Transactional(readOnly = true)
+    public long forEachCustomerRepayment(Long customerId, LocalDate startDate, LocalDate endDate,
+                                         Consumer<RepaymentReportRow> action) {
+        Date start = Date.valueOf(startDate);
+        Date end = Date.valueOf(endDate);
+        return scan(REPAYMENT_COLUMNS +
+            "FROM pawn_repayment r JOIN pawn_loan l ON l.id = r.pawn_loan_id " +
+            "WHERE l.customer_id = ? AND r.payment_date BETWEEN ? AND ? " +
+            "UNION ALL " + REPAYMENT_COLUMNS +
+            "FROM pawn_repayment_archive r JOIN pawn_loan l ON l.id = r.pawn_loan_id " +
+            "WHERE l.customer_id = ? AND r.payment_date BETWEEN ? AND ?",
+            REPAYMENT_ROW, action, customerId, start, end, customerId, start, end);
+    }
+
+    private <T> long scan(String sql, RowMapper<T> mapper, Consumer<T> action, Object... args) {
+        long[] rows = new long[1];
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> action.accept(mapper.mapRow(rs, (int) rows[0]++)), args);
+        return rows[0];
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.example.loan_origination_system.metrics.JwtValidationEvent;
+
 import java.io.IOException;
 
 @Component
@@ -31,13 +33,17 @@ public class JwtFilter extends OncePerRequestFilter {
         final String authHeader = request.getHeader("Authorization");
         String username = null;
         String jwt = null;
+        JwtValidationEvent flightEvent = null;
 
         // 1. Check if the request has a "Bearer " token in the header
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             jwt = authHeader.substring(7); // Remove "Bearer " to get the pure token
+            flightEvent = new JwtValidationEvent();
+            flightEvent.begin();
 
             // Reject if the token has been blacklisted (i.e. user logged out)
             if (tokenBlacklist.isBlacklisted(jwt)) {
+                flightEvent.complete(null, JwtValidationEvent.BLACKLISTED);
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("Token has been invalidated. Please log in again.");
                 return;
@@ -57,7 +63,9 @@ public class JwtFilter extends OncePerRequestFilter {
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
 
             // 3. Validate the token using our JwtUtil
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            boolean valid = jwtUtil.validateToken(jwt, userDetails);
+            flightEvent.complete(username, valid ? JwtValidationEvent.VALID : JwtValidationEvent.INVALID);
+            if (valid) {
                 // 4. Token is good! Tell Spring Security to log them in for this request
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
@@ -65,6 +73,8 @@ public class JwtFilter extends OncePerRequestFilter {
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
+        } else if (flightEvent != null && username == null) {
+            flightEvent.complete(null, JwtValidationEvent.INVALID);
         }
 
         // Let the request continue to the Controller
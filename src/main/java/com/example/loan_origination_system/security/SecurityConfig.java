@@ -1,6 +1,7 @@
 package com.example.loan_origination_system.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -26,13 +27,18 @@ public class SecurityConfig {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    // Roles allowed to use operational endpoints (metrics, Prometheus scrape, flight recordings)
+    @Value("${management.ops.roles:ADMIN,OPS}")
+    private String[] opsRoles;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
 
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/liveness", "/actuator/health/readiness", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/prometheus", "/actuator/metrics/**", "/actuator/jfr", "/actuator/jfr/**").hasAnyRole(opsRoles)
                         .requestMatchers("/api/auth/login","/api/auth/logout","/api/customers").permitAll()
                         .anyRequest().authenticated() // EVERY other endpoint requires a valid JWT
                 )
@@ -0,0 +1,166 @@
+package com.example.loan_origination_system.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.loan_origination_system.model.loan.CfgLoan;
+import com.example.loan_origination_system.model.loan.LoanProductRule;
+import com.example.loan_origination_system.repository.CfgLoanRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory effective-date index over active CfgLoan rows.
+ *
+ * For every (branch, currency) the possibly overlapping [effectiveFrom, effectiveTo]
+ * intervals are flattened into disjoint segments keyed by their start date, each
+ * holding the rule in force for that segment (the latest effectiveFrom wins on
+ * overlap). "Config in force on date D" is then a single floorEntry lookup, O(log n).
+ *
+ * The whole table is loaded once at startup by WarmUpService (keys are loaded lazily
+ * until then, or if warm-up is disabled); writes refresh only the affected key
+ * after the surrounding transaction commits. Use it through CfgLoanService.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class CfgLoanIndex {
+
+    // Segment value for date ranges with no configuration in force
+    private static final LoanProductRule NO_RULE = LoanProductRule.defaults(null, null);
+
+    private final CfgLoanRepository cfgLoanRepository;
+
+    private final Map<IndexKey, NavigableMap<LocalDate, LoanProductRule>> index = new ConcurrentHashMap<>();
+    private volatile boolean fullyLoaded;
+
+    /**
+     * Load every active configuration in one query.
+     *
+     * @return Number of branch/currency combinations loaded
+     */
+    public int loadAll() {
+        Map<IndexKey, List<LoanProductRule>> rulesByKey = new HashMap<>();
+        for (CfgLoan cfg : cfgLoanRepository.findAllActive()) {
+            IndexKey key = new IndexKey(cfg.getBranch().getId(), cfg.getCurrency().getId());
+            rulesByKey.computeIfAbsent(key, k -> new ArrayList<>())
+                .add(LoanProductRule.compile(cfg, key.branchId(), key.currencyId()));
+        }
+
+        index.clear();
+        rulesByKey.forEach((key, rules) -> index.put(key, buildSegments(rules)));
+        fullyLoaded = true;
+
+        log.info("Loaded loan configuration index: {} branch/currency combinations", rulesByKey.size());
+        return rulesByKey.size();
+    }
+
+    /**
+     * Find the rule in force on the given date.
+     *
+     * @return The matching rule, or null when no active configuration covers the date
+     */
+    public LoanProductRule findInForce(Long branchId, Long currencyId, LocalDate date) {
+        NavigableMap<LocalDate, LoanProductRule> segments = segmentsFor(new IndexKey(branchId, currencyId));
+        Map.Entry<LocalDate, LoanProductRule> segment = segments.floorEntry(date);
+
+        if (segment == null || segment.getValue() == NO_RULE) {
+            return null;
+        }
+        return segment.getValue();
+    }
+
+    /**
+     * Reload a single branch/currency combination.
+     * Inside a transaction the reload is deferred until after commit.
+     */
+    public void refresh(Long branchId, Long currencyId) {
+        IndexKey key = new IndexKey(branchId, currencyId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload(key);
+                }
+            });
+        } else {
+            reload(key);
+        }
+    }
+
+    private NavigableMap<LocalDate, LoanProductRule> segmentsFor(IndexKey key) {
+        NavigableMap<LocalDate, LoanProductRule> segments = index.get(key);
+        if (segments != null) {
+            return segments;
+        }
+        if (fullyLoaded) {
+            // Index is complete, so a missing key simply has no configuration
+            return Collections.emptyNavigableMap();
+        }
+        return index.computeIfAbsent(key, this::loadSegments);
+    }
+
+    private void reload(IndexKey key) {
+        index.put(key, loadSegments(key));
+        log.debug("Refreshed loan configuration index for branch {} currency {}", key.branchId(), key.currencyId());
+    }
+
+    private NavigableMap<LocalDate, LoanProductRule> loadSegments(IndexKey key) {
+        List<LoanProductRule> rules = cfgLoanRepository.findActiveByBranchAndCurrency(key.branchId(), key.currencyId())
+            .stream()
+            .map(cfg -> LoanProductRule.compile(cfg, key.branchId(), key.currencyId()))
+            .toList();
+        return buildSegments(rules);
+    }
+
+    /**
+     * Flatten overlapping effective-date intervals into disjoint segments.
+     * Segment boundaries are every interval start and every (end + 1 day).
+     */
+    private static NavigableMap<LocalDate, LoanProductRule> buildSegments(List<LoanProductRule> rules) {
+        TreeSet<LocalDate> boundaries = new TreeSet<>();
+        for (LoanProductRule rule : rules) {
+            boundaries.add(startOf(rule));
+            if (rule.effectiveTo() != null && rule.effectiveTo().isBefore(LocalDate.MAX)) {
+                boundaries.add(rule.effectiveTo().plusDays(1));
+            }
+        }
+
+        TreeMap<LocalDate, LoanProductRule> segments = new TreeMap<>();
+        LoanProductRule previous = null;
+        for (LocalDate boundary : boundaries) {
+            LoanProductRule inForce = NO_RULE;
+            for (LoanProductRule rule : rules) {
+                if (rule.isEffectiveOn(boundary) && (inForce == NO_RULE || startOf(rule).isAfter(startOf(inForce)))) {
+                    inForce = rule;
+                }
+            }
+            // Merge adjacent segments served by the same rule
+            if (inForce != previous) {
+                segments.put(boundary, inForce);
+                previous = inForce;
+            }
+        }
+        return Collections.unmodifiableNavigableMap(segments);
+    }
+
+    private static LocalDate startOf(LoanProductRule rule) {
+        return rule.effectiveFrom() != null ? rule.effectiveFrom() : LocalDate.MIN;
+    }
+
+    private record IndexKey(Long branchId, Long currencyId) {}
+}
@@ -1,5 +1,8 @@
 package com.example.loan_origination_system.service;
 
+import java.time.LocalDate;
+import java.util.stream.Collectors;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -9,6 +12,7 @@ import com.example.loan_origination_system.dto.CfgLoanRequest;
 import com.example.loan_origination_system.exception.BusinessException;
 import com.example.loan_origination_system.mapper.LoanMapper;
 import com.example.loan_origination_system.model.loan.CfgLoan;
+import com.example.loan_origination_system.model.loan.LoanProductRule;
 import com.example.loan_origination_system.model.master.Branch;
 import com.example.loan_origination_system.model.master.Currency;
 import com.example.loan_origination_system.repository.BranchRepository;
@@ -26,6 +30,7 @@ public class CfgLoanService {
     private final BranchRepository branchRepository;
     private final CurrencyRepository currencyRepository;
     private final LoanMapper loanMapper;
+    private final CfgLoanIndex cfgLoanIndex;
 
     /**
      * CREATE
@@ -49,7 +54,7 @@ public class CfgLoanService {
         // Check for duplicate active configuration
         if (request.getInterestRate() != null) {
             cfgLoanRepository.findByBranchAndCurrencyAndInterestRate(
-                    branch.getId(), currency.getId(), request.getInterestRate().doubleValue()
+                    branch.getId(), currency.getId(), request.getInterestRate()
             ).ifPresent(existing -> {
                 throw new BusinessException(
                         "CFG_LOAN_DUPLICATE",
@@ -67,8 +72,11 @@ public class CfgLoanService {
         if (cfgLoan.getStatus() == null) {
             cfgLoan.setStatus("ACTIVE");
         }
+        cfgLoan.setAllocationOrder(normalizeAllocationOrder(cfgLoan.getAllocationOrder()));
 
-        return cfgLoanRepository.save(cfgLoan);
+        CfgLoan savedCfgLoan = cfgLoanRepository.save(cfgLoan);
+        cfgLoanIndex.refresh(branch.getId(), currency.getId());
+        return savedCfgLoan;
     }
 
     /**
@@ -88,6 +96,8 @@ public class CfgLoanService {
     @Transactional
     public CfgLoan updateCfgLoan(Long id, CfgLoanRequest request) {
         CfgLoan cfgLoan = getCfgLoanById(id);
+        Long previousBranchId = cfgLoan.getBranch().getId();
+        Long previousCurrencyId = cfgLoan.getCurrency().getId();
 
         Long branchId = request.getBranchId() != null ? request.getBranchId() : cfgLoan.getBranch().getId();
         Long currencyId = request.getCurrencyId() != null ? request.getCurrencyId() : cfgLoan.getCurrency().getId();
@@ -124,7 +134,7 @@ public class CfgLoanService {
             
             // Check if another active configuration exists with same branch, currency, and new interest rate
             if (cfgLoanRepository.existsByBranchIdAndCurrencyIdAndInterestRateAndIdNot(
-                    branchId, currencyId, request.getInterestRate().doubleValue(), id)) {
+                    branchId, currencyId, request.getInterestRate(), id)) {
                 throw new BusinessException(
                         "CFG_LOAN_DUPLICATE",
                         "Active loan configuration already exists for branch " + branch.getName() +
@@ -135,8 +145,12 @@ public class CfgLoanService {
 
         // Use mapper to update entity
         loanMapper.updateCfgLoanFromRequest(request, cfgLoan);
+        cfgLoan.setAllocationOrder(normalizeAllocationOrder(cfgLoan.getAllocationOrder()));
 
-        return cfgLoanRepository.save(cfgLoan);
+        CfgLoan savedCfgLoan = cfgLoanRepository.save(cfgLoan);
+        cfgLoanIndex.refresh(previousBranchId, previousCurrencyId);
+        cfgLoanIndex.refresh(branchId, currencyId);
+        return savedCfgLoan;
     }
 
     /**
@@ -145,6 +159,8 @@ public class CfgLoanService {
     @Transactional
     public CfgLoan patchCfgLoan(Long id, CfgLoanPatchRequest patch) {
         CfgLoan cfgLoan = getCfgLoanById(id);
+        Long previousBranchId = cfgLoan.getBranch().getId();
+        Long previousCurrencyId = cfgLoan.getCurrency().getId();
 
         if (patch.getBranchId() != null) {
             Branch branch = branchRepository.findById(patch.getBranchId())
@@ -172,6 +188,10 @@ public class CfgLoanService {
             cfgLoan.setMaxLoanAmount(patch.getMaxLoanAmount());
         }
 
+        if (patch.getMaxLoanToValue() != null) {
+            cfgLoan.setMaxLoanToValue(patch.getMaxLoanToValue());
+        }
+
         if (patch.getInterestRate() != null) {
             cfgLoan.setInterestRate(patch.getInterestRate());
         }
@@ -200,6 +220,10 @@ public class CfgLoanService {
             cfgLoan.setAutoForfeitDays(patch.getAutoForfeitDays());
         }
 
+        if (patch.getAllocationOrder() != null) {
+            cfgLoan.setAllocationOrder(normalizeAllocationOrder(patch.getAllocationOrder()));
+        }
+
         if (patch.getStatus() != null) {
             cfgLoan.setStatus(patch.getStatus());
         }
@@ -212,7 +236,10 @@ public class CfgLoanService {
             cfgLoan.setEffectiveTo(patch.getEffectiveTo());
         }
 
-        return cfgLoanRepository.save(cfgLoan);
+        CfgLoan savedCfgLoan = cfgLoanRepository.save(cfgLoan);
+        cfgLoanIndex.refresh(previousBranchId, previousCurrencyId);
+        cfgLoanIndex.refresh(savedCfgLoan.getBranch().getId(), savedCfgLoan.getCurrency().getId());
+        return savedCfgLoan;
     }
 
     /**
@@ -228,6 +255,31 @@ public class CfgLoanService {
     @Transactional
     public void deleteCfgLoan(Long id) {
         CfgLoan cfgLoan = getCfgLoanById(id);
+        Long branchId = cfgLoan.getBranch().getId();
+        Long currencyId = cfgLoan.getCurrency().getId();
         cfgLoanRepository.delete(cfgLoan);
+        cfgLoanIndex.refresh(branchId, currencyId);
+    }
+
+    /**
+     * Get the loan product rule in force for a branch and currency on a date.
+     * Served from the in-memory effective-date index (no database access).
+     * Falls back to the system defaults when no active configuration applies.
+     */
+    public LoanProductRule resolveRule(Long branchId, Long currencyId, LocalDate date) {
+        LoanProductRule rule = cfgLoanIndex.findInForce(branchId, currencyId, date);
+        return rule != null ? rule : LoanProductRule.defaults(branchId, currencyId);
+    }
+
+    /**
+     * Validate a repayment allocation order and store it in canonical form.
+     */
+    private String normalizeAllocationOrder(String allocationOrder) {
+        if (allocationOrder == null) {
+            return null;
+        }
+        return LoanProductRule.parseAllocationOrder(allocationOrder).stream()
+                .map(Enum::name)
+                .collect(Collectors.joining(","));
     }
-}
\ No newline at end of file
+}
@@ -44,6 +44,11 @@ public class CustomerService {
         customer.setAddress(request.getAddress());
         customer.setStatus(CustomerStatus.ACTIVE);
 
+        if (request.getTelegramChatId() != null) {
+            validateTelegramChatId(request.getTelegramChatId(), 0L);
+            customer.setTelegramChatId(request.getTelegramChatId());
+        }
+
         return customerRepository.save(customer);
     }
 
@@ -84,6 +89,11 @@ public class CustomerService {
             customer.setAddress(request.getAddress());
         }
 
+        if (request.getTelegramChatId() != null) {
+            validateTelegramChatId(request.getTelegramChatId(), id);
+            customer.setTelegramChatId(request.getTelegramChatId());
+        }
+
         return customerRepository.save(customer);
     }
 
@@ -119,9 +129,26 @@ public class CustomerService {
             customer.setIdNumber(patch.getIdNumber());
         }
 
+        if (patch.getTelegramChatId() != null) {
+            validateTelegramChatId(patch.getTelegramChatId(), id);
+            customer.setTelegramChatId(patch.getTelegramChatId());
+        }
+
         return customerRepository.save(customer);
     }
 
+    /**
+     * A Telegram chat receives reminders for one customer only.
+     */
+    private void validateTelegramChatId(Long chatId, Long excludeId) {
+        if (customerRepository.existsByTelegramChatIdAndIdNot(chatId, excludeId)) {
+            throw new BusinessException(
+                    "CUSTOMER_TELEGRAM_DUPLICATE",
+                    "Telegram chat is already linked to another customer"
+            );
+        }
+    }
+
     /**
      * READ METHODS
      */
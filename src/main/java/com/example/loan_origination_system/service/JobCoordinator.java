@@ -0,0 +1,410 @@
+package com.example.loan_origination_system.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.loan_origination_system.model.enums.ShardStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coordinates scheduled jobs across application nodes sharing one database.
+ *
+ * Business Rules:
+ * 1. Exclusive jobs: only the node holding the job's row in scheduler_lock runs it. A lock is
+ *    held for at least lockAtLeast (so a node whose cron fires a little later does not run the
+ *    job again) and at most lockAtMost (so a node dying mid-run cannot block the job for ever)
+ * 2. Sharded jobs: every node takes part. The first node plans the run as loan-ID ranges,
+ *    shardsPerNode per live node, and nodes claim PENDING ranges until none is left
+ * 3. The owner records its cursor after each chunk; a RUNNING shard whose heartbeat is older
+ *    than heartbeatTimeout is claimed by another node and resumed from that cursor
+ * 4. A node that lost ownership of a shard stops after its current chunk; a node whose chunk
+ *    fails puts the shard back to PENDING for another attempt
+ * 5. Shard bookkeeping is kept for shardRetention; incomplete runs older than that are abandoned
+ *
+ * Lock and shard bookkeeping always runs in its own transaction, so it is visible to other
+ * nodes immediately, whatever the caller's transaction does. Node clocks are assumed to be in
+ * sync to well within lockAtLeast and heartbeatTimeout.
+ */
+@Service
+@Slf4j
+public class JobCoordinator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+    private final Clock clock;
+    private final String nodeId;
+    private final Duration lockAtMost;
+    private final Duration lockAtLeast;
+    private final Duration heartbeatTimeout;
+    private final int shardsPerNode;
+    private final Duration shardRetention;
+
+    private final Map<String, ShardedJob> shardedJobs = new ConcurrentHashMap<>();
+    private final LocalDateTime startedAt;
+
+    @Autowired
+    public JobCoordinator(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${loan.scheduler.node-id:}") String nodeId,
+                          @Value("${loan.scheduler.lock.at-most:PT2H}") Duration lockAtMost,
+                          @Value("${loan.scheduler.lock.at-least:PT1M}") Duration lockAtLeast,
+                          @Value("${loan.scheduler.heartbeat-timeout:PT1M}") Duration heartbeatTimeout,
+                          @Value("${loan.scheduler.shards-per-node:4}") int shardsPerNode,
+                          @Value("${loan.scheduler.shard-retention:P7D}") Duration shardRetention) {
+        this(jdbcTemplate, transactionManager, nodeId.isBlank() ? defaultNodeId() : nodeId,
+            lockAtMost, lockAtLeast, heartbeatTimeout, shardsPerNode, shardRetention, Clock.systemDefaultZone());
+    }
+
+    JobCoordinator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, String nodeId,
+                   Duration lockAtMost, Duration lockAtLeast, Duration heartbeatTimeout, int shardsPerNode,
+                   Duration shardRetention, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.nodeId = nodeId;
+        this.lockAtMost = lockAtMost;
+        this.lockAtLeast = lockAtLeast;
+        this.heartbeatTimeout = heartbeatTimeout;
+        this.shardsPerNode = Math.max(1, shardsPerNode);
+        this.shardRetention = shardRetention;
+        this.clock = clock;
+        this.startedAt = now();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Run a task only if no other node is running (or has just run) the same job.
+     * If the caller is in a transaction, the lock is released once that transaction completes.
+     *
+     * @return true if this node ran the task, false if another node holds the lock
+     */
+    public boolean runExclusive(String job, Runnable task) {
+        LocalDateTime lockedAt = now();
+        if (!tryLock(job, lockedAt)) {
+            log.debug("Job {} is locked by another node; skipping on {}", job, nodeId);
+            return false;
+        }
+        try {
+            task.run();
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        unlock(job, lockedAt);
+                    }
+                });
+            } else {
+                unlock(job, lockedAt);
+            }
+        }
+        return true;
+    }
+
+    boolean tryLock(String job, LocalDateTime lockedAt) {
+        LocalDateTime lockUntil = lockedAt.plus(lockAtMost);
+        try {
+            return Boolean.TRUE.equals(requiresNew.execute(status -> {
+                int updated = jdbcTemplate.update(
+                    "UPDATE scheduler_lock SET lock_until = ?, locked_at = ?, locked_by = ? "
+                        + "WHERE name = ? AND lock_until <= ?",
+                    lockUntil, lockedAt, nodeId, job, lockedAt);
+                if (updated > 0) {
+                    return true;
+                }
+                // First run of this job anywhere: create the row; a concurrent insert loses on the key
+                jdbcTemplate.update(
+                    "INSERT INTO scheduler_lock (name, lock_until, locked_at, locked_by) VALUES (?, ?, ?, ?)",
+                    job, lockUntil, lockedAt, nodeId);
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    void unlock(String job, LocalDateTime lockedAt) {
+        LocalDateTime minUntil = lockedAt.plus(lockAtLeast);
+        LocalDateTime now = now();
+        LocalDateTime lockUntil = now.isAfter(minUntil) ? now : minUntil;
+        requiresNew.executeWithoutResult(status -> jdbcTemplate.update(
+            "UPDATE scheduler_lock SET lock_until = ? WHERE name = ? AND locked_by = ?",
+            lockUntil, job, nodeId));
+    }
+
+    /**
+     * Processes one chunk of a shard. Work must be idempotent per run: after a takeover the
+     * chunk in progress on the failed node is processed again.
+     */
+    @FunctionalInterface
+    public interface ShardWorker {
+        /**
+         * Process up to one chunk of IDs in (afterId, toId].
+         * @param runKey The run being processed, as passed to runSharded
+         * @return The chunk result; processed 0 means the range is exhausted
+         */
+        Chunk process(String runKey, long afterId, long toId);
+    }
+
+    /**
+     * @param lastId Last ID processed, the cursor for the next chunk
+     * @param processed Rows processed in this chunk
+     */
+    public record Chunk(long lastId, int processed) {}
+
+    /**
+     * @param shards Shards this node completed
+     * @param processed Rows this node processed
+     * @param failed True if a chunk failed on this node
+     * @param complete True if every shard of the run is DONE
+     */
+    public record ShardedRunResult(int shards, long processed, boolean failed, boolean complete) {}
+
+    private record ShardedJob(LongSupplier maxId, ShardWorker worker) {}
+
+    private record ShardRow(long id, long toId, long cursorId) {}
+
+    private record ShardOutcome(long processed, boolean done, boolean failed) {}
+
+    /**
+     * Register a sharded job, so this node can run it and take over its stale shards.
+     * @param maxId Supplies the highest ID when a run is planned; the last shard is open-ended
+     */
+    public void registerShardedJob(String job, LongSupplier maxId, ShardWorker worker) {
+        shardedJobs.put(job, new ShardedJob(maxId, worker));
+    }
+
+    /**
+     * Take part in a run of a sharded job: plan it if no node has yet, then claim and process
+     * shards until none is left to claim. A failing chunk stops this node's part of the run;
+     * its shard is taken over once its heartbeat is stale.
+     */
+    public ShardedRunResult runSharded(String job, String runKey) {
+        ShardedJob sharded = shardedJobs.get(job);
+        if (sharded == null) {
+            throw new IllegalStateException("Sharded job " + job + " is not registered");
+        }
+        heartbeat();
+        plan(job, runKey, sharded.maxId());
+
+        int shards = 0;
+        long processed = 0;
+        boolean failed = false;
+        ShardRow shard;
+        while ((shard = claimNext(job, runKey)) != null) {
+            ShardOutcome outcome = process(job, runKey, shard, sharded.worker());
+            processed += outcome.processed();
+            if (outcome.failed()) {
+                failed = true;
+                break;
+            }
+            if (outcome.done()) {
+                shards++;
+            }
+        }
+        return new ShardedRunResult(shards, processed, failed, isComplete(job, runKey));
+    }
+
+    /**
+     * Record that this node is alive, and refresh the heartbeat of the shards it is processing.
+     */
+    @Scheduled(fixedDelayString = "${loan.scheduler.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        LocalDateTime now = now();
+        requiresNew.executeWithoutResult(status -> {
+            int updated = jdbcTemplate.update(
+                "UPDATE scheduler_node SET heartbeat_at = ? WHERE node_id = ?", now, nodeId);
+            if (updated == 0) {
+                jdbcTemplate.update(
+                    "INSERT INTO scheduler_node (node_id, started_at, heartbeat_at) VALUES (?, ?, ?)",
+                    nodeId, startedAt, now);
+            }
+            jdbcTemplate.update(
+                "UPDATE scheduler_shard SET heartbeat_at = ? WHERE owner = ? AND status = ?",
+                now, nodeId, ShardStatus.RUNNING.name());
+        });
+    }
+
+    /**
+     * Resume runs of registered sharded jobs left incomplete by a failed node or chunk,
+     * and purge bookkeeping of runs past retention.
+     */
+    @Scheduled(fixedDelayString = "${loan.scheduler.takeover-interval:PT1M}",
+               initialDelayString = "${loan.scheduler.takeover-interval:PT1M}")
+    public void resumeStaleShards() {
+        LocalDateTime now = now();
+        LocalDateTime staleBefore = now.minus(heartbeatTimeout);
+        LocalDateTime retainedFrom = now.minus(shardRetention);
+        int purged = jdbcTemplate.update("DELETE FROM scheduler_shard WHERE planned_at < ?", retainedFrom);
+        if (purged > 0) {
+            log.debug("Purged {} shards planned before {}", purged, retainedFrom);
+        }
+
+        for (String job : shardedJobs.keySet()) {
+            // PENDING shards only once the run is older than the heartbeat timeout, so a run being
+            // planned right now is left to the nodes whose cron fired
+            List<String> runKeys = jdbcTemplate.queryForList(
+                "SELECT DISTINCT run_key FROM scheduler_shard WHERE job_name = ? AND ("
+                    + "(status = ? AND planned_at < ?) OR (status = ? AND heartbeat_at < ?))",
+                String.class, job, ShardStatus.PENDING.name(), staleBefore, ShardStatus.RUNNING.name(), staleBefore);
+            for (String runKey : runKeys) {
+                log.warn("Resuming incomplete shards of job {} run {} on {}", job, runKey, nodeId);
+                ShardedRunResult result = runSharded(job, runKey);
+                log.info("Resumed job {} run {}: {} shards, {} rows, complete={}",
+                    job, runKey, result.shards(), result.processed(), result.complete());
+            }
+        }
+    }
+
+    private void plan(String job, String runKey, LongSupplier maxIdSupplier) {
+        Integer existing = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM scheduler_shard WHERE job_name = ? AND run_key = ?",
+            Integer.class, job, runKey);
+        if (existing != null && existing > 0) {
+            return;
+        }
+
+        LocalDateTime now = now();
+        Integer liveNodes = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM scheduler_node WHERE heartbeat_at >= ?",
+            Integer.class, now.minus(heartbeatTimeout));
+        int shardCount = Math.max(1, liveNodes != null ? liveNodes : 1) * shardsPerNode;
+        long maxId = Math.max(0, maxIdSupplier.getAsLong());
+        long width = Math.max(1, (maxId + shardCount - 1) / shardCount);
+
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                long from = 0;
+                for (int i = 0; i < shardCount; i++) {
+                    // The last shard is open-ended so loans created after planning are still covered
+                    long to = i == shardCount - 1 ? Long.MAX_VALUE : from + width;
+                    jdbcTemplate.update(
+                        "INSERT INTO scheduler_shard (job_name, run_key, shard_no, from_id, to_id, cursor_id, "
+                            + "status, processed, planned_at) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?)",
+                        job, runKey, i, from, to, from, ShardStatus.PENDING.name(), now);
+                    from = to;
+                }
+            });
+            log.info("Planned job {} run {} as {} shards up to ID {}", job, runKey, shardCount, maxId);
+        } catch (DataIntegrityViolationException e) {
+            // Another node planned the run at the same time; its plan stands
+            log.debug("Job {} run {} was planned by another node", job, runKey);
+        }
+    }
+
+    private ShardRow claimNext(String job, String runKey) {
+        LocalDateTime now = now();
+        LocalDateTime staleBefore = now.minus(heartbeatTimeout);
+        List<Long> candidates = jdbcTemplate.queryForList(
+            "SELECT id FROM scheduler_shard WHERE job_name = ? AND run_key = ? "
+                + "AND (status = ? OR (status = ? AND heartbeat_at < ?)) ORDER BY shard_no",
+            Long.class, job, runKey, ShardStatus.PENDING.name(), ShardStatus.RUNNING.name(), staleBefore);
+
+        for (Long id : candidates) {
+            ShardRow claimed = requiresNew.execute(status -> {
+                int updated = jdbcTemplate.update(
+                    "UPDATE scheduler_shard SET owner = ?, status = ?, heartbeat_at = ? "
+                        + "WHERE id = ? AND (status = ? OR (status = ? AND heartbeat_at < ?))",
+                    nodeId, ShardStatus.RUNNING.name(), now, id,
+                    ShardStatus.PENDING.name(), ShardStatus.RUNNING.name(), staleBefore);
+                if (updated == 0) {
+                    return null;
+                }
+                return jdbcTemplate.queryForObject(
+                    "SELECT id, to_id, cursor_id FROM scheduler_shard WHERE id = ?",
+                    (rs, rowNum) -> new ShardRow(rs.getLong("id"), rs.getLong("to_id"), rs.getLong("cursor_id")),
+                    id);
+            });
+            if (claimed != null) {
+                return claimed;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Process a claimed shard to the end of its range, or until ownership is lost or a chunk fails.
+     */
+    private ShardOutcome process(String job, String runKey, ShardRow shard, ShardWorker worker) {
+        long cursor = shard.cursorId();
+        long processed = 0;
+        while (true) {
+            Chunk chunk;
+            try {
+                chunk = worker.process(runKey, cursor, shard.toId());
+            } catch (Exception e) {
+                log.error("Job {} run {} stopped in shard {} after ID {}",
+                    job, runKey, shard.id(), cursor, e);
+                requiresNew.executeWithoutResult(status -> jdbcTemplate.update(
+                    "UPDATE scheduler_shard SET status = ?, owner = NULL WHERE id = ? AND owner = ?",
+                    ShardStatus.PENDING.name(), shard.id(), nodeId));
+                return new ShardOutcome(processed, false, true);
+            }
+
+            LocalDateTime now = now();
+            if (chunk.processed() == 0) {
+                int updated = requiresNew.execute(status -> jdbcTemplate.update(
+                    "UPDATE scheduler_shard SET status = ?, completed_at = ?, heartbeat_at = ? WHERE id = ? AND owner = ?",
+                    ShardStatus.DONE.name(), now, now, shard.id(), nodeId));
+                return new ShardOutcome(processed, updated > 0, false);
+            }
+
+            cursor = chunk.lastId();
+            processed += chunk.processed();
+            long cursorId = cursor;
+            int updated = requiresNew.execute(status -> jdbcTemplate.update(
+                "UPDATE scheduler_shard SET cursor_id = ?, processed = processed + ?, heartbeat_at = ? "
+                    + "WHERE id = ? AND owner = ?",
+                cursorId, chunk.processed(), now, shard.id(), nodeId));
+            if (updated == 0) {
+                log.warn("Shard {} of job {} run {} was taken over; {} stops", shard.id(), job, runKey, nodeId);
+                return new ShardOutcome(processed, false, false);
+            }
+        }
+    }
+
+    private boolean isComplete(String job, String runKey) {
+        Integer open = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM scheduler_shard WHERE job_name = ? AND run_key = ? AND status <> ?",
+            Integer.class, job, runKey, ShardStatus.DONE.name());
+        return open != null && open == 0;
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
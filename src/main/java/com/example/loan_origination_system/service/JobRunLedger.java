@@ -0,0 +1,77 @@
+package com.example.loan_origination_system.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records the last business date each daily job completed for (scheduler_job_run),
+ * so missed days can be found and replayed.
+ *
+ * Business Rules:
+ * 1. A job's date only moves forward; recording an earlier date is a no-op
+ * 2. Safe to call from several nodes at once: the row is created once and then
+ *    updated conditionally
+ */
+@Service
+@RequiredArgsConstructor
+public class JobRunLedger {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return The last business date the job completed for, or null if it never ran
+     */
+    public LocalDate lastCompleted(String job) {
+        List<LocalDate> dates = jdbcTemplate.queryForList(
+            "SELECT last_business_date FROM scheduler_job_run WHERE job_name = ?", LocalDate.class, job);
+        return dates.isEmpty() ? null : dates.get(0);
+    }
+
+    /**
+     * Record that the job completed for the given business date.
+     */
+    public void markCompleted(String job, LocalDate businessDate, String nodeId) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = jdbcTemplate.update(
+            "UPDATE scheduler_job_run SET last_business_date = ?, completed_at = ?, completed_by = ? "
+                + "WHERE job_name = ? AND last_business_date < ?",
+            businessDate, now, nodeId, job, businessDate);
+        if (updated > 0 || lastCompleted(job) != null) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(
+                "INSERT INTO scheduler_job_run (job_name, last_business_date, completed_at, completed_by) "
+                    + "VALUES (?, ?, ?, ?)",
+                job, businessDate, now, nodeId);
+        } catch (DataIntegrityViolationException e) {
+            // Another node recorded the job first; retry so the later date wins
+            markCompleted(job, businessDate, nodeId);
+        }
+    }
+
+    /**
+     * The business date of the latest time a daily cron fired at or before now.
+     *
+     * @return The date, or null if the cron did not fire in the last two days
+     */
+    static LocalDate lastScheduledDate(String cron, LocalDateTime now) {
+        CronExpression expression = CronExpression.parse(cron);
+        LocalDateTime last = null;
+        LocalDateTime fire = expression.next(now.minus(2, ChronoUnit.DAYS));
+        while (fire != null && !fire.isAfter(now)) {
+            last = fire;
+            fire = expression.next(fire);
+        }
+        return last != null ? last.toLocalDate() : null;
+    }
+}
@@ -0,0 +1,384 @@
+package com.example.loan_origination_system.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.loan_origination_system.dto.JournalEntryResponse;
+import com.example.loan_origination_system.dto.LedgerAccountResponse;
+import com.example.loan_origination_system.dto.TrialBalanceResponse;
+import com.example.loan_origination_system.exception.BusinessException;
+import com.example.loan_origination_system.model.enums.JournalSource;
+import com.example.loan_origination_system.model.enums.LedgerAccountType;
+import com.example.loan_origination_system.model.ledger.JournalEntry;
+import com.example.loan_origination_system.model.ledger.JournalLine;
+import com.example.loan_origination_system.model.ledger.LedgerAccount;
+import com.example.loan_origination_system.model.ledger.LedgerPeriodBalance;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+import com.example.loan_origination_system.model.loan.PawnRepayment;
+import com.example.loan_origination_system.repository.JournalEntryRepository;
+import com.example.loan_origination_system.repository.LedgerAccountRepository;
+import com.example.loan_origination_system.repository.LedgerPeriodBalanceRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Double-entry ledger for loan money movements.
+ *
+ * Business Rules:
+ * 1. Disbursement: debit LOANS_RECEIVABLE, credit CASH
+ * 2. Repayment: debit CASH, credit LOANS_RECEIVABLE / INTEREST_INCOME / PENALTY_INCOME
+ * 3. Forfeiture: debit COLLATERAL_INVENTORY, credit LOANS_RECEIVABLE for the unpaid principal
+ * 4. Every entry must balance (total debits = total credits)
+ *
+ * Entries posted inside a transaction are buffered and written together just before
+ * commit: one batch insert for the entries, then one balance update per touched
+ * account and one rollup update per touched account-month.
+ *
+ * An account or monthly rollup row that does not exist yet is created in its own transaction,
+ * so when two postings create the same row at once the loser reads the winner's row instead
+ * of rolling back the disbursement or repayment it belongs to.
+ */
+@Service
+@Slf4j
+public class LedgerService {
+
+    private static final Object PENDING_ENTRIES_KEY = new Object();
+
+    private final LedgerAccountRepository ledgerAccountRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final LedgerPeriodBalanceRepository ledgerPeriodBalanceRepository;
+    private final TransactionTemplate requiresNew;
+
+    // Account IDs never change once created, so lookups are cached for the life of the process
+    private final Map<AccountKey, Long> accountIds = new ConcurrentHashMap<>();
+
+    public LedgerService(LedgerAccountRepository ledgerAccountRepository,
+                         JournalEntryRepository journalEntryRepository,
+                         LedgerPeriodBalanceRepository ledgerPeriodBalanceRepository,
+                         PlatformTransactionManager transactionManager) {
+        this.ledgerAccountRepository = ledgerAccountRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.ledgerPeriodBalanceRepository = ledgerPeriodBalanceRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Load the IDs of all existing ledger accounts into the lookup cache.
+     *
+     * @return Number of accounts cached
+     */
+    @Transactional(readOnly = true)
+    public int preloadAccountIds() {
+        List<LedgerAccount> accounts = ledgerAccountRepository.findAll();
+        for (LedgerAccount account : accounts) {
+            accountIds.put(new AccountKey(account.getBranch().getId(), account.getCurrency().getId(),
+                account.getAccountType()), account.getId());
+        }
+        return accounts.size();
+    }
+
+    /**
+     * Post the disbursement of a newly issued loan.
+     */
+    public void postDisbursement(PawnLoan loan) {
+        JournalEntry entry = new JournalEntry(JournalSource.DISBURSEMENT, loan.getId(), loan,
+                loan.getLoanDate() != null ? loan.getLoanDate() : LocalDate.now(),
+                "Disbursement of loan " + loan.getLoanCode())
+            .debit(LedgerAccountType.LOANS_RECEIVABLE, loan.getLoanAmount())
+            .credit(LedgerAccountType.CASH, loan.getLoanAmount());
+        post(entry);
+    }
+
+    /**
+     * Post a repayment split into principal, interest and penalty.
+     *
+     * @throws BusinessException if the components do not add up to the paid amount
+     */
+    public void postRepayment(PawnRepayment repayment) {
+        PawnLoan loan = repayment.getPawnLoan();
+        BigDecimal components = repayment.getPrincipalPaid()
+            .add(repayment.getInterestPaid())
+            .add(repayment.getPenaltyPaid());
+
+        if (components.compareTo(repayment.getPaidAmount()) != 0) {
+            throw new BusinessException("REPAYMENT_ALLOCATION_MISMATCH",
+                "Principal, interest and penalty (" + components + ") must equal the paid amount (" +
+                repayment.getPaidAmount() + ")");
+        }
+
+        JournalEntry entry = new JournalEntry(JournalSource.REPAYMENT, repayment.getId(), loan,
+                repayment.getPaymentDate(), "Repayment on loan " + loan.getLoanCode())
+            .debit(LedgerAccountType.CASH, repayment.getPaidAmount())
+            .credit(LedgerAccountType.LOANS_RECEIVABLE, repayment.getPrincipalPaid())
+            .credit(LedgerAccountType.INTEREST_INCOME, repayment.getInterestPaid())
+            .credit(LedgerAccountType.PENALTY_INCOME, repayment.getPenaltyPaid());
+        post(entry);
+    }
+
+    /**
+     * Post the forfeiture of a defaulted loan's collateral against its unpaid principal,
+     * taken from the loan's running principalPaid total (no repayment scan).
+     */
+    public void postForfeiture(PawnLoan loan) {
+        BigDecimal principalPaid = loan.getPrincipalPaid() != null ? loan.getPrincipalPaid() : BigDecimal.ZERO;
+        BigDecimal unpaidPrincipal = loan.getLoanAmount().subtract(principalPaid).max(BigDecimal.ZERO);
+
+        // Dated as of the default, so a replayed grace period expiry lands in the right period
+        LocalDate entryDate = loan.getDefaultedAt() != null ? loan.getDefaultedAt().toLocalDate() : LocalDate.now();
+        JournalEntry entry = new JournalEntry(JournalSource.FORFEITURE, loan.getId(), loan, entryDate,
+                "Collateral forfeited on loan " + loan.getLoanCode())
+            .debit(LedgerAccountType.COLLATERAL_INVENTORY, unpaidPrincipal)
+            .credit(LedgerAccountType.LOANS_RECEIVABLE, unpaidPrincipal);
+        post(entry);
+    }
+
+    /**
+     * Get the running balances of every account for a branch and currency.
+     */
+    public List<LedgerAccountResponse> getAccountBalances(Long branchId, Long currencyId) {
+        return ledgerAccountRepository.findByBranchIdAndCurrencyIdOrderByAccountType(branchId, currencyId)
+            .stream()
+            .map(account -> toAccountResponse(account, branchId, currencyId))
+            .toList();
+    }
+
+    /**
+     * Get the running balance of a single account.
+     */
+    public LedgerAccountResponse getAccountBalance(Long branchId, Long currencyId, LedgerAccountType accountType) {
+        LedgerAccount account = ledgerAccountRepository
+            .findByBranchIdAndCurrencyIdAndAccountType(branchId, currencyId, accountType)
+            .orElseThrow(() -> new BusinessException("LEDGER_ACCOUNT_NOT_FOUND",
+                "No " + accountType + " account for branch " + branchId + " and currency " + currencyId));
+        return toAccountResponse(account, branchId, currencyId);
+    }
+
+    /**
+     * Build the trial balance as of the end of the given month from the monthly rollups.
+     */
+    public TrialBalanceResponse getTrialBalance(Long branchId, Long currencyId, YearMonth period) {
+        List<TrialBalanceResponse.Line> lines = new ArrayList<>();
+        BigDecimal totalDebits = BigDecimal.ZERO;
+        BigDecimal totalCredits = BigDecimal.ZERO;
+
+        for (Object[] row : ledgerPeriodBalanceRepository.sumUpToPeriod(branchId, currencyId, period.atDay(1))) {
+            LedgerAccountType accountType = (LedgerAccountType) row[0];
+            BigDecimal net = ((BigDecimal) row[1]).subtract((BigDecimal) row[2]);
+
+            TrialBalanceResponse.Line line = new TrialBalanceResponse.Line();
+            line.setAccountType(accountType);
+            line.setDebit(net.signum() > 0 ? net : BigDecimal.ZERO);
+            line.setCredit(net.signum() < 0 ? net.negate() : BigDecimal.ZERO);
+            lines.add(line);
+
+            totalDebits = totalDebits.add(line.getDebit());
+            totalCredits = totalCredits.add(line.getCredit());
+        }
+
+        TrialBalanceResponse response = new TrialBalanceResponse();
+        response.setBranchId(branchId);
+        response.setCurrencyId(currencyId);
+        response.setAsOfDate(period.atEndOfMonth());
+        response.setLines(lines);
+        response.setTotalDebits(totalDebits);
+        response.setTotalCredits(totalCredits);
+        response.setBalanced(totalDebits.compareTo(totalCredits) == 0);
+        return response;
+    }
+
+    /**
+     * Get every journal entry posted for a loan, oldest first.
+     */
+    public List<JournalEntryResponse> getLoanJournal(Long loanId) {
+        return journalEntryRepository.findWithLinesByPawnLoanId(loanId)
+            .stream()
+            .map(LedgerService::toEntryResponse)
+            .toList();
+    }
+
+    /**
+     * Validate an entry and queue it for the current transaction,
+     * or write it immediately when no transaction is active.
+     */
+    void post(JournalEntry entry) {
+        if (entry.totalDebits().compareTo(entry.totalCredits()) != 0) {
+            throw new BusinessException("UNBALANCED_JOURNAL_ENTRY",
+                entry.getSource() + " entry for source " + entry.getSourceId() + " does not balance: debits " +
+                entry.totalDebits() + ", credits " + entry.totalCredits());
+        }
+        if (entry.getLines().isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(List.of(entry));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<JournalEntry> pending = (List<JournalEntry>) TransactionSynchronizationManager.getResource(PENDING_ENTRIES_KEY);
+        if (pending == null) {
+            List<JournalEntry> buffer = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(PENDING_ENTRIES_KEY, buffer);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(buffer);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_ENTRIES_KEY);
+                }
+            });
+            pending = buffer;
+        }
+        pending.add(entry);
+    }
+
+    /**
+     * Write a batch of entries and apply their aggregated effect to balances and rollups.
+     */
+    private void write(List<JournalEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Map<Long, BigDecimal> balanceDeltas = new HashMap<>();
+        Map<PeriodKey, BigDecimal[]> periodTotals = new HashMap<>();
+
+        for (JournalEntry entry : entries) {
+            LocalDate periodStart = entry.getEntryDate().withDayOfMonth(1);
+            for (JournalLine line : entry.getLines()) {
+                LedgerAccount account = resolveAccount(entry, line.getAccountType());
+                line.setLedgerAccount(account);
+
+                balanceDeltas.merge(account.getId(), line.getDebit().subtract(line.getCredit()), BigDecimal::add);
+                BigDecimal[] totals = periodTotals.computeIfAbsent(new PeriodKey(account.getId(), periodStart),
+                    k -> new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO});
+                totals[0] = totals[0].add(line.getDebit());
+                totals[1] = totals[1].add(line.getCredit());
+            }
+        }
+
+        journalEntryRepository.saveAll(entries);
+
+        periodTotals.forEach((key, totals) -> {
+            int updated = ledgerPeriodBalanceRepository.addToPeriod(key.accountId(), key.periodStart(), totals[0], totals[1]);
+            if (updated == 0) {
+                // First entry in this month: create an empty rollup, then add to it like any other
+                insertRollupIfAbsent(key.accountId(), key.periodStart());
+                updated = ledgerPeriodBalanceRepository.addToPeriod(key.accountId(), key.periodStart(), totals[0], totals[1]);
+                if (updated == 0) {
+                    throw new IllegalStateException("No ledger rollup for account " + key.accountId()
+                        + " and period " + key.periodStart());
+                }
+            }
+        });
+        LocalDateTime now = LocalDateTime.now();
+        balanceDeltas.forEach((accountId, delta) -> ledgerAccountRepository.applyDelta(accountId, delta, now));
+
+        log.debug("Posted {} journal entries touching {} accounts", entries.size(), balanceDeltas.size());
+    }
+
+    private LedgerAccount resolveAccount(JournalEntry entry, LedgerAccountType accountType) {
+        AccountKey key = new AccountKey(entry.getBranch().getId(), entry.getCurrency().getId(), accountType);
+        Long accountId = accountIds.get(key);
+        if (accountId != null) {
+            return ledgerAccountRepository.getReferenceById(accountId);
+        }
+
+        LedgerAccount account = ledgerAccountRepository
+            .findByBranchIdAndCurrencyIdAndAccountType(key.branchId(), key.currencyId(), accountType)
+            .orElse(null);
+        if (account == null) {
+            insertIfAbsent(() -> {
+                LedgerAccount created = new LedgerAccount();
+                created.setBranch(entry.getBranch());
+                created.setCurrency(entry.getCurrency());
+                created.setAccountType(accountType);
+                ledgerAccountRepository.saveAndFlush(created);
+            });
+            account = ledgerAccountRepository
+                .findByBranchIdAndCurrencyIdAndAccountType(key.branchId(), key.currencyId(), accountType)
+                .orElseThrow(() -> new IllegalStateException("No " + accountType + " ledger account for branch "
+                    + key.branchId() + " and currency " + key.currencyId()));
+        }
+        accountIds.put(key, account.getId());
+        return account;
+    }
+
+    private void insertRollupIfAbsent(Long accountId, LocalDate periodStart) {
+        insertIfAbsent(() -> {
+            LedgerPeriodBalance rollup = new LedgerPeriodBalance();
+            rollup.setLedgerAccount(ledgerAccountRepository.getReferenceById(accountId));
+            rollup.setPeriodStart(periodStart);
+            ledgerPeriodBalanceRepository.saveAndFlush(rollup);
+        });
+    }
+
+    /**
+     * Insert a row in its own, immediately committed transaction. A duplicate key means another
+     * posting inserted it first; the caller then reads that row, and its own posting carries on.
+     */
+    private void insertIfAbsent(Runnable insert) {
+        try {
+            requiresNew.executeWithoutResult(status -> insert.run());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Ledger row already created by a concurrent posting: {}", e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private static LedgerAccountResponse toAccountResponse(LedgerAccount account, Long branchId, Long currencyId) {
+        LedgerAccountResponse response = new LedgerAccountResponse();
+        response.setId(account.getId());
+        response.setBranchId(branchId);
+        response.setCurrencyId(currencyId);
+        response.setAccountType(account.getAccountType());
+        // Report balances on the account's normal side so they read as positive amounts
+        response.setBalance(account.getAccountType().isDebitNormal()
+            ? account.getBalance()
+            : account.getBalance().negate());
+        response.setUpdatedAt(account.getUpdatedAt());
+        return response;
+    }
+
+    private static JournalEntryResponse toEntryResponse(JournalEntry entry) {
+        JournalEntryResponse response = new JournalEntryResponse();
+        response.setId(entry.getId());
+        response.setEntryDate(entry.getEntryDate());
+        response.setSource(entry.getSource());
+        response.setSourceId(entry.getSourceId());
+        response.setDescription(entry.getDescription());
+        response.setCreatedAt(entry.getCreatedAt());
+        response.setLines(entry.getLines().stream().map(line -> {
+            JournalEntryResponse.Line lineResponse = new JournalEntryResponse.Line();
+            lineResponse.setAccountType(line.getLedgerAccount().getAccountType());
+            lineResponse.setDebit(line.getDebit());
+            lineResponse.setCredit(line.getCredit());
+            return lineResponse;
+        }).toList());
+        return response;
+    }
+
+    private record AccountKey(Long branchId, Long currencyId, LedgerAccountType accountType) {}
+
+    private record PeriodKey(Long accountId, LocalDate periodStart) {}
+}
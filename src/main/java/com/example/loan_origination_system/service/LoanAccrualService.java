@@ -0,0 +1,198 @@
+package com.example.loan_origination_system.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.loan.LoanAccrual;
+import com.example.loan_origination_system.model.loan.LoanProductRule;
+import com.example.loan_origination_system.model.loan.Money;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+import com.example.loan_origination_system.model.loan.RepaymentAllocation;
+import com.example.loan_origination_system.repository.LoanAccrualRepository;
+import com.example.loan_origination_system.repository.PawnLoanRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Incremental interest and penalty accrual.
+ *
+ * Business Rules:
+ * 1. Interest is earned evenly from loanDate to dueDate (flat interest set at origination)
+ * 2. Penalty starts after dueDate + CfgLoan.penaltyGraceDays
+ * 3. Penalty accrues daily at PawnLoan.penaltyRate percent per 30 days on the outstanding balance
+ * 4. Each run only posts the days since PawnLoan.lastAccrualDate, so a run is idempotent
+ *
+ * The portfolio is processed in keyset-paged chunks, each in its own transaction,
+ * so memory use is bounded by the chunk size regardless of portfolio size.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoanAccrualService {
+
+    static final List<LoanStatus> ACCRUING_STATUSES =
+        List.of(LoanStatus.ACTIVE, LoanStatus.PARTIALLY_PAID, LoanStatus.OVERDUE);
+
+    // penaltyRate is a percentage per 30 days
+    private static final long PENALTY_RATE_DENOMINATOR = 100L * 30L;
+    private static final Money ZERO = Money.zero(Money.STORAGE_SCALE);
+
+    private final PawnLoanRepository pawnLoanRepository;
+    private final LoanAccrualRepository loanAccrualRepository;
+    private final CfgLoanService cfgLoanService;
+
+    /**
+     * Accrue one chunk of loans with ID greater than afterId.
+     *
+     * @param afterId Last loan ID processed by the previous chunk (0 to start)
+     * @param asOfDate Date to accrue up to (inclusive)
+     * @param batchSize Maximum loans to process in this chunk
+     * @return Chunk result; lastLoanId is the cursor for the next call
+     */
+    @Transactional
+    public AccrualChunkResult accrueChunk(Long afterId, LocalDate asOfDate, int batchSize) {
+        return accrueChunk(afterId, Long.MAX_VALUE, asOfDate, batchSize);
+    }
+
+    /**
+     * Accrue one chunk of loans with ID in (afterId, toId], for one shard of a sharded run.
+     * Safe to repeat: a loan already accrued to asOfDate gets no new accrual.
+     */
+    @Transactional
+    public AccrualChunkResult accrueChunk(Long afterId, Long toId, LocalDate asOfDate, int batchSize) {
+        List<PawnLoan> loans = pawnLoanRepository.findByStatusInIdRange(
+            ACCRUING_STATUSES, afterId, toId, PageRequest.of(0, batchSize));
+
+        if (loans.isEmpty()) {
+            return new AccrualChunkResult(afterId, 0, 0);
+        }
+
+        List<LoanAccrual> accruals = new ArrayList<>(loans.size());
+
+        for (PawnLoan loan : loans) {
+            LoanAccrual accrual = accrue(loan, asOfDate);
+            if (accrual != null) {
+                accruals.add(accrual);
+            }
+        }
+
+        loanAccrualRepository.saveAll(accruals);
+
+        Long lastLoanId = loans.get(loans.size() - 1).getId();
+        return new AccrualChunkResult(lastLoanId, loans.size(), accruals.size());
+    }
+
+    /**
+     * Get the accrual history for a loan (most recent first).
+     */
+    public List<LoanAccrual> getAccrualHistory(Long loanId) {
+        return loanAccrualRepository.findByPawnLoanIdOrderByAccrualDateDesc(loanId);
+    }
+
+    /**
+     * Accrue a single loan up to asOfDate and update its running totals.
+     *
+     * @return The accrual entry to persist, or null if nothing accrued
+     */
+    LoanAccrual accrue(PawnLoan loan, LocalDate asOfDate) {
+        LocalDate periodStart = loan.getLastAccrualDate() != null ? loan.getLastAccrualDate() : loan.getLoanDate();
+        if (periodStart == null || !asOfDate.isAfter(periodStart)) {
+            return null;
+        }
+
+        Money accruedInterest = Money.of(loan.getAccruedInterest());
+        Money accruedPenalty = Money.of(loan.getAccruedPenalty());
+        // Penalty is charged on unpaid principal and interest, not on unpaid penalty
+        BigDecimal outstanding = RepaymentAllocation.principalDue(loan).add(RepaymentAllocation.interestDue(loan));
+
+        Money interestIncrement = interestEarnedBy(loan, asOfDate).minus(accruedInterest).max(ZERO);
+        Money penaltyIncrement = penaltyFor(loan, periodStart, asOfDate, Money.of(outstanding));
+
+        loan.setLastAccrualDate(asOfDate);
+        if (interestIncrement.signum() == 0 && penaltyIncrement.signum() == 0) {
+            return null;
+        }
+
+        BigDecimal cumulativeInterest = accruedInterest.plus(interestIncrement).toBigDecimal();
+        BigDecimal cumulativePenalty = accruedPenalty.plus(penaltyIncrement).toBigDecimal();
+        loan.setAccruedInterest(cumulativeInterest);
+        loan.setAccruedPenalty(cumulativePenalty);
+
+        LoanAccrual accrual = new LoanAccrual();
+        accrual.setPawnLoan(loan);
+        accrual.setPeriodStart(periodStart);
+        accrual.setAccrualDate(asOfDate);
+        accrual.setDays((int) ChronoUnit.DAYS.between(periodStart, asOfDate));
+        accrual.setInterestAccrued(interestIncrement.toBigDecimal());
+        accrual.setPenaltyAccrued(penaltyIncrement.toBigDecimal());
+        accrual.setCumulativeInterest(cumulativeInterest);
+        accrual.setCumulativePenalty(cumulativePenalty);
+        accrual.setOutstandingBalance(outstanding);
+        return accrual;
+    }
+
+    /**
+     * Cumulative interest earned by asOfDate, straight-line over the loan term.
+     * Computed as a cumulative target (not a daily increment) so rounding never drifts.
+     */
+    private Money interestEarnedBy(PawnLoan loan, LocalDate asOfDate) {
+        Money totalInterest = Money.of(loan.getTotalPayableAmount())
+            .minus(Money.of(loan.getLoanAmount()))
+            .minus(Money.of(loan.getStorageFee()));
+        if (totalInterest.signum() <= 0 || loan.getLoanDate() == null) {
+            return ZERO;
+        }
+
+        long termDays = loan.getDueDate() != null
+            ? ChronoUnit.DAYS.between(loan.getLoanDate(), loan.getDueDate())
+            : zeroIfNull(loan.getLoanDurationDays());
+        long elapsedDays = ChronoUnit.DAYS.between(loan.getLoanDate(), asOfDate);
+
+        if (termDays <= 0 || elapsedDays >= termDays) {
+            return totalInterest;
+        }
+        return totalInterest.times(elapsedDays, termDays, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Penalty for the days in (periodStart, asOfDate] that fall after the penalty grace period.
+     */
+    private Money penaltyFor(PawnLoan loan, LocalDate periodStart, LocalDate asOfDate, Money outstanding) {
+        BigDecimal penaltyRate = zeroIfNull(loan.getPenaltyRate());
+        if (loan.getDueDate() == null || penaltyRate.signum() <= 0 || outstanding.signum() <= 0) {
+            return ZERO;
+        }
+
+        LoanProductRule rule = cfgLoanService.resolveRule(
+            loan.getBranch().getId(), loan.getCurrency().getId(), loan.getLoanDate());
+        LocalDate penaltyStart = loan.getDueDate().plusDays(rule.penaltyGraceDays());
+        LocalDate from = periodStart.isAfter(penaltyStart) ? periodStart : penaltyStart;
+
+        long penaltyDays = ChronoUnit.DAYS.between(from, asOfDate);
+        if (penaltyDays <= 0) {
+            return ZERO;
+        }
+
+        return outstanding.timesRate(penaltyRate, penaltyDays, PENALTY_RATE_DENOMINATOR, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal zeroIfNull(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static long zeroIfNull(Integer value) {
+        return value != null ? value : 0L;
+    }
+
+    public record AccrualChunkResult(Long lastLoanId, int loansScanned, int accrualsPosted) {}
+}
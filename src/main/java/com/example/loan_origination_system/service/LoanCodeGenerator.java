@@ -0,0 +1,20 @@
+package com.example.loan_origination_system.service;
+
+/**
+ * Source of unique loan codes. The default implementation is
+ * SequenceLoanCodeGenerator; declare another bean to replace it.
+ */
+public interface LoanCodeGenerator {
+
+    /**
+     * Allocate the next loan code for a branch.
+     */
+    String nextCode(Long branchId);
+
+    /**
+     * Cheap syntactic check used before looking a code up, so mistyped codes
+     * can be rejected without a database round-trip. Codes in formats this
+     * generator does not recognise (e.g. legacy codes) must be accepted.
+     */
+    boolean isPlausible(String loanCode);
+}
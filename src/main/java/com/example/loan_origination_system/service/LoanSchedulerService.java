@@ -1,100 +1,499 @@
 package com.example.loan_origination_system.service;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.function.Predicate;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import com.example.loan_origination_system.model.enums.LoanEvent;
+import com.example.loan_origination_system.bot.ReminderBroadcaster;
+import com.example.loan_origination_system.metrics.LoanMetrics;
+import com.example.loan_origination_system.metrics.SchedulerChunkEvent;
 import com.example.loan_origination_system.model.enums.LoanStatus;
-import com.example.loan_origination_system.model.loan.PawnLoan;
 import com.example.loan_origination_system.repository.PawnLoanRepository;
+import com.example.loan_origination_system.repository.ReportReader;
 
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Scheduled jobs for loan lifecycle management.
  * Handles automated state transitions based on time-based events.
+ *
+ * Every replica fires the same crons. Accrual is sharded by loan-ID range across live nodes;
+ * every other job runs on whichever node takes its cluster lock first (JobCoordinator).
+ *
+ * The daily lifecycle jobs (accrual, overdue detection, grace period expiry) record the last
+ * business date they completed in the job-run ledger. Each run processes every date since
+ * then, oldest first, and on startup the dates missed while no node was running are replayed
+ * day by day in cron order.
+ *
+ * The jobs change loan statuses and balances, so they only run where loan.scheduler.enabled
+ * is true (the default); set it to false on instances that should serve requests only. The
+ * flag is checked when each job fires rather than through a bean condition, because the AOT
+ * build (startup profile) evaluates conditions once at build time.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class LoanSchedulerService {
     
+    static final String ACCRUAL_JOB = "accrual";
+    static final String OVERDUE_JOB = "overdue-detection";
+    static final String GRACE_PERIOD_JOB = "grace-period-expiration";
+    static final String REMINDER_JOB = "due-date-reminders";
+    static final String PORTFOLIO_REFRESH_JOB = "portfolio-refresh";
+    static final String ARCHIVE_JOB = "repayment-archive";
+    static final String OVERDUE_REPORT_JOB = "overdue-report";
+    static final String DEFAULTED_REPORT_JOB = "defaulted-report";
+    static final String CATCH_UP_JOB = "catch-up";
+    
+    static final String ACCRUAL_CRON = "0 30 0 * * ?";
+    static final String OVERDUE_CRON = "0 0 1 * * ?";
+    static final String GRACE_PERIOD_CRON = "0 0 2 * * ?";
+    
     private final PawnLoanRepository pawnLoanRepository;
-    private final LoanStateMachine loanStateMachine;
+    private final LoanTransitionBatchService loanTransitionBatchService;
+    private final LoanAccrualService loanAccrualService;
+    private final ReminderBroadcaster reminderBroadcaster;
+    private final LoanStatusCache loanStatusCache;
+    private final RepaymentArchiveService repaymentArchiveService;
+    private final PortfolioSnapshotService portfolioSnapshotService;
+    private final LoanMetrics loanMetrics;
+    private final JobCoordinator jobCoordinator;
+    private final JobRunLedger jobRunLedger;
+    private final ReportReader reportReader;
+    private final TaskScheduler taskScheduler;
+    
+    @Value("${loan.scheduler.enabled:true}")
+    private boolean schedulerEnabled;
+    
+    @Value("${loan.accrual.batch-size:500}")
+    private int accrualBatchSize;
+    
+    @Value("${loan.transition.batch-size:200}")
+    private int transitionBatchSize;
+    
+    @Value("${loan.scheduler.catch-up.max-days:31}")
+    private int catchUpMaxDays;
+    
+    @Value("${loan.archive.retention-days:365}")
+    private int archiveRetentionDays;
+    
+    @Value("${loan.archive.batch-size:200}")
+    private int archiveBatchSize;
+    
+    @Value("${loan.archive.partition-months-ahead:3}")
+    private int partitionMonthsAhead;
+    
+    @PostConstruct
+    void registerShardedJobs() {
+        jobCoordinator.registerShardedJob(ACCRUAL_JOB, pawnLoanRepository::findMaxId, (runKey, afterId, toId) -> {
+            SchedulerChunkEvent chunkEvent = SchedulerChunkEvent.start(ACCRUAL_JOB, afterId);
+            LoanAccrualService.AccrualChunkResult chunk;
+            try {
+                chunk = loanAccrualService.accrueChunk(afterId, toId, LocalDate.parse(runKey), accrualBatchSize);
+            } catch (RuntimeException e) {
+                chunkEvent.fail();
+                throw e;
+            }
+            chunkEvent.complete(chunk.lastLoanId(), chunk.loansScanned());
+            return new JobCoordinator.Chunk(chunk.lastLoanId(), chunk.loansScanned());
+        });
+    }
+    
+    /**
+     * Nightly job to post interest and penalty accruals.
+     * Business Rules:
+     * 1. Walks ACTIVE, PARTIALLY_PAID and OVERDUE loans in ID order, one chunk per transaction
+     * 2. Posts only the days since each loan's last accrual
+     * 3. The run is split into loan-ID ranges shared by all live nodes; a range left by a failed
+     *    chunk or node is resumed by another node
+     * 4. A business date counts as done once all its ranges are done
+     * 
+     * Runs daily at 0:30 AM (before overdue detection)
+     */
+    @Scheduled(cron = ACCRUAL_CRON) // Run daily at 0:30 AM
+    public void accrueInterestAndPenalties() {
+        if (!isEnabled(ACCRUAL_JOB)) {
+            return;
+        }
+        runMissedDays(ACCRUAL_JOB, LocalDate.now(), this::accrue);
+    }
+    
+    private boolean accrue(LocalDate asOfDate) {
+        Timer.Sample sample = loanMetrics.start();
+        
+        JobCoordinator.ShardedRunResult result = jobCoordinator.runSharded(ACCRUAL_JOB, asOfDate.toString());
+        
+        // Balances moved on many loans, possibly on other nodes; cheaper to drop the cache than to evict per loan
+        loanStatusCache.invalidateAll();
+        
+        log.info("Accrual run for {}: scanned {} loans in {} shards on this node, run complete: {}",
+            asOfDate, result.processed(), result.shards(), result.complete());
+        loanMetrics.recordJob(ACCRUAL_JOB, sample, result.processed(), !result.failed());
+        return result.complete();
+    }
     
     /**
      * Daily job to detect overdue loans.
      * Business Rules:
-     * 1. Loans with due date passed become OVERDUE
+     * 1. Loans due on or before the business date become OVERDUE
      * 2. Only ACTIVE and PARTIALLY_PAID loans can become overdue
-     * 3. Sets grace period end date (30 days from overdue)
+     * 3. Sets grace period end date (the product rule's autoForfeitDays from the due date, default 30)
+     * 4. A loan that fails on its own is skipped (scheduler.job.skipped); the next run retries it
      * 
      * Runs daily at 1:00 AM
      */
-    @Scheduled(cron = "0 0 1 * * ?") // Run daily at 1:00 AM
-    @Transactional
+    @Scheduled(cron = OVERDUE_CRON) // Run daily at 1:00 AM
     public void detectOverdueLoans() {
-        LocalDate today = LocalDate.now();
-        
-        // Find loans that are due today or earlier and are still active/partially paid
-        List<PawnLoan> dueLoans = pawnLoanRepository.findLoansDueByDate(today);
-        
+        if (!isEnabled(OVERDUE_JOB)) {
+            return;
+        }
+        jobCoordinator.runExclusive(OVERDUE_JOB,
+            () -> runMissedDays(OVERDUE_JOB, LocalDate.now(), this::markOverdueLoans));
+    }
+    
+    private boolean markOverdueLoans(LocalDate asOfDate) {
+        Timer.Sample sample = loanMetrics.start();
+        Long cursor = 0L;
         int processedCount = 0;
-        for (PawnLoan loan : dueLoans) {
-            // Only process loans that are ACTIVE or PARTIALLY_PAID
-            if (loan.getStatus() == LoanStatus.ACTIVE || loan.getStatus() == LoanStatus.PARTIALLY_PAID) {
-                try {
-                    loanStateMachine.transition(loan, LoanEvent.DUE_DATE_PASSED);
-                    processedCount++;
-                    log.debug("Marked loan {} as overdue", loan.getLoanCode());
-                } catch (Exception e) {
-                    log.error("Failed to mark loan {} as overdue: {}", loan.getLoanCode(), e.getMessage());
-                }
+        int skippedCount = 0;
+        boolean completed = true;
+        
+        while (true) {
+            LoanTransitionBatchService.TransitionChunkResult chunk;
+            SchedulerChunkEvent chunkEvent = SchedulerChunkEvent.start(OVERDUE_JOB, cursor);
+            try {
+                chunk = loanTransitionBatchService.markOverdueChunk(cursor, asOfDate, transitionBatchSize);
+            } catch (Exception e) {
+                chunkEvent.fail();
+                log.error("Overdue detection for {} stopped after loan ID {}", asOfDate, cursor, e);
+                completed = false;
+                break;
+            }
+            chunkEvent.complete(chunk.lastLoanId(), chunk.transitioned());
+            if (chunk.isEmpty()) {
+                break;
             }
+            cursor = chunk.lastLoanId();
+            processedCount += chunk.transitioned();
+            skippedCount += chunk.skipped();
+        }
+        
+        if (skippedCount > 0) {
+            log.warn("Overdue detection for {} skipped {} failing loans; the next run retries them", asOfDate, skippedCount);
+            loanMetrics.recordSkipped(OVERDUE_JOB, skippedCount);
         }
         
         if (processedCount > 0) {
-            log.info("Detected {} overdue loans", processedCount);
+            log.info("Detected {} overdue loans as of {}", processedCount, asOfDate);
         }
+        loanMetrics.recordJob(OVERDUE_JOB, sample, processedCount, completed);
+        return completed;
     }
     
     /**
      * Daily job to process grace period expiration.
      * Business Rules:
-     * 1. OVERDUE loans with grace period expired become DEFAULTED
-     * 2. Grace period is typically 30 days from overdue date
+     * 1. OVERDUE loans whose grace period ended on or before the business date become DEFAULTED
+     * 2. Grace period is the product rule's autoForfeitDays from the due date (default 30)
+     * 3. A loan that fails on its own is skipped (scheduler.job.skipped); the next run retries it
      * 
      * Runs daily at 2:00 AM
      */
-    @Scheduled(cron = "0 0 2 * * ?") // Run daily at 2:00 AM
-    @Transactional
+    @Scheduled(cron = GRACE_PERIOD_CRON) // Run daily at 2:00 AM
     public void processGracePeriodExpiration() {
-        LocalDate today = LocalDate.now();
+        if (!isEnabled(GRACE_PERIOD_JOB)) {
+            return;
+        }
+        jobCoordinator.runExclusive(GRACE_PERIOD_JOB,
+            () -> runMissedDays(GRACE_PERIOD_JOB, LocalDate.now(), this::defaultExpiredGraceLoans));
+    }
+    
+    private boolean defaultExpiredGraceLoans(LocalDate asOfDate) {
+        Timer.Sample sample = loanMetrics.start();
+        Long cursor = 0L;
+        int processedCount = 0;
+        int skippedCount = 0;
+        boolean completed = true;
         
-        // Find overdue loans where grace period has ended
-        List<PawnLoan> expiredGraceLoans = pawnLoanRepository.findOverdueLoansWithExpiredGracePeriod(today);
+        while (true) {
+            LoanTransitionBatchService.TransitionChunkResult chunk;
+            SchedulerChunkEvent chunkEvent = SchedulerChunkEvent.start(GRACE_PERIOD_JOB, cursor);
+            try {
+                chunk = loanTransitionBatchService.defaultExpiredChunk(cursor, asOfDate, transitionBatchSize);
+            } catch (Exception e) {
+                chunkEvent.fail();
+                log.error("Grace period expiry for {} stopped after loan ID {}", asOfDate, cursor, e);
+                completed = false;
+                break;
+            }
+            chunkEvent.complete(chunk.lastLoanId(), chunk.transitioned());
+            if (chunk.isEmpty()) {
+                break;
+            }
+            cursor = chunk.lastLoanId();
+            processedCount += chunk.transitioned();
+            skippedCount += chunk.skipped();
+        }
         
-        int processedCount = 0;
-        for (PawnLoan loan : expiredGraceLoans) {
-            if (loan.getStatus() == LoanStatus.OVERDUE) {
-                try {
-                    loanStateMachine.transition(loan, LoanEvent.GRACE_PERIOD_EXPIRED);
-                    processedCount++;
-                    log.debug("Marked loan {} as defaulted after grace period expired", loan.getLoanCode());
-                } catch (Exception e) {
-                    log.error("Failed to mark loan {} as defaulted: {}", loan.getLoanCode(), e.getMessage());
+        if (skippedCount > 0) {
+            log.warn("Grace period expiry for {} skipped {} failing loans; the next run retries them", asOfDate, skippedCount);
+            loanMetrics.recordSkipped(GRACE_PERIOD_JOB, skippedCount);
+        }
+        
+        if (processedCount > 0) {
+            log.info("Processed {} loans with expired grace period as of {}", processedCount, asOfDate);
+        }
+        loanMetrics.recordJob(GRACE_PERIOD_JOB, sample, processedCount, completed);
+        return completed;
+    }
+    
+    /**
+     * Run a daily job for each business date after its last completed one, up to and including
+     * upTo, oldest first, recording each date in the job-run ledger as it completes.
+     * A job that never ran starts at upTo. A failed date stops the run; the next run retries it.
+     * 
+     * @return true if the job is complete through upTo
+     */
+    private boolean runMissedDays(String job, LocalDate upTo, Predicate<LocalDate> runDay) {
+        LocalDate next = nextBusinessDate(job, upTo);
+        for (LocalDate day = next; !day.isAfter(upTo); day = day.plusDays(1)) {
+            if (!runDay.test(day)) {
+                return false;
+            }
+            jobRunLedger.markCompleted(job, day, jobCoordinator.getNodeId());
+        }
+        return true;
+    }
+    
+    private LocalDate nextBusinessDate(String job, LocalDate upTo) {
+        LocalDate last = jobRunLedger.lastCompleted(job);
+        if (last == null) {
+            return upTo;
+        }
+        LocalDate next = last.plusDays(1);
+        LocalDate earliest = upTo.minusDays(catchUpMaxDays - 1L);
+        if (next.isBefore(earliest)) {
+            log.warn("Job {} last completed for {}; replaying only the last {} days from {}",
+                job, last, catchUpMaxDays, earliest);
+            return earliest;
+        }
+        return next;
+    }
+    
+    /**
+     * Start replaying missed days in the background once the application is up, so a long
+     * outage does not hold back readiness.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleCatchUp() {
+        if (!isEnabled(CATCH_UP_JOB)) {
+            return;
+        }
+        taskScheduler.schedule(this::catchUpMissedRuns, Instant.now());
+    }
+    
+    /**
+     * Replay the daily lifecycle jobs for business dates missed while no node was running.
+     * Business Rules:
+     * 1. A job is due for a date once its cron time on that date has passed
+     * 2. Dates are replayed oldest first; within a date, jobs run in cron order (accrual,
+     *    overdue detection, grace period expiry), as they would have on time
+     * 3. Jobs that never ran are not backfilled
+     * 4. A failed job date stops the catch-up; later dates wait for the next run
+     * 5. The portfolio snapshot is refreshed afterwards, since PAR buckets depend on the date
+     * 
+     * Holds the overdue detection and grace period locks throughout, so one node replays.
+     */
+    public void catchUpMissedRuns() {
+        jobCoordinator.runExclusive(CATCH_UP_JOB, () ->
+            jobCoordinator.runExclusive(OVERDUE_JOB, () ->
+                jobCoordinator.runExclusive(GRACE_PERIOD_JOB, () -> {
+                    int replayed = 0;
+                    int round;
+                    // Repeat while a cron time passed during the previous round
+                    while ((round = replayMissedDays()) > 0) {
+                        replayed += round;
+                    }
+                    if (replayed > 0) {
+                        log.info("Catch-up replayed {} missed job runs", replayed);
+                        refreshPortfolio();
+                    }
+                })));
+    }
+    
+    private int replayMissedDays() {
+        LocalDateTime now = LocalDateTime.now();
+        List<DailyJob> jobs = List.of(
+            new DailyJob(ACCRUAL_JOB, ACCRUAL_CRON, this::accrue),
+            new DailyJob(OVERDUE_JOB, OVERDUE_CRON, this::markOverdueLoans),
+            new DailyJob(GRACE_PERIOD_JOB, GRACE_PERIOD_CRON, this::defaultExpiredGraceLoans));
+        
+        LocalDate[] from = new LocalDate[jobs.size()];
+        LocalDate[] to = new LocalDate[jobs.size()];
+        LocalDate firstDay = null;
+        LocalDate lastDay = null;
+        for (int i = 0; i < jobs.size(); i++) {
+            DailyJob job = jobs.get(i);
+            to[i] = JobRunLedger.lastScheduledDate(job.cron(), now);
+            if (to[i] == null || jobRunLedger.lastCompleted(job.name()) == null) {
+                continue;
+            }
+            from[i] = nextBusinessDate(job.name(), to[i]);
+            if (from[i].isAfter(to[i])) {
+                from[i] = null;
+                continue;
+            }
+            firstDay = firstDay == null || from[i].isBefore(firstDay) ? from[i] : firstDay;
+            lastDay = lastDay == null || to[i].isAfter(lastDay) ? to[i] : lastDay;
+        }
+        if (firstDay == null) {
+            return 0;
+        }
+        
+        log.info("Catching up daily jobs from {} to {}", firstDay, lastDay);
+        int replayed = 0;
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            for (int i = 0; i < jobs.size(); i++) {
+                if (from[i] == null || day.isBefore(from[i]) || day.isAfter(to[i])) {
+                    continue;
+                }
+                DailyJob job = jobs.get(i);
+                if (!job.runDay().test(day)) {
+                    log.error("Catch-up stopped: job {} failed for {}", job.name(), day);
+                    return replayed;
                 }
+                jobRunLedger.markCompleted(job.name(), day, jobCoordinator.getNodeId());
+                replayed++;
             }
         }
+        return replayed;
+    }
+    
+    private record DailyJob(String name, String cron, Predicate<LocalDate> runDay) {}
+    
+    /**
+     * Daily job to send due-date and overdue reminders to linked Telegram chats.
+     * Business Rules:
+     * 1. Runs after overdue detection so newly overdue loans get an OVERDUE reminder
+     * 2. The broadcast runs in the background; this method returns immediately and the
+     *    job metrics are recorded when the broadcast finishes
+     * 
+     * Runs daily at 9:00 AM
+     */
+    @Scheduled(cron = "${telegram.reminders.cron:0 0 9 * * ?}") // Run daily at 9:00 AM
+    public void sendDueDateReminders() {
+        if (!isEnabled(REMINDER_JOB)) {
+            return;
+        }
+        jobCoordinator.runExclusive(REMINDER_JOB, this::broadcastReminders);
+    }
+    
+    private void broadcastReminders() {
+        Timer.Sample sample = loanMetrics.start();
+        reminderBroadcaster.broadcastAsync(LocalDate.now()).whenComplete((result, e) ->
+            loanMetrics.recordJob(REMINDER_JOB, sample, result != null ? result.sent() : 0, e == null));
+    }
+    
+    /**
+     * Daily job to recompute the portfolio snapshot.
+     * Business Rules:
+     * 1. Ages open loans into PAR buckets as of today
+     * 2. Reconciles the incrementally maintained aggregates with the loan and repayment tables
+     * 
+     * Runs daily at 2:30 AM (after overdue detection and grace period expiration)
+     */
+    @Scheduled(cron = "${loan.portfolio.refresh-cron:0 30 2 * * ?}") // Run daily at 2:30 AM
+    public void refreshPortfolioSnapshot() {
+        if (!isEnabled(PORTFOLIO_REFRESH_JOB)) {
+            return;
+        }
+        jobCoordinator.runExclusive(PORTFOLIO_REFRESH_JOB, this::refreshPortfolio);
+    }
+    
+    private void refreshPortfolio() {
+        Timer.Sample sample = loanMetrics.start();
+        try {
+            int written = portfolioSnapshotService.refresh(LocalDate.now());
+            loanMetrics.recordJob(PORTFOLIO_REFRESH_JOB, sample, written, true);
+        } catch (Exception e) {
+            log.error("Portfolio snapshot refresh failed", e);
+            loanMetrics.recordJob(PORTFOLIO_REFRESH_JOB, sample, 0, false);
+        }
+    }
+    
+    /**
+     * Build the portfolio snapshot on first start, so KPIs are available before the nightly run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializePortfolioSnapshot() {
+        if (portfolioSnapshotService.isEmpty()) {
+            refreshPortfolioSnapshot();
+        }
+    }
+    
+    /**
+     * Nightly job to keep the hot repayment table bounded.
+     * Business Rules:
+     * 1. Ensures pawn_repayment partitions exist for this month and the next few (PostgreSQL only)
+     * 2. Moves repayments of loans closed more than retention-days ago to the archive, one chunk per transaction
+     * 3. A failed chunk stops the run; the next run retries it
+     * 
+     * Runs daily at 3:30 AM
+     */
+    @Scheduled(cron = "0 30 3 * * ?") // Run daily at 3:30 AM
+    public void archiveClosedLoans() {
+        if (!isEnabled(ARCHIVE_JOB)) {
+            return;
+        }
+        jobCoordinator.runExclusive(ARCHIVE_JOB, this::archiveClosed);
+    }
+    
+    private void archiveClosed() {
+        Timer.Sample sample = loanMetrics.start();
+        int partitions = repaymentArchiveService.ensurePartitions(YearMonth.now(), partitionMonthsAhead);
         
-        if (processedCount > 0) {
-            log.info("Processed {} loans with expired grace period", processedCount);
+        LocalDateTime closedBefore = LocalDate.now().minusDays(archiveRetentionDays).atStartOfDay();
+        Long cursor = 0L;
+        int loansArchived = 0;
+        int repaymentsArchived = 0;
+        boolean completed = true;
+        
+        while (true) {
+            RepaymentArchiveService.ArchiveChunkResult chunk;
+            SchedulerChunkEvent chunkEvent = SchedulerChunkEvent.start(ARCHIVE_JOB, cursor);
+            try {
+                chunk = repaymentArchiveService.archiveChunk(cursor, closedBefore, archiveBatchSize);
+            } catch (Exception e) {
+                chunkEvent.fail();
+                log.error("Archive run stopped after loan ID {}", cursor, e);
+                completed = false;
+                break;
+            }
+            chunkEvent.complete(chunk.lastLoanId(), chunk.loansArchived());
+            if (chunk.loansArchived() == 0) {
+                break;
+            }
+            cursor = chunk.lastLoanId();
+            loansArchived += chunk.loansArchived();
+            repaymentsArchived += chunk.repaymentsArchived();
         }
+        
+        log.info("Archive run: {} partitions ensured, archived {} repayments from {} loans closed before {}",
+            partitions, repaymentsArchived, loansArchived, closedBefore.toLocalDate());
+        loanMetrics.recordJob(ARCHIVE_JOB, sample, repaymentsArchived, completed);
     }
     
     /**
@@ -102,31 +501,36 @@ public class LoanSchedulerService {
      * Runs every Monday at 3:00 AM
      */
     @Scheduled(cron = "0 0 3 * * MON") // Run every Monday at 3:00 AM
-    @Transactional
     public void generateOverdueReports() {
+        if (!isEnabled(OVERDUE_REPORT_JOB)) {
+            return;
+        }
+        jobCoordinator.runExclusive(OVERDUE_REPORT_JOB, this::reportOverdueLoans);
+    }
+    
+    private void reportOverdueLoans() {
+        Timer.Sample sample = loanMetrics.start();
         LocalDate today = LocalDate.now();
         
-        // Get all overdue loans
-        List<PawnLoan> overdueLoans = pawnLoanRepository.findByStatus(LoanStatus.OVERDUE);
-        
-        if (!overdueLoans.isEmpty()) {
-            log.info("Generating overdue report for {} loans", overdueLoans.size());
-            
-            // In a real implementation, this would:
-            // 1. Generate PDF reports
-            // 2. Send email notifications to customers
-            // 3. Notify collection department
-            // 4. Update dashboard metrics
-            
-            for (PawnLoan loan : overdueLoans) {
-                log.debug("Overdue loan: {} (Customer: {}, Due: {}, Days overdue: {})",
-                    loan.getLoanCode(),
-                    loan.getCustomer().getFullName(),
-                    loan.getDueDate(),
-                    loan.getDueDate() != null ?
-                        today.toEpochDay() - loan.getDueDate().toEpochDay() : "N/A");
-            }
+        // In a real implementation, this would:
+        // 1. Generate PDF reports
+        // 2. Send email notifications to customers
+        // 3. Notify collection department
+        // 4. Update dashboard metrics
+        
+        // Streamed from ReportReader: a read-only job has no use for managed entities
+        long overdueLoans = reportReader.forEachLoanByStatus(LoanStatus.OVERDUE, loan ->
+            log.debug("Overdue loan: {} (Customer: {}, Due: {}, Days overdue: {})",
+                loan.loanCode(),
+                loan.customerName(),
+                loan.dueDate(),
+                loan.dueDate() != null ?
+                    today.toEpochDay() - loan.dueDate().toEpochDay() : "N/A"));
+        
+        if (overdueLoans > 0) {
+            log.info("Generated overdue report for {} loans", overdueLoans);
         }
+        loanMetrics.recordJob(OVERDUE_REPORT_JOB, sample, overdueLoans, true);
     }
     
     /**
@@ -134,23 +538,39 @@ public class LoanSchedulerService {
      * Runs on the 1st of every month at 4:00 AM
      */
     @Scheduled(cron = "0 0 4 1 * ?") // Run on 1st of every month at 4:00 AM
-    @Transactional
     public void generateDefaultedReports() {
+        if (!isEnabled(DEFAULTED_REPORT_JOB)) {
+            return;
+        }
+        jobCoordinator.runExclusive(DEFAULTED_REPORT_JOB, this::reportDefaultedLoans);
+    }
+    
+    private void reportDefaultedLoans() {
+        Timer.Sample sample = loanMetrics.start();
         LocalDate firstOfMonth = LocalDate.now().withDayOfMonth(1);
-        LocalDate lastOfMonth = firstOfMonth.plusMonths(1).minusDays(1);
         
-        // Get loans defaulted in the previous month
-        List<PawnLoan> defaultedLoans = pawnLoanRepository.findDefaultedLoansInPeriod(
-            firstOfMonth.minusMonths(1), lastOfMonth.minusMonths(1));
+        // In a real implementation, this would:
+        // 1. Generate regulatory reports
+        // 2. Update financial statements
+        // 3. Notify risk management department
+        // 4. Trigger collateral liquidation processes
         
-        if (!defaultedLoans.isEmpty()) {
-            log.info("Generating defaulted loan report for {} loans", defaultedLoans.size());
-            
-            // In a real implementation, this would:
-            // 1. Generate regulatory reports
-            // 2. Update financial statements
-            // 3. Notify risk management department
-            // 4. Trigger collateral liquidation processes
+        // Loans defaulted in the previous month
+        long defaultedLoans = reportReader.forEachLoanDefaultedBetween(
+            firstOfMonth.minusMonths(1), firstOfMonth.minusDays(1),
+            loan -> log.debug("Defaulted loan: {} (Customer: {}, Defaulted: {})",
+                loan.loanCode(), loan.customerName(), loan.defaultedAt()));
+        
+        if (defaultedLoans > 0) {
+            log.info("Generated defaulted loan report for {} loans", defaultedLoans);
+        }
+        loanMetrics.recordJob(DEFAULTED_REPORT_JOB, sample, defaultedLoans, true);
+    }
+    
+    private boolean isEnabled(String job) {
+        if (!schedulerEnabled) {
+            log.debug("Skipping {}: loan.scheduler.enabled is false", job);
         }
+        return schedulerEnabled;
     }
-}
\ No newline at end of file
+}
@@ -10,14 +10,18 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.loan_origination_system.exception.BusinessException;
+import com.example.loan_origination_system.metrics.LoanMetrics;
+import com.example.loan_origination_system.metrics.LoanTransitionEvent;
 import com.example.loan_origination_system.model.enums.CollateralStatus;
 import com.example.loan_origination_system.model.enums.LoanEvent;
 import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.loan.LoanProductRule;
 import com.example.loan_origination_system.model.loan.PawnItem;
 import com.example.loan_origination_system.model.loan.PawnLoan;
 import com.example.loan_origination_system.repository.PawnItemRepository;
 import com.example.loan_origination_system.repository.PawnLoanRepository;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -37,6 +41,11 @@ public class LoanStateMachine {
     
     private final PawnLoanRepository pawnLoanRepository;
     private final PawnItemRepository pawnItemRepository;
+    private final LedgerService ledgerService;
+    private final LoanStatusCache loanStatusCache;
+    private final PortfolioSnapshotService portfolioSnapshotService;
+    private final LoanMetrics loanMetrics;
+    private final CfgLoanService cfgLoanService;
     
     // Define valid state transitions
     private static final Map<LoanStatus, Map<LoanEvent, LoanStatus>> TRANSITION_MAP = new EnumMap<>(LoanStatus.class);
@@ -95,8 +104,17 @@ public class LoanStateMachine {
      */
     @Transactional
     public PawnLoan transition(PawnLoan loan, LoanEvent event) {
+        Timer.Sample sample = loanMetrics.start();
+        LoanTransitionEvent flightEvent = new LoanTransitionEvent();
+        flightEvent.begin();
         LoanStatus currentStatus = loan.getStatus();
-        LoanStatus newStatus = getNextStatus(currentStatus, event);
+        LoanStatus newStatus;
+        try {
+            newStatus = getNextStatus(currentStatus, event);
+        } catch (BusinessException e) {
+            loanMetrics.recordRejectedTransition(event, currentStatus);
+            throw e;
+        }
         
         log.info("Transitioning loan {} from {} to {} via event {}", 
             loan.getLoanCode(), currentStatus, newStatus, event);
@@ -110,6 +128,10 @@ public class LoanStateMachine {
         
         // Save the loan
         PawnLoan updatedLoan = pawnLoanRepository.save(loan);
+        loanStatusCache.invalidate(loan.getLoanCode());
+        portfolioSnapshotService.recordTransition(loan, currentStatus, newStatus);
+        loanMetrics.recordTransition(sample, event, currentStatus, newStatus);
+        flightEvent.complete(updatedLoan, event, currentStatus, newStatus);
         
         log.info("Loan {} successfully transitioned to {}", loan.getLoanCode(), newStatus);
         return updatedLoan;
@@ -168,7 +190,7 @@ public class LoanStateMachine {
                 handleRedeemed(loan);
                 break;
             case DEFAULTED:
-                handleDefaulted(loan);
+                handleDefaulted(loan, event);
                 break;
             case CANCELLED:
                 handleCancelled(loan);
@@ -177,7 +199,10 @@ public class LoanStateMachine {
                 handleActivated(loan);
                 break;
             case OVERDUE:
-                handleOverdue(loan);
+                // A partial payment on an overdue loan keeps it OVERDUE without restarting the grace period
+                if (fromStatus != LoanStatus.OVERDUE) {
+                    handleOverdue(loan);
+                }
                 break;
             default:
                 // No special actions for other states
@@ -196,8 +221,7 @@ public class LoanStateMachine {
         
         // Release the pawn item
         PawnItem pawnItem = loan.getPawnItem();
-        pawnItem.setStatus(CollateralStatus.AVAILABLE);
-        pawnItemRepository.save(pawnItem);
+        updateCollateral(loan, pawnItem, CollateralStatus.AVAILABLE);
         
         log.info("Loan {} redeemed, collateral {} released", loan.getLoanCode(), pawnItem.getId());
     }
@@ -205,16 +229,23 @@ public class LoanStateMachine {
     /**
      * Handle loan default.
      * Business Rules:
-     * 1. Set defaultedAt timestamp
+     * 1. Set defaultedAt timestamp: the grace period end date when the grace period expired
+     *    (so a late or replayed run stamps the business date), otherwise now
      * 2. Mark pawn item as FORFEITED
+     * 3. Post the forfeiture to the ledger
      */
-    private void handleDefaulted(PawnLoan loan) {
-        loan.setDefaultedAt(LocalDateTime.now());
+    private void handleDefaulted(PawnLoan loan, LoanEvent event) {
+        if (event == LoanEvent.GRACE_PERIOD_EXPIRED && loan.getGracePeriodEndDate() != null) {
+            loan.setDefaultedAt(loan.getGracePeriodEndDate().atStartOfDay());
+        } else {
+            loan.setDefaultedAt(LocalDateTime.now());
+        }
         
         // Mark pawn item as forfeited
         PawnItem pawnItem = loan.getPawnItem();
-        pawnItem.setStatus(CollateralStatus.FORFEITED);
-        pawnItemRepository.save(pawnItem);
+        updateCollateral(loan, pawnItem, CollateralStatus.FORFEITED);
+        
+        ledgerService.postForfeiture(loan);
         
         log.info("Loan {} defaulted, collateral {} forfeited", loan.getLoanCode(), pawnItem.getId());
     }
@@ -229,8 +260,7 @@ public class LoanStateMachine {
         // If loan was just created and not yet active, release the collateral
         if (loan.getStatus() == LoanStatus.CREATED) {
             PawnItem pawnItem = loan.getPawnItem();
-            pawnItem.setStatus(CollateralStatus.AVAILABLE);
-            pawnItemRepository.save(pawnItem);
+            updateCollateral(loan, pawnItem, CollateralStatus.AVAILABLE);
             
             log.info("Loan {} cancelled, collateral {} released", loan.getLoanCode(), pawnItem.getId());
         }
@@ -241,12 +271,14 @@ public class LoanStateMachine {
      * Business Rules:
      * 1. Loan becomes active
      * 2. Pawn item status changes to PAWNED
+     * 3. Post the disbursement to the ledger
      */
     private void handleActivated(PawnLoan loan) {
         // Mark pawn item as pawned
         PawnItem pawnItem = loan.getPawnItem();
-        pawnItem.setStatus(CollateralStatus.PAWNED);
-        pawnItemRepository.save(pawnItem);
+        updateCollateral(loan, pawnItem, CollateralStatus.PAWNED);
+        
+        ledgerService.postDisbursement(loan);
         
         log.info("Loan {} activated, collateral {} pawned", loan.getLoanCode(), pawnItem.getId());
     }
@@ -255,15 +287,20 @@ public class LoanStateMachine {
      * Handle loan becoming overdue.
      * Business Rules:
      * 1. Mark loan as overdue
-     * 2. Set overdueAt timestamp
-     * 3. Calculate grace period end date (default: 30 days from overdue)
+     * 2. Set overdueAt timestamp to the due date, not the time the job ran,
+     *    so a late or replayed run does not push the default out
+     * 3. Calculate grace period end date from the loan product rule in force when the loan
+     *    was made: autoForfeitDays (default 30) from the due date, not before the loan's
+     *    redemption deadline
      * 4. Can trigger notifications/alerts
      */
     private void handleOverdue(PawnLoan loan) {
-        loan.setOverdueAt(LocalDateTime.now());
+        LocalDate overdueDate = loan.getDueDate() != null ? loan.getDueDate() : LocalDate.now();
+        loan.setOverdueAt(overdueDate.atStartOfDay());
         
-        // Calculate grace period end date (default 30 days from now)
-        LocalDate graceEndDate = LocalDate.now().plusDays(30);
+        LoanProductRule rule = cfgLoanService.resolveRule(loan.getBranch().getId(), loan.getCurrency().getId(),
+            loan.getLoanDate() != null ? loan.getLoanDate() : overdueDate);
+        LocalDate graceEndDate = rule.forfeitureDate(loan, overdueDate);
         loan.setGracePeriodEndDate(graceEndDate);
         
         log.info("Loan {} marked as overdue, grace period ends on {}",
@@ -273,6 +310,15 @@ public class LoanStateMachine {
         // e.g., send notifications, calculate penalties, etc.
     }
     
+    /**
+     * Set the collateral status of a loan's pawn item and count the change in the portfolio snapshot.
+     */
+    private void updateCollateral(PawnLoan loan, PawnItem pawnItem, CollateralStatus status) {
+        portfolioSnapshotService.recordCollateral(loan, pawnItem.getStatus(), status, pawnItem.getEstimatedValue());
+        pawnItem.setStatus(status);
+        pawnItemRepository.save(pawnItem);
+    }
+    
     /**
      * Helper method to transition a loan by ID.
      * 
@@ -0,0 +1,163 @@
+package com.example.loan_origination_system.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.loan_origination_system.exception.BusinessException;
+import com.example.loan_origination_system.model.loan.LoanStatusView;
+import com.example.loan_origination_system.repository.PawnLoanRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded in-memory cache of LoanStatusView keyed by loan code, for the Telegram bot
+ * and other customer-facing channels.
+ *
+ * Business Rules:
+ * 1. Entries are invalidated when a loan transitions state or a repayment is posted,
+ *    once the transaction completes so a concurrent reader cannot re-cache the old row
+ * 2. Entries older than maxAge are reloaded, bounding staleness from other writes
+ *    (nightly accrual, loan edits)
+ * 3. Unknown codes are not cached, so a newly created loan is visible immediately;
+ *    codes failing the generator's check digit are rejected without a query
+ * 4. At most maxEntries views are held; the least recently read is evicted first
+ */
+@Service
+public class LoanStatusCache {
+
+    private final PawnLoanRepository pawnLoanRepository;
+    private final LoanCodeGenerator loanCodeGenerator;
+    private final Clock clock;
+    private final Duration maxAge;
+    private final int maxEntries;
+
+    private final LinkedHashMap<String, Entry> views;
+    // Bumped on every invalidation; a load that raced with one is returned but not cached
+    private long generation;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public LoanStatusCache(PawnLoanRepository pawnLoanRepository,
+                           LoanCodeGenerator loanCodeGenerator,
+                           MeterRegistry meterRegistry,
+                           @Value("${loan.status-cache.max-age:PT10M}") Duration maxAge,
+                           @Value("${loan.status-cache.max-entries:50000}") int maxEntries) {
+        this(pawnLoanRepository, loanCodeGenerator, meterRegistry, maxAge, maxEntries, Clock.systemDefaultZone());
+    }
+
+    LoanStatusCache(PawnLoanRepository pawnLoanRepository, LoanCodeGenerator loanCodeGenerator,
+                    MeterRegistry meterRegistry, Duration maxAge, int maxEntries, Clock clock) {
+        this.pawnLoanRepository = pawnLoanRepository;
+        this.loanCodeGenerator = loanCodeGenerator;
+        this.maxAge = maxAge;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+
+        // Access order, so reads keep hot loans at the tail and eviction takes the coldest
+        this.views = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > LoanStatusCache.this.maxEntries;
+            }
+        };
+
+        Gauge.builder("loan.status.cache.size", this, LoanStatusCache::size)
+            .description("Loan status views held in memory")
+            .register(meterRegistry);
+        this.hits = Counter.builder("loan.status.cache.requests").tag("result", "hit")
+            .description("Loan status lookups")
+            .register(meterRegistry);
+        this.misses = Counter.builder("loan.status.cache.requests").tag("result", "miss")
+            .description("Loan status lookups")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get the status view for a loan code, loading it on a miss.
+     * @throws BusinessException LOAN_NOT_FOUND if no loan has this code
+     */
+    public LoanStatusView getByCode(String loanCode) {
+        Instant now = clock.instant();
+        long loadGeneration;
+        synchronized (views) {
+            Entry entry = views.get(loanCode);
+            if (entry != null && entry.loadedAt().plus(maxAge).isAfter(now)) {
+                hits.increment();
+                return entry.view();
+            }
+            loadGeneration = generation;
+        }
+
+        if (!loanCodeGenerator.isPlausible(loanCode)) {
+            throw new BusinessException("LOAN_NOT_FOUND",
+                "Loan with code " + loanCode + " not found");
+        }
+
+        misses.increment();
+        LoanStatusView view = pawnLoanRepository.findStatusViewByLoanCode(loanCode)
+            .orElseThrow(() -> new BusinessException("LOAN_NOT_FOUND",
+                "Loan with code " + loanCode + " not found"));
+        synchronized (views) {
+            if (generation == loadGeneration) {
+                views.put(loanCode, new Entry(view, now));
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Drop a loan's view once the current transaction completes (immediately if there is none).
+     */
+    public void invalidate(String loanCode) {
+        if (loanCode == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(loanCode);
+                }
+            });
+        } else {
+            evict(loanCode);
+        }
+    }
+
+    /**
+     * Drop every view, e.g. after a batch job touched many loans.
+     */
+    public void invalidateAll() {
+        synchronized (views) {
+            generation++;
+            views.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (views) {
+            return views.size();
+        }
+    }
+
+    private void evict(String loanCode) {
+        synchronized (views) {
+            generation++;
+            views.remove(loanCode);
+        }
+    }
+
+    private record Entry(LoanStatusView view, Instant loadedAt) {}
+}
@@ -0,0 +1,108 @@
+package com.example.loan_origination_system.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.loan_origination_system.model.enums.LoanEvent;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+import com.example.loan_origination_system.repository.PawnLoanRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Date-driven lifecycle transitions for the scheduler, as of a given business date.
+ *
+ * Business Rules:
+ * 1. ACTIVE and PARTIALLY_PAID loans due on or before the business date become OVERDUE
+ * 2. OVERDUE loans whose grace period ended on or before the business date become DEFAULTED
+ * 3. The state machine stamps these transitions from the loan's own dates (due date,
+ *    grace period end), so replaying a missed day gives the same result as running on time
+ *
+ * Loans are processed in keyset-paged chunks, each in its own transaction. When a chunk
+ * fails, it is rolled back and retried loan by loan, each in its own transaction; a loan that
+ * still fails is logged and skipped, and since it still matches, the next run picks it up again.
+ */
+@Service
+@Slf4j
+public class LoanTransitionBatchService {
+
+    private final PawnLoanRepository pawnLoanRepository;
+    private final LoanStateMachine loanStateMachine;
+    private final TransactionTemplate requiresNew;
+
+    public LoanTransitionBatchService(PawnLoanRepository pawnLoanRepository,
+                                      LoanStateMachine loanStateMachine,
+                                      PlatformTransactionManager transactionManager) {
+        this.pawnLoanRepository = pawnLoanRepository;
+        this.loanStateMachine = loanStateMachine;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Mark one chunk of loans due by asOfDate, with ID greater than afterId, as OVERDUE.
+     */
+    public TransitionChunkResult markOverdueChunk(Long afterId, LocalDate asOfDate, int batchSize) {
+        return transitionChunk(afterId, LoanEvent.DUE_DATE_PASSED,
+            () -> pawnLoanRepository.findDueByDateAfterId(asOfDate, afterId, PageRequest.of(0, batchSize)));
+    }
+
+    /**
+     * Default one chunk of OVERDUE loans whose grace period ended by asOfDate, with ID greater than afterId.
+     */
+    public TransitionChunkResult defaultExpiredChunk(Long afterId, LocalDate asOfDate, int batchSize) {
+        return transitionChunk(afterId, LoanEvent.GRACE_PERIOD_EXPIRED,
+            () -> pawnLoanRepository.findGraceExpiredAfterId(asOfDate, afterId, PageRequest.of(0, batchSize)));
+    }
+
+    private TransitionChunkResult transitionChunk(Long afterId, LoanEvent event, Supplier<List<PawnLoan>> chunk) {
+        try {
+            return requiresNew.execute(status -> transitionAll(chunk.get(), afterId, event));
+        } catch (RuntimeException e) {
+            log.warn("{} chunk after loan ID {} failed; retrying loan by loan", event, afterId, e);
+        }
+
+        List<Long> loanIds = requiresNew.execute(status -> chunk.get().stream().map(PawnLoan::getId).toList());
+        int transitioned = 0;
+        int skipped = 0;
+        for (Long loanId : loanIds) {
+            try {
+                requiresNew.executeWithoutResult(status -> loanStateMachine.transition(loanId, event));
+                transitioned++;
+            } catch (RuntimeException e) {
+                skipped++;
+                log.error("Skipped {} for loan ID {}", event, loanId, e);
+            }
+        }
+        Long lastLoanId = loanIds.isEmpty() ? afterId : loanIds.get(loanIds.size() - 1);
+        return new TransitionChunkResult(lastLoanId, transitioned, skipped);
+    }
+
+    private TransitionChunkResult transitionAll(List<PawnLoan> loans, Long afterId, LoanEvent event) {
+        if (loans.isEmpty()) {
+            return new TransitionChunkResult(afterId, 0, 0);
+        }
+        for (PawnLoan loan : loans) {
+            loanStateMachine.transition(loan, event);
+            log.debug("Applied {} to loan {}", event, loan.getLoanCode());
+        }
+        return new TransitionChunkResult(loans.get(loans.size() - 1).getId(), loans.size(), 0);
+    }
+
+    /**
+     * @param skipped Loans that failed on their own and were left for the next run
+     */
+    public record TransitionChunkResult(Long lastLoanId, int transitioned, int skipped) {
+
+        public boolean isEmpty() {
+            return transitioned == 0 && skipped == 0;
+        }
+    }
+}
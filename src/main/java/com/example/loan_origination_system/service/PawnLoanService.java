@@ -5,7 +5,6 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,10 +14,14 @@ import com.example.loan_origination_system.dto.PawnLoanCreateFullRequest;
 import com.example.loan_origination_system.dto.PawnLoanRequest;
 import com.example.loan_origination_system.exception.BusinessException;
 import com.example.loan_origination_system.mapper.LoanMapper;
+import com.example.loan_origination_system.metrics.LoanMetrics;
+import com.example.loan_origination_system.metrics.LoanOriginationEvent;
 import com.example.loan_origination_system.model.enums.CollateralStatus;
 import com.example.loan_origination_system.model.enums.LoanEvent;
 import com.example.loan_origination_system.model.enums.LoanStatus;
 import com.example.loan_origination_system.model.enums.PaymentFrequency;
+import com.example.loan_origination_system.model.loan.LoanProductRule;
+import com.example.loan_origination_system.model.loan.Money;
 import com.example.loan_origination_system.model.loan.PawnItem;
 import com.example.loan_origination_system.model.loan.PawnLoan;
 import com.example.loan_origination_system.model.loan.PaymentScheduleItem;
@@ -38,6 +41,8 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class PawnLoanService {
     
+    private static final long BASIS_POINTS_PER_UNIT = 10_000;
+    
     private final PawnLoanRepository pawnLoanRepository;
     private final CustomerRepository customerRepository;
     private final PawnItemRepository pawnItemRepository;
@@ -46,6 +51,11 @@ public class PawnLoanService {
     private final PawnItemService pawnItemService;
     private final LoanStateMachine loanStateMachine;
     private final LoanMapper loanMapper;
+    private final CfgLoanService cfgLoanService;
+    private final LoanStatusCache loanStatusCache;
+    private final PortfolioSnapshotService portfolioSnapshotService;
+    private final LoanCodeGenerator loanCodeGenerator;
+    private final LoanMetrics loanMetrics;
     
     /**
      * Find or create customer by national ID
@@ -140,12 +150,15 @@ public class PawnLoanService {
     /**
      * Create a new loan with comprehensive business logic
      * Business Rules:
-     * 1. principalAmount <= 70% of collateral estimatedValue
+     * 1. principalAmount within the loan product rule (min/max amount, loan-to-value)
      * 2. Calculate totalPayableAmount
      * 3. Change collateral status when loan created
      */
     @Transactional
     public PawnLoan createLoan(PawnLoanRequest request) {
+        LoanOriginationEvent flightEvent =
+            loanMetrics.timeTransaction(new LoanOriginationEvent("standard"), LoanMetrics.ORIGINATION, "type", "standard");
+        
         // Convert DTO to entity (ignoring relationships)
         PawnLoan loan = loanMapper.toPawnLoan(request);
         
@@ -174,23 +187,17 @@ public class PawnLoanService {
             .orElseThrow(() -> new BusinessException("CURRENCY_NOT_FOUND",
                 "Currency with ID " + request.getCurrencyId() + " not found"));
         
-        // Business Rule: principalAmount <= 70% of collateral estimatedValue
-        BigDecimal maxLoanAmount = pawnItem.getEstimatedValue()
-            .multiply(new BigDecimal("0.70"))
-            .setScale(2, RoundingMode.HALF_UP);
+        // Resolve the loan product rule from the in-memory index (no query per request) and default missing terms
+        LocalDate loanDate = loan.getLoanDate() != null ? loan.getLoanDate() : LocalDate.now();
+        LoanProductRule rule = cfgLoanService.resolveRule(branch.getId(), currency.getId(), loanDate);
+        rule.applyDefaults(loan);
         
-        if (loan.getLoanAmount().compareTo(maxLoanAmount) > 0) {
-            throw new BusinessException("LOAN_AMOUNT_EXCEEDS_LIMIT",
-                String.format("Loan amount %.2f exceeds maximum allowed %.2f (70%% of collateral value %.2f)",
-                    loan.getLoanAmount(), maxLoanAmount, pawnItem.getEstimatedValue()));
-        }
+        // Business Rule: principalAmount within configured limits and loan-to-value of collateral
+        rule.validate(loan, pawnItem.getEstimatedValue());
         
         // Calculate due date from loan duration if not provided
         if (loan.getDueDate() == null && loan.getLoanDurationDays() != null) {
-            LocalDate dueDate = loan.getLoanDate() != null ?
-                loan.getLoanDate().plusDays(loan.getLoanDurationDays()) :
-                LocalDate.now().plusDays(loan.getLoanDurationDays());
-            loan.setDueDate(dueDate);
+            loan.setDueDate(loanDate.plusDays(loan.getLoanDurationDays()));
         }
         
         // Validate interest rate is not null before calculation
@@ -199,14 +206,8 @@ public class PawnLoanService {
         }
         
         // Calculate total payable amount (principal + interest + storage fee)
-        BigDecimal interestAmount = loan.getLoanAmount()
-            .multiply(loan.getInterestRate().divide(new BigDecimal("100"), 4, RoundingMode.HALF_UP));
-        
-        BigDecimal storageFee = loan.getStorageFee() != null ? loan.getStorageFee() : BigDecimal.ZERO;
-        BigDecimal totalPayableAmount = loan.getLoanAmount()
-            .add(interestAmount)
-            .add(storageFee)
-            .setScale(2, RoundingMode.HALF_UP);
+        Money totalPayable = totalPayable(loan.getLoanAmount(), loan.getInterestRate(), loan.getStorageFee());
+        BigDecimal totalPayableAmount = totalPayable.toBigDecimal();
         
         // Set redemption deadline if not provided (due date + grace period)
         if (loan.getRedemptionDeadline() == null && loan.getDueDate() != null && loan.getGracePeriodDays() != null) {
@@ -222,24 +223,11 @@ public class PawnLoanService {
             loan.getInstallmentAmount() == null) {
             
             // Calculate equal installments including interest
-            BigDecimal installmentAmount = totalPayableAmount
-                .divide(new BigDecimal(loan.getNumberOfInstallments()), 2, RoundingMode.HALF_UP);
-            loan.setInstallmentAmount(installmentAmount);
-        }
-        
-        // Set default values if not provided
-        if (loan.getLoanDurationDays() == null) {
-            loan.setLoanDurationDays(30); // Default 30 days
-        }
-        
-        if (loan.getGracePeriodDays() == null) {
-            loan.setGracePeriodDays(7); // Default 7 days grace period
-        }
-        
-        if (loan.getPenaltyRate() == null) {
-            loan.setPenaltyRate(BigDecimal.ZERO);
+            loan.setInstallmentAmount(totalPayable.dividedBy(loan.getNumberOfInstallments(), RoundingMode.HALF_UP)
+                .toBigDecimal());
         }
         
+        // Set default values if not provided (duration, grace period and penalty come from the product rule)
         if (loan.getStorageFee() == null) {
             loan.setStorageFee(BigDecimal.ZERO);
         }
@@ -253,7 +241,7 @@ public class PawnLoanService {
         }
         
         // Generate unique loan code
-        String loanCode = generateLoanCode();
+        String loanCode = loanCodeGenerator.nextCode(branch.getId());
         
         // Set loan properties (loan starts as CREATED)
         loan.setCustomer(customer);
@@ -266,6 +254,8 @@ public class PawnLoanService {
         
         // Save the loan first
         PawnLoan savedLoan = pawnLoanRepository.save(loan);
+        flightEvent.forLoan(savedLoan);
+        portfolioSnapshotService.recordCreated(savedLoan);
         
         // Issue the loan using state machine (CREATED → ACTIVE)
         // This will also update collateral status to PAWNED
@@ -283,6 +273,9 @@ public class PawnLoanService {
      */
     @Transactional
     public PawnLoan createFullLoan(PawnLoanCreateFullRequest request) {
+        LoanOriginationEvent flightEvent =
+            loanMetrics.timeTransaction(new LoanOriginationEvent("full"), LoanMetrics.ORIGINATION, "type", "full");
+        
         // 1. Find or create customer
         Customer customer = findOrCreateCustomer(
             request.getNationalId(),
@@ -308,19 +301,9 @@ public class PawnLoanService {
             .orElseThrow(() -> new BusinessException("CURRENCY_NOT_FOUND",
                 "Currency with ID " + request.getLoanInfo().getCurrencyId() + " not found"));
         
-        // 6. Business Rule: loanAmount <= 70% of collateral estimatedValue
-        BigDecimal maxLoanAmount = pawnItem.getEstimatedValue()
-            .multiply(new BigDecimal("0.70"))
-            .setScale(2, RoundingMode.HALF_UP);
-        
-        if (request.getLoanInfo().getLoanAmount().compareTo(maxLoanAmount) > 0) {
-            throw new BusinessException("LOAN_AMOUNT_EXCEEDS_LIMIT",
-                String.format("Loan amount %.2f exceeds maximum allowed %.2f (70%% of collateral value %.2f)",
-                    request.getLoanInfo().getLoanAmount(), maxLoanAmount, pawnItem.getEstimatedValue()));
-        }
-        
-        // 7. Create loan entity from request
+        // 6. Create loan entity from request
         PawnLoan loan = new PawnLoan();
+        loan.setLoanDate(LocalDate.now());
         loan.setCustomer(customer);
         loan.setPawnItem(pawnItem);
         loan.setBranch(branch);
@@ -337,24 +320,23 @@ public class PawnLoanService {
         loan.setNumberOfInstallments(request.getLoanInfo().getNumberOfInstallments());
         loan.setInstallmentAmount(request.getLoanInfo().getInstallmentAmount());
         
-        // 8. Calculate total payable amount
-        BigDecimal interestAmount = loan.getLoanAmount()
-            .multiply(loan.getInterestRate().divide(new BigDecimal("100"), 4, RoundingMode.HALF_UP));
-        
-        BigDecimal storageFee = loan.getStorageFee() != null ? loan.getStorageFee() : BigDecimal.ZERO;
-        BigDecimal totalPayableAmount = loan.getLoanAmount()
-            .add(interestAmount)
-            .add(storageFee)
-            .setScale(2, RoundingMode.HALF_UP);
+        // 7. Business Rule: apply product defaults, then validate limits and loan-to-value
+        LoanProductRule rule = cfgLoanService.resolveRule(branch.getId(), currency.getId(), loan.getLoanDate());
+        rule.applyDefaults(loan);
+        rule.validate(loan, pawnItem.getEstimatedValue());
         
-        loan.setTotalPayableAmount(totalPayableAmount);
+        // 8. Calculate total payable amount
+        loan.setTotalPayableAmount(
+            totalPayable(loan.getLoanAmount(), loan.getInterestRate(), loan.getStorageFee()).toBigDecimal());
         
         // 9. Generate unique loan code
-        String loanCode = generateLoanCode();
+        String loanCode = loanCodeGenerator.nextCode(branch.getId());
         loan.setLoanCode(loanCode);
         
         // 10. Save the loan
         PawnLoan savedLoan = pawnLoanRepository.save(loan);
+        flightEvent.forLoan(savedLoan);
+        portfolioSnapshotService.recordCreated(savedLoan);
         
         // 11. Issue the loan using state machine (CREATED → ACTIVE)
         // This will also update collateral status to PAWNED
@@ -475,6 +457,8 @@ public class PawnLoanService {
         // but loans in CREATED/CANCELLED status should not have any.
         
         pawnLoanRepository.delete(loan);
+        loanStatusCache.invalidate(loan.getLoanCode());
+        portfolioSnapshotService.recordDeleted(loan);
     }
     
     /**
@@ -515,9 +499,17 @@ public class PawnLoanService {
         if (interestRate == null) {
             throw new IllegalArgumentException("Interest rate cannot be null");
         }
-        BigDecimal interestAmount = principalAmount
-            .multiply(interestRate.divide(new BigDecimal("100"), 4, RoundingMode.HALF_UP));
-        return principalAmount.add(interestAmount).setScale(2, RoundingMode.HALF_UP);
+        return totalPayable(principalAmount, interestRate, null).toBigDecimal();
+    }
+    
+    /**
+     * Principal plus simple interest plus storage fee, at the stored scale.
+     * The rate is a percentage taken to basis points; interest is rounded half up once.
+     */
+    static Money totalPayable(BigDecimal loanAmount, BigDecimal interestRate, BigDecimal storageFee) {
+        Money principal = Money.of(loanAmount);
+        Money interest = principal.times(Money.basisPoints(interestRate), BASIS_POINTS_PER_UNIT, RoundingMode.HALF_UP);
+        return principal.plus(interest).plus(Money.of(storageFee));
     }
     
     /**
@@ -558,34 +550,33 @@ public class PawnLoanService {
             throw new IllegalArgumentException("Number of installments must be greater than 0");
         }
         
-        BigDecimal installmentAmount = loan.getInstallmentAmount();
-        if (installmentAmount == null) {
+        // Amounts are computed in minor units and converted once per installment
+        Money totalPayable = Money.of(loan.getTotalPayableAmount());
+        Money installment = loan.getInstallmentAmount() != null
+            ? Money.of(loan.getInstallmentAmount())
             // Calculate equal installments
-            installmentAmount = loan.getTotalPayableAmount()
-                .divide(new BigDecimal(numberOfInstallments), 2, RoundingMode.HALF_UP);
-        }
+            : totalPayable.dividedBy(numberOfInstallments, RoundingMode.HALF_UP);
+        BigDecimal installmentAmount = installment.toBigDecimal();
         
-        BigDecimal remainingBalance = loan.getTotalPayableAmount();
+        Money remainingBalance = totalPayable;
+        Money zero = Money.zero(Money.STORAGE_SCALE);
         LocalDate currentDueDate = loan.getLoanDate() != null ? loan.getLoanDate() : LocalDate.now();
         
         // Calculate interest per installment (simple interest distributed equally)
-        BigDecimal totalInterest = loan.getTotalPayableAmount().subtract(loan.getLoanAmount());
-        BigDecimal interestPerInstallment = totalInterest.divide(
-            new BigDecimal(numberOfInstallments), 2, RoundingMode.HALF_UP);
+        Money principal = Money.of(loan.getLoanAmount());
+        BigDecimal interestPerInstallment = totalPayable.minus(principal)
+            .dividedBy(numberOfInstallments, RoundingMode.HALF_UP).toBigDecimal();
         
         // Calculate principal per installment
-        BigDecimal principalPerInstallment = loan.getLoanAmount().divide(
-            new BigDecimal(numberOfInstallments), 2, RoundingMode.HALF_UP);
+        BigDecimal principalPerInstallment = principal.dividedBy(numberOfInstallments, RoundingMode.HALF_UP)
+            .toBigDecimal();
         
         for (int i = 1; i <= numberOfInstallments; i++) {
             // Calculate due date based on payment frequency
             LocalDate dueDate = calculateNextDueDate(currentDueDate, loan.getPaymentFrequency(), i);
             
             // Update remaining balance
-            remainingBalance = remainingBalance.subtract(installmentAmount);
-            if (remainingBalance.compareTo(BigDecimal.ZERO) < 0) {
-                remainingBalance = BigDecimal.ZERO;
-            }
+            remainingBalance = remainingBalance.minus(installment).max(zero);
             
             PaymentScheduleItem item = new PaymentScheduleItem(
                 i,
@@ -593,7 +584,7 @@ public class PawnLoanService {
                 installmentAmount,
                 principalPerInstallment,
                 interestPerInstallment,
-                remainingBalance
+                remainingBalance.toBigDecimal()
             );
             schedule.add(item);
         }
@@ -619,15 +610,6 @@ public class PawnLoanService {
         }
     }
     
-    /**
-     * Generate unique loan code
-     */
-    private String generateLoanCode() {
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        String uuid = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        return "LOAN-" + timestamp.substring(timestamp.length() - 6) + "-" + uuid;
-    }
-    
     /**
      * Get loans with upcoming repayments within the next X days
      * @param daysAhead Number of days to look ahead (default 7)
@@ -686,37 +668,53 @@ public class PawnLoanService {
      * Calculate days until due date
      */
     public int calculateDaysUntilDue(LocalDate dueDate) {
+        return calculateDaysUntilDue(dueDate, LocalDate.now());
+    }
+    
+    /**
+     * Calculate days from the given business date until the due date
+     */
+    public int calculateDaysUntilDue(LocalDate dueDate, LocalDate today) {
         if (dueDate == null) {
             return 0;
         }
-        LocalDate today = LocalDate.now();
-        return (int) java.time.temporal.ChronoUnit.DAYS.between(today, dueDate);
+        return (int) (dueDate.toEpochDay() - today.toEpochDay());
     }
     
     /**
      * Calculate overdue days
      */
     public int calculateOverdueDays(LocalDate dueDate) {
+        return calculateOverdueDays(dueDate, LocalDate.now());
+    }
+    
+    /**
+     * Calculate days past due as of the given business date
+     */
+    public int calculateOverdueDays(LocalDate dueDate, LocalDate today) {
         if (dueDate == null) {
             return 0;
         }
-        LocalDate today = LocalDate.now();
-        if (dueDate.isBefore(today)) {
-            return (int) java.time.temporal.ChronoUnit.DAYS.between(dueDate, today);
-        }
-        return 0;
+        return Math.max(0, (int) (today.toEpochDay() - dueDate.toEpochDay()));
     }
     
     /**
      * Determine follow-up priority based on due date proximity
      */
     public String determineFollowUpPriority(LocalDate dueDate) {
+        return determineFollowUpPriority(dueDate, LocalDate.now());
+    }
+    
+    /**
+     * Determine follow-up priority based on due date proximity as of the given business date
+     */
+    public String determineFollowUpPriority(LocalDate dueDate, LocalDate today) {
         if (dueDate == null) {
             return "LOW";
         }
         
-        int daysUntilDue = calculateDaysUntilDue(dueDate);
-        int overdueDays = calculateOverdueDays(dueDate);
+        int daysUntilDue = calculateDaysUntilDue(dueDate, today);
+        int overdueDays = calculateOverdueDays(dueDate, today);
         
         if (overdueDays > 0) {
             if (overdueDays > 30) return "CRITICAL";
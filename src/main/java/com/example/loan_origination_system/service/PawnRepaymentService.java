@@ -4,34 +4,51 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import com.example.loan_origination_system.dto.BranchResponse;
 import com.example.loan_origination_system.dto.CurrencyResponse;
 import com.example.loan_origination_system.dto.CustomerResponse;
 import com.example.loan_origination_system.dto.PawnRepaymentRequest;
+import com.example.loan_origination_system.dto.RepaymentAllocationResponse;
 import com.example.loan_origination_system.dto.UpcomingRepaymentLoanResponse;
 import com.example.loan_origination_system.exception.BusinessException;
+import com.example.loan_origination_system.metrics.LoanMetrics;
+import com.example.loan_origination_system.metrics.RepaymentPostingEvent;
 import com.example.loan_origination_system.model.enums.LoanEvent;
 import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.loan.LoanProductRule;
+import com.example.loan_origination_system.model.loan.Money;
 import com.example.loan_origination_system.model.loan.PawnLoan;
 import com.example.loan_origination_system.model.loan.PawnRepayment;
+import com.example.loan_origination_system.model.loan.PawnRepaymentArchive;
+import com.example.loan_origination_system.model.loan.RepaymentAllocation;
+import com.example.loan_origination_system.model.loan.RepaymentReportRow;
 import com.example.loan_origination_system.model.master.Currency;
 import com.example.loan_origination_system.model.master.PaymentMethod;
 import com.example.loan_origination_system.model.master.PaymentType;
 import com.example.loan_origination_system.model.people.User;
 import com.example.loan_origination_system.repository.CurrencyRepository;
 import com.example.loan_origination_system.repository.PawnLoanRepository;
+import com.example.loan_origination_system.repository.PawnRepaymentArchiveRepository;
 import com.example.loan_origination_system.repository.PawnRepaymentRepository;
 import com.example.loan_origination_system.repository.PaymentMethodRepository;
 import com.example.loan_origination_system.repository.PaymentTypeRepository;
+import com.example.loan_origination_system.repository.ReportReader;
 import com.example.loan_origination_system.repository.UserRepository;
 
 import jakarta.transaction.Transactional;
@@ -42,32 +59,44 @@ import lombok.RequiredArgsConstructor;
 public class PawnRepaymentService {
     
     private final PawnRepaymentRepository pawnRepaymentRepository;
+    private final PawnRepaymentArchiveRepository pawnRepaymentArchiveRepository;
+    private final PortfolioSnapshotService portfolioSnapshotService;
     private final PawnLoanRepository pawnLoanRepository;
     private final CurrencyRepository currencyRepository;
     private final PaymentMethodRepository paymentMethodRepository;
     private final PaymentTypeRepository paymentTypeRepository;
     private final UserRepository userRepository;
     private final LoanStateMachine loanStateMachine;
+    private final ReportReader reportReader;
+    private final LedgerService ledgerService;
+    private final LoanMetrics loanMetrics;
+    private final LoanStatusCache loanStatusCache;
+    private final CfgLoanService cfgLoanService;
+    
+    private static final Set<LoanStatus> REPAYABLE_STATUSES =
+        EnumSet.of(LoanStatus.ACTIVE, LoanStatus.PARTIALLY_PAID, LoanStatus.OVERDUE);
     
     /**
      * Create a new repayment record
      * Business Rules:
-     * 1. Loan must be ACTIVE
-     * 2. Payment amount validation
-     * 3. Update loan status if fully paid
+     * 1. Loan must be ACTIVE, PARTIALLY_PAID or OVERDUE
+     * 2. Payment cannot exceed the total outstanding (penalty + interest + principal)
+     * 3. The split is computed server-side using the CfgLoan allocation order
+     * 4. Update loan status if fully paid
+     * 5. Post the repayment to the ledger
      */
     @Transactional
     public PawnRepayment createRepayment(PawnRepaymentRequest request) {
-        // Validate the payment amounts
-        request.validatePayment();
+        RepaymentPostingEvent flightEvent = loanMetrics.timeTransaction(new RepaymentPostingEvent(), LoanMetrics.REPAYMENT);
         
-        // Fetch and validate the loan
-        PawnLoan loan = pawnLoanRepository.findById(request.getPawnLoanId())
+        // Fetch and lock the loan so concurrent payments see each other's totals
+        PawnLoan loan = pawnLoanRepository.findByIdForUpdate(request.getPawnLoanId())
             .orElseThrow(() -> new BusinessException("LOAN_NOT_FOUND",
                 "Loan with ID " + request.getPawnLoanId() + " not found"));
+        flightEvent.forLoan(loan);
         
-        // Check if loan is active
-        if (loan.getStatus() != LoanStatus.ACTIVE) {
+        // Check if loan accepts payments
+        if (!REPAYABLE_STATUSES.contains(loan.getStatus())) {
             throw new BusinessException("LOAN_NOT_ACTIVE",
                 "Loan is not active. Current status: " + loan.getStatus());
         }
@@ -92,17 +121,8 @@ public class PawnRepaymentService {
             .orElseThrow(() -> new BusinessException("USER_NOT_FOUND",
                 "User with ID " + request.getReceivedBy() + " not found"));
         
-        // Calculate remaining balance after this payment
-        BigDecimal totalPaidSoFar = getTotalPaidAmountByLoanId(loan.getId());
-        BigDecimal totalPayable = loan.getTotalPayableAmount();
-        BigDecimal newTotalPaid = totalPaidSoFar.add(request.getPaidAmount());
-        
-        // Check if payment exceeds total payable
-        if (newTotalPaid.compareTo(totalPayable) > 0) {
-            throw new BusinessException("PAYMENT_EXCEEDS_TOTAL",
-                "Payment exceeds total payable amount. Total payable: " + totalPayable + 
-                ", Already paid: " + totalPaidSoFar + ", New payment: " + request.getPaidAmount());
-        }
+        // Split the payment across penalty, interest and principal
+        RepaymentAllocation allocation = allocate(loan, request.getPaidAmount());
         
         // Create repayment record
         PawnRepayment repayment = new PawnRepayment();
@@ -110,56 +130,120 @@ public class PawnRepaymentService {
         repayment.setCurrency(currency);
         repayment.setPaymentMethod(paymentMethod);
         repayment.setPaymentType(paymentType);
-        repayment.setPaidAmount(request.getPaidAmount());
-        repayment.setPrincipalPaid(request.getPrincipalPaid());
-        repayment.setInterestPaid(request.getInterestPaid());
-        repayment.setPenaltyPaid(request.getPenaltyPaid());
-        repayment.setRemainingPrincipal(request.getRemainingPrincipal());
+        repayment.setPaidAmount(allocation.amount());
+        repayment.setPrincipalPaid(allocation.principal());
+        repayment.setInterestPaid(allocation.interest());
+        repayment.setPenaltyPaid(allocation.penalty());
+        repayment.setRemainingPrincipal(allocation.remainingPrincipal());
         repayment.setReceivedBy(receivedBy);
         repayment.setPaymentDate(request.getPaymentDate() != null ? request.getPaymentDate() : LocalDate.now());
         
         PawnRepayment savedRepayment = pawnRepaymentRepository.save(repayment);
+        allocation.applyTo(loan);
+        ledgerService.postRepayment(savedRepayment);
+        loanStatusCache.invalidate(loan.getLoanCode());
+        portfolioSnapshotService.recordRepayment(loan, savedRepayment);
         
         // Update loan status based on payment using state machine
-        if (newTotalPaid.compareTo(totalPayable) >= 0) {
+        if (allocation.settlesLoan()) {
             // Loan is fully paid - trigger FULL_PAYMENT event
             loanStateMachine.transition(loan, LoanEvent.FULL_PAYMENT);
-        } else if (newTotalPaid.compareTo(BigDecimal.ZERO) > 0) {
+        } else {
             // Loan has partial payments - trigger PARTIAL_PAYMENT event
             loanStateMachine.transition(loan, LoanEvent.PARTIAL_PAYMENT);
         }
-        // Note: If payment is zero (shouldn't happen due to validation), no state change
         
         return savedRepayment;
     }
     
+    /**
+     * Preview how a payment would be allocated without recording it.
+     * @param loanId Loan ID
+     * @param amount Payment amount, or null to preview paying off the loan
+     * @return Allocation across penalty, interest and principal
+     */
+    public RepaymentAllocationResponse previewAllocation(Long loanId, BigDecimal amount) {
+        PawnLoan loan = pawnLoanRepository.findById(loanId)
+            .orElseThrow(() -> new BusinessException("LOAN_NOT_FOUND",
+                "Loan with ID " + loanId + " not found"));
+        
+        RepaymentAllocation allocation = amount != null ? allocate(loan, amount) : RepaymentAllocation.payoff(loan);
+        
+        RepaymentAllocationResponse response = new RepaymentAllocationResponse();
+        response.setLoanId(loan.getId());
+        response.setLoanCode(loan.getLoanCode());
+        response.setAmount(allocation.amount());
+        response.setPenaltyDue(allocation.penaltyDue());
+        response.setInterestDue(allocation.interestDue());
+        response.setPrincipalDue(allocation.principalDue());
+        response.setTotalDue(allocation.totalDue());
+        response.setPenalty(allocation.penalty());
+        response.setInterest(allocation.interest());
+        response.setPrincipal(allocation.principal());
+        response.setRemainingPrincipal(allocation.remainingPrincipal());
+        response.setRemainingBalance(allocation.remainingBalance());
+        response.setSettlesLoan(allocation.settlesLoan());
+        return response;
+    }
+    
+    private RepaymentAllocation allocate(PawnLoan loan, BigDecimal amount) {
+        LoanProductRule rule = cfgLoanService.resolveRule(
+            loan.getBranch().getId(), loan.getCurrency().getId(), loan.getLoanDate());
+        return RepaymentAllocation.allocate(loan, amount, rule.allocationOrder());
+    }
+    
     /**
      * Get total paid amount for a loan
      */
     public BigDecimal getTotalPaidAmountByLoanId(Long loanId) {
-        return pawnRepaymentRepository.getTotalPaidAmountByPawnLoanId(loanId)
-            .orElse(BigDecimal.ZERO);
+        PawnLoan loan = pawnLoanRepository.findById(loanId)
+            .orElseThrow(() -> new BusinessException("LOAN_NOT_FOUND",
+                "Loan with ID " + loanId + " not found"));
+        return totalPaid(loan);
+    }
+    
+    /**
+     * Total paid on a loan from its persisted running totals (no history scan)
+     */
+    private static BigDecimal totalPaid(PawnLoan loan) {
+        return nullToZero(loan.getPrincipalPaid())
+            .add(nullToZero(loan.getInterestPaid()))
+            .add(nullToZero(loan.getPenaltyPaid()));
+    }
+    
+    private static BigDecimal nullToZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
     }
     
     /**
-     * Get repayment history for a loan
+     * Get repayment history for a loan (read from the archive once the loan is archived)
      */
     public List<PawnRepayment> getRepaymentHistory(Long loanId) {
+        if (pawnLoanRepository.isArchived(loanId)) {
+            return pawnRepaymentArchiveRepository.findByPawnLoanIdOrderByPaymentDateDesc(loanId).stream()
+                .map(PawnRepaymentArchive::toRepayment)
+                .toList();
+        }
         return pawnRepaymentRepository.findByPawnLoanIdOrderByPaymentDateDesc(loanId);
     }
     
     /**
-     * Get repayment history with pagination
+     * Get repayment history with pagination (read from the archive once the loan is archived)
      */
     public Page<PawnRepayment> getRepaymentHistory(Long loanId, Pageable pageable) {
+        if (pawnLoanRepository.isArchived(loanId)) {
+            return pawnRepaymentArchiveRepository.findByPawnLoanId(loanId, pageable)
+                .map(PawnRepaymentArchive::toRepayment);
+        }
         return pawnRepaymentRepository.findByPawnLoanId(loanId, pageable);
     }
     
     /**
-     * Get repayment by ID
+     * Get repayment by ID (falls back to the archive)
      */
     public PawnRepayment getRepaymentById(Long id) {
         return pawnRepaymentRepository.findById(id)
+            .or(() -> pawnRepaymentArchiveRepository.findById(id).map(PawnRepaymentArchive::toRepayment))
             .orElseThrow(() -> new BusinessException("REPAYMENT_NOT_FOUND",
                 "Repayment with ID " + id + " not found"));
     }
@@ -172,8 +256,8 @@ public class PawnRepaymentService {
             .orElseThrow(() -> new BusinessException("LOAN_NOT_FOUND",
                 "Loan with ID " + loanId + " not found"));
         
-        BigDecimal totalPaid = getTotalPaidAmountByLoanId(loanId);
-        BigDecimal remainingBalance = loan.getTotalPayableAmount().subtract(totalPaid);
+        BigDecimal totalPaid = totalPaid(loan);
+        BigDecimal remainingBalance = RepaymentAllocation.payoff(loan).totalDue();
         
         RepaymentSchedule schedule = new RepaymentSchedule();
         schedule.setLoanId(loanId);
@@ -188,22 +272,23 @@ public class PawnRepaymentService {
         if (schedule.getIsOverdue()) {
             long daysOverdue = LocalDate.now().toEpochDay() - loan.getDueDate().toEpochDay();
             schedule.setDaysOverdue(daysOverdue);
-            
-            // Calculate penalty (simplified: 1% per month overdue)
-            BigDecimal monthlyPenaltyRate = new BigDecimal("0.01");
-            BigDecimal monthsOverdue = new BigDecimal(daysOverdue).divide(new BigDecimal("30"), 2, RoundingMode.HALF_UP);
-            BigDecimal penaltyAmount = remainingBalance.multiply(monthlyPenaltyRate).multiply(monthsOverdue);
-            schedule.setEstimatedPenalty(penaltyAmount.max(BigDecimal.ZERO));
         }
         
+        // Penalty comes from the accrual ledger (posted nightly by LoanAccrualService)
+        schedule.setEstimatedPenalty(loan.getAccruedPenalty() != null ? loan.getAccruedPenalty() : BigDecimal.ZERO);
+        schedule.setAccruedInterest(loan.getAccruedInterest() != null ? loan.getAccruedInterest() : BigDecimal.ZERO);
+        schedule.setAccruedAsOf(loan.getLastAccrualDate());
+        
         return schedule;
     }
     
     /**
-     * Get repayments by date range
+     * Get repayments by date range, hot and archived
      */
     public Page<PawnRepayment> getRepaymentsByDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable) {
-        return pawnRepaymentRepository.findByPaymentDateBetween(startDate, endDate, pageable);
+        return mergeWithArchive(pageable,
+            head -> pawnRepaymentRepository.findByPaymentDateBetween(startDate, endDate, head),
+            head -> pawnRepaymentArchiveRepository.findByPaymentDateBetween(startDate, endDate, head));
     }
     
     /**
@@ -211,14 +296,41 @@ public class PawnRepaymentService {
      * @param customerId Customer ID
      * @param months Number of months to look back (e.g., 3 for last 3 months)
      * @param pageable Pagination information
-     * @return Page of repayments within the specified month range
+     * @return Page of repayments within the specified month range, hot and archived
      */
     public Page<PawnRepayment> getCustomerRepaymentsByMonthRange(Long customerId, int months, Pageable pageable) {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusMonths(months);
         
-        return pawnRepaymentRepository.findByCustomerIdAndPaymentDateBetween(
-            customerId, startDate, endDate, pageable);
+        return mergeWithArchive(pageable,
+            head -> pawnRepaymentRepository.findByCustomerIdAndPaymentDateBetween(customerId, startDate, endDate, head),
+            head -> pawnRepaymentArchiveRepository.findByCustomerIdAndPaymentDateBetween(customerId, startDate, endDate, head));
+    }
+    
+    /**
+     * Merge a page of hot repayments with the archived ones by payment date, then ID
+     * (newest first unless the page asks for paymentDate ASC). Each table is read from the
+     * start up to the end of the requested page, so a deep page reads offset + size rows from both.
+     */
+    private Page<PawnRepayment> mergeWithArchive(Pageable pageable,
+                                                 Function<Pageable, Page<PawnRepayment>> hot,
+                                                 Function<Pageable, Page<PawnRepaymentArchive>> archived) {
+        Sort.Order byDate = pageable.getSort().getOrderFor("paymentDate");
+        Sort.Direction direction = byDate != null ? byDate.getDirection() : Sort.Direction.DESC;
+        Pageable head = PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(),
+            Sort.by(direction, "paymentDate", "id"));
+        Page<PawnRepayment> hotHead = hot.apply(head);
+        Page<PawnRepaymentArchive> archivedHead = archived.apply(head);
+        
+        Comparator<PawnRepayment> order = Comparator.comparing(PawnRepayment::getPaymentDate)
+            .thenComparing(PawnRepayment::getId);
+        List<PawnRepayment> content = Stream.concat(hotHead.stream(),
+                archivedHead.stream().map(PawnRepaymentArchive::toRepayment))
+            .sorted(direction.isDescending() ? order.reversed() : order)
+            .skip(pageable.getOffset())
+            .limit(pageable.getPageSize())
+            .toList();
+        return new PageImpl<>(content, pageable, hotHead.getTotalElements() + archivedHead.getTotalElements());
     }
     
     /**
@@ -231,39 +343,30 @@ public class PawnRepaymentService {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusMonths(months);
         
-        Pageable pageable = Pageable.unpaged();
-        Page<PawnRepayment> repaymentsPage = pawnRepaymentRepository.findByCustomerIdAndPaymentDateBetween(
-            customerId, startDate, endDate, pageable);
-        
-        List<PawnRepayment> repayments = repaymentsPage.getContent();
-        
-        BigDecimal totalPaid = BigDecimal.ZERO;
-        BigDecimal totalPrincipal = BigDecimal.ZERO;
-        BigDecimal totalInterest = BigDecimal.ZERO;
-        BigDecimal totalPenalty = BigDecimal.ZERO;
-        Map<String, BigDecimal> monthlyTotals = new HashMap<>();
-        
-        for (PawnRepayment repayment : repayments) {
-            totalPaid = totalPaid.add(repayment.getPaidAmount());
-            totalPrincipal = totalPrincipal.add(repayment.getPrincipalPaid());
-            totalInterest = totalInterest.add(repayment.getInterestPaid());
-            totalPenalty = totalPenalty.add(repayment.getPenaltyPaid());
+        // Hot and archived repayments within the window, streamed without loading entities
+        RepaymentTotals totals = new RepaymentTotals();
+        Map<String, long[]> monthlyMinorUnits = new HashMap<>();
+        reportReader.forEachCustomerRepayment(customerId, startDate, endDate, repayment -> {
+            totals.add(repayment);
             
             // Group by month-year
-            String monthKey = repayment.getPaymentDate().getMonth().toString() + " " +
-                             repayment.getPaymentDate().getYear();
-            monthlyTotals.merge(monthKey, repayment.getPaidAmount(), BigDecimal::add);
-        }
+            String monthKey = repayment.paymentDate().getMonth().toString() + " " +
+                             repayment.paymentDate().getYear();
+            long[] month = monthlyMinorUnits.computeIfAbsent(monthKey, key -> new long[1]);
+            month[0] = Math.addExact(month[0], RepaymentTotals.minorUnits(repayment.paidAmount()));
+        });
+        Map<String, BigDecimal> monthlyTotals = new HashMap<>();
+        monthlyMinorUnits.forEach((month, minorUnits) -> monthlyTotals.put(month, RepaymentTotals.amount(minorUnits[0])));
         
         CustomerRepaymentSummary summary = new CustomerRepaymentSummary();
         summary.setCustomerId(customerId);
         summary.setStartDate(startDate);
         summary.setEndDate(endDate);
-        summary.setTotalRepayments(repayments.size());
-        summary.setTotalPaidAmount(totalPaid);
-        summary.setTotalPrincipal(totalPrincipal);
-        summary.setTotalInterest(totalInterest);
-        summary.setTotalPenalty(totalPenalty);
+        summary.setTotalRepayments(totals.count);
+        summary.setTotalPaidAmount(RepaymentTotals.amount(totals.paid));
+        summary.setTotalPrincipal(RepaymentTotals.amount(totals.principal));
+        summary.setTotalInterest(RepaymentTotals.amount(totals.interest));
+        summary.setTotalPenalty(RepaymentTotals.amount(totals.penalty));
         summary.setMonthlyTotals(monthlyTotals);
         
         return summary;
@@ -273,28 +376,17 @@ public class PawnRepaymentService {
      * Get daily collection report for a branch
      */
     public DailyCollectionReport getDailyCollectionReport(Long branchId, LocalDate date) {
-        List<PawnRepayment> repayments = pawnRepaymentRepository.findByBranchAndPaymentDate(branchId, date);
-        
-        BigDecimal totalCollection = BigDecimal.ZERO;
-        BigDecimal totalPrincipal = BigDecimal.ZERO;
-        BigDecimal totalInterest = BigDecimal.ZERO;
-        BigDecimal totalPenalty = BigDecimal.ZERO;
-        
-        for (PawnRepayment repayment : repayments) {
-            totalCollection = totalCollection.add(repayment.getPaidAmount());
-            totalPrincipal = totalPrincipal.add(repayment.getPrincipalPaid());
-            totalInterest = totalInterest.add(repayment.getInterestPaid());
-            totalPenalty = totalPenalty.add(repayment.getPenaltyPaid());
-        }
+        RepaymentTotals totals = new RepaymentTotals();
+        reportReader.forEachBranchRepayment(branchId, date, totals::add);
         
         DailyCollectionReport report = new DailyCollectionReport();
         report.setDate(date);
         report.setBranchId(branchId);
-        report.setTotalCollection(totalCollection);
-        report.setTotalPrincipal(totalPrincipal);
-        report.setTotalInterest(totalInterest);
-        report.setTotalPenalty(totalPenalty);
-        report.setNumberOfTransactions(repayments.size());
+        report.setTotalCollection(RepaymentTotals.amount(totals.paid));
+        report.setTotalPrincipal(RepaymentTotals.amount(totals.principal));
+        report.setTotalInterest(RepaymentTotals.amount(totals.interest));
+        report.setTotalPenalty(RepaymentTotals.amount(totals.penalty));
+        report.setNumberOfTransactions(totals.count);
         
         return report;
     }
@@ -394,8 +486,7 @@ public class PawnRepaymentService {
             response.setTotalPayableAmount(loan.getTotalPayableAmount());
             
             // Calculate remaining balance
-            BigDecimal totalPaid = getTotalPaidAmountByLoanId(loan.getId());
-            BigDecimal remainingBalance = loan.getTotalPayableAmount().subtract(totalPaid);
+            BigDecimal remainingBalance = RepaymentAllocation.payoff(loan).totalDue();
             response.setRemainingBalance(remainingBalance);
             
             // For simplicity, set next payment amount as the remaining balance
@@ -456,6 +547,8 @@ public class PawnRepaymentService {
         private boolean isOverdue;
         private Long daysOverdue;
         private BigDecimal estimatedPenalty;
+        private BigDecimal accruedInterest;
+        private LocalDate accruedAsOf;
         
         // Getters and setters
         public Long getLoanId() { return loanId; }
@@ -484,6 +577,40 @@ public class PawnRepaymentService {
         
         public BigDecimal getEstimatedPenalty() { return estimatedPenalty; }
         public void setEstimatedPenalty(BigDecimal estimatedPenalty) { this.estimatedPenalty = estimatedPenalty; }
+        
+        public BigDecimal getAccruedInterest() { return accruedInterest; }
+        public void setAccruedInterest(BigDecimal accruedInterest) { this.accruedInterest = accruedInterest; }
+        
+        public LocalDate getAccruedAsOf() { return accruedAsOf; }
+        public void setAccruedAsOf(LocalDate accruedAsOf) { this.accruedAsOf = accruedAsOf; }
+    }
+    
+    /**
+     * Running sums over a stream of repayment rows, kept as minor units at the stored scale
+     * so adding a row allocates nothing.
+     */
+    private static final class RepaymentTotals {
+        private int count;
+        private long paid;
+        private long principal;
+        private long interest;
+        private long penalty;
+        
+        void add(RepaymentReportRow repayment) {
+            count++;
+            paid = Math.addExact(paid, minorUnits(repayment.paidAmount()));
+            principal = Math.addExact(principal, minorUnits(repayment.principalPaid()));
+            interest = Math.addExact(interest, minorUnits(repayment.interestPaid()));
+            penalty = Math.addExact(penalty, minorUnits(repayment.penaltyPaid()));
+        }
+        
+        static long minorUnits(BigDecimal amount) {
+            return Money.toMinorUnits(amount, Money.STORAGE_SCALE, RoundingMode.HALF_UP);
+        }
+        
+        static BigDecimal amount(long minorUnits) {
+            return BigDecimal.valueOf(minorUnits, Money.STORAGE_SCALE);
+        }
     }
     
     public static class DailyCollectionReport {
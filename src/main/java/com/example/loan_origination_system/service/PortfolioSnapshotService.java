@@ -0,0 +1,503 @@
+package com.example.loan_origination_system.service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.loan_origination_system.dto.AgingReportResponse;
+import com.example.loan_origination_system.dto.PortfolioSnapshotResponse;
+import com.example.loan_origination_system.model.enums.CollateralStatus;
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.enums.ParBucket;
+import com.example.loan_origination_system.model.enums.PortfolioDimension;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+import com.example.loan_origination_system.model.loan.PawnRepayment;
+import com.example.loan_origination_system.model.loan.PortfolioStat;
+import com.example.loan_origination_system.repository.PawnLoanRepository;
+import com.example.loan_origination_system.repository.PawnRepaymentArchiveRepository;
+import com.example.loan_origination_system.repository.PawnRepaymentRepository;
+import com.example.loan_origination_system.repository.PortfolioStatRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Portfolio KPIs per branch and currency, kept in the portfolio_snapshot table and
+ * served from memory.
+ *
+ * Business Rules:
+ * 1. Loan counts and outstanding principal by status, held collateral by status and
+ *    monthly collections are updated incrementally from loan creation, transitions,
+ *    repayments and deletion, in the same transaction as the change
+ * 2. PAR buckets depend on the business date, so they are only computed by the full refresh,
+ *    from the PortfolioAgingService report for that date
+ * 3. The full refresh recomputes every aggregate from the loan and repayment tables,
+ *    correcting any drift (e.g. collateral status edited outside the state machine)
+ * 4. Readers get an in-memory copy at most maxStaleness old; serving it does not
+ *    depend on portfolio size
+ *
+ * Deltas recorded inside a transaction are merged and written just before commit,
+ * one in-place update per touched aggregate. A missing aggregate row is created empty in
+ * its own transaction first, so concurrent postings opening the same month or bucket never
+ * fail on the unique key; the posting itself never fails because of the dashboard.
+ */
+@Service
+@Slf4j
+public class PortfolioSnapshotService {
+
+    static final List<LoanStatus> OPEN_STATUSES =
+        List.of(LoanStatus.ACTIVE, LoanStatus.PARTIALLY_PAID, LoanStatus.OVERDUE);
+
+    // Collateral the branch holds: pawned under an open loan, or forfeited by a defaulted one
+    private static final List<LoanStatus> COLLATERAL_HOLDING_STATUSES =
+        List.of(LoanStatus.ACTIVE, LoanStatus.PARTIALLY_PAID, LoanStatus.OVERDUE, LoanStatus.DEFAULTED);
+    private static final Set<CollateralStatus> HELD_COLLATERAL =
+        EnumSet.of(CollateralStatus.PAWNED, CollateralStatus.FORFEITED);
+
+    private static final Object PENDING_DELTAS_KEY = new Object();
+    private static final int COLLECTION_MONTHS = 12;
+
+    private final PortfolioStatRepository portfolioStatRepository;
+    private final PawnLoanRepository pawnLoanRepository;
+    private final PawnRepaymentRepository pawnRepaymentRepository;
+    private final PawnRepaymentArchiveRepository archiveRepository;
+    private final PortfolioAgingService portfolioAgingService;
+    private final TransactionTemplate requiresNew;
+    private final Duration maxStaleness;
+    private final Clock clock;
+
+    private volatile Loaded loaded;
+
+    @Autowired
+    public PortfolioSnapshotService(PortfolioStatRepository portfolioStatRepository,
+                                    PawnLoanRepository pawnLoanRepository,
+                                    PawnRepaymentRepository pawnRepaymentRepository,
+                                    PawnRepaymentArchiveRepository archiveRepository,
+                                    PortfolioAgingService portfolioAgingService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${loan.portfolio.max-staleness:PT30S}") Duration maxStaleness) {
+        this(portfolioStatRepository, pawnLoanRepository, pawnRepaymentRepository, archiveRepository,
+            portfolioAgingService, transactionManager, maxStaleness, Clock.systemDefaultZone());
+    }
+
+    PortfolioSnapshotService(PortfolioStatRepository portfolioStatRepository,
+                             PawnLoanRepository pawnLoanRepository,
+                             PawnRepaymentRepository pawnRepaymentRepository,
+                             PawnRepaymentArchiveRepository archiveRepository,
+                             PortfolioAgingService portfolioAgingService,
+                             PlatformTransactionManager transactionManager,
+                             Duration maxStaleness, Clock clock) {
+        this.portfolioStatRepository = portfolioStatRepository;
+        this.pawnLoanRepository = pawnLoanRepository;
+        this.pawnRepaymentRepository = pawnRepaymentRepository;
+        this.archiveRepository = archiveRepository;
+        this.portfolioAgingService = portfolioAgingService;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxStaleness = maxStaleness;
+        this.clock = clock;
+    }
+
+    /**
+     * Count a newly saved loan under its current status.
+     */
+    public void recordCreated(PawnLoan loan) {
+        record(loan, PortfolioDimension.LOAN_STATUS, loan.getStatus().name(), 1, outstandingPrincipal(loan));
+    }
+
+    /**
+     * Remove a deleted loan from its status.
+     */
+    public void recordDeleted(PawnLoan loan) {
+        record(loan, PortfolioDimension.LOAN_STATUS, loan.getStatus().name(), -1, outstandingPrincipal(loan).negate());
+    }
+
+    /**
+     * Move a loan's count and outstanding principal from one status to another.
+     */
+    public void recordTransition(PawnLoan loan, LoanStatus from, LoanStatus to) {
+        if (from == to) {
+            return;
+        }
+        BigDecimal outstanding = outstandingPrincipal(loan);
+        record(loan, PortfolioDimension.LOAN_STATUS, from.name(), -1, outstanding.negate());
+        record(loan, PortfolioDimension.LOAN_STATUS, to.name(), 1, outstanding);
+    }
+
+    /**
+     * Move a loan's collateral between statuses; only collateral held by the branch is counted.
+     */
+    public void recordCollateral(PawnLoan loan, CollateralStatus from, CollateralStatus to, BigDecimal estimatedValue) {
+        if (from == to) {
+            return;
+        }
+        BigDecimal value = nullToZero(estimatedValue);
+        if (from != null && HELD_COLLATERAL.contains(from)) {
+            record(loan, PortfolioDimension.COLLATERAL_STATUS, from.name(), -1, value.negate());
+        }
+        if (HELD_COLLATERAL.contains(to)) {
+            record(loan, PortfolioDimension.COLLATERAL_STATUS, to.name(), 1, value);
+        }
+    }
+
+    /**
+     * Reduce outstanding principal under the loan's current status and add the payment
+     * to its month's collections. Must be called before the loan transitions.
+     */
+    public void recordRepayment(PawnLoan loan, PawnRepayment repayment) {
+        record(loan, PortfolioDimension.LOAN_STATUS, loan.getStatus().name(), 0,
+            nullToZero(repayment.getPrincipalPaid()).negate());
+        record(loan, PortfolioDimension.COLLECTIONS, YearMonth.from(repayment.getPaymentDate()).toString(), 1,
+            nullToZero(repayment.getPaidAmount()));
+    }
+
+    /**
+     * Recompute every aggregate from the loan and repayment tables.
+     * Deltas committed by other transactions while this runs may be overwritten;
+     * the next refresh corrects them.
+     *
+     * @param asOfDate Business date for PAR aging
+     * @return Number of aggregates written
+     */
+    @Transactional
+    public int refresh(LocalDate asOfDate) {
+        Map<StatKey, Delta> totals = new HashMap<>();
+
+        for (Object[] row : pawnLoanRepository.sumOutstandingByStatus()) {
+            totals.put(new StatKey((Long) row[0], (Long) row[1], PortfolioDimension.LOAN_STATUS,
+                ((LoanStatus) row[2]).name()), new Delta((Long) row[3], (BigDecimal) row[4]));
+        }
+        for (Object[] row : pawnLoanRepository.sumCollateralByStatus(COLLATERAL_HOLDING_STATUSES)) {
+            CollateralStatus status = (CollateralStatus) row[2];
+            if (HELD_COLLATERAL.contains(status)) {
+                totals.put(new StatKey((Long) row[0], (Long) row[1], PortfolioDimension.COLLATERAL_STATUS,
+                    status.name()), new Delta((Long) row[3], (BigDecimal) row[4]));
+            }
+        }
+        for (AgingReportResponse.Segment segment : portfolioAgingService.compute(asOfDate, null).getSegments()) {
+            for (AgingReportResponse.Bucket bucket : segment.getBuckets()) {
+                totals.put(new StatKey(segment.getBranchId(), segment.getCurrencyId(), PortfolioDimension.PAR_BUCKET,
+                    bucket.getBucket().name()), new Delta(bucket.getLoans(), bucket.getOutstandingPrincipal()));
+            }
+        }
+        addCollections(totals, pawnRepaymentRepository.sumCollectionsByMonth());
+        addCollections(totals, archiveRepository.sumCollectionsByMonth());
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<PortfolioStat> stats = portfolioStatRepository.findAll();
+        for (PortfolioStat stat : stats) {
+            // Aggregates with nothing left in them are kept at zero
+            Delta total = totals.remove(new StatKey(stat.getBranchId(), stat.getCurrencyId(),
+                stat.getDimension(), stat.getBucket()));
+            stat.setItemCount(total != null ? total.count : 0);
+            stat.setAmount(total != null ? total.amount : BigDecimal.ZERO);
+            stat.setUpdatedAt(now);
+        }
+        totals.forEach((key, total) -> stats.add(newStat(key, total, now)));
+        portfolioStatRepository.saveAll(stats);
+
+        invalidateAfterCommit();
+        log.info("Portfolio snapshot refreshed as of {}: {} aggregates", asOfDate, stats.size());
+        return stats.size();
+    }
+
+    public boolean isEmpty() {
+        return portfolioStatRepository.count() == 0;
+    }
+
+    /**
+     * Get the snapshot for all branches, or one branch when branchId is given.
+     */
+    public PortfolioSnapshotResponse getSnapshot(Long branchId) {
+        Loaded current = loaded;
+        if (current == null || current.loadedAt().plus(maxStaleness).isBefore(clock.instant())) {
+            current = reload();
+        }
+        if (branchId == null) {
+            return current.all();
+        }
+        PortfolioSnapshotResponse branch = current.byBranch().get(branchId);
+        return branch != null ? branch : current.empty();
+    }
+
+    /**
+     * Drop the in-memory copy so the next read loads the table.
+     */
+    public void invalidate() {
+        loaded = null;
+    }
+
+    private synchronized Loaded reload() {
+        Instant now = clock.instant();
+        Loaded current = loaded;
+        if (current != null && !current.loadedAt().plus(maxStaleness).isBefore(now)) {
+            return current;
+        }
+        current = build(portfolioStatRepository.findAll(), now);
+        loaded = current;
+        return current;
+    }
+
+    private Loaded build(List<PortfolioStat> stats, Instant now) {
+        YearMonth currentMonth = YearMonth.now(clock);
+        YearMonth firstMonth = currentMonth.minusMonths(COLLECTION_MONTHS - 1);
+        LocalDateTime loadedAt = LocalDateTime.ofInstant(now, clock.getZone());
+        LocalDateTime lastUpdatedAt = null;
+        LocalDateTime parUpdatedAt = null;
+
+        Map<List<Long>, PortfolioSnapshotResponse.Segment> segments = new HashMap<>();
+        for (PortfolioStat stat : stats) {
+            PortfolioSnapshotResponse.Segment segment = segments.computeIfAbsent(
+                List.of(stat.getBranchId(), stat.getCurrencyId()),
+                k -> newSegment(stat.getBranchId(), stat.getCurrencyId()));
+            BigDecimal amount = nullToZero(stat.getAmount());
+
+            switch (stat.getDimension()) {
+                case LOAN_STATUS -> {
+                    LoanStatus status = LoanStatus.valueOf(stat.getBucket());
+                    segment.getLoansByStatus().put(status, stat.getItemCount());
+                    segment.getOutstandingByStatus().put(status, amount);
+                    if (OPEN_STATUSES.contains(status)) {
+                        segment.setOpenLoans(segment.getOpenLoans() + stat.getItemCount());
+                        segment.setOutstandingPrincipal(segment.getOutstandingPrincipal().add(amount));
+                    }
+                }
+                case COLLATERAL_STATUS -> {
+                    CollateralStatus status = CollateralStatus.valueOf(stat.getBucket());
+                    segment.getCollateralByStatus().put(status, stat.getItemCount());
+                    segment.getCollateralValueByStatus().put(status, amount);
+                }
+                case PAR_BUCKET -> {
+                    ParBucket bucket = ParBucket.valueOf(stat.getBucket());
+                    segment.getParLoans().put(bucket, stat.getItemCount());
+                    segment.getParOutstanding().put(bucket, amount);
+                    parUpdatedAt = later(parUpdatedAt, stat.getUpdatedAt());
+                }
+                case COLLECTIONS -> {
+                    YearMonth month = YearMonth.parse(stat.getBucket());
+                    if (!month.isBefore(firstMonth)) {
+                        segment.getCollectionsByMonth().put(stat.getBucket(), amount);
+                    }
+                    if (month.equals(currentMonth)) {
+                        segment.setCollectionsMonthToDate(amount);
+                        segment.setRepaymentsMonthToDate(stat.getItemCount());
+                    }
+                }
+            }
+            lastUpdatedAt = later(lastUpdatedAt, stat.getUpdatedAt());
+        }
+
+        List<PortfolioSnapshotResponse.Segment> ordered = new ArrayList<>(segments.values());
+        ordered.sort(Comparator.comparing(PortfolioSnapshotResponse.Segment::getBranchId)
+            .thenComparing(PortfolioSnapshotResponse.Segment::getCurrencyId));
+
+        LocalDate parAsOfDate = parUpdatedAt != null ? parUpdatedAt.toLocalDate() : null;
+        Map<Long, List<PortfolioSnapshotResponse.Segment>> segmentsByBranch = new HashMap<>();
+        for (PortfolioSnapshotResponse.Segment segment : ordered) {
+            segmentsByBranch.computeIfAbsent(segment.getBranchId(), k -> new ArrayList<>()).add(segment);
+        }
+        Map<Long, PortfolioSnapshotResponse> byBranch = new HashMap<>();
+        LocalDateTime updatedAt = lastUpdatedAt;
+        segmentsByBranch.forEach((branchId, branchSegments) ->
+            byBranch.put(branchId, newResponse(loadedAt, updatedAt, parAsOfDate, branchSegments)));
+
+        return new Loaded(now, newResponse(loadedAt, lastUpdatedAt, parAsOfDate, ordered), byBranch,
+            newResponse(loadedAt, lastUpdatedAt, parAsOfDate, List.of()));
+    }
+
+    private void addCollections(Map<StatKey, Delta> totals, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            YearMonth month = YearMonth.of(((Number) row[2]).intValue(), ((Number) row[3]).intValue());
+            totals.computeIfAbsent(new StatKey((Long) row[0], (Long) row[1], PortfolioDimension.COLLECTIONS,
+                    month.toString()), k -> new Delta())
+                .add((Long) row[4], (BigDecimal) row[5]);
+        }
+    }
+
+    /**
+     * Queue a delta for the current transaction, or write it immediately when none is active.
+     */
+    private void record(PawnLoan loan, PortfolioDimension dimension, String bucket, long count, BigDecimal amount) {
+        StatKey key = new StatKey(loan.getBranch().getId(), loan.getCurrency().getId(), dimension, bucket);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(Map.of(key, new Delta(count, amount)));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<StatKey, Delta> pending = (Map<StatKey, Delta>) TransactionSynchronizationManager.getResource(PENDING_DELTAS_KEY);
+        if (pending == null) {
+            Map<StatKey, Delta> buffer = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(PENDING_DELTAS_KEY, buffer);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(buffer);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_DELTAS_KEY);
+                }
+            });
+            pending = buffer;
+        }
+        pending.computeIfAbsent(key, k -> new Delta()).add(count, amount);
+    }
+
+    private void write(Map<StatKey, Delta> deltas) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        deltas.forEach((key, delta) -> {
+            // Creating a loan and issuing it in one transaction nets out the CREATED row
+            if (delta.isZero()) {
+                return;
+            }
+            int updated = portfolioStatRepository.applyDelta(key.branchId(), key.currencyId(), key.dimension(),
+                key.bucket(), delta.count, delta.amount, now);
+            if (updated == 0 && insertIfAbsent(key, now)) {
+                // First delta for this aggregate: create it empty, then add to it like any other
+                updated = portfolioStatRepository.applyDelta(key.branchId(), key.currencyId(), key.dimension(),
+                    key.bucket(), delta.count, delta.amount, now);
+            }
+            if (updated == 0) {
+                log.warn("Portfolio aggregate {} not updated; the next refresh corrects it", key);
+            }
+        });
+    }
+
+    /**
+     * Insert an empty aggregate in its own, immediately committed transaction.
+     *
+     * @return false when the row could not be created for another reason than a concurrent insert
+     */
+    private boolean insertIfAbsent(StatKey key, LocalDateTime now) {
+        try {
+            requiresNew.executeWithoutResult(status -> portfolioStatRepository.saveAndFlush(newStat(key, new Delta(), now)));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Portfolio aggregate {} already created by a concurrent transaction", key);
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Could not create portfolio aggregate {}", key, e);
+            return false;
+        }
+    }
+
+    private void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    private static PortfolioStat newStat(StatKey key, Delta total, LocalDateTime now) {
+        PortfolioStat stat = new PortfolioStat();
+        stat.setBranchId(key.branchId());
+        stat.setCurrencyId(key.currencyId());
+        stat.setDimension(key.dimension());
+        stat.setBucket(key.bucket());
+        stat.setItemCount(total.count);
+        stat.setAmount(total.amount);
+        stat.setUpdatedAt(now);
+        return stat;
+    }
+
+    private static PortfolioSnapshotResponse.Segment newSegment(Long branchId, Long currencyId) {
+        PortfolioSnapshotResponse.Segment segment = new PortfolioSnapshotResponse.Segment();
+        segment.setBranchId(branchId);
+        segment.setCurrencyId(currencyId);
+        segment.setOutstandingPrincipal(BigDecimal.ZERO);
+        segment.setLoansByStatus(new EnumMap<>(LoanStatus.class));
+        segment.setOutstandingByStatus(new EnumMap<>(LoanStatus.class));
+        segment.setCollateralByStatus(new EnumMap<>(CollateralStatus.class));
+        segment.setCollateralValueByStatus(new EnumMap<>(CollateralStatus.class));
+        segment.setParLoans(new EnumMap<>(ParBucket.class));
+        segment.setParOutstanding(new EnumMap<>(ParBucket.class));
+        segment.setCollectionsMonthToDate(BigDecimal.ZERO);
+        segment.setCollectionsByMonth(new TreeMap<>());
+        return segment;
+    }
+
+    private static PortfolioSnapshotResponse newResponse(LocalDateTime loadedAt, LocalDateTime lastUpdatedAt,
+                                                         LocalDate parAsOfDate,
+                                                         List<PortfolioSnapshotResponse.Segment> segments) {
+        PortfolioSnapshotResponse response = new PortfolioSnapshotResponse();
+        response.setLoadedAt(loadedAt);
+        response.setLastUpdatedAt(lastUpdatedAt);
+        response.setParAsOfDate(parAsOfDate);
+        response.setSegments(List.copyOf(segments));
+        return response;
+    }
+
+    private static BigDecimal outstandingPrincipal(PawnLoan loan) {
+        return nullToZero(loan.getLoanAmount()).subtract(nullToZero(loan.getPrincipalPaid()));
+    }
+
+    private static BigDecimal nullToZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+
+    private record StatKey(Long branchId, Long currencyId, PortfolioDimension dimension, String bucket) {}
+
+    private static final class Delta {
+        private long count;
+        private BigDecimal amount = BigDecimal.ZERO;
+
+        Delta() {
+        }
+
+        Delta(long count, BigDecimal amount) {
+            add(count, amount);
+        }
+
+        void add(long count, BigDecimal amount) {
+            this.count += count;
+            this.amount = this.amount.add(nullToZero(amount));
+        }
+
+        boolean isZero() {
+            return count == 0 && amount.signum() == 0;
+        }
+    }
+
+    private record Loaded(Instant loadedAt, PortfolioSnapshotResponse all,
+                          Map<Long, PortfolioSnapshotResponse> byBranch, PortfolioSnapshotResponse empty) {}
+}
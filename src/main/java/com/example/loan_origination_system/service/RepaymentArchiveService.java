@@ -0,0 +1,128 @@
+package com.example.loan_origination_system.service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.repository.PawnLoanRepository;
+import com.example.loan_origination_system.repository.PawnRepaymentArchiveRepository;
+import com.example.loan_origination_system.repository.PawnRepaymentRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps pawn_repayment bounded: monthly partitions ahead of time, and archival of closed loans.
+ *
+ * Business Rules:
+ * 1. Loans in a terminal state (REDEEMED, DEFAULTED, CANCELLED) last changed before the
+ *    retention cutoff have their repayments moved to pawn_repayment_archive
+ * 2. Copy, delete and flag (PawnLoan.archivedAt) happen in one transaction per chunk;
+ *    a count mismatch rolls the chunk back
+ * 3. Loan rows stay in pawn_loan: the immutable ledger and forfeit records reference them,
+ *    and their running totals mean no hot path needs the moved history
+ * 4. On PostgreSQL, pawn_repayment is range-partitioned by payment_date; partitions for the
+ *    coming months are created ahead so inserts never land in the default partition
+ */
+@Service
+@Slf4j
+public class RepaymentArchiveService {
+
+    static final List<LoanStatus> TERMINAL_STATUSES =
+        List.of(LoanStatus.REDEEMED, LoanStatus.DEFAULTED, LoanStatus.CANCELLED);
+
+    private final PawnLoanRepository pawnLoanRepository;
+    private final PawnRepaymentRepository pawnRepaymentRepository;
+    private final PawnRepaymentArchiveRepository archiveRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public RepaymentArchiveService(PawnLoanRepository pawnLoanRepository,
+                                   PawnRepaymentRepository pawnRepaymentRepository,
+                                   PawnRepaymentArchiveRepository archiveRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   EntityManagerFactory entityManagerFactory) {
+        this.pawnLoanRepository = pawnLoanRepository;
+        this.pawnRepaymentRepository = pawnRepaymentRepository;
+        this.archiveRepository = archiveRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.postgres = dialect instanceof PostgreSQLDialect;
+    }
+
+    /**
+     * Archive one chunk of closed loans with ID greater than afterId.
+     *
+     * @param afterId Last loan ID processed by the previous chunk (0 to start)
+     * @param closedBefore Only loans last changed before this are archived
+     * @param batchSize Maximum loans to archive in this chunk
+     * @return Chunk result; lastLoanId is the cursor for the next call
+     */
+    @Transactional
+    public ArchiveChunkResult archiveChunk(Long afterId, LocalDateTime closedBefore, int batchSize) {
+        List<Long> loanIds = pawnLoanRepository.findArchivableLoanIds(
+            TERMINAL_STATUSES, closedBefore, afterId, PageRequest.of(0, batchSize));
+
+        if (loanIds.isEmpty()) {
+            return new ArchiveChunkResult(afterId, 0, 0);
+        }
+
+        LocalDateTime archivedAt = LocalDateTime.now();
+        int copied = archiveRepository.copyFromHot(loanIds, archivedAt);
+        int deleted = pawnRepaymentRepository.deleteByPawnLoanIdIn(loanIds);
+        if (copied != deleted) {
+            throw new IllegalStateException("Archived " + copied + " repayments but removed " + deleted
+                + " for loans " + loanIds.get(0) + ".." + loanIds.get(loanIds.size() - 1));
+        }
+        pawnLoanRepository.markArchived(loanIds, archivedAt);
+
+        return new ArchiveChunkResult(loanIds.get(loanIds.size() - 1), loanIds.size(), copied);
+    }
+
+    /**
+     * Create monthly pawn_repayment partitions from the given month through monthsAhead months later.
+     * No-op unless the database is PostgreSQL and pawn_repayment is partitioned.
+     *
+     * @return Number of partitions that exist or were created for the range
+     */
+    public int ensurePartitions(YearMonth from, int monthsAhead) {
+        if (!postgres || !isPartitioned()) {
+            return 0;
+        }
+
+        int ensured = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = from.plusMonths(i);
+            String partition = String.format("pawn_repayment_p%04d_%02d", month.getYear(), month.getMonthValue());
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition
+                    + " PARTITION OF pawn_repayment FOR VALUES FROM ('" + month.atDay(1)
+                    + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+                ensured++;
+            } catch (DataAccessException e) {
+                // Typically rows for this month already sit in the default partition
+                log.error("Could not create repayment partition {}: {}", partition, e.getMessage());
+            }
+        }
+        return ensured;
+    }
+
+    private boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid "
+                + "WHERE c.relname = 'pawn_repayment')", Boolean.class);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    public record ArchiveChunkResult(Long lastLoanId, int loansArchived, int repaymentsArchived) {}
+}
@@ -0,0 +1,157 @@
+package com.example.loan_origination_system.service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Branch-prefixed, monotonically increasing loan codes with a check digit,
+ * e.g. LOAN-001-0000001234-5.
+ *
+ * Business Rules:
+ * 1. The prefix is the issuing branch ID, zero-padded to 3 digits
+ * 2. The number comes from the loan_code_seq database sequence, zero-padded to 10 digits,
+ *    so codes sort in issue order and inserts append to the loan_code index
+ * 3. The last digit is a Luhn check digit over the branch and number digits,
+ *    catching any single-digit typo and most transpositions
+ *
+ * Numbers are reserved from the sequence in blocks of blockSize (the sequence's increment),
+ * so only one database round-trip is made per block. Each instance uses its own block,
+ * so with several instances codes are unique but only increasing per instance, and
+ * unused numbers in a block are skipped on restart.
+ */
+@Component
+@Slf4j
+public class SequenceLoanCodeGenerator implements LoanCodeGenerator {
+
+    public static final String SEQUENCE_NAME = "loan_code_seq";
+
+    private static final String PREFIX = "LOAN-";
+    private static final Pattern CODE_PATTERN = Pattern.compile("LOAN-(\\d{3,})-(\\d{10})-(\\d)");
+
+    private final LongSupplier nextBlockStart;
+    private final int blockSize;
+
+    // Next number to hand out and the end (exclusive) of the current block
+    private long next;
+    private long blockEnd;
+
+    /**
+     * The block size must equal the sequence's INCREMENT BY, otherwise blocks overlap;
+     * an existing sequence is never altered. Where Hibernate owns the schema (ddl-auto create,
+     * create-drop or update) the sequence is created on first use; elsewhere, e.g. prod with
+     * validate, it comes from the V2026_10_19_150000__add_loan_code_sequence migration.
+     */
+    @Autowired
+    public SequenceLoanCodeGenerator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${loan.code.block-size:50}") int blockSize,
+                                     @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        this(nextValueOf(jdbcTemplate, transactionManager, nextValueSql(entityManagerFactory), blockSize,
+            createsSchema(ddlAuto)), blockSize);
+    }
+
+    SequenceLoanCodeGenerator(LongSupplier nextBlockStart, int blockSize) {
+        this.nextBlockStart = nextBlockStart;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public synchronized String nextCode(Long branchId) {
+        if (next >= blockEnd) {
+            next = nextBlockStart.getAsLong();
+            blockEnd = next + blockSize;
+            log.debug("Reserved loan code block [{}, {})", next, blockEnd);
+        }
+        return format(branchId, next++);
+    }
+
+    @Override
+    public boolean isPlausible(String loanCode) {
+        Matcher matcher = CODE_PATTERN.matcher(loanCode);
+        if (!matcher.matches()) {
+            // Not one of ours (legacy or externally issued); let the lookup decide
+            return true;
+        }
+        return luhnCheckDigit(matcher.group(1) + matcher.group(2)) == matcher.group(3).charAt(0) - '0';
+    }
+
+    public static String format(long branchId, long number) {
+        String digits = String.format("%03d", branchId) + "-" + String.format("%010d", number);
+        return PREFIX + digits + "-" + luhnCheckDigit(digits);
+    }
+
+    /**
+     * Luhn (mod 10) check digit over the decimal digits of the input; other characters are ignored.
+     */
+    static int luhnCheckDigit(String input) {
+        int sum = 0;
+        boolean doubleIt = true;
+        for (int i = input.length() - 1; i >= 0; i--) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                continue;
+            }
+            int digit = c - '0';
+            if (doubleIt) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleIt = !doubleIt;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * The sequence's next-value query in the dialect's syntax, so the same code runs on PostgreSQL and H2.
+     */
+    private static String nextValueSql(EntityManagerFactory entityManagerFactory) {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        return dialect.getSequenceSupport().getSequenceNextValString(SEQUENCE_NAME);
+    }
+
+    static boolean createsSchema(String ddlAuto) {
+        return switch (ddlAuto.trim().toLowerCase()) {
+            case "create", "create-drop", "update" -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Return a supplier of the sequence's next value. With createSequence the sequence is created
+     * if needed on first use rather than at bean creation, so startup makes no database round-trip
+     * for it. The DDL runs in its own transaction, so a rollback of the loan that asked for the
+     * first code cannot undo it, and it is only taken as done once that transaction has committed.
+     */
+    static LongSupplier nextValueOf(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    String nextValueSql, int blockSize, boolean createSequence) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicBoolean created = new AtomicBoolean(!createSequence);
+        return () -> {
+            if (!created.get()) {
+                requiresNew.executeWithoutResult(status -> jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS "
+                    + SEQUENCE_NAME + " START WITH 1 INCREMENT BY " + blockSize));
+                created.set(true);
+            }
+            return jdbcTemplate.queryForObject(nextValueSql, Long.class);
+        };
+    }
+}
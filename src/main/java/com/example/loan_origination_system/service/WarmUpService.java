@@ -0,0 +1,333 @@
+package com.example.loan_origination_system.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.loan_origination_system.dto.ApiResponse;
+import com.example.loan_origination_system.dto.PawnLoanRequest;
+import com.example.loan_origination_system.dto.PawnRepaymentRequest;
+import com.example.loan_origination_system.mapper.PawnLoanMapper;
+import com.example.loan_origination_system.mapper.PawnRepaymentMapper;
+import com.example.loan_origination_system.model.enums.CollateralStatus;
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.enums.PaymentFrequency;
+import com.example.loan_origination_system.model.loan.LoanProductRule;
+import com.example.loan_origination_system.model.loan.PawnItem;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+import com.example.loan_origination_system.model.loan.PawnRepayment;
+import com.example.loan_origination_system.model.loan.RepaymentAllocation;
+import com.example.loan_origination_system.model.master.Branch;
+import com.example.loan_origination_system.model.master.Currency;
+import com.example.loan_origination_system.model.people.Customer;
+import com.example.loan_origination_system.repository.BranchRepository;
+import com.example.loan_origination_system.repository.CurrencyRepository;
+import com.example.loan_origination_system.repository.PawnLoanRepository;
+import com.example.loan_origination_system.repository.PawnRepaymentRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Warm-up run before the instance reports ready, so the first requests after a deploy
+ * do not pay for empty caches, query compilation and cold code paths.
+ *
+ * Steps, in order:
+ * 1. master-data: loan configuration index, ledger account IDs, currencies and branches
+ * 2. queries: every hot PawnLoanRepository / PawnRepaymentRepository query runs once against
+ *    keys that match nothing, in a rolled-back transaction, so Hibernate compiles and caches
+ *    its SQL plan
+ * 3. serialization: a sample loan and repayment are mapped to DTOs and written and read as
+ *    JSON, building the MapStruct and Jackson paths the controllers use
+ * 4. calculation: payment schedules and repayment allocation on the sample loan, so the JIT
+ *    compiles the origination and repayment arithmetic
+ *
+ * Runs as an ApplicationRunner: the web server already answers probes, but Spring Boot only
+ * publishes ReadinessState.ACCEPTING_TRAFFIC after runners return. WarmUpHealthIndicator
+ * reports progress in the readiness group. A failing step is logged and skipped, and
+ * remaining steps are skipped once the timeout has passed, so warm-up never blocks startup.
+ */
+@Service
+@Slf4j
+public class WarmUpService implements ApplicationRunner {
+
+    public enum Phase { PENDING, RUNNING, DONE, DISABLED }
+
+    private final PawnLoanRepository pawnLoanRepository;
+    private final PawnRepaymentRepository pawnRepaymentRepository;
+    private final CurrencyRepository currencyRepository;
+    private final BranchRepository branchRepository;
+    private final CfgLoanIndex cfgLoanIndex;
+    private final LedgerService ledgerService;
+    private final PawnLoanService pawnLoanService;
+    private final PawnLoanMapper pawnLoanMapper;
+    private final PawnRepaymentMapper pawnRepaymentMapper;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate rollbackOnly;
+    private final boolean enabled;
+    private final int iterations;
+    private final Duration timeout;
+
+    private final List<Step> steps;
+    private final Map<String, Long> completedSteps = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile Phase phase;
+    private volatile String currentStep;
+
+    public WarmUpService(PawnLoanRepository pawnLoanRepository,
+                         PawnRepaymentRepository pawnRepaymentRepository,
+                         CurrencyRepository currencyRepository,
+                         BranchRepository branchRepository,
+                         CfgLoanIndex cfgLoanIndex,
+                         LedgerService ledgerService,
+                         PawnLoanService pawnLoanService,
+                         PawnLoanMapper pawnLoanMapper,
+                         PawnRepaymentMapper pawnRepaymentMapper,
+                         JsonMapper jsonMapper,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${loan.warmup.enabled:true}") boolean enabled,
+                         @Value("${loan.warmup.iterations:2000}") int iterations,
+                         @Value("${loan.warmup.timeout:PT60S}") Duration timeout) {
+        this.pawnLoanRepository = pawnLoanRepository;
+        this.pawnRepaymentRepository = pawnRepaymentRepository;
+        this.currencyRepository = currencyRepository;
+        this.branchRepository = branchRepository;
+        this.cfgLoanIndex = cfgLoanIndex;
+        this.ledgerService = ledgerService;
+        this.pawnLoanService = pawnLoanService;
+        this.pawnLoanMapper = pawnLoanMapper;
+        this.pawnRepaymentMapper = pawnRepaymentMapper;
+        this.jsonMapper = jsonMapper;
+        this.rollbackOnly = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.timeout = timeout;
+        this.steps = List.of(
+            new Step("master-data", this::primeMasterData),
+            new Step("queries", this::compileQueries),
+            new Step("serialization", this::exerciseSerialization),
+            new Step("calculation", this::exerciseCalculation));
+        this.phase = enabled ? Phase.PENDING : Phase.DISABLED;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Run all steps once.
+     */
+    public void warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        phase = Phase.RUNNING;
+        for (Step step : steps) {
+            if (System.nanoTime() > deadline) {
+                log.warn("Warm-up timed out after {}; skipping {}", timeout, step.name());
+                continue;
+            }
+            currentStep = step.name();
+            long stepStart = System.nanoTime();
+            try {
+                int work = step.action().getAsInt();
+                long millis = (System.nanoTime() - stepStart) / 1_000_000;
+                completedSteps.put(step.name(), millis);
+                log.info("Warm-up step {} done in {} ms ({} operations)", step.name(), millis, work);
+            } catch (Exception e) {
+                log.warn("Warm-up step {} failed, continuing: {}", step.name(), e.getMessage());
+            }
+        }
+        currentStep = null;
+        phase = Phase.DONE;
+        log.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public String getCurrentStep() {
+        return currentStep;
+    }
+
+    public int getTotalSteps() {
+        return steps.size();
+    }
+
+    /**
+     * Completed step names with their duration in milliseconds, in completion order.
+     */
+    public Map<String, Long> getCompletedSteps() {
+        synchronized (completedSteps) {
+            return new LinkedHashMap<>(completedSteps);
+        }
+    }
+
+    private int primeMasterData() {
+        return cfgLoanIndex.loadAll()
+            + ledgerService.preloadAccountIds()
+            + currencyRepository.findAll().size()
+            + branchRepository.findAll().size();
+    }
+
+    private int compileQueries() {
+        LocalDate today = LocalDate.now();
+        Pageable page = PageRequest.of(0, 1);
+        List<Runnable> queries = List.of(
+            () -> pawnLoanRepository.findById(-1L),
+            () -> pawnLoanRepository.findByIdForUpdate(-1L),
+            () -> pawnLoanRepository.findByLoanCode(""),
+            () -> pawnLoanRepository.findStatusViewByLoanCode(""),
+            () -> pawnLoanRepository.isArchived(-1L),
+            () -> pawnLoanRepository.findByCustomerId(-1L, page),
+            () -> pawnLoanRepository.findByStatus(LoanStatus.ACTIVE, page),
+            () -> pawnLoanRepository.findAllActive(page),
+            () -> pawnLoanRepository.findLoansWithUpcomingRepayments(today, today, page),
+            () -> pawnLoanRepository.findCustomerLoansNeedingFollowUp(-1L),
+            () -> pawnLoanRepository.existsActiveLoanByCustomerId(-1L),
+            () -> pawnLoanRepository.existsActiveLoanByPawnItemId(-1L),
+            () -> pawnRepaymentRepository.findById(-1L),
+            () -> pawnRepaymentRepository.findByPawnLoanId(-1L, page),
+            () -> pawnRepaymentRepository.findByPawnLoanIdOrderByPaymentDateDesc(-1L),
+            () -> pawnRepaymentRepository.findByCustomerId(-1L, page),
+            () -> pawnRepaymentRepository.findByCustomerIdAndPaymentDateBetween(-1L, today, today, page),
+            () -> pawnRepaymentRepository.findByPaymentDateBetween(today, today, page));
+
+        rollbackOnly.executeWithoutResult(status -> {
+            queries.forEach(Runnable::run);
+            status.setRollbackOnly();
+        });
+        return queries.size();
+    }
+
+    private int exerciseSerialization() {
+        PawnLoan loan = sampleLoan();
+        PawnRepayment repayment = sampleRepayment(loan);
+        String loanRequest = jsonMapper.writeValueAsString(sampleLoanRequest());
+        String repaymentRequest = jsonMapper.writeValueAsString(sampleRepaymentRequest());
+
+        for (int i = 0; i < iterations; i++) {
+            jsonMapper.writeValueAsString(ApiResponse.success(loan));
+            jsonMapper.writeValueAsString(ApiResponse.success(pawnLoanMapper.toPawnLoanResponse(loan)));
+            jsonMapper.writeValueAsString(ApiResponse.success(repayment));
+            jsonMapper.writeValueAsString(ApiResponse.success(pawnRepaymentMapper.toPawnRepaymentResponse(repayment)));
+            jsonMapper.readValue(loanRequest, PawnLoanRequest.class);
+            jsonMapper.readValue(repaymentRequest, PawnRepaymentRequest.class);
+        }
+        return iterations * 6;
+    }
+
+    private int exerciseCalculation() {
+        PawnLoan loan = sampleLoan();
+        loan.setPaymentFrequency(PaymentFrequency.MONTHLY);
+        loan.setNumberOfInstallments(6);
+        loan.setAccruedInterest(new BigDecimal("12.50"));
+        loan.setAccruedPenalty(new BigDecimal("1.25"));
+        BigDecimal payment = new BigDecimal("150.00");
+
+        for (int i = 0; i < iterations; i++) {
+            pawnLoanService.calculateTotalPayableAmount(loan.getLoanAmount(), loan.getInterestRate());
+            pawnLoanService.generatePaymentSchedule(loan);
+            RepaymentAllocation.allocate(loan, payment, LoanProductRule.DEFAULT_ALLOCATION_ORDER).remainingBalance();
+            RepaymentAllocation.payoff(loan).totalDue();
+        }
+        return iterations * 4;
+    }
+
+    private static PawnLoan sampleLoan() {
+        Currency currency = new Currency();
+        currency.setId(1L);
+        currency.setCode("USD");
+        currency.setName("US Dollar");
+        currency.setSymbol("$");
+
+        Branch branch = new Branch();
+        branch.setId(1L);
+        branch.setName("Warm-up");
+
+        Customer customer = new Customer();
+        customer.setId(1L);
+        customer.setFullName("Warm-up Customer");
+        customer.setPhone("000");
+
+        PawnItem pawnItem = new PawnItem();
+        pawnItem.setId(1L);
+        pawnItem.setCustomer(customer);
+        pawnItem.setItemType("GOLD");
+        pawnItem.setDescription("Warm-up item");
+        pawnItem.setEstimatedValue(new BigDecimal("1500.00"));
+        pawnItem.setStatus(CollateralStatus.PAWNED);
+
+        PawnLoan loan = new PawnLoan();
+        loan.setId(1L);
+        loan.setLoanCode(SequenceLoanCodeGenerator.format(1L, 1L));
+        loan.setCustomer(customer);
+        loan.setPawnItem(pawnItem);
+        loan.setCurrency(currency);
+        loan.setBranch(branch);
+        loan.setLoanAmount(new BigDecimal("1000.00"));
+        loan.setInterestRate(new BigDecimal("3.00"));
+        loan.setTotalPayableAmount(new BigDecimal("1030.00"));
+        loan.setPenaltyRate(new BigDecimal("0.50"));
+        loan.setDueDate(LocalDate.now().plusDays(30));
+        loan.setLoanDurationDays(30);
+        loan.setStatus(LoanStatus.ACTIVE);
+        return loan;
+    }
+
+    private static PawnRepayment sampleRepayment(PawnLoan loan) {
+        PawnRepayment repayment = new PawnRepayment();
+        repayment.setId(1L);
+        repayment.setPawnLoan(loan);
+        repayment.setCurrency(loan.getCurrency());
+        repayment.setPaidAmount(new BigDecimal("150.00"));
+        repayment.setPrincipalPaid(new BigDecimal("120.00"));
+        repayment.setInterestPaid(new BigDecimal("30.00"));
+        repayment.setPenaltyPaid(BigDecimal.ZERO);
+        repayment.setRemainingPrincipal(new BigDecimal("880.00"));
+        repayment.setCreatedAt(LocalDateTime.now());
+        return repayment;
+    }
+
+    private static PawnLoanRequest sampleLoanRequest() {
+        PawnLoanRequest request = new PawnLoanRequest();
+        request.setCustomerId(1L);
+        request.setPawnItemId(1L);
+        request.setCurrencyId(1L);
+        request.setBranchId(1L);
+        request.setLoanAmount(new BigDecimal("1000.00"));
+        request.setInterestRate(new BigDecimal("3.00"));
+        request.setDueDate(LocalDate.now().plusDays(30));
+        return request;
+    }
+
+    private static PawnRepaymentRequest sampleRepaymentRequest() {
+        PawnRepaymentRequest request = new PawnRepaymentRequest();
+        request.setPawnLoanId(1L);
+        request.setCurrencyId(1L);
+        request.setPaymentMethodId(1L);
+        request.setPaymentTypeId(1L);
+        request.setPaidAmount(new BigDecimal("150.00"));
+        return request;
+    }
+
+    private record Step(String name, IntSupplier action) {}
+}
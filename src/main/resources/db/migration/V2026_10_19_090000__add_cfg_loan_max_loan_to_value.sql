@@ -0,0 +1,11 @@
+-- Migration: Add loan-to-value limit to loan product configuration
+-- Date: 2026-10-19
+-- Description: Makes the collateral loan-to-value ratio configurable per branch and currency.
+--              Origination falls back to 0.70 when the column is NULL.
+
+ALTER TABLE cfg_loan ADD COLUMN IF NOT EXISTS max_loan_to_value DECIMAL(5,4);
+
+-- Index used when compiling loan product rules per branch and currency
+CREATE INDEX IF NOT EXISTS idx_cfg_loan_branch_currency_status ON cfg_loan(branch_id, currency_id, status);
+
+COMMENT ON COLUMN cfg_loan.max_loan_to_value IS 'Maximum fraction of collateral estimated value that may be lent (default: 0.70)';
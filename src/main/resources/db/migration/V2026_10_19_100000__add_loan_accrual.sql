@@ -0,0 +1,28 @@
+-- Migration: Add incremental interest and penalty accrual
+-- Date: 2026-10-19
+-- Description: Running accrual totals on pawn_loan plus an append-only accrual ledger.
+--              The nightly accrual job only posts the days after last_accrual_date.
+
+ALTER TABLE pawn_loan ADD COLUMN IF NOT EXISTS accrued_interest DECIMAL(19,2) DEFAULT 0;
+ALTER TABLE pawn_loan ADD COLUMN IF NOT EXISTS accrued_penalty DECIMAL(19,2) DEFAULT 0;
+ALTER TABLE pawn_loan ADD COLUMN IF NOT EXISTS last_accrual_date DATE;
+
+CREATE TABLE IF NOT EXISTS pawn_loan_accrual (
+    id BIGSERIAL PRIMARY KEY,
+    pawn_loan_id BIGINT NOT NULL REFERENCES pawn_loan(id),
+    period_start DATE,
+    accrual_date DATE NOT NULL,
+    days INTEGER,
+    interest_accrued DECIMAL(19,2),
+    penalty_accrued DECIMAL(19,2),
+    cumulative_interest DECIMAL(19,2),
+    cumulative_penalty DECIMAL(19,2),
+    outstanding_balance DECIMAL(19,2),
+    created_at TIMESTAMP DEFAULT NOW(),
+    CONSTRAINT uk_pawn_loan_accrual_loan_date UNIQUE (pawn_loan_id, accrual_date)
+);
+
+-- Keyset scan used by the accrual job (status filter, ordered by id)
+CREATE INDEX IF NOT EXISTS idx_pawn_loan_status_id ON pawn_loan(status, id);
+
+COMMENT ON COLUMN pawn_loan.last_accrual_date IS 'Last date interest and penalty were accrued up to (inclusive)';
@@ -0,0 +1,53 @@
+-- Migration: Add double-entry ledger
+-- Date: 2026-10-19
+-- Description: Ledger accounts per branch and currency with running balances,
+--              immutable journal entries/lines, and monthly rollups for trial balances.
+
+CREATE TABLE IF NOT EXISTS ledger_account (
+    id BIGSERIAL PRIMARY KEY,
+    branch_id BIGINT NOT NULL REFERENCES m_branch(id),
+    currency_id BIGINT NOT NULL REFERENCES m_currency(id),
+    account_type VARCHAR(50) NOT NULL,
+    balance DECIMAL(19,2) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT NOW(),
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_ledger_account_branch_currency_type UNIQUE (branch_id, currency_id, account_type)
+);
+
+CREATE TABLE IF NOT EXISTS journal_entry (
+    id BIGSERIAL PRIMARY KEY,
+    entry_date DATE NOT NULL,
+    source VARCHAR(50) NOT NULL,
+    source_id BIGINT,
+    pawn_loan_id BIGINT REFERENCES pawn_loan(id),
+    branch_id BIGINT NOT NULL REFERENCES m_branch(id),
+    currency_id BIGINT NOT NULL REFERENCES m_currency(id),
+    description VARCHAR(255),
+    created_at TIMESTAMP DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS journal_line (
+    id BIGSERIAL PRIMARY KEY,
+    journal_entry_id BIGINT NOT NULL REFERENCES journal_entry(id),
+    ledger_account_id BIGINT NOT NULL REFERENCES ledger_account(id),
+    debit DECIMAL(19,2) NOT NULL DEFAULT 0,
+    credit DECIMAL(19,2) NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS ledger_period_balance (
+    id BIGSERIAL PRIMARY KEY,
+    ledger_account_id BIGINT NOT NULL REFERENCES ledger_account(id),
+    period_start DATE NOT NULL,
+    debit_total DECIMAL(19,2) NOT NULL DEFAULT 0,
+    credit_total DECIMAL(19,2) NOT NULL DEFAULT 0,
+    CONSTRAINT uk_ledger_period_balance_account_period UNIQUE (ledger_account_id, period_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_journal_entry_pawn_loan ON journal_entry(pawn_loan_id);
+CREATE INDEX IF NOT EXISTS idx_journal_line_entry ON journal_line(journal_entry_id);
+CREATE INDEX IF NOT EXISTS idx_journal_line_account ON journal_line(ledger_account_id);
+
+-- Entries and lines are append-only
+REVOKE UPDATE, DELETE ON journal_entry, journal_line FROM PUBLIC;
+
+COMMENT ON COLUMN ledger_account.balance IS 'Running balance (debits minus credits), updated on every posting';
@@ -0,0 +1,27 @@
+-- Migration: Server-side repayment allocation
+-- Date: 2026-10-19
+-- Description: Running repayment totals on pawn_loan so allocations read persisted state,
+--              and a configurable allocation order on cfg_loan.
+
+ALTER TABLE pawn_loan ADD COLUMN IF NOT EXISTS principal_paid DECIMAL(19,2) DEFAULT 0;
+ALTER TABLE pawn_loan ADD COLUMN IF NOT EXISTS interest_paid DECIMAL(19,2) DEFAULT 0;
+ALTER TABLE pawn_loan ADD COLUMN IF NOT EXISTS penalty_paid DECIMAL(19,2) DEFAULT 0;
+
+-- Backfill running totals from existing repayments
+UPDATE pawn_loan l
+SET principal_paid = r.principal_paid,
+    interest_paid = r.interest_paid,
+    penalty_paid = r.penalty_paid
+FROM (
+    SELECT pawn_loan_id,
+           COALESCE(SUM(principal_paid), 0) AS principal_paid,
+           COALESCE(SUM(interest_paid), 0) AS interest_paid,
+           COALESCE(SUM(penalty_paid), 0) AS penalty_paid
+    FROM pawn_repayment
+    GROUP BY pawn_loan_id
+) r
+WHERE r.pawn_loan_id = l.id;
+
+ALTER TABLE cfg_loan ADD COLUMN IF NOT EXISTS allocation_order VARCHAR(50);
+
+COMMENT ON COLUMN cfg_loan.allocation_order IS 'Repayment waterfall (default: PENALTY,INTEREST,PRINCIPAL)';
@@ -0,0 +1,13 @@
+-- Migration: Persist Telegram bot conversation state
+-- Date: 2026-10-19
+-- Description: Optional write-through store for in-flight bot conversations
+--              (enabled with telegram.bot.state.persistent=true).
+
+CREATE TABLE IF NOT EXISTS bot_chat_session (
+    chat_id BIGINT PRIMARY KEY,
+    state VARCHAR(50) NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- Used by the idle-session sweep
+CREATE INDEX IF NOT EXISTS idx_bot_chat_session_updated_at ON bot_chat_session(updated_at);
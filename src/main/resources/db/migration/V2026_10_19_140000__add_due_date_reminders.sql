@@ -0,0 +1,24 @@
+-- Migration: Due-date reminders via Telegram
+-- Date: 2026-10-19
+-- Description: Link customers to Telegram chats, index reminder selection,
+--              and keep undeliverable reminders in a dead-letter table.
+
+ALTER TABLE m_customer ADD COLUMN IF NOT EXISTS telegram_chat_id BIGINT;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_m_customer_telegram_chat_id ON m_customer(telegram_chat_id);
+
+-- Reminder queries filter on status and due date, then page by id
+CREATE INDEX IF NOT EXISTS idx_pawn_loan_status_due_date ON pawn_loan(status, due_date, id);
+
+CREATE TABLE IF NOT EXISTS bot_reminder_dead_letter (
+    id BIGSERIAL PRIMARY KEY,
+    pawn_loan_id BIGINT NOT NULL,
+    loan_code VARCHAR(255),
+    chat_id BIGINT NOT NULL,
+    reminder_type VARCHAR(50) NOT NULL,
+    message TEXT,
+    attempts INTEGER,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_bot_reminder_dead_letter_loan ON bot_reminder_dead_letter(pawn_loan_id);
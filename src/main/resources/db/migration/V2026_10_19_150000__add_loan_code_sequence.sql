@@ -0,0 +1,7 @@
+-- Migration: Sequential loan codes
+-- Date: 2026-10-19
+-- Description: Sequence behind SequenceLoanCodeGenerator. Each nextval reserves a block
+--              of 50 numbers; INCREMENT BY must equal loan.code.block-size.
+--              Codes look like LOAN-001-0000001234-5 (branch, number, Luhn check digit).
+
+CREATE SEQUENCE IF NOT EXISTS loan_code_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,29 @@
+-- Migration: Pooled sequence IDs for write-heavy tables
+-- Date: 2026-10-19
+-- Description: IDENTITY ids force Hibernate to insert row by row. These tables now take ids
+--              from a sequence with INCREMENT BY 50 (Hibernate pooled optimizer, allocationSize = 50),
+--              which lets inserts be batched (hibernate.jdbc.batch_size).
+--
+-- The pooled optimizer hands out (value - 49 .. value] for each nextval, so every sequence
+-- starts at MAX(id) + 50 to keep new ids above existing rows.
+-- The old column default/identity is dropped; ids are always supplied by the application.
+
+DO $$
+DECLARE
+    t TEXT;
+    max_id BIGINT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY[
+        'm_customer', 'pawn_item', 'pawn_loan', 'pawn_repayment', 'pawn_loan_accrual',
+        'ledger_account', 'journal_entry', 'journal_line', 'ledger_period_balance',
+        'bot_reminder_dead_letter'
+    ]
+    LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', t || '_seq');
+        EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', t) INTO max_id;
+        PERFORM setval(t || '_seq', max_id + 50, false);
+
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', t);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', t);
+    END LOOP;
+END $$;
@@ -0,0 +1,74 @@
+-- Migration: Monthly partitioning of pawn_repayment and a cold archive for closed loans
+-- Date: 2026-10-19
+-- Description: pawn_repayment becomes range-partitioned by payment_date (one partition per month),
+--              so history queries and the archive job's deletes touch only the relevant months.
+--              Repayments of loans closed longer than loan.archive.retention-days are moved to
+--              pawn_repayment_archive by RepaymentArchiveService; pawn_loan.archived_at marks them.
+--
+-- A partitioned table's primary key must include the partition key, so the key becomes
+-- (id, payment_date). ids still come from pawn_repayment_seq and stay unique on their own.
+-- Future partitions are created by the nightly archive job (partition-months-ahead);
+-- the DEFAULT partition only catches rows outside every monthly range.
+
+BEGIN;
+
+ALTER TABLE pawn_repayment RENAME TO pawn_repayment_unpartitioned;
+
+UPDATE pawn_repayment_unpartitioned SET payment_date = created_at::date WHERE payment_date IS NULL;
+
+CREATE TABLE pawn_repayment (
+    LIKE pawn_repayment_unpartitioned INCLUDING DEFAULTS,
+    PRIMARY KEY (id, payment_date)
+) PARTITION BY RANGE (payment_date);
+
+ALTER TABLE pawn_repayment ALTER COLUMN payment_date SET NOT NULL;
+
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE := date_trunc('month', CURRENT_DATE + INTERVAL '3 months')::date;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(payment_date))::date, date_trunc('month', CURRENT_DATE)::date)
+      INTO month_start
+      FROM pawn_repayment_unpartitioned;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF pawn_repayment FOR VALUES FROM (%L) TO (%L)',
+            'pawn_repayment_p' || to_char(month_start, 'YYYY_MM'),
+            month_start, (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+CREATE TABLE pawn_repayment_default PARTITION OF pawn_repayment DEFAULT;
+
+INSERT INTO pawn_repayment SELECT * FROM pawn_repayment_unpartitioned;
+
+DROP TABLE pawn_repayment_unpartitioned;
+
+ALTER TABLE pawn_repayment
+    ADD CONSTRAINT fk_pawn_repayment_loan FOREIGN KEY (pawn_loan_id) REFERENCES pawn_loan(id),
+    ADD CONSTRAINT fk_pawn_repayment_currency FOREIGN KEY (currency_id) REFERENCES m_currency(id),
+    ADD CONSTRAINT fk_pawn_repayment_payment_method FOREIGN KEY (payment_method_id) REFERENCES m_payment_method(id),
+    ADD CONSTRAINT fk_pawn_repayment_payment_type FOREIGN KEY (payment_type_id) REFERENCES m_payment_type(id),
+    ADD CONSTRAINT fk_pawn_repayment_received_by FOREIGN KEY (received_by) REFERENCES m_user(id);
+
+CREATE INDEX idx_pawn_repayment_loan ON pawn_repayment (pawn_loan_id, payment_date);
+
+-- Cold storage: same columns, plain table keyed by the original id
+CREATE TABLE pawn_repayment_archive (
+    LIKE pawn_repayment INCLUDING DEFAULTS,
+    archived_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE pawn_repayment_archive
+    ADD CONSTRAINT fk_pawn_repayment_archive_loan FOREIGN KEY (pawn_loan_id) REFERENCES pawn_loan(id);
+
+CREATE INDEX idx_pawn_repayment_archive_loan ON pawn_repayment_archive (pawn_loan_id, payment_date);
+
+ALTER TABLE pawn_loan ADD COLUMN archived_at TIMESTAMP;
+
+CREATE INDEX idx_pawn_loan_archivable ON pawn_loan (status, id) WHERE archived_at IS NULL;
+
+COMMIT;
@@ -0,0 +1,20 @@
+-- Migration: Portfolio snapshot for dashboard KPIs
+-- Date: 2026-10-19
+-- Description: One row per branch, currency, dimension and bucket (loan status, held collateral
+--              status, PAR bucket, payment month). Rows are updated in place as loans transition
+--              and repayments post, and recomputed by the nightly refresh (loan.portfolio.refresh-cron).
+--              The application fills the table on first start when it is empty.
+
+CREATE SEQUENCE IF NOT EXISTS portfolio_snapshot_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS portfolio_snapshot (
+    id BIGINT PRIMARY KEY,
+    branch_id BIGINT NOT NULL REFERENCES m_branch(id),
+    currency_id BIGINT NOT NULL REFERENCES m_currency(id),
+    dimension VARCHAR(30) NOT NULL,
+    bucket VARCHAR(30) NOT NULL,
+    item_count BIGINT NOT NULL DEFAULT 0,
+    amount DECIMAL(19,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_portfolio_snapshot UNIQUE (branch_id, currency_id, dimension, bucket)
+);
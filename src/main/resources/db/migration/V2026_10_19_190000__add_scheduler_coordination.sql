@@ -0,0 +1,39 @@
+-- Migration: Cluster coordination for scheduled jobs
+-- Date: 2026-10-19
+-- Description: Every replica fires the same crons. scheduler_lock lets one node own an exclusive
+--              job run (overdue detection, grace period expiry, reports, archive, reminders).
+--              scheduler_node records live nodes by heartbeat; scheduler_shard splits a sharded
+--              job run (nightly accrual) into loan-ID ranges that nodes claim, checkpoint and,
+--              when the owner's heartbeat goes stale, take over.
+
+CREATE TABLE IF NOT EXISTS scheduler_lock (
+    name VARCHAR(64) PRIMARY KEY,
+    lock_until TIMESTAMP NOT NULL,
+    locked_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS scheduler_node (
+    node_id VARCHAR(255) PRIMARY KEY,
+    started_at TIMESTAMP NOT NULL,
+    heartbeat_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS scheduler_shard (
+    id BIGSERIAL PRIMARY KEY,
+    job_name VARCHAR(64) NOT NULL,
+    run_key VARCHAR(32) NOT NULL,
+    shard_no INTEGER NOT NULL,
+    from_id BIGINT NOT NULL,
+    to_id BIGINT NOT NULL,
+    cursor_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    owner VARCHAR(255),
+    processed BIGINT NOT NULL DEFAULT 0,
+    planned_at TIMESTAMP NOT NULL,
+    heartbeat_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    CONSTRAINT uk_scheduler_shard UNIQUE (job_name, run_key, shard_no)
+);
+
+CREATE INDEX IF NOT EXISTS idx_scheduler_shard_status ON scheduler_shard(status, heartbeat_at);
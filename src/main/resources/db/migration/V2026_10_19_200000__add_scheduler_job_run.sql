@@ -0,0 +1,14 @@
+-- Migration: Job-run ledger for daily lifecycle jobs
+-- Date: 2026-10-19
+-- Description: Last business date each daily job (accrual, overdue detection, grace period
+--              expiry) completed for. Runs process every date since then, and missed dates
+--              are replayed on startup in cron order.
+--              Overdue and default stamps now come from the loan's own dates (due date,
+--              grace period end) rather than the time the job ran.
+
+CREATE TABLE IF NOT EXISTS scheduler_job_run (
+    job_name VARCHAR(64) PRIMARY KEY,
+    last_business_date DATE NOT NULL,
+    completed_at TIMESTAMP NOT NULL,
+    completed_by VARCHAR(255)
+);
@@ -1,15 +1,36 @@
 package com.example.loan_origination_system;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.health.contributor.Status;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.example.loan_origination_system.metrics.WarmUpHealthIndicator;
+import com.example.loan_origination_system.service.WarmUpService;
+
 @SpringBootTest
 @ActiveProfiles("test-h2")
 class LoanOriginationSystemApplicationTests {
 
+	@Autowired
+	private WarmUpService warmUpService;
+
+	@Autowired
+	private WarmUpHealthIndicator warmUpHealthIndicator;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void warmUpRunsEveryStepBeforeReadiness() {
+		assertThat(warmUpService.getPhase()).isEqualTo(WarmUpService.Phase.DONE);
+		assertThat(warmUpService.getCompletedSteps())
+			.containsOnlyKeys("master-data", "queries", "serialization", "calculation");
+		assertThat(warmUpHealthIndicator.health().getStatus()).isEqualTo(Status.UP);
+	}
+
 }
@@ -0,0 +1,93 @@
+package com.example.loan_origination_system.bot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.loan_origination_system.model.bot.ChatSession;
+import com.example.loan_origination_system.model.enums.ConversationState;
+import com.example.loan_origination_system.repository.ChatSessionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConversationStateStoreTests {
+
+	private final ChatSessionRepository chatSessionRepository = mock(ChatSessionRepository.class);
+	private final MutableClock clock = new MutableClock(Instant.parse("2026-10-19T08:00:00Z"));
+
+	@Test
+	void expiresIdleChatsAndCapsMemory() {
+		ConversationStateStore store = store(3, false);
+
+		for (long chatId = 1; chatId <= 5; chatId++) {
+			store.set(chatId, ConversationState.AWAITING_LOAN_CODE);
+		}
+
+		// Oldest chats were evicted to stay within the cap
+		assertThat(store.size()).isEqualTo(3);
+		assertThat(store.get(1)).isEqualTo(ConversationState.IDLE);
+		assertThat(store.get(5)).isEqualTo(ConversationState.AWAITING_LOAN_CODE);
+
+		clock.advance(Duration.ofMinutes(31));
+		assertThat(store.get(5)).isEqualTo(ConversationState.IDLE);
+
+		store.evictExpired();
+		assertThat(store.size()).isZero();
+	}
+
+	@Test
+	void reloadsPersistedStateAfterRestart() {
+		ChatSession session = new ChatSession();
+		session.setChatId(42L);
+		session.setState(ConversationState.AWAITING_LOAN_CODE);
+		session.setUpdatedAt(LocalDateTime.ofInstant(clock.instant().minus(Duration.ofMinutes(5)), ZoneOffset.UTC));
+		when(chatSessionRepository.findById(42L)).thenReturn(Optional.of(session));
+
+		ConversationStateStore store = store(10, true);
+
+		assertThat(store.get(42)).isEqualTo(ConversationState.AWAITING_LOAN_CODE);
+		assertThat(store.get(7)).isEqualTo(ConversationState.IDLE);
+	}
+
+	private ConversationStateStore store(int maxChats, boolean persistent) {
+		return new ConversationStateStore(chatSessionRepository, new SimpleMeterRegistry(),
+			Duration.ofMinutes(30), maxChats, persistent, clock);
+	}
+
+	private static final class MutableClock extends Clock {
+		private Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
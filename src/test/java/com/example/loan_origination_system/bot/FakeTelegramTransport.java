@@ -0,0 +1,26 @@
+package com.example.loan_origination_system.bot;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+
+/**
+ * In-memory transport that records outbound messages instead of calling Telegram.
+ */
+class FakeTelegramTransport implements TelegramTransport {
+
+	private final List<SendMessage> sent = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void send(SendMessage message) {
+		sent.add(message);
+	}
+
+	List<String> textsFor(long chatId) {
+		return sent.stream()
+			.filter(message -> message.getChatId().equals(String.valueOf(chatId)))
+			.map(SendMessage::getText)
+			.toList();
+	}
+}
@@ -0,0 +1,113 @@
+package com.example.loan_origination_system.bot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.telegram.telegrambots.meta.api.objects.Chat;
+import org.telegram.telegrambots.meta.api.objects.Message;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.loan.LoanStatusView;
+import com.example.loan_origination_system.repository.ChatSessionRepository;
+import com.example.loan_origination_system.repository.PawnLoanRepository;
+import com.example.loan_origination_system.service.LoanCodeGenerator;
+import com.example.loan_origination_system.service.LoanStatusCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PawnShopTelegramBotTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final PawnLoanRepository pawnLoanRepository = mock(PawnLoanRepository.class);
+	private final LoanCodeGenerator loanCodeGenerator = mock(LoanCodeGenerator.class);
+	private final LoanStatusCache loanStatusCache =
+		new LoanStatusCache(pawnLoanRepository, loanCodeGenerator, meterRegistry, Duration.ofMinutes(10), 100);
+	private final UpdateDispatcher dispatcher = new UpdateDispatcher(100, 1000, meterRegistry);
+	private final TelegramRateLimiter rateLimiter = new TelegramRateLimiter(1000, 1000, 10, meterRegistry);
+	private final FakeTelegramTransport transport = new FakeTelegramTransport();
+	private final ConversationStateStore conversationStates = new ConversationStateStore(
+		mock(ChatSessionRepository.class), meterRegistry, Duration.ofMinutes(30), 1000, false, Clock.systemUTC());
+	private final PawnShopTelegramBot bot = new PawnShopTelegramBot(
+		"dummy-token", loanStatusCache, dispatcher, rateLimiter, conversationStates, transport);
+
+	@AfterEach
+	void shutdown() throws InterruptedException {
+		dispatcher.destroy();
+	}
+
+	@Test
+	void processesEachChatsUpdatesInOrder() throws InterruptedException {
+		LoanStatusView loan = new LoanStatusView("LOAN-000001", new BigDecimal("250.00"),
+			LocalDate.of(2026, 11, 30), LoanStatus.ACTIVE, new BigDecimal("275.00"));
+		when(loanCodeGenerator.isPlausible("LOAN-000001")).thenReturn(true);
+		when(pawnLoanRepository.findStatusViewByLoanCode("LOAN-000001")).thenReturn(Optional.of(loan));
+
+		for (long chatId = 1; chatId <= 20; chatId++) {
+			bot.onUpdateReceived(textUpdate(chatId, "/start"));
+			bot.onUpdateReceived(textUpdate(chatId, "1"));
+			bot.onUpdateReceived(textUpdate(chatId, "LOAN-000001"));
+		}
+		awaitIdle();
+
+		for (long chatId = 1; chatId <= 20; chatId++) {
+			assertThat(transport.textsFor(chatId))
+				.hasSize(3)
+				.satisfies(texts -> {
+					assertThat(texts.get(0)).contains("Welcome");
+					assertThat(texts.get(1)).contains("Loan Code");
+					assertThat(texts.get(2)).contains("LOAN-000001");
+				});
+		}
+
+		// Once loaded, further lookups are answered from the status cache
+		clearInvocations(pawnLoanRepository);
+		bot.onUpdateReceived(textUpdate(21, "1"));
+		bot.onUpdateReceived(textUpdate(21, "LOAN-000001"));
+		awaitIdle();
+		assertThat(transport.textsFor(21)).last().asString().contains("Remaining: $275.00");
+		verify(pawnLoanRepository, never()).findStatusViewByLoanCode("LOAN-000001");
+	}
+
+	@Test
+	void tokenBucketDelaysOnceBurstIsSpent() {
+		TelegramRateLimiter.TokenBucket bucket = new TelegramRateLimiter.TokenBucket(2, 1.0);
+
+		assertThat(bucket.reserve()).isZero();
+		assertThat(bucket.reserve()).isZero();
+		assertThat(bucket.reserve()).isBetween(TimeUnit.MILLISECONDS.toNanos(900), TimeUnit.SECONDS.toNanos(1));
+		assertThat(bucket.reserve()).isBetween(TimeUnit.MILLISECONDS.toNanos(1900), TimeUnit.SECONDS.toNanos(2));
+	}
+
+	private void awaitIdle() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (dispatcher.pendingUpdates() > 0 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(dispatcher.pendingUpdates()).isZero();
+	}
+
+	private static Update textUpdate(long chatId, String text) {
+		Chat chat = new Chat();
+		chat.setId(chatId);
+		Message message = new Message();
+		message.setChat(chat);
+		message.setText(text);
+		Update update = new Update();
+		update.setMessage(message);
+		return update;
+	}
+}
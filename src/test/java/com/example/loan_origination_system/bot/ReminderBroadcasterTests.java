@@ -0,0 +1,125 @@
+package com.example.loan_origination_system.bot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.telegram.telegrambots.meta.api.objects.ApiResponse;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import com.example.loan_origination_system.model.bot.ReminderDeadLetter;
+import com.example.loan_origination_system.model.bot.ReminderTarget;
+import com.example.loan_origination_system.model.enums.ReminderType;
+import com.example.loan_origination_system.repository.PawnLoanRepository;
+import com.example.loan_origination_system.repository.ReminderDeadLetterRepository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReminderBroadcasterTests {
+
+	private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+	private static final long BLOCKED_CHAT = 7L;
+	private static final long FLAKY_CHAT = 8L;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final PawnLoanRepository pawnLoanRepository = mock(PawnLoanRepository.class);
+	private final ReminderDeadLetterRepository deadLetterRepository = mock(ReminderDeadLetterRepository.class);
+	private final FakeTelegramTransport delivered = new FakeTelegramTransport();
+	private final AtomicInteger flakyFailures = new AtomicInteger();
+
+	// Blocked chat fails permanently; flaky chat fails once with a server error, then succeeds
+	private final TelegramTransport transport = message -> {
+		long chatId = Long.parseLong(message.getChatId());
+		if (chatId == BLOCKED_CHAT) {
+			throw apiError(403, "Forbidden: bot was blocked by the user");
+		}
+		if (chatId == FLAKY_CHAT && flakyFailures.getAndIncrement() == 0) {
+			throw apiError(502, "Bad Gateway");
+		}
+		delivered.send(message);
+	};
+
+	private final ReminderBroadcaster broadcaster = new ReminderBroadcaster(pawnLoanRepository, deadLetterRepository,
+		transport, new TelegramRateLimiter(10_000, 10_000, 100, meterRegistry), meterRegistry, 3, 4, 3, 3, 1);
+
+	@AfterEach
+	void shutdown() {
+		broadcaster.destroy();
+	}
+
+	@Test
+	void fansOutPagedTargetsWithRetryAndDeadLetter() throws Exception {
+		// Ten due-soon targets served in pages of four; one overdue target
+		List<ReminderTarget> dueSoon = LongStream.rangeClosed(1, 10)
+			.mapToObj(id -> target(id, id, TODAY.plusDays(3)))
+			.toList();
+		when(pawnLoanRepository.findReminderTargetsDueOn(anyList(), eq(TODAY.plusDays(3)), any(), any(Pageable.class)))
+			.thenAnswer(invocation -> page(dueSoon, invocation.getArgument(2), invocation.getArgument(3)));
+		when(pawnLoanRepository.findOverdueReminderTargets(eq(TODAY), any(), any(Pageable.class)))
+			.thenAnswer(invocation -> page(List.of(target(11L, 11L, TODAY.minusDays(5))),
+				invocation.getArgument(1), invocation.getArgument(2)));
+
+		ReminderBroadcaster.BroadcastResult result = broadcaster.broadcastAsync(TODAY).get(10, TimeUnit.SECONDS);
+
+		assertThat(result.targets()).isEqualTo(11);
+		assertThat(result.sent()).isEqualTo(10);
+		assertThat(result.deadLettered()).isEqualTo(1);
+		assertThat(delivered.textsFor(FLAKY_CHAT)).singleElement().asString().contains("LOAN-000008");
+		assertThat(delivered.textsFor(11L)).singleElement().asString().contains("5 days ago");
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<ReminderDeadLetter>> deadLetters = ArgumentCaptor.forClass(List.class);
+		verify(deadLetterRepository).saveAll(deadLetters.capture());
+		assertThat(deadLetters.getValue()).singleElement().satisfies(deadLetter -> {
+			assertThat(deadLetter.getChatId()).isEqualTo(BLOCKED_CHAT);
+			assertThat(deadLetter.getReminderType()).isEqualTo(ReminderType.DUE_SOON);
+			assertThat(deadLetter.getAttempts()).isEqualTo(1);
+		});
+	}
+
+	private static List<ReminderTarget> page(List<ReminderTarget> targets, Long afterId, Pageable pageable) {
+		List<ReminderTarget> page = new ArrayList<>();
+		for (ReminderTarget target : targets) {
+			if (target.loanId() > afterId && page.size() < pageable.getPageSize()) {
+				page.add(target);
+			}
+		}
+		return page;
+	}
+
+	private static ReminderTarget target(long loanId, long chatId, LocalDate dueDate) {
+		return new ReminderTarget(loanId, String.format("LOAN-%06d", loanId), chatId, dueDate,
+			new BigDecimal("120.00"), "USD");
+	}
+
+	private static TelegramApiRequestException apiError(int code, String description) {
+		try {
+			ApiResponse<Object> response = new ObjectMapper().readValue(
+				"{\"ok\":false,\"error_code\":" + code + ",\"description\":\"" + description + "\"}",
+				new TypeReference<>() {});
+			return new TelegramApiRequestException("Error sending message", response);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.example.loan_origination_system.bot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.telegram.telegrambots.meta.TelegramBotsApi;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.generics.BotSession;
+import org.telegram.telegrambots.meta.generics.LongPollingBot;
+
+class TelegramBotRegistrarTests {
+
+	private final TelegramBotsApi telegramBotsApi = mock(TelegramBotsApi.class);
+	private final LongPollingBot bot = mock(LongPollingBot.class);
+	private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+	@AfterEach
+	void shutdown() {
+		scheduler.shutdown();
+	}
+
+	@Test
+	void registrationIsRetriedUntilTelegramIsReachable() throws Exception {
+		BotSession session = mock(BotSession.class);
+		when(telegramBotsApi.registerBot(bot))
+			.thenThrow(new TelegramApiException("connect timed out"))
+			.thenThrow(new TelegramApiException("connect timed out"))
+			.thenReturn(session);
+		scheduler.initialize();
+		TelegramBotRegistrar registrar = new TelegramBotRegistrar(telegramBotsApi, bot, scheduler,
+			Duration.ofMillis(10), Duration.ofMillis(50));
+
+		registrar.registerOnStartup();
+
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!registrar.isRegistered() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(registrar.isRegistered()).isTrue();
+		verify(telegramBotsApi, times(3)).registerBot(bot);
+	}
+
+	@Test
+	void backoffDoublesUpToTheCap() {
+		TelegramBotRegistrar registrar = new TelegramBotRegistrar(telegramBotsApi, bot, scheduler,
+			Duration.ofSeconds(5), Duration.ofMinutes(5));
+
+		assertThat(registrar.backoff(0)).isEqualTo(Duration.ofSeconds(5));
+		assertThat(registrar.backoff(3)).isEqualTo(Duration.ofSeconds(40));
+		assertThat(registrar.backoff(7)).isEqualTo(Duration.ofMinutes(5));
+		assertThat(registrar.backoff(60)).isEqualTo(Duration.ofMinutes(5));
+	}
+}
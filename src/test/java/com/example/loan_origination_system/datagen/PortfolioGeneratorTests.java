@@ -0,0 +1,80 @@
+package com.example.loan_origination_system.datagen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.people.Customer;
+import com.example.loan_origination_system.repository.CustomerRepository;
+
+/**
+ * Generates a small portfolio and checks it is internally consistent and leaves the
+ * sequences ahead of the generated IDs. Runs outside a test transaction, since the
+ * generator commits per batch, on its own in-memory database. The datagen profile only
+ * enables the generator; the slice does not pick up PortfolioGeneratorRunner.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:datagen")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"test-h2", "datagen"})
+@Import(PortfolioGenerator.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PortfolioGeneratorTests {
+
+	private static final LocalDate AS_OF = LocalDate.of(2026, 10, 19);
+
+	@Autowired
+	private PortfolioGenerator portfolioGenerator;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void generatesConsistentPortfolioAndAdvancesSequences() {
+		GenerationResult result = portfolioGenerator.generate(new PortfolioSpec(2_000, 500, 3, 12, 250, 7L, AS_OF));
+
+		assertThat(result.loansByStatus().keySet()).isEqualTo(EnumSet.allOf(LoanStatus.class));
+		assertThat(result.loansByStatus().values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(2_000);
+		assertThat(count("SELECT COUNT(*) FROM pawn_loan")).isEqualTo(2_000);
+		assertThat(count("SELECT COUNT(*) FROM pawn_item")).isEqualTo(2_000);
+		assertThat(count("SELECT COUNT(*) FROM m_customer")).isEqualTo(500);
+		assertThat(count("SELECT COUNT(*) FROM pawn_repayment")).isEqualTo(result.repayments()).isPositive();
+		assertThat(count("SELECT COUNT(DISTINCT loan_code) FROM pawn_loan")).isEqualTo(2_000);
+
+		// Redeemed loans are paid in full; every loan's repayments add up to what it records as paid
+		assertThat(count("SELECT COUNT(*) FROM pawn_loan WHERE status = 'REDEEMED' "
+			+ "AND principal_paid + interest_paid <> total_payable_amount")).isZero();
+		assertThat(count("SELECT COUNT(*) FROM pawn_loan l LEFT JOIN (SELECT pawn_loan_id, SUM(principal_paid) p, "
+			+ "SUM(interest_paid) i FROM pawn_repayment GROUP BY pawn_loan_id) r ON r.pawn_loan_id = l.id "
+			+ "WHERE COALESCE(r.p, 0) <> l.principal_paid OR COALESCE(r.i, 0) <> l.interest_paid")).isZero();
+		assertThat(count("SELECT COUNT(*) FROM pawn_loan WHERE status IN ('ACTIVE', 'PARTIALLY_PAID') "
+			+ "AND due_date < ?", AS_OF)).isZero();
+		assertThat(count("SELECT COUNT(*) FROM pawn_loan WHERE status = 'DEFAULTED' "
+			+ "AND grace_period_end_date >= ?", AS_OF)).isZero();
+
+		// The application keeps allocating above the generated rows
+		Customer customer = new Customer();
+		customer.setFullName("After Generation");
+		customer.setIdNumber("AFTER1");
+		Long maxGenerated = jdbcTemplate.queryForObject("SELECT MAX(id) FROM m_customer", Long.class);
+		assertThat(customerRepository.save(customer).getId()).isGreaterThan(maxGenerated);
+	}
+
+	private long count(String sql, Object... args) {
+		return jdbcTemplate.queryForObject(sql, Long.class, args);
+	}
+}
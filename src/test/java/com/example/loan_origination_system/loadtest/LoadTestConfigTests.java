@@ -0,0 +1,41 @@
+package com.example.loan_origination_system.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class LoadTestConfigTests {
+
+	@Test
+	void mixOverridesListedWeightsAndKeepsTheRest() {
+		LoadTestConfig config = LoadTestConfig.parse(new String[] {
+			"--base-url=http://app:8080/", "--rate=200", "--duration=PT2M", "--warmup=15",
+			"--mix=loan-lookup:50, repayment:0"});
+
+		assertThat(config.baseUrl()).isEqualTo("http://app:8080");
+		assertThat(config.rate()).isEqualTo(200);
+		assertThat(config.duration()).isEqualTo(Duration.ofMinutes(2));
+		assertThat(config.warmup()).isEqualTo(Duration.ofSeconds(15));
+		assertThat(config.mix())
+			.containsEntry(Operation.LOAN_LOOKUP, 50)
+			.containsEntry(Operation.REPAYMENT, 0)
+			.containsEntry(Operation.ORIGINATION, Operation.ORIGINATION.defaultWeight());
+	}
+
+	@Test
+	void rejectsUnknownOptionsAndEmptyMix() {
+		assertThatThrownBy(() -> LoadTestConfig.parse(new String[] {"--rps=10"}))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("--rps");
+
+		StringBuilder allZero = new StringBuilder("--mix=");
+		for (Operation operation : Operation.values()) {
+			allZero.append(operation.key()).append(":0,");
+		}
+		assertThatThrownBy(() -> LoadTestConfig.parse(new String[] {allZero.toString()}))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+}
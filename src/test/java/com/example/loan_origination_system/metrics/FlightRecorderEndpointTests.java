@@ -0,0 +1,83 @@
+package com.example.loan_origination_system.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import com.example.loan_origination_system.model.enums.LoanEvent;
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+import com.example.loan_origination_system.model.master.Branch;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class FlightRecorderEndpointTests {
+
+	private final FlightRecorderEndpoint endpoint =
+		new FlightRecorderEndpoint(Duration.ofMinutes(1), Duration.ofMinutes(5), 1);
+
+	@TempDir
+	Path tempDir;
+
+	@AfterEach
+	void closeRecordings() {
+		endpoint.destroy();
+	}
+
+	@Test
+	void recordsApplicationEventsAndCapsDuration() throws Exception {
+		FlightRecorderEndpoint.RecordingInfo started = endpoint.start("PT1H", null);
+		assertThat(started.duration()).isEqualTo(Duration.ofMinutes(5));
+		assertThatThrownBy(() -> endpoint.start(null, "profile")).isInstanceOf(InvalidEndpointRequestException.class);
+
+		PawnLoan loan = new PawnLoan();
+		loan.setId(42L);
+		Branch branch = new Branch();
+		branch.setId(7L);
+		loan.setBranch(branch);
+		LoanTransitionEvent transition = new LoanTransitionEvent();
+		transition.begin();
+		transition.complete(loan, LoanEvent.FULL_PAYMENT, LoanStatus.PARTIALLY_PAID, LoanStatus.REDEEMED);
+		SchedulerChunkEvent.start("accrual", 100).complete(600, 500);
+		RepaymentPostingEvent repayment = new RepaymentPostingEvent();
+		repayment.begin();
+		repayment.forLoan(loan);
+		repayment.complete(true);
+
+		WebEndpointResponse<Resource> response = endpoint.download(started.id());
+		assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+		Path file = tempDir.resolve("recording.jfr");
+		try (InputStream in = response.getBody().getInputStream()) {
+			Files.copy(in, file);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		RecordedEvent recordedTransition = events.stream()
+			.filter(e -> e.getEventType().getName().equals("com.example.loan.Transition"))
+			.findFirst().orElseThrow();
+		assertThat(recordedTransition.getLong("loanId")).isEqualTo(42L);
+		assertThat(recordedTransition.getLong("branchId")).isEqualTo(7L);
+		assertThat(recordedTransition.getString("to")).isEqualTo("REDEEMED");
+		assertThat(events).anyMatch(e -> e.getEventType().getName().equals("com.example.loan.SchedulerChunk")
+			&& e.getInt("processed") == 500);
+		assertThat(events).anyMatch(e -> e.getEventType().getName().equals("com.example.loan.RepaymentPosting")
+			&& e.getLong("loanId") == 42L && e.getBoolean("committed"));
+
+		assertThat(endpoint.delete(started.id()).getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+		assertThat(endpoint.recordings()).isEmpty();
+		assertThat(endpoint.download(started.id()).getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+	}
+}
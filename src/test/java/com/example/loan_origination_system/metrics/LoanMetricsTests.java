@@ -0,0 +1,107 @@
+package com.example.loan_origination_system.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.loan_origination_system.model.enums.LoanEvent;
+import com.example.loan_origination_system.model.enums.LoanStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoanMetricsTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final LoanMetrics metrics = new LoanMetrics(registry);
+
+	@AfterEach
+	void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void countsTransitionsPerEventAndStatusPair() {
+		metrics.recordTransition(metrics.start(), LoanEvent.PARTIAL_PAYMENT, LoanStatus.ACTIVE, LoanStatus.PARTIALLY_PAID);
+		metrics.recordTransition(metrics.start(), LoanEvent.PARTIAL_PAYMENT, LoanStatus.ACTIVE, LoanStatus.PARTIALLY_PAID);
+		metrics.recordTransition(metrics.start(), LoanEvent.FULL_PAYMENT, LoanStatus.PARTIALLY_PAID, LoanStatus.REDEEMED);
+		metrics.recordRejectedTransition(LoanEvent.ISSUE_LOAN, LoanStatus.REDEEMED);
+
+		assertThat(registry.get("loan.transitions")
+			.tags("event", "PARTIAL_PAYMENT", "from", "ACTIVE", "to", "PARTIALLY_PAID").counter().count()).isEqualTo(2.0);
+		assertThat(registry.get("loan.transitions")
+			.tags("event", "FULL_PAYMENT", "from", "PARTIALLY_PAID", "to", "REDEEMED").counter().count()).isEqualTo(1.0);
+		assertThat(registry.get("loan.transition").tag("event", "PARTIAL_PAYMENT").timer().count()).isEqualTo(2);
+		assertThat(registry.get("loan.transitions.rejected").tags("event", "ISSUE_LOAN", "from", "REDEEMED")
+			.counter().count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void timesTransactionUntilCompletion() {
+		TransactionSynchronizationManager.initSynchronization();
+		metrics.timeTransaction(new RepaymentPostingEvent(), LoanMetrics.REPAYMENT);
+		metrics.timeTransaction(new RepaymentPostingEvent(), LoanMetrics.REPAYMENT);
+
+		assertThat(registry.find(LoanMetrics.REPAYMENT).timer()).isNull();
+
+		var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		assertThat(registry.get(LoanMetrics.REPAYMENT).tag("outcome", "success").timer().count()).isEqualTo(1);
+		assertThat(registry.get(LoanMetrics.REPAYMENT).tag("outcome", "failure").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void keepsLatestJobRunInGauges() {
+		metrics.recordJob("accrual", metrics.start(), 120, true);
+		metrics.recordJob("accrual", metrics.start(), 7, false);
+
+		assertThat(registry.get("scheduler.job.last.processed").tag("job", "accrual").gauge().value()).isEqualTo(7.0);
+		assertThat(registry.get("scheduler.job.last.success").tag("job", "accrual").gauge().value()).isPositive();
+		assertThat(registry.get("scheduler.job").tags("job", "accrual", "outcome", "success").timer().count()).isEqualTo(1);
+		assertThat(registry.get("scheduler.job").tags("job", "accrual", "outcome", "failure").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void countsStatementsOnlyWhileActive() {
+		StatementCountingInspector inspector = new StatementCountingInspector();
+		inspector.inspect("select 1");
+
+		StatementCountingInspector.begin();
+		inspector.inspect("select 1");
+		inspector.inspect("update t set x = 1");
+
+		assertThat(StatementCountingInspector.end()).isEqualTo(2);
+		assertThat(StatementCountingInspector.end()).isZero();
+	}
+
+	@Test
+	void nestedScopesShareStatementsAndBudgetFailsOnFirstExcess() {
+		StatementCountingInspector inspector = new StatementCountingInspector();
+		StatementStats request = StatementCountingInspector.begin();
+		request.setBudget("GET /api/test", 2, true);
+		inspector.inspect("select 1");
+
+		try (StatementCounter counter = StatementCounter.start()) {
+			inspector.inspect("select 2");
+			counter.assertStatements(1);
+			assertThatThrownBy(() -> inspector.inspect("select 2"))
+				.isInstanceOf(StatementBudgetExceededException.class)
+				.hasMessageContaining("GET /api/test exceeded its budget of 2")
+				.hasMessageContaining("2x select 2");
+			// Reported once; later statements still run
+			inspector.inspect("select 3");
+			counter.assertStatements(3);
+		}
+
+		assertThat(request.isOverBudget()).isTrue();
+		assertThat(StatementCountingInspector.end()).isEqualTo(4);
+		assertThat(StatementCountingInspector.current()).isNull();
+	}
+}
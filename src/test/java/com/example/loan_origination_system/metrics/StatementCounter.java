@@ -0,0 +1,59 @@
+package com.example.loan_origination_system.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+/**
+ * Test helper counting the SQL statements Hibernate issues on the current thread:
+ *
+ * <pre>
+ * try (StatementCounter counter = StatementCounter.start()) {
+ *     service.doWork();
+ *     counter.assertStatements(2);
+ * }
+ * </pre>
+ *
+ * Counting nests inside request counting, so it also works around MockMvc calls.
+ * Flush and clear the persistence context first if earlier setup would otherwise be flushed
+ * or served from it.
+ */
+public final class StatementCounter implements AutoCloseable {
+
+	private final StatementStats stats;
+	private boolean closed;
+
+	private StatementCounter(StatementStats stats) {
+		this.stats = stats;
+	}
+
+	public static StatementCounter start() {
+		return new StatementCounter(StatementCountingInspector.begin());
+	}
+
+	public long count() {
+		return stats.getStatements();
+	}
+
+	public Duration jdbcTime() {
+		return stats.getJdbcTime();
+	}
+
+	/**
+	 * Assert the exact number of statements issued so far, listing them on failure.
+	 */
+	public StatementCounter assertStatements(long expected) {
+		assertThat(stats.getStatements())
+			.as(() -> "SQL statements:\n" + StatementBudgetExceededException.format(stats.getStatementCounts()))
+			.isEqualTo(expected);
+		return this;
+	}
+
+	@Override
+	public void close() {
+		if (!closed) {
+			closed = true;
+			StatementCountingInspector.end();
+		}
+	}
+}
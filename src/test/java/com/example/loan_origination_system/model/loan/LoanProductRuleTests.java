@@ -0,0 +1,153 @@
+package com.example.loan_origination_system.model.loan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.loan_origination_system.exception.BusinessException;
+import com.example.loan_origination_system.model.enums.RepaymentComponent;
+
+class LoanProductRuleTests {
+
+	@Test
+	void effectiveBoundsAreInclusive() {
+		CfgLoan cfg = cfg();
+		cfg.setEffectiveFrom(LocalDate.of(2026, 3, 1));
+		cfg.setEffectiveTo(LocalDate.of(2026, 3, 31));
+		LoanProductRule rule = LoanProductRule.compile(cfg, 10L, 20L);
+
+		assertThat(rule.isEffectiveOn(LocalDate.of(2026, 2, 28))).isFalse();
+		assertThat(rule.isEffectiveOn(LocalDate.of(2026, 3, 1))).isTrue();
+		assertThat(rule.isEffectiveOn(LocalDate.of(2026, 3, 31))).isTrue();
+		assertThat(rule.isEffectiveOn(LocalDate.of(2026, 4, 1))).isFalse();
+		assertThat(LoanProductRule.defaults(10L, 20L).isEffectiveOn(LocalDate.of(1970, 1, 1))).isTrue();
+	}
+
+	@Test
+	void compileFillsUnsetColumnsWithDefaults() {
+		CfgLoan cfg = cfg();
+		LoanProductRule rule = LoanProductRule.compile(cfg, 10L, 20L);
+
+		assertThat(rule.maxLoanToValue()).isEqualByComparingTo(LoanProductRule.DEFAULT_LOAN_TO_VALUE);
+		assertThat(rule.penaltyRate()).isEqualByComparingTo("0");
+		assertThat(rule.penaltyGraceDays()).isEqualTo(LoanProductRule.DEFAULT_GRACE_PERIOD_DAYS);
+		assertThat(rule.defaultLoanDurationDays()).isEqualTo(LoanProductRule.DEFAULT_LOAN_DURATION_DAYS);
+		assertThat(rule.allocationOrder()).isEqualTo(LoanProductRule.DEFAULT_ALLOCATION_ORDER);
+
+		// A maximum duration shorter than the default caps the default
+		cfg.setMaxLoanDuration(14);
+		cfg.setAllocationOrder("principal, interest, penalty");
+		rule = LoanProductRule.compile(cfg, 10L, 20L);
+		assertThat(rule.defaultLoanDurationDays()).isEqualTo(14);
+		assertThat(rule.allocationOrder())
+			.containsExactly(RepaymentComponent.PRINCIPAL, RepaymentComponent.INTEREST, RepaymentComponent.PENALTY);
+	}
+
+	@Test
+	void applyDefaultsKeepsTermsTheCallerSet() {
+		CfgLoan cfg = cfg();
+		cfg.setPenaltyRate(new BigDecimal("1.50"));
+		cfg.setPenaltyGraceDays(5);
+		LoanProductRule rule = LoanProductRule.compile(cfg, 10L, 20L);
+
+		PawnLoan blank = new PawnLoan();
+		rule.applyDefaults(blank);
+		assertThat(blank.getInterestRate()).isEqualByComparingTo("3.00");
+		assertThat(blank.getPenaltyRate()).isEqualByComparingTo("1.50");
+		assertThat(blank.getGracePeriodDays()).isEqualTo(5);
+		assertThat(blank.getLoanDurationDays()).isEqualTo(LoanProductRule.DEFAULT_LOAN_DURATION_DAYS);
+
+		PawnLoan set = new PawnLoan();
+		set.setInterestRate(new BigDecimal("2.00"));
+		set.setLoanDurationDays(10);
+		rule.applyDefaults(set);
+		assertThat(set.getInterestRate()).isEqualByComparingTo("2.00");
+		assertThat(set.getLoanDurationDays()).isEqualTo(10);
+	}
+
+	@Test
+	void maxLoanAmountIsLowerOfLoanToValueAndConfiguredMaximum() {
+		CfgLoan cfg = cfg();
+		LoanProductRule rule = LoanProductRule.compile(cfg, 10L, 20L);
+		assertThat(rule.maxLoanAmountFor(new BigDecimal("1000.00"))).isEqualByComparingTo("700.00");
+		assertThat(rule.maxLoanAmountFor(new BigDecimal("0.01"))).isEqualByComparingTo("0.01");
+
+		cfg.setMaxLoanAmount(new BigDecimal("500.00"));
+		rule = LoanProductRule.compile(cfg, 10L, 20L);
+		assertThat(rule.maxLoanAmountFor(new BigDecimal("1000.00"))).isEqualByComparingTo("500.00");
+		assertThat(rule.maxLoanAmountFor(new BigDecimal("600.00"))).isEqualByComparingTo("420.00");
+	}
+
+	@Test
+	void validateAcceptsLimitsAndRejectsJustBeyondThem() {
+		CfgLoan cfg = cfg();
+		cfg.setMinLoanAmount(new BigDecimal("100.00"));
+		cfg.setMaxLoanAmount(new BigDecimal("5000.00"));
+		cfg.setMaxLoanDuration(60);
+		LoanProductRule rule = LoanProductRule.compile(cfg, 10L, 20L);
+		BigDecimal collateral = new BigDecimal("1000.00");
+
+		assertThatCode(() -> rule.validate(loan("100.00", 60), collateral)).doesNotThrowAnyException();
+		assertThatCode(() -> rule.validate(loan("700.00", null), collateral)).doesNotThrowAnyException();
+		assertThatCode(() -> rule.validate(loan("5000.00", 1), new BigDecimal("10000.00")))
+			.doesNotThrowAnyException();
+
+		assertCode(() -> rule.validate(loan("99.99", 30), collateral), "LOAN_AMOUNT_BELOW_MINIMUM");
+		assertCode(() -> rule.validate(loan("700.01", 30), collateral), "LOAN_AMOUNT_EXCEEDS_LIMIT");
+		assertCode(() -> rule.validate(loan("5000.01", 30), new BigDecimal("10000.00")), "LOAN_AMOUNT_EXCEEDS_LIMIT");
+		assertCode(() -> rule.validate(loan("500.00", 61), collateral), "LOAN_DURATION_EXCEEDS_LIMIT");
+	}
+
+	@Test
+	void forfeitureDateIsAutoForfeitDaysAfterDueButNotBeforeRedemptionDeadline() {
+		LocalDate dueDate = LocalDate.of(2026, 9, 1);
+		PawnLoan loan = new PawnLoan();
+		assertThat(LoanProductRule.defaults(10L, 20L).forfeitureDate(loan, dueDate))
+			.isEqualTo(dueDate.plusDays(LoanProductRule.DEFAULT_AUTO_FORFEIT_DAYS));
+
+		CfgLoan cfg = cfg();
+		cfg.setAutoForfeitDays(14);
+		LoanProductRule rule = LoanProductRule.compile(cfg, 10L, 20L);
+		assertThat(rule.forfeitureDate(loan, dueDate)).isEqualTo(LocalDate.of(2026, 9, 15));
+
+		loan.setGracePeriodDays(20);
+		assertThat(rule.forfeitureDate(loan, dueDate)).isEqualTo(LocalDate.of(2026, 9, 21));
+		loan.setRedemptionDeadline(LocalDate.of(2026, 9, 10));
+		assertThat(rule.forfeitureDate(loan, dueDate)).isEqualTo(LocalDate.of(2026, 9, 15));
+	}
+
+	@Test
+	void rejectsIncompleteAllocationOrder() {
+		assertCode(() -> LoanProductRule.parseAllocationOrder("PENALTY,INTEREST"), "INVALID_ALLOCATION_ORDER");
+		assertCode(() -> LoanProductRule.parseAllocationOrder("PENALTY,PENALTY,INTEREST,PRINCIPAL"),
+			"INVALID_ALLOCATION_ORDER");
+		assertCode(() -> LoanProductRule.parseAllocationOrder("FEE,INTEREST,PRINCIPAL"), "INVALID_ALLOCATION_ORDER");
+	}
+
+	private static void assertCode(Runnable call, String code) {
+		assertThatThrownBy(call::run)
+			.isInstanceOf(BusinessException.class)
+			.extracting("errorCode")
+			.isEqualTo(code);
+	}
+
+	private static PawnLoan loan(String amount, Integer durationDays) {
+		PawnLoan loan = new PawnLoan();
+		loan.setLoanAmount(new BigDecimal(amount));
+		loan.setLoanDurationDays(durationDays);
+		return loan;
+	}
+
+	private static CfgLoan cfg() {
+		CfgLoan cfg = new CfgLoan();
+		cfg.setId(1L);
+		cfg.setInterestRate(new BigDecimal("3.00"));
+		cfg.setStatus("ACTIVE");
+		return cfg;
+	}
+}
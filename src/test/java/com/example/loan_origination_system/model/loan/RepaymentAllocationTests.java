@@ -0,0 +1,64 @@
+package com.example.loan_origination_system.model.loan;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.loan_origination_system.exception.BusinessException;
+import com.example.loan_origination_system.model.enums.RepaymentComponent;
+
+class RepaymentAllocationTests {
+
+	@Test
+	void allocatesPenaltyThenInterestThenPrincipal() {
+		PawnLoan loan = loan("1000.00", "1100.00", "30.00");
+
+		RepaymentAllocation allocation = RepaymentAllocation.allocate(loan, new BigDecimal("200.00"),
+				LoanProductRule.DEFAULT_ALLOCATION_ORDER);
+
+		assertThat(allocation.penalty()).isEqualByComparingTo("30.00");
+		assertThat(allocation.interest()).isEqualByComparingTo("100.00");
+		assertThat(allocation.principal()).isEqualByComparingTo("70.00");
+		assertThat(allocation.remainingPrincipal()).isEqualByComparingTo("930.00");
+		assertThat(allocation.settlesLoan()).isFalse();
+	}
+
+	@Test
+	void honoursConfiguredOrderAndPersistedTotals() {
+		PawnLoan loan = loan("1000.00", "1100.00", "30.00");
+		loan.setPrincipalPaid(new BigDecimal("900.00"));
+
+		RepaymentAllocation allocation = RepaymentAllocation.allocate(loan, new BigDecimal("230.00"),
+				List.of(RepaymentComponent.PRINCIPAL, RepaymentComponent.INTEREST, RepaymentComponent.PENALTY));
+
+		assertThat(allocation.principal()).isEqualByComparingTo("100.00");
+		assertThat(allocation.interest()).isEqualByComparingTo("100.00");
+		assertThat(allocation.penalty()).isEqualByComparingTo("30.00");
+		assertThat(allocation.settlesLoan()).isTrue();
+	}
+
+	@Test
+	void rejectsOverpaymentAndInvalidOrder() {
+		PawnLoan loan = loan("1000.00", "1100.00", "0");
+
+		assertThatThrownBy(() -> RepaymentAllocation.allocate(loan, new BigDecimal("1100.01"),
+				LoanProductRule.DEFAULT_ALLOCATION_ORDER))
+			.isInstanceOf(BusinessException.class);
+		assertThatThrownBy(() -> LoanProductRule.parseAllocationOrder("PENALTY,PENALTY,PRINCIPAL"))
+			.isInstanceOf(BusinessException.class);
+		assertThat(LoanProductRule.parseAllocationOrder("interest, penalty, principal"))
+			.containsExactly(RepaymentComponent.INTEREST, RepaymentComponent.PENALTY, RepaymentComponent.PRINCIPAL);
+	}
+
+	private static PawnLoan loan(String loanAmount, String totalPayable, String accruedPenalty) {
+		PawnLoan loan = new PawnLoan();
+		loan.setLoanAmount(new BigDecimal(loanAmount));
+		loan.setTotalPayableAmount(new BigDecimal(totalPayable));
+		loan.setAccruedPenalty(new BigDecimal(accruedPenalty));
+		return loan;
+	}
+}
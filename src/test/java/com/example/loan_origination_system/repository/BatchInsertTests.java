@@ -0,0 +1,83 @@
+package com.example.loan_origination_system.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.loan_origination_system.model.people.Customer;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Guards that pooled sequence IDs keep inserts batched. Rows are inserted once with JDBC
+ * batching switched off for the session, one INSERT per row as with the old IDENTITY ids,
+ * and once with the configured batch size.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test-h2")
+@Slf4j
+class BatchInsertTests {
+
+	private static final int ROWS = 2_000;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void customerInsertsAreBatched() {
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		Session session = entityManager.unwrap(Session.class);
+
+		session.setJdbcBatchSize(1);
+		statistics.clear();
+		long unbatchedNanos = insert("ROW");
+		long unbatchedStatements = statistics.getPrepareStatementCount();
+
+		session.setJdbcBatchSize(null);
+		statistics.clear();
+		long batchedNanos = insert("BATCH");
+		long batchedStatements = statistics.getPrepareStatementCount();
+
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+		assertThat(unbatchedStatements).isGreaterThanOrEqualTo(ROWS);
+		// One sequence call and one batched INSERT per 50 rows, rather than one INSERT per row
+		assertThat(batchedStatements).isLessThanOrEqualTo(2L * ROWS / 50 + 2);
+
+		log.debug("Inserted {} customers: {} statements in {} ms unbatched, {} statements in {} ms batched",
+			ROWS, unbatchedStatements, TimeUnit.NANOSECONDS.toMillis(unbatchedNanos),
+			batchedStatements, TimeUnit.NANOSECONDS.toMillis(batchedNanos));
+	}
+
+	private long insert(String idPrefix) {
+		List<Customer> customers = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			Customer customer = new Customer();
+			customer.setFullName("Batch Customer " + i);
+			customer.setIdNumber(String.format("%s%08d", idPrefix, i));
+			customers.add(customer);
+		}
+
+		long start = System.nanoTime();
+		customerRepository.saveAll(customers);
+		entityManager.flush();
+		long elapsedNanos = System.nanoTime() - start;
+		entityManager.clear();
+		return elapsedNanos;
+	}
+}
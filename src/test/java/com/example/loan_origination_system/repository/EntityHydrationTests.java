@@ -0,0 +1,117 @@
+package com.example.loan_origination_system.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.ManagedEntity;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.loan_origination_system.metrics.Measured;
+import com.example.loan_origination_system.model.enums.CollateralStatus;
+import com.example.loan_origination_system.model.loan.PawnItem;
+import com.example.loan_origination_system.model.people.Customer;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Guards that the hot entities are bytecode-enhanced, and logs hydration and flush cost
+ * for a 10k-entity page at debug level. A page that does not render the lazy description and photoUrl
+ * leaves them unread; dirty tracking lets flush skip comparing every loaded entity
+ * against its snapshot.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test-h2")
+@Slf4j
+class EntityHydrationTests {
+
+	private static final int ROWS = 10_000;
+	private static final String DESCRIPTION = "Gold ring, 18k, engraved band. ".repeat(7);
+
+	@Autowired
+	private PawnItemRepository pawnItemRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void lazyAttributesAreSkippedAndFlushTracksOnlyDirtyEntities() {
+		persistItems();
+
+		// First round warms up query plans and JIT so the measured round compares like with like
+		loadLean();
+		loadRendered();
+		Measured<List<PawnItem>> lean = Measured.of(this::loadLean);
+		Measured<List<PawnItem>> rendered = Measured.of(this::loadRendered);
+
+		PawnItem item = lean.result().get(0);
+		assertThat(item).isInstanceOf(ManagedEntity.class);
+		assertThat(Hibernate.isPropertyInitialized(item, "description")).isFalse();
+		assertThat(Hibernate.isPropertyInitialized(rendered.result().get(0), "description")).isTrue();
+		assertThat(lean.result()).hasSize(ROWS);
+		assertThat(lean.allocatedBytes()).isLessThan(rendered.allocatedBytes());
+
+		// Reload the lean page into a fresh context, change one entity and flush all 10k
+		entityManager.clear();
+		List<PawnItem> page = loadLean();
+		Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		page.get(ROWS / 2).setStatus(CollateralStatus.PAWNED);
+		Measured<Void> flush = Measured.of(() -> {
+			entityManager.flush();
+			return null;
+		});
+		assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+
+		log.debug("Hydrated {} items: {} KB / {} ms without lazy attributes, {} KB / {} ms with them; "
+				+ "flush of {} managed items with 1 dirty: {} KB / {} ms",
+			ROWS, lean.allocatedBytes() / 1024, lean.millis(), rendered.allocatedBytes() / 1024, rendered.millis(),
+			ROWS, flush.allocatedBytes() / 1024, flush.millis());
+	}
+
+	private List<PawnItem> loadLean() {
+		entityManager.clear();
+		return entityManager.createQuery("SELECT p FROM PawnItem p ORDER BY p.id", PawnItem.class)
+			.setMaxResults(ROWS)
+			.getResultList();
+	}
+
+	private List<PawnItem> loadRendered() {
+		entityManager.clear();
+		return pawnItemRepository.findAllActive(PageRequest.of(0, ROWS)).getContent();
+	}
+
+	private void persistItems() {
+		Customer customer = new Customer();
+		customer.setFullName("Hydration Customer");
+		customer.setIdNumber("HYDRATION1");
+		entityManager.persist(customer);
+		for (int i = 0; i < ROWS; i++) {
+			PawnItem item = new PawnItem();
+			item.setCustomer(customer);
+			item.setItemType("GOLD");
+			item.setDescription(DESCRIPTION + i);
+			item.setPhotoUrl("https://photos.example.com/items/" + i + ".jpg");
+			item.setEstimatedValue(new BigDecimal("250.00"));
+			entityManager.persist(item);
+			if (i % 500 == 499) {
+				entityManager.flush();
+				entityManager.clear();
+				customer = entityManager.getReference(Customer.class, customer.getId());
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+}
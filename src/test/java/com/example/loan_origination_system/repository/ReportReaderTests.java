@@ -0,0 +1,227 @@
+package com.example.loan_origination_system.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.loan.LoanReportRow;
+import com.example.loan_origination_system.model.loan.PawnItem;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+import com.example.loan_origination_system.model.loan.PawnRepayment;
+import com.example.loan_origination_system.model.loan.RepaymentReportRow;
+import com.example.loan_origination_system.model.master.Branch;
+import com.example.loan_origination_system.model.master.Currency;
+import com.example.loan_origination_system.model.people.Customer;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks what the report scans return, and logs at debug level the heap an overdue-report scan
+ * retains when it loads entities versus when it streams rows. The scan size defaults to 50k loans;
+ * run with -Dreport.scan.loans=1000000 -DargLine=-Xmx4g for the million-loan comparison.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test-h2")
+@Import(ReportReader.class)
+@Slf4j
+class ReportReaderTests {
+
+	private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+	private static final int SCAN_LOANS = Integer.getInteger("report.scan.loans", 50_000);
+	private static final long SCAN_ID_OFFSET = 10_000_000L;
+
+	@Autowired
+	private ReportReader reportReader;
+
+	@Autowired
+	private PawnLoanRepository pawnLoanRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void scansReturnLoansAndRepaymentsWithoutManagedEntities() {
+		Branch branch = branch("Report Branch");
+		Branch otherBranch = branch("Other Branch");
+		Currency currency = new Currency();
+		currency.setCode("USD");
+		entityManager.persist(currency);
+		Customer customer = customer("Report Customer", "REPORT1");
+
+		PawnLoan overdue = loan("REPORT-1", customer, branch, currency, LoanStatus.OVERDUE);
+		loan("REPORT-2", customer, otherBranch, currency, LoanStatus.OVERDUE);
+		loan("REPORT-3", customer, branch, currency, LoanStatus.ACTIVE);
+		loan("REPORT-4", customer, branch, currency, LoanStatus.DEFAULTED)
+			.setDefaultedAt(LocalDateTime.of(2026, 9, 30, 23, 0));
+		loan("REPORT-5", customer, branch, currency, LoanStatus.DEFAULTED)
+			.setDefaultedAt(LocalDateTime.of(2026, 10, 1, 0, 0));
+
+		repayment(overdue, TODAY, "30.00");
+		repayment(overdue, TODAY, "20.00");
+		repayment(overdue, TODAY.minusMonths(2), "10.00");
+		entityManager.flush();
+		jdbcTemplate.update("INSERT INTO pawn_repayment_archive (id, pawn_loan_id, payment_date, paid_amount, "
+			+ "principal_paid, interest_paid, penalty_paid) VALUES (900, ?, ?, 5.00, 4.00, 1.00, 0.00)",
+			overdue.getId(), TODAY.minusMonths(1));
+		entityManager.clear();
+
+		List<LoanReportRow> overdueRows = new ArrayList<>();
+		assertThat(reportReader.forEachLoanByStatus(LoanStatus.OVERDUE, overdueRows::add)).isEqualTo(2);
+		assertThat(overdueRows).extracting(LoanReportRow::loanCode).containsExactly("REPORT-1", "REPORT-2");
+		assertThat(overdueRows.get(0).customerName()).isEqualTo("Report Customer");
+		assertThat(overdueRows.get(0).branchId()).isEqualTo(branch.getId());
+		assertThat(overdueRows.get(0).dueDate()).isEqualTo(TODAY.minusDays(3));
+
+		List<LoanReportRow> defaultedRows = new ArrayList<>();
+		reportReader.forEachLoanDefaultedBetween(LocalDate.of(2026, 9, 1), LocalDate.of(2026, 9, 30), defaultedRows::add);
+		assertThat(defaultedRows).extracting(LoanReportRow::loanCode).containsExactly("REPORT-4");
+
+		List<RepaymentReportRow> collected = new ArrayList<>();
+		assertThat(reportReader.forEachBranchRepayment(branch.getId(), TODAY, collected::add)).isEqualTo(2);
+		assertThat(collected).extracting(RepaymentReportRow::paidAmount)
+			.usingElementComparator(BigDecimal::compareTo)
+			.containsExactlyInAnyOrder(new BigDecimal("30"), new BigDecimal("20"));
+		assertThat(reportReader.forEachBranchRepayment(otherBranch.getId(), TODAY, collected::add)).isZero();
+
+		List<RepaymentReportRow> history = new ArrayList<>();
+		reportReader.forEachCustomerRepayment(customer.getId(), TODAY.minusMonths(1), TODAY, history::add);
+		assertThat(history).extracting(RepaymentReportRow::paymentDate)
+			.containsExactlyInAnyOrder(TODAY, TODAY, TODAY.minusMonths(1));
+
+		assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+	}
+
+	@Test
+	void streamingScanRetainsLessHeapThanLoadingEntities() {
+		insertOverdueLoans();
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+		// Entity path, as the overdue report used to read: every loan stays managed until the transaction ends
+		entityManager.clear();
+		long baseline = usedHeapAfterGc(memory);
+		long start = System.nanoTime();
+		List<PawnLoan> loans = pawnLoanRepository.findByStatus(LoanStatus.OVERDUE);
+		loans.forEach(loan -> loan.getCustomer().getFullName());
+		long entityMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		long entityRetained = usedHeapAfterGc(memory) - baseline;
+		int managed = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+		assertThat(loans).hasSize(SCAN_LOANS);
+		loans = null;
+		entityManager.clear();
+
+		// Streaming path: heap is sampled while the last row is in the callback
+		baseline = usedHeapAfterGc(memory);
+		long[] streamRetained = new long[1];
+		start = System.nanoTime();
+		long rows = reportReader.forEachLoanByStatus(LoanStatus.OVERDUE, loan -> {
+			if (loan.loanId() == SCAN_ID_OFFSET + SCAN_LOANS) {
+				streamRetained[0] = usedHeapAfterGc(memory);
+			}
+		});
+		long streamMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		streamRetained[0] -= baseline;
+
+		assertThat(rows).isEqualTo(SCAN_LOANS);
+		assertThat(managed).isGreaterThanOrEqualTo(SCAN_LOANS);
+		assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+		assertThat(streamRetained[0]).isLessThan(entityRetained / 2);
+
+		log.debug("Overdue scan of {} loans: entities retain {} KB ({} managed) in {} ms, "
+				+ "streamed rows retain {} KB in {} ms",
+			SCAN_LOANS, entityRetained / 1024, managed, entityMillis, Math.max(streamRetained[0], 0) / 1024, streamMillis);
+	}
+
+	private void insertOverdueLoans() {
+		Branch branch = branch("Scan Branch");
+		Currency currency = new Currency();
+		currency.setCode("KHR");
+		entityManager.persist(currency);
+		Customer customer = customer("Scan Customer", "SCAN1");
+		entityManager.flush();
+
+		// Generated by H2 in one statement each; IDs sit far above the sequences' range
+		jdbcTemplate.update("INSERT INTO pawn_item (id, customer_id, item_type, estimated_value) "
+			+ "SELECT X + ?, ?, 'GOLD', 250.00 FROM SYSTEM_RANGE(1, ?)",
+			SCAN_ID_OFFSET, customer.getId(), SCAN_LOANS);
+		jdbcTemplate.update("INSERT INTO pawn_loan (id, loan_code, customer_id, pawn_item_id, currency_id, branch_id, "
+			+ "loan_amount, interest_rate, total_payable_amount, principal_paid, due_date, status) "
+			+ "SELECT X + ?, 'SCAN-' || X, ?, X + ?, ?, ?, 100.00, 3.00, 103.00, 0.00, "
+			+ "DATEADD(DAY, -MOD(X, 30) - 1, CAST(? AS DATE)), 'OVERDUE' FROM SYSTEM_RANGE(1, ?)",
+			SCAN_ID_OFFSET, customer.getId(), SCAN_ID_OFFSET, currency.getId(), branch.getId(), TODAY, SCAN_LOANS);
+	}
+
+	private static long usedHeapAfterGc(MemoryMXBean memory) {
+		System.gc();
+		System.gc();
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+
+	private Branch branch(String name) {
+		Branch branch = new Branch();
+		branch.setName(name);
+		entityManager.persist(branch);
+		return branch;
+	}
+
+	private Customer customer(String name, String idNumber) {
+		Customer customer = new Customer();
+		customer.setFullName(name);
+		customer.setIdNumber(idNumber);
+		entityManager.persist(customer);
+		return customer;
+	}
+
+	private PawnLoan loan(String code, Customer customer, Branch branch, Currency currency, LoanStatus status) {
+		PawnItem item = new PawnItem();
+		item.setCustomer(customer);
+		item.setEstimatedValue(new BigDecimal("500.00"));
+		entityManager.persist(item);
+
+		PawnLoan loan = new PawnLoan();
+		loan.setLoanCode(code);
+		loan.setBranch(branch);
+		loan.setCurrency(currency);
+		loan.setCustomer(customer);
+		loan.setPawnItem(item);
+		loan.setLoanAmount(new BigDecimal("100.00"));
+		loan.setInterestRate(BigDecimal.ONE);
+		loan.setTotalPayableAmount(new BigDecimal("101.00"));
+		loan.setDueDate(TODAY.minusDays(3));
+		loan.setStatus(status);
+		entityManager.persist(loan);
+		return loan;
+	}
+
+	private void repayment(PawnLoan loan, LocalDate date, String amount) {
+		PawnRepayment repayment = new PawnRepayment();
+		repayment.setPawnLoan(loan);
+		repayment.setPaymentDate(date);
+		repayment.setPaidAmount(new BigDecimal(amount));
+		repayment.setPrincipalPaid(new BigDecimal(amount));
+		repayment.setInterestPaid(BigDecimal.ZERO);
+		repayment.setPenaltyPaid(BigDecimal.ZERO);
+		entityManager.persist(repayment);
+	}
+}
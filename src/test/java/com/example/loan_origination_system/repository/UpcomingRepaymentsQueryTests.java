@@ -0,0 +1,128 @@
+package com.example.loan_origination_system.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.loan_origination_system.metrics.StatementCounter;
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.loan.PawnItem;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+import com.example.loan_origination_system.model.master.Branch;
+import com.example.loan_origination_system.model.master.Currency;
+import com.example.loan_origination_system.model.people.Customer;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test-h2")
+class UpcomingRepaymentsQueryTests {
+
+	private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+	@Autowired
+	private PawnLoanRepository pawnLoanRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void loadsAssociationsRenderedPerLoanInOneStatement() {
+		givenFiveLoans();
+
+		try (StatementCounter counter = StatementCounter.start()) {
+			List<PawnLoan> loans = pawnLoanRepository.findLoansWithUpcomingRepayments(TODAY, TODAY.plusDays(7));
+			for (PawnLoan loan : loans) {
+				assertThat(loan.getCustomer().getFullName()).startsWith("Upcoming Customer");
+				assertThat(loan.getCustomer().getAddress()).startsWith("Street");
+				assertThat(loan.getPawnItem().getEstimatedValue()).isNotNull();
+				assertThat(loan.getPawnItem().getDescription()).startsWith("Gold ring");
+				assertThat(loan.getCurrency().getCode()).isEqualTo("USD");
+				assertThat(loan.getBranch().getName()).isEqualTo("Upcoming Branch");
+			}
+
+			assertThat(loans).hasSize(5);
+			counter.assertStatements(1);
+			assertThat(counter.jdbcTime()).isPositive();
+		}
+	}
+
+	@Test
+	void listEndpointsLoadWhatEachLoanRendersInOneStatement() {
+		givenFiveLoans();
+
+		assertRenderedInOneStatement(() -> pawnLoanRepository.findAllActive(PageRequest.of(0, 10)).getContent());
+		assertRenderedInOneStatement(() -> pawnLoanRepository.findByStatus(LoanStatus.ACTIVE, PageRequest.of(0, 10)).getContent());
+		assertRenderedInOneStatement(() -> pawnLoanRepository.findLoansNeedingFollowUp(TODAY.plusDays(7)));
+	}
+
+	private void assertRenderedInOneStatement(Supplier<List<PawnLoan>> query) {
+		entityManager.clear();
+		try (StatementCounter counter = StatementCounter.start()) {
+			List<PawnLoan> loans = query.get();
+			for (PawnLoan loan : loans) {
+				assertThat(loan.getCustomer().getAddress()).startsWith("Street");
+				assertThat(loan.getPawnItem().getDescription()).startsWith("Gold ring");
+				assertThat(loan.getPawnItem().getPhotoUrl()).startsWith("https://");
+				assertThat(loan.getCurrency().getCode()).isEqualTo("USD");
+				assertThat(loan.getBranch().getName()).isEqualTo("Upcoming Branch");
+			}
+
+			assertThat(loans).hasSize(5);
+			counter.assertStatements(1);
+		}
+	}
+
+	private void givenFiveLoans() {
+		Branch branch = new Branch();
+		branch.setName("Upcoming Branch");
+		entityManager.persist(branch);
+		Currency currency = new Currency();
+		currency.setCode("USD");
+		entityManager.persist(currency);
+		for (int i = 0; i < 5; i++) {
+			loan(branch, currency, i);
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	private void loan(Branch branch, Currency currency, int i) {
+		Customer customer = new Customer();
+		customer.setFullName("Upcoming Customer " + i);
+		customer.setIdNumber("UPCOMING" + i);
+		customer.setAddress("Street " + i);
+		entityManager.persist(customer);
+
+		PawnItem item = new PawnItem();
+		item.setCustomer(customer);
+		item.setEstimatedValue(new BigDecimal("500.00"));
+		item.setDescription("Gold ring " + i);
+		item.setPhotoUrl("https://photos.example.com/" + i + ".jpg");
+		entityManager.persist(item);
+
+		PawnLoan loan = new PawnLoan();
+		loan.setLoanCode("UPCOMING-" + i);
+		loan.setBranch(branch);
+		loan.setCurrency(currency);
+		loan.setCustomer(customer);
+		loan.setPawnItem(item);
+		loan.setLoanAmount(new BigDecimal("100.00"));
+		loan.setInterestRate(BigDecimal.ONE);
+		loan.setTotalPayableAmount(new BigDecimal("101.00"));
+		loan.setDueDate(TODAY.plusDays(i));
+		loan.setStatus(LoanStatus.ACTIVE);
+		entityManager.persist(loan);
+	}
+}
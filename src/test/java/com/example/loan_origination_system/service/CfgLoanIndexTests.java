@@ -0,0 +1,67 @@
+package com.example.loan_origination_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.loan_origination_system.model.loan.CfgLoan;
+import com.example.loan_origination_system.model.master.Branch;
+import com.example.loan_origination_system.model.master.Currency;
+import com.example.loan_origination_system.repository.CfgLoanRepository;
+
+class CfgLoanIndexTests {
+
+	private final CfgLoanRepository cfgLoanRepository = mock(CfgLoanRepository.class);
+	private final CfgLoanIndex index = new CfgLoanIndex(cfgLoanRepository);
+
+	@Test
+	void resolvesOverlappingIntervalsToLatestStart() {
+		CfgLoan openEnded = cfg(1L, null, null);
+		CfgLoan promo = cfg(2L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+		CfgLoan repriced = cfg(3L, LocalDate.of(2026, 6, 1), null);
+		when(cfgLoanRepository.findAllActive()).thenReturn(List.of(openEnded, promo, repriced));
+
+		index.loadAll();
+
+		assertThat(index.findInForce(10L, 20L, LocalDate.of(2026, 1, 15)).cfgLoanId()).isEqualTo(1L);
+		assertThat(index.findInForce(10L, 20L, LocalDate.of(2026, 3, 1)).cfgLoanId()).isEqualTo(2L);
+		assertThat(index.findInForce(10L, 20L, LocalDate.of(2026, 3, 31)).cfgLoanId()).isEqualTo(2L);
+		assertThat(index.findInForce(10L, 20L, LocalDate.of(2026, 4, 1)).cfgLoanId()).isEqualTo(1L);
+		assertThat(index.findInForce(10L, 20L, LocalDate.of(2027, 1, 1)).cfgLoanId()).isEqualTo(3L);
+	}
+
+	@Test
+	void returnsNullOutsideAnyInterval() {
+		CfgLoan bounded = cfg(1L, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31));
+		when(cfgLoanRepository.findAllActive()).thenReturn(List.of(bounded));
+
+		index.loadAll();
+
+		assertThat(index.findInForce(10L, 20L, LocalDate.of(2025, 12, 31))).isNull();
+		assertThat(index.findInForce(10L, 20L, LocalDate.of(2027, 1, 1))).isNull();
+		assertThat(index.findInForce(99L, 20L, LocalDate.of(2026, 6, 1))).isNull();
+	}
+
+	private static CfgLoan cfg(Long id, LocalDate from, LocalDate to) {
+		Branch branch = new Branch();
+		branch.setId(10L);
+		Currency currency = new Currency();
+		currency.setId(20L);
+
+		CfgLoan cfg = new CfgLoan();
+		cfg.setId(id);
+		cfg.setBranch(branch);
+		cfg.setCurrency(currency);
+		cfg.setInterestRate(new BigDecimal("3.00"));
+		cfg.setStatus("ACTIVE");
+		cfg.setEffectiveFrom(from);
+		cfg.setEffectiveTo(to);
+		return cfg;
+	}
+}
@@ -0,0 +1,211 @@
+package com.example.loan_origination_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Several coordinators with distinct node IDs sharing one H2 database stand in for a cluster.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test-h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobCoordinatorTests {
+
+	private static final String JOB = "test-job";
+	private static final String RUN = "2026-10-19";
+	private static final long MAX_ID = 1000;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final MutableClock clock = new MutableClock(Instant.parse("2026-10-19T00:30:00Z"));
+	private final Map<Long, Integer> seen = new ConcurrentHashMap<>();
+
+	@BeforeEach
+	void clearTables() {
+		jdbcTemplate.update("DELETE FROM scheduler_lock");
+		jdbcTemplate.update("DELETE FROM scheduler_node");
+		jdbcTemplate.update("DELETE FROM scheduler_shard");
+	}
+
+	@Test
+	void onlyOneNodeRunsAnExclusiveJob() {
+		JobCoordinator a = node("a", 2);
+		JobCoordinator b = node("b", 2);
+		AtomicInteger runs = new AtomicInteger();
+
+		assertThat(a.runExclusive(JOB, () -> {
+			runs.incrementAndGet();
+			assertThat(b.runExclusive(JOB, runs::incrementAndGet)).isFalse();
+		})).isTrue();
+		assertThat(runs).hasValue(1);
+
+		// Held for lockAtLeast after the run, so a node whose cron fires late does not repeat it
+		assertThat(b.runExclusive(JOB, runs::incrementAndGet)).isFalse();
+		clock.advance(Duration.ofSeconds(61));
+		assertThat(b.runExclusive(JOB, runs::incrementAndGet)).isTrue();
+		assertThat(runs).hasValue(2);
+	}
+
+	@Test
+	void lockOfDeadNodeExpiresAfterLockAtMost() {
+		JobCoordinator a = node("a", 2);
+		JobCoordinator b = node("b", 2);
+
+		assertThat(a.tryLock(JOB, LocalDateTime.now(clock))).isTrue();
+		clock.advance(Duration.ofMinutes(90));
+		assertThat(b.runExclusive(JOB, () -> { })).isFalse();
+		clock.advance(Duration.ofMinutes(31));
+		assertThat(b.runExclusive(JOB, () -> { })).isTrue();
+	}
+
+	@Test
+	void liveNodesShareShardsAndProcessEachIdOnce() throws Exception {
+		List<JobCoordinator> nodes = List.of(node("a", 2), node("b", 2), node("c", 2));
+		for (JobCoordinator node : nodes) {
+			node.registerShardedJob(JOB, () -> MAX_ID, this::recordIds);
+			node.heartbeat();
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(nodes.size());
+		List<Future<JobCoordinator.ShardedRunResult>> results = new ArrayList<>();
+		for (JobCoordinator node : nodes) {
+			results.add(executor.submit(() -> node.runSharded(JOB, RUN)));
+		}
+		long processed = 0;
+		for (Future<JobCoordinator.ShardedRunResult> result : results) {
+			processed += result.get().processed();
+		}
+		executor.shutdown();
+
+		assertThat(processed).isEqualTo(MAX_ID);
+		assertThat(seen).hasSize((int) MAX_ID);
+		assertThat(seen.values()).allMatch(count -> count == 1);
+		assertThat(jdbcTemplate.queryForObject(
+			"SELECT COUNT(*) FROM scheduler_shard WHERE job_name = ? AND status = 'DONE'", Integer.class, JOB))
+			.isEqualTo(6);
+	}
+
+	@Test
+	void staleShardIsTakenOverFromItsCursor() {
+		JobCoordinator a = node("a", 1);
+		JobCoordinator b = node("b", 1);
+		b.registerShardedJob(JOB, () -> MAX_ID, this::recordIds);
+		AtomicInteger calls = new AtomicInteger();
+		a.registerShardedJob(JOB, () -> MAX_ID, (runKey, afterId, toId) -> {
+			if (calls.incrementAndGet() == 3) {
+				// Node a stalls past the heartbeat timeout; node b takes over from the saved cursor
+				clock.advance(Duration.ofMinutes(2));
+				JobCoordinator.ShardedRunResult takeover = b.runSharded(JOB, RUN);
+				assertThat(takeover.shards()).isEqualTo(1);
+				assertThat(takeover.complete()).isTrue();
+			}
+			return recordIds(runKey, afterId, toId);
+		});
+
+		JobCoordinator.ShardedRunResult result = a.runSharded(JOB, RUN);
+
+		assertThat(result.shards()).isZero();
+		assertThat(result.complete()).isTrue();
+		assertThat(seen).hasSize((int) MAX_ID);
+		// Only the chunk in flight when b took over is processed twice
+		assertThat(seen.values().stream().filter(count -> count == 2).count()).isEqualTo(25);
+		assertThat(jdbcTemplate.queryForObject("SELECT owner FROM scheduler_shard WHERE job_name = ?",
+			String.class, JOB)).isEqualTo("b");
+	}
+
+	@Test
+	void failedShardIsRetriedByAnotherNode() {
+		JobCoordinator a = node("a", 1);
+		JobCoordinator b = node("b", 1);
+		b.registerShardedJob(JOB, () -> MAX_ID, this::recordIds);
+		a.registerShardedJob(JOB, () -> MAX_ID, (runKey, afterId, toId) -> {
+			if (afterId >= 500) {
+				throw new IllegalStateException("connection reset");
+			}
+			return recordIds(runKey, afterId, toId);
+		});
+
+		JobCoordinator.ShardedRunResult failed = a.runSharded(JOB, RUN);
+		assertThat(failed.failed()).isTrue();
+		assertThat(failed.complete()).isFalse();
+		assertThat(seen).hasSize(500);
+
+		clock.advance(Duration.ofMinutes(2));
+		b.resumeStaleShards();
+
+		assertThat(seen).hasSize((int) MAX_ID);
+		assertThat(seen.values()).allMatch(count -> count == 1);
+	}
+
+	private JobCoordinator node(String nodeId, int shardsPerNode) {
+		return new JobCoordinator(jdbcTemplate, transactionManager, nodeId, Duration.ofHours(2), Duration.ofMinutes(1),
+			Duration.ofMinutes(1), shardsPerNode, Duration.ofDays(7), clock);
+	}
+
+	private JobCoordinator.Chunk recordIds(String runKey, long afterId, long toId) {
+		long last = Math.min(Math.min(toId, MAX_ID), afterId + 25);
+		if (last <= afterId) {
+			return new JobCoordinator.Chunk(afterId, 0);
+		}
+		for (long id = afterId + 1; id <= last; id++) {
+			seen.merge(id, 1, Integer::sum);
+		}
+		return new JobCoordinator.Chunk(last, (int) (last - afterId));
+	}
+
+	private static final class MutableClock extends Clock {
+		private volatile Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneId.of("UTC");
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
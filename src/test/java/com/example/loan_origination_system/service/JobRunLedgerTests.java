@@ -0,0 +1,46 @@
+package com.example.loan_origination_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test-h2")
+@Import(JobRunLedger.class)
+class JobRunLedgerTests {
+
+	@Autowired
+	private JobRunLedger jobRunLedger;
+
+	@Test
+	void recordsOnlyLaterBusinessDates() {
+		assertThat(jobRunLedger.lastCompleted("ledger-test")).isNull();
+
+		jobRunLedger.markCompleted("ledger-test", LocalDate.of(2026, 10, 17), "a");
+		jobRunLedger.markCompleted("ledger-test", LocalDate.of(2026, 10, 18), "b");
+		jobRunLedger.markCompleted("ledger-test", LocalDate.of(2026, 10, 16), "c");
+
+		assertThat(jobRunLedger.lastCompleted("ledger-test")).isEqualTo(LocalDate.of(2026, 10, 18));
+	}
+
+	@Test
+	void dueDateIsTheDateOfTheLastCronFiring() {
+		String cron = LoanSchedulerService.OVERDUE_CRON;
+
+		assertThat(JobRunLedger.lastScheduledDate(cron, LocalDateTime.of(2026, 10, 19, 0, 59)))
+			.isEqualTo(LocalDate.of(2026, 10, 18));
+		assertThat(JobRunLedger.lastScheduledDate(cron, LocalDateTime.of(2026, 10, 19, 1, 0)))
+			.isEqualTo(LocalDate.of(2026, 10, 19));
+		assertThat(JobRunLedger.lastScheduledDate("0 0 3 * * MON", LocalDateTime.of(2026, 10, 22, 12, 0)))
+			.isNull();
+	}
+}
@@ -0,0 +1,244 @@
+package com.example.loan_origination_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.loan_origination_system.dto.JournalEntryResponse;
+import com.example.loan_origination_system.dto.TrialBalanceResponse;
+import com.example.loan_origination_system.exception.BusinessException;
+import com.example.loan_origination_system.model.enums.LedgerAccountType;
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.loan.PawnItem;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+import com.example.loan_origination_system.model.loan.PawnRepayment;
+import com.example.loan_origination_system.model.master.Branch;
+import com.example.loan_origination_system.model.master.Currency;
+import com.example.loan_origination_system.model.people.Customer;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Postings run in committed transactions, as in production, so the ledger's own
+ * create-if-absent transactions see the branch, currency and loans.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:ledger")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test-h2")
+@Import(LedgerService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LedgerServiceTests {
+
+	private static final int CONCURRENT_POSTINGS = 8;
+
+	@Autowired
+	private LedgerService ledgerService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void entriesBalanceAndTrialBalanceNetsToZero() {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		Branch branch = tx.execute(status -> branch("Ledger Branch"));
+		Currency currency = tx.execute(status -> currency("LGA"));
+		PawnLoan loan = tx.execute(status -> loan(branch, currency, "1000.00", LocalDate.of(2026, 9, 15)));
+
+		tx.executeWithoutResult(status -> {
+			ledgerService.postDisbursement(loan);
+			ledgerService.postRepayment(repayment(loan, LocalDate.of(2026, 10, 2), "330.00", "300.00", "25.00", "5.00"));
+		});
+
+		List<JournalEntryResponse> journal = ledgerService.getLoanJournal(loan.getId());
+		assertThat(journal).hasSize(2);
+		for (JournalEntryResponse entry : journal) {
+			BigDecimal debits = entry.getLines().stream().map(JournalEntryResponse.Line::getDebit)
+				.reduce(BigDecimal.ZERO, BigDecimal::add);
+			BigDecimal credits = entry.getLines().stream().map(JournalEntryResponse.Line::getCredit)
+				.reduce(BigDecimal.ZERO, BigDecimal::add);
+			assertThat(debits).isEqualByComparingTo(credits);
+		}
+
+		assertThat(balance(branch, currency, LedgerAccountType.LOANS_RECEIVABLE)).isEqualByComparingTo("700.00");
+		assertThat(balance(branch, currency, LedgerAccountType.INTEREST_INCOME)).isEqualByComparingTo("25.00");
+		assertThat(balance(branch, currency, LedgerAccountType.PENALTY_INCOME)).isEqualByComparingTo("5.00");
+
+		// September holds only the disbursement; October adds the repayment
+		TrialBalanceResponse september = ledgerService.getTrialBalance(branch.getId(), currency.getId(),
+			YearMonth.of(2026, 9));
+		assertThat(september.isBalanced()).isTrue();
+		assertThat(september.getTotalDebits()).isEqualByComparingTo("1000.00");
+		TrialBalanceResponse october = ledgerService.getTrialBalance(branch.getId(), currency.getId(),
+			YearMonth.of(2026, 10));
+		assertThat(october.isBalanced()).isTrue();
+		assertThat(october.getTotalDebits()).isEqualByComparingTo(october.getTotalCredits());
+		assertThat(october.getTotalDebits()).isEqualByComparingTo("700.00");
+	}
+
+	@Test
+	void forfeitureWritesOffUnpaidPrincipalFromTheLoanTotals() {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		Branch branch = tx.execute(status -> branch("Forfeit Branch"));
+		Currency currency = tx.execute(status -> currency("LGD"));
+		PawnLoan loan = tx.execute(status -> loan(branch, currency, "1000.00", LocalDate.of(2026, 8, 1)));
+		loan.setPrincipalPaid(new BigDecimal("300.00"));
+		loan.setDefaultedAt(LocalDate.of(2026, 10, 1).atStartOfDay());
+
+		tx.executeWithoutResult(status -> {
+			ledgerService.postDisbursement(loan);
+			ledgerService.postRepayment(repayment(loan, LocalDate.of(2026, 8, 20), "330.00", "300.00", "30.00", "0.00"));
+			ledgerService.postForfeiture(loan);
+		});
+
+		assertThat(balance(branch, currency, LedgerAccountType.COLLATERAL_INVENTORY)).isEqualByComparingTo("700.00");
+		assertThat(balance(branch, currency, LedgerAccountType.LOANS_RECEIVABLE)).isEqualByComparingTo("0.00");
+	}
+
+	@Test
+	void rejectsRepaymentWhoseComponentsDoNotAddUp() {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		Branch branch = tx.execute(status -> branch("Mismatch Branch"));
+		Currency currency = tx.execute(status -> currency("LGB"));
+		PawnLoan loan = tx.execute(status -> loan(branch, currency, "500.00", LocalDate.of(2026, 9, 1)));
+
+		assertThatThrownBy(() -> ledgerService.postRepayment(
+				repayment(loan, LocalDate.of(2026, 9, 20), "100.00", "90.00", "5.00", "0.00")))
+			.isInstanceOf(BusinessException.class)
+			.extracting("errorCode")
+			.isEqualTo("REPAYMENT_ALLOCATION_MISMATCH");
+		assertThat(ledgerService.getLoanJournal(loan.getId())).isEmpty();
+	}
+
+	@Test
+	void concurrentFirstPostingsForANewAccountAndMonthAllCommit() throws Exception {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		Branch branch = tx.execute(status -> branch("Concurrent Branch"));
+		Currency currency = tx.execute(status -> currency("LGC"));
+		List<PawnLoan> loans = new ArrayList<>();
+		for (int i = 0; i < CONCURRENT_POSTINGS; i++) {
+			loans.add(tx.execute(status -> loan(branch, currency, "100.00", LocalDate.of(2026, 11, 3))));
+		}
+
+		// Every transaction posts, then all commit together; each finds no account and no rollup yet
+		CyclicBarrier beforeCommit = new CyclicBarrier(CONCURRENT_POSTINGS);
+		ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_POSTINGS);
+		try {
+			List<Future<?>> postings = new ArrayList<>();
+			for (PawnLoan loan : loans) {
+				postings.add(executor.submit(() -> tx.executeWithoutResult(status -> {
+					ledgerService.postDisbursement(loan);
+					await(beforeCommit);
+				})));
+			}
+			for (Future<?> posting : postings) {
+				posting.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(jdbcTemplate.queryForObject(
+			"SELECT COUNT(*) FROM ledger_account WHERE branch_id = ?", Integer.class, branch.getId())).isEqualTo(2);
+		assertThat(jdbcTemplate.queryForObject(
+			"SELECT COUNT(*) FROM ledger_period_balance p JOIN ledger_account a ON a.id = p.ledger_account_id "
+				+ "WHERE a.branch_id = ?", Integer.class, branch.getId())).isEqualTo(2);
+		assertThat(ledgerService.getAccountBalance(branch.getId(), currency.getId(), LedgerAccountType.CASH).getBalance())
+			.isEqualByComparingTo("-800.00");
+
+		TrialBalanceResponse trialBalance = ledgerService.getTrialBalance(branch.getId(), currency.getId(),
+			YearMonth.of(2026, 11));
+		assertThat(trialBalance.isBalanced()).isTrue();
+		assertThat(trialBalance.getTotalDebits()).isEqualByComparingTo("800.00");
+	}
+
+	private BigDecimal balance(Branch branch, Currency currency, LedgerAccountType accountType) {
+		return ledgerService.getAccountBalance(branch.getId(), currency.getId(), accountType).getBalance();
+	}
+
+	private static void await(CyclicBarrier barrier) {
+		try {
+			barrier.await(30, TimeUnit.SECONDS);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private Branch branch(String name) {
+		Branch branch = new Branch();
+		branch.setName(name);
+		entityManager.persist(branch);
+		return branch;
+	}
+
+	private Currency currency(String code) {
+		Currency currency = new Currency();
+		currency.setCode(code);
+		currency.setDecimalPlace(2);
+		entityManager.persist(currency);
+		return currency;
+	}
+
+	private PawnLoan loan(Branch branch, Currency currency, String amount, LocalDate loanDate) {
+		Customer customer = new Customer();
+		customer.setFullName("Ledger Customer");
+		customer.setIdNumber("LEDGER" + System.nanoTime());
+		entityManager.persist(customer);
+		PawnItem item = new PawnItem();
+		item.setCustomer(customer);
+		entityManager.persist(item);
+
+		PawnLoan loan = new PawnLoan();
+		loan.setLoanCode("LEDGER-" + item.getId());
+		loan.setBranch(entityManager.getReference(Branch.class, branch.getId()));
+		loan.setCurrency(entityManager.getReference(Currency.class, currency.getId()));
+		loan.setCustomer(customer);
+		loan.setPawnItem(item);
+		loan.setLoanAmount(new BigDecimal(amount));
+		loan.setInterestRate(BigDecimal.ONE);
+		loan.setTotalPayableAmount(new BigDecimal(amount));
+		loan.setLoanDate(loanDate);
+		loan.setStatus(LoanStatus.ACTIVE);
+		entityManager.persist(loan);
+		return loan;
+	}
+
+	private static PawnRepayment repayment(PawnLoan loan, LocalDate paymentDate, String paid, String principal,
+										   String interest, String penalty) {
+		PawnRepayment repayment = new PawnRepayment();
+		repayment.setPawnLoan(loan);
+		repayment.setPaymentDate(paymentDate);
+		repayment.setPaidAmount(new BigDecimal(paid));
+		repayment.setPrincipalPaid(new BigDecimal(principal));
+		repayment.setInterestPaid(new BigDecimal(interest));
+		repayment.setPenaltyPaid(new BigDecimal(penalty));
+		return repayment;
+	}
+}
@@ -0,0 +1,123 @@
+package com.example.loan_origination_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.loan.LoanAccrual;
+import com.example.loan_origination_system.model.loan.LoanProductRule;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+import com.example.loan_origination_system.model.master.Branch;
+import com.example.loan_origination_system.model.master.Currency;
+import com.example.loan_origination_system.repository.LoanAccrualRepository;
+import com.example.loan_origination_system.repository.PawnLoanRepository;
+
+class LoanAccrualServiceTests {
+
+	private static final LocalDate LOAN_DATE = LocalDate.of(2026, 1, 1);
+	private static final LocalDate DUE_DATE = LocalDate.of(2026, 1, 31);
+
+	private final CfgLoanService cfgLoanService = mock(CfgLoanService.class);
+	private final LoanAccrualService service = new LoanAccrualService(
+		mock(PawnLoanRepository.class), mock(LoanAccrualRepository.class), cfgLoanService);
+
+	@Test
+	void interestAccruesStraightLineUntilTheDueDate() {
+		givenGraceDays(7);
+		PawnLoan loan = loan();
+
+		LoanAccrual first = service.accrue(loan, LocalDate.of(2026, 1, 11));
+		assertThat(first.getDays()).isEqualTo(10);
+		assertThat(first.getInterestAccrued()).isEqualByComparingTo("10.00");
+		assertThat(first.getPenaltyAccrued()).isEqualByComparingTo("0.00");
+
+		// Past the due date interest stops at the flat total
+		LoanAccrual second = service.accrue(loan, LocalDate.of(2026, 2, 7));
+		assertThat(second.getPeriodStart()).isEqualTo(LocalDate.of(2026, 1, 11));
+		assertThat(second.getInterestAccrued()).isEqualByComparingTo("20.00");
+		assertThat(second.getCumulativeInterest()).isEqualByComparingTo("30.00");
+		assertThat(loan.getAccruedInterest()).isEqualByComparingTo("30.00");
+		assertThat(loan.getAccruedPenalty()).isEqualByComparingTo("0.00");
+	}
+
+	@Test
+	void penaltyStartsAfterTheGracePeriod() {
+		givenGraceDays(7);
+		PawnLoan loan = loan();
+
+		// Grace ends on 7 February; nothing is charged up to and including that day
+		service.accrue(loan, LocalDate.of(2026, 2, 7));
+		assertThat(loan.getAccruedPenalty()).isEqualByComparingTo("0.00");
+
+		// 8 days at 3% per 30 days on 1000.00 principal + 30.00 interest: 1030 * 3 * 8 / 3000
+		LoanAccrual penalty = service.accrue(loan, LocalDate.of(2026, 2, 15));
+		assertThat(penalty.getInterestAccrued()).isEqualByComparingTo("0.00");
+		assertThat(penalty.getPenaltyAccrued()).isEqualByComparingTo("8.24");
+		assertThat(penalty.getOutstandingBalance()).isEqualByComparingTo("1030.00");
+		assertThat(loan.getAccruedPenalty()).isEqualByComparingTo("8.24");
+	}
+
+	@Test
+	void catchUpPostsTheSameTotalsAsDailyRuns() {
+		givenGraceDays(0);
+		PawnLoan daily = loan();
+		for (LocalDate day = LOAN_DATE.plusDays(1); !day.isAfter(LocalDate.of(2026, 2, 20)); day = day.plusDays(1)) {
+			service.accrue(daily, day);
+		}
+		PawnLoan caughtUp = loan();
+		service.accrue(caughtUp, LocalDate.of(2026, 2, 20));
+
+		assertThat(caughtUp.getAccruedInterest()).isEqualByComparingTo(daily.getAccruedInterest());
+		assertThat(caughtUp.getAccruedPenalty()).isEqualByComparingTo(daily.getAccruedPenalty());
+	}
+
+	@Test
+	void rerunForTheSameDatePostsNothing() {
+		givenGraceDays(7);
+		PawnLoan loan = loan();
+		LocalDate asOf = LocalDate.of(2026, 2, 15);
+
+		assertThat(service.accrue(loan, asOf)).isNotNull();
+		BigDecimal interest = loan.getAccruedInterest();
+		BigDecimal penalty = loan.getAccruedPenalty();
+
+		assertThat(service.accrue(loan, asOf)).isNull();
+		assertThat(service.accrue(loan, asOf.minusDays(3))).isNull();
+		assertThat(loan.getAccruedInterest()).isEqualByComparingTo(interest);
+		assertThat(loan.getAccruedPenalty()).isEqualByComparingTo(penalty);
+		assertThat(loan.getLastAccrualDate()).isEqualTo(asOf);
+	}
+
+	private void givenGraceDays(int graceDays) {
+		LoanProductRule defaults = LoanProductRule.defaults(10L, 20L);
+		when(cfgLoanService.resolveRule(any(), any(), any())).thenReturn(new LoanProductRule(
+			null, 10L, 20L, null, null, defaults.maxLoanToValue(), null, defaults.penaltyRate(),
+			graceDays, defaults.defaultLoanDurationDays(), null, null, defaults.allocationOrder(), null, null));
+	}
+
+	private static PawnLoan loan() {
+		Branch branch = new Branch();
+		branch.setId(10L);
+		Currency currency = new Currency();
+		currency.setId(20L);
+
+		PawnLoan loan = new PawnLoan();
+		loan.setBranch(branch);
+		loan.setCurrency(currency);
+		loan.setStatus(LoanStatus.ACTIVE);
+		loan.setLoanAmount(new BigDecimal("1000.00"));
+		loan.setInterestRate(new BigDecimal("3.00"));
+		loan.setTotalPayableAmount(new BigDecimal("1030.00"));
+		loan.setPenaltyRate(new BigDecimal("3.00"));
+		loan.setLoanDate(LOAN_DATE);
+		loan.setDueDate(DUE_DATE);
+		return loan;
+	}
+}
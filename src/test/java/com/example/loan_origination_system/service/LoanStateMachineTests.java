@@ -0,0 +1,119 @@
+package com.example.loan_origination_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.loan_origination_system.metrics.LoanMetrics;
+import com.example.loan_origination_system.model.enums.CollateralStatus;
+import com.example.loan_origination_system.model.enums.LoanEvent;
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.loan.CfgLoan;
+import com.example.loan_origination_system.model.loan.LoanProductRule;
+import com.example.loan_origination_system.model.loan.PawnItem;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+import com.example.loan_origination_system.model.master.Branch;
+import com.example.loan_origination_system.model.master.Currency;
+import com.example.loan_origination_system.repository.PawnItemRepository;
+import com.example.loan_origination_system.repository.PawnLoanRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoanStateMachineTests {
+
+	private final CfgLoanService cfgLoanService = mock(CfgLoanService.class);
+	private final LoanStateMachine stateMachine = new LoanStateMachine(mock(PawnLoanRepository.class),
+		mock(PawnItemRepository.class), mock(LedgerService.class), mock(LoanStatusCache.class),
+		mock(PortfolioSnapshotService.class), new LoanMetrics(new SimpleMeterRegistry()), cfgLoanService);
+
+	@Test
+	void overdueAndDefaultAreStampedFromLoanDatesNotRunDate() {
+		when(cfgLoanService.resolveRule(any(), any(), any())).thenReturn(LoanProductRule.defaults(10L, 20L));
+		LocalDate dueDate = LocalDate.now().minusDays(40);
+		PawnLoan loan = loan(dueDate);
+
+		stateMachine.transition(loan, LoanEvent.DUE_DATE_PASSED);
+
+		assertThat(loan.getStatus()).isEqualTo(LoanStatus.OVERDUE);
+		assertThat(loan.getOverdueAt()).isEqualTo(dueDate.atStartOfDay());
+		assertThat(loan.getGracePeriodEndDate()).isEqualTo(dueDate.plusDays(LoanProductRule.DEFAULT_AUTO_FORFEIT_DAYS));
+
+		stateMachine.transition(loan, LoanEvent.GRACE_PERIOD_EXPIRED);
+
+		assertThat(loan.getStatus()).isEqualTo(LoanStatus.DEFAULTED);
+		assertThat(loan.getDefaultedAt()).isEqualTo(dueDate.plusDays(LoanProductRule.DEFAULT_AUTO_FORFEIT_DAYS).atStartOfDay());
+		assertThat(loan.getPawnItem().getStatus()).isEqualTo(CollateralStatus.FORFEITED);
+	}
+
+	@Test
+	void gracePeriodFollowsTheRuleInForceWhenTheLoanWasMade() {
+		LocalDate loanDate = LocalDate.of(2026, 8, 1);
+		CfgLoan cfg = new CfgLoan();
+		cfg.setId(3L);
+		cfg.setInterestRate(new BigDecimal("3.00"));
+		cfg.setAutoForfeitDays(45);
+		when(cfgLoanService.resolveRule(10L, 20L, loanDate)).thenReturn(LoanProductRule.compile(cfg, 10L, 20L));
+		PawnLoan loan = loan(loanDate.plusDays(30));
+		loan.setLoanDate(loanDate);
+
+		stateMachine.transition(loan, LoanEvent.DUE_DATE_PASSED);
+
+		assertThat(loan.getGracePeriodEndDate()).isEqualTo(loanDate.plusDays(30 + 45));
+	}
+
+	@Test
+	void gracePeriodNeverEndsBeforeTheRedemptionDeadline() {
+		when(cfgLoanService.resolveRule(eq(10L), eq(20L), any())).thenReturn(LoanProductRule.defaults(10L, 20L));
+		LocalDate dueDate = LocalDate.of(2026, 9, 1);
+		PawnLoan loan = loan(dueDate);
+		loan.setGracePeriodDays(60);
+
+		stateMachine.transition(loan, LoanEvent.DUE_DATE_PASSED);
+
+		assertThat(loan.getGracePeriodEndDate()).isEqualTo(dueDate.plusDays(60));
+	}
+
+	@Test
+	void partialPaymentOnOverdueLoanKeepsGracePeriod() {
+		when(cfgLoanService.resolveRule(any(), any(), any())).thenReturn(LoanProductRule.defaults(10L, 20L));
+		LocalDate dueDate = LocalDate.now().minusDays(5);
+		PawnLoan loan = loan(dueDate);
+		stateMachine.transition(loan, LoanEvent.DUE_DATE_PASSED);
+		LocalDate graceEnd = loan.getGracePeriodEndDate();
+		loan.setGracePeriodEndDate(graceEnd.minusDays(1));
+
+		stateMachine.transition(loan, LoanEvent.PARTIAL_PAYMENT);
+
+		assertThat(loan.getStatus()).isEqualTo(LoanStatus.OVERDUE);
+		assertThat(loan.getGracePeriodEndDate()).isEqualTo(graceEnd.minusDays(1));
+	}
+
+	private static PawnLoan loan(LocalDate dueDate) {
+		PawnItem pawnItem = new PawnItem();
+		pawnItem.setId(1L);
+		pawnItem.setStatus(CollateralStatus.PAWNED);
+		pawnItem.setEstimatedValue(new BigDecimal("500.00"));
+
+		Branch branch = new Branch();
+		branch.setId(10L);
+		Currency currency = new Currency();
+		currency.setId(20L);
+
+		PawnLoan loan = new PawnLoan();
+		loan.setId(1L);
+		loan.setBranch(branch);
+		loan.setCurrency(currency);
+		loan.setLoanCode("LOAN-001-0000000001-8");
+		loan.setStatus(LoanStatus.ACTIVE);
+		loan.setDueDate(dueDate);
+		loan.setPawnItem(pawnItem);
+		return loan;
+	}
+}
@@ -0,0 +1,78 @@
+package com.example.loan_origination_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.loan_origination_system.exception.BusinessException;
+import com.example.loan_origination_system.model.enums.LoanEvent;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+import com.example.loan_origination_system.repository.PawnLoanRepository;
+import com.example.loan_origination_system.service.LoanTransitionBatchService.TransitionChunkResult;
+
+class LoanTransitionBatchServiceTests {
+
+	private static final LocalDate AS_OF = LocalDate.of(2026, 10, 19);
+
+	private final PawnLoanRepository pawnLoanRepository = mock(PawnLoanRepository.class);
+	private final LoanStateMachine loanStateMachine = mock(LoanStateMachine.class);
+	private final LoanTransitionBatchService service = new LoanTransitionBatchService(
+		pawnLoanRepository, loanStateMachine, mock(PlatformTransactionManager.class));
+
+	@Test
+	void transitionsWholeChunkInOneGo() {
+		when(pawnLoanRepository.findDueByDateAfterId(eq(AS_OF), eq(0L), any())).thenReturn(List.of(loan(1L), loan(2L)));
+
+		TransitionChunkResult chunk = service.markOverdueChunk(0L, AS_OF, 100);
+
+		assertThat(chunk).isEqualTo(new TransitionChunkResult(2L, 2, 0));
+		verify(loanStateMachine, never()).transition(any(Long.class), any());
+	}
+
+	@Test
+	void failingChunkIsRetriedLoanByLoanSkippingTheFailingLoan() {
+		when(pawnLoanRepository.findGraceExpiredAfterId(eq(AS_OF), eq(10L), any()))
+			.thenReturn(List.of(loan(11L), loan(12L), loan(13L)));
+		when(loanStateMachine.transition(argThat((PawnLoan loan) -> loan != null && loan.getId() == 12L),
+				eq(LoanEvent.GRACE_PERIOD_EXPIRED)))
+			.thenThrow(new BusinessException("INVALID_TRANSITION", "Loan 12 cannot default"));
+		when(loanStateMachine.transition(12L, LoanEvent.GRACE_PERIOD_EXPIRED))
+			.thenThrow(new BusinessException("INVALID_TRANSITION", "Loan 12 cannot default"));
+
+		TransitionChunkResult chunk = service.defaultExpiredChunk(10L, AS_OF, 100);
+
+		// The cursor moves past the skipped loan, so the rest of the day's run carries on
+		assertThat(chunk).isEqualTo(new TransitionChunkResult(13L, 2, 1));
+		assertThat(chunk.isEmpty()).isFalse();
+		verify(loanStateMachine).transition(11L, LoanEvent.GRACE_PERIOD_EXPIRED);
+		verify(loanStateMachine).transition(13L, LoanEvent.GRACE_PERIOD_EXPIRED);
+	}
+
+	@Test
+	void emptyChunkKeepsTheCursor() {
+		when(pawnLoanRepository.findDueByDateAfterId(eq(AS_OF), eq(5L), any())).thenReturn(List.of());
+
+		TransitionChunkResult chunk = service.markOverdueChunk(5L, AS_OF, 100);
+
+		assertThat(chunk.lastLoanId()).isEqualTo(5L);
+		assertThat(chunk.isEmpty()).isTrue();
+	}
+
+	private static PawnLoan loan(Long id) {
+		PawnLoan loan = new PawnLoan();
+		loan.setId(id);
+		loan.setLoanCode("LN-" + id);
+		return loan;
+	}
+}
@@ -0,0 +1,120 @@
+package com.example.loan_origination_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.loan_origination_system.dto.AgingReportResponse;
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.enums.ParBucket;
+import com.example.loan_origination_system.model.loan.PawnItem;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+import com.example.loan_origination_system.model.master.Branch;
+import com.example.loan_origination_system.model.master.Currency;
+import com.example.loan_origination_system.model.people.Customer;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test-h2")
+@Import(PortfolioAgingService.class)
+class PortfolioAgingServiceTests {
+
+	private static final LocalDate AS_OF = LocalDate.of(2026, 10, 19);
+
+	@Autowired
+	private PortfolioAgingService portfolioAgingService;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void agesOpenLoansIntoBucketsPerBranchAndCurrency() {
+		Branch branch = new Branch();
+		branch.setName("Aging Branch");
+		entityManager.persist(branch);
+		Currency usd = currency("USD", 2);
+		Currency khr = currency("KHR", 0);
+		Customer customer = new Customer();
+		customer.setFullName("Aging Customer");
+		customer.setIdNumber("AGING0001");
+		entityManager.persist(customer);
+
+		loan(branch, usd, customer, "100.00", "0", AS_OF.plusDays(5), LoanStatus.ACTIVE);
+		loan(branch, usd, customer, "250.50", "50.25", AS_OF.minusDays(7), LoanStatus.OVERDUE);
+		loan(branch, usd, customer, "80.00", "0", AS_OF.minusDays(8), LoanStatus.PARTIALLY_PAID);
+		loan(branch, usd, customer, "300.00", "0", AS_OF.minusDays(45), LoanStatus.OVERDUE);
+		loan(branch, usd, customer, "999.00", "0", AS_OF.minusDays(45), LoanStatus.REDEEMED);
+		loan(branch, khr, customer, "400000", "0", AS_OF.minusDays(20), LoanStatus.OVERDUE);
+		entityManager.flush();
+
+		AgingReportResponse report = portfolioAgingService.compute(AS_OF, branch.getId());
+
+		assertThat(report.getLoansScanned()).isEqualTo(5);
+		assertThat(report.getSegments()).hasSize(2);
+
+		AgingReportResponse.Segment usdSegment = segment(report, usd);
+		assertThat(usdSegment.getOpenLoans()).isEqualTo(4);
+		assertThat(usdSegment.getOutstandingPrincipal()).isEqualByComparingTo("680.25");
+		Map<ParBucket, AgingReportResponse.Bucket> buckets = usdSegment.getBuckets().stream()
+			.collect(Collectors.toMap(AgingReportResponse.Bucket::getBucket, Function.identity()));
+		assertThat(buckets.get(ParBucket.CURRENT).getOutstandingPrincipal()).isEqualByComparingTo("100.00");
+		assertThat(buckets.get(ParBucket.DAYS_1_7).getOutstandingPrincipal()).isEqualByComparingTo("200.25");
+		assertThat(buckets.get(ParBucket.DAYS_8_14).getLoans()).isEqualTo(1);
+		assertThat(buckets.get(ParBucket.DAYS_15_30).getLoans()).isZero();
+		assertThat(buckets.get(ParBucket.DAYS_30_PLUS).getOutstandingPrincipal()).isEqualByComparingTo("300.00");
+		assertThat(usdSegment.getParRatio()).isEqualByComparingTo("0.8530");
+
+		AgingReportResponse.Segment khrSegment = segment(report, khr);
+		assertThat(khrSegment.getOutstandingPrincipal()).isEqualByComparingTo("400000");
+		assertThat(khrSegment.getOutstandingPrincipal().scale()).isZero();
+	}
+
+	private static AgingReportResponse.Segment segment(AgingReportResponse report, Currency currency) {
+		return report.getSegments().stream()
+			.filter(segment -> segment.getCurrencyId().equals(currency.getId()))
+			.findFirst()
+			.orElseThrow();
+	}
+
+	private Currency currency(String code, int decimalPlace) {
+		Currency currency = new Currency();
+		currency.setCode(code);
+		currency.setDecimalPlace(decimalPlace);
+		entityManager.persist(currency);
+		return currency;
+	}
+
+	private void loan(Branch branch, Currency currency, Customer customer, String amount, String principalPaid,
+					  LocalDate dueDate, LoanStatus status) {
+		PawnItem item = new PawnItem();
+		item.setCustomer(customer);
+		entityManager.persist(item);
+
+		PawnLoan loan = new PawnLoan();
+		loan.setLoanCode("AGING-" + item.getId());
+		loan.setBranch(branch);
+		loan.setCurrency(currency);
+		loan.setCustomer(customer);
+		loan.setPawnItem(item);
+		loan.setLoanAmount(new BigDecimal(amount));
+		loan.setPrincipalPaid(new BigDecimal(principalPaid));
+		loan.setInterestRate(BigDecimal.ONE);
+		loan.setTotalPayableAmount(new BigDecimal(amount));
+		loan.setDueDate(dueDate);
+		loan.setStatus(status);
+		entityManager.persist(loan);
+	}
+}
@@ -0,0 +1,185 @@
+package com.example.loan_origination_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.loan_origination_system.dto.PortfolioSnapshotResponse;
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.enums.ParBucket;
+import com.example.loan_origination_system.model.enums.PortfolioDimension;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+import com.example.loan_origination_system.model.loan.PortfolioStat;
+import com.example.loan_origination_system.model.master.Branch;
+import com.example.loan_origination_system.model.master.Currency;
+import com.example.loan_origination_system.repository.PawnLoanRepository;
+import com.example.loan_origination_system.repository.PawnRepaymentArchiveRepository;
+import com.example.loan_origination_system.repository.PawnRepaymentRepository;
+import com.example.loan_origination_system.repository.PortfolioStatRepository;
+
+class PortfolioSnapshotServiceTests {
+
+	private final PortfolioStatRepository portfolioStatRepository = mock(PortfolioStatRepository.class);
+	private final MutableClock clock = new MutableClock(Instant.parse("2026-10-19T08:00:00Z"));
+	private final PortfolioSnapshotService service = new PortfolioSnapshotService(portfolioStatRepository,
+		mock(PawnLoanRepository.class), mock(PawnRepaymentRepository.class), mock(PawnRepaymentArchiveRepository.class),
+		mock(PortfolioAgingService.class), mock(PlatformTransactionManager.class), Duration.ofSeconds(30), clock);
+
+	@Test
+	void servesCachedSnapshotWithinStalenessBound() {
+		when(portfolioStatRepository.findAll()).thenReturn(List.of(
+			stat(1L, PortfolioDimension.LOAN_STATUS, "ACTIVE", 3, "900.00"),
+			stat(1L, PortfolioDimension.LOAN_STATUS, "OVERDUE", 1, "100.00"),
+			stat(1L, PortfolioDimension.LOAN_STATUS, "REDEEMED", 5, "0.00"),
+			stat(1L, PortfolioDimension.PAR_BUCKET, "DAYS_8_14", 1, "100.00"),
+			stat(1L, PortfolioDimension.COLLECTIONS, "2026-10", 4, "420.00"),
+			stat(1L, PortfolioDimension.COLLECTIONS, "2025-01", 2, "50.00"),
+			stat(2L, PortfolioDimension.LOAN_STATUS, "ACTIVE", 1, "250.00")));
+
+		PortfolioSnapshotResponse snapshot = service.getSnapshot(null);
+		assertThat(snapshot.getSegments()).hasSize(2);
+
+		PortfolioSnapshotResponse.Segment branch1 = service.getSnapshot(1L).getSegments().get(0);
+		assertThat(branch1.getOpenLoans()).isEqualTo(4);
+		assertThat(branch1.getOutstandingPrincipal()).isEqualByComparingTo("1000.00");
+		assertThat(branch1.getLoansByStatus()).containsEntry(LoanStatus.REDEEMED, 5L);
+		assertThat(branch1.getParOutstanding()).containsEntry(ParBucket.DAYS_8_14, new BigDecimal("100.00"));
+		assertThat(branch1.getCollectionsMonthToDate()).isEqualByComparingTo("420.00");
+		// Months older than the window are not reported
+		assertThat(branch1.getCollectionsByMonth()).containsOnlyKeys("2026-10");
+		assertThat(service.getSnapshot(99L).getSegments()).isEmpty();
+		verify(portfolioStatRepository, times(1)).findAll();
+
+		clock.advance(Duration.ofSeconds(31));
+		service.getSnapshot(null);
+		verify(portfolioStatRepository, times(2)).findAll();
+	}
+
+	@Test
+	void transitionMovesOutstandingBetweenStatuses() {
+		when(portfolioStatRepository.applyDelta(any(), any(), any(), any(), anyLong(), any(), any())).thenReturn(1);
+		PawnLoan loan = loan("1000.00", "400.00");
+
+		service.recordTransition(loan, LoanStatus.ACTIVE, LoanStatus.OVERDUE);
+		service.recordTransition(loan, LoanStatus.PARTIALLY_PAID, LoanStatus.PARTIALLY_PAID);
+
+		verify(portfolioStatRepository).applyDelta(eq(1L), eq(7L), eq(PortfolioDimension.LOAN_STATUS), eq("ACTIVE"),
+			eq(-1L), eq(new BigDecimal("-600.00")), any());
+		verify(portfolioStatRepository).applyDelta(eq(1L), eq(7L), eq(PortfolioDimension.LOAN_STATUS), eq("OVERDUE"),
+			eq(1L), eq(new BigDecimal("600.00")), any());
+		verify(portfolioStatRepository, never()).applyDelta(any(), any(), any(), eq("PARTIALLY_PAID"), anyLong(), any(), any());
+	}
+
+	@Test
+	void firstDeltaCreatesTheAggregateEmptyThenAddsToIt() {
+		when(portfolioStatRepository.applyDelta(any(), any(), any(), any(), anyLong(), any(), any())).thenReturn(0, 1);
+
+		PawnLoan loan = loan("1000.00", "0.00");
+		loan.setStatus(LoanStatus.ACTIVE);
+		service.recordCreated(loan);
+
+		ArgumentCaptor<PortfolioStat> created = ArgumentCaptor.forClass(PortfolioStat.class);
+		verify(portfolioStatRepository).saveAndFlush(created.capture());
+		assertThat(created.getValue().getItemCount()).isZero();
+		assertThat(created.getValue().getAmount()).isEqualByComparingTo("0");
+		verify(portfolioStatRepository, times(2)).applyDelta(eq(1L), eq(7L), eq(PortfolioDimension.LOAN_STATUS),
+			eq("ACTIVE"), eq(1L), eq(new BigDecimal("1000.00")), any());
+	}
+
+	@Test
+	void aggregateCreatedConcurrentlyStillGetsTheDelta() {
+		when(portfolioStatRepository.applyDelta(any(), any(), any(), any(), anyLong(), any(), any())).thenReturn(0, 1);
+		doThrow(new DataIntegrityViolationException("uk_portfolio_snapshot"))
+			.when(portfolioStatRepository).saveAndFlush(any());
+
+		PawnLoan loan = loan("1000.00", "0.00");
+		loan.setStatus(LoanStatus.ACTIVE);
+		service.recordCreated(loan);
+
+		verify(portfolioStatRepository, times(2)).applyDelta(eq(1L), eq(7L), eq(PortfolioDimension.LOAN_STATUS),
+			eq("ACTIVE"), eq(1L), eq(new BigDecimal("1000.00")), any());
+	}
+
+	@Test
+	void parBucketBoundaries() {
+		assertThat(ParBucket.of(0)).isEqualTo(ParBucket.CURRENT);
+		assertThat(ParBucket.of(-3)).isEqualTo(ParBucket.CURRENT);
+		assertThat(ParBucket.of(7)).isEqualTo(ParBucket.DAYS_1_7);
+		assertThat(ParBucket.of(8)).isEqualTo(ParBucket.DAYS_8_14);
+		assertThat(ParBucket.of(30)).isEqualTo(ParBucket.DAYS_15_30);
+		assertThat(ParBucket.of(31)).isEqualTo(ParBucket.DAYS_30_PLUS);
+	}
+
+	private static PortfolioStat stat(Long branchId, PortfolioDimension dimension, String bucket, long count, String amount) {
+		PortfolioStat stat = new PortfolioStat();
+		stat.setBranchId(branchId);
+		stat.setCurrencyId(7L);
+		stat.setDimension(dimension);
+		stat.setBucket(bucket);
+		stat.setItemCount(count);
+		stat.setAmount(new BigDecimal(amount));
+		stat.setUpdatedAt(LocalDateTime.of(2026, 10, 19, 2, 30));
+		return stat;
+	}
+
+	private static PawnLoan loan(String loanAmount, String principalPaid) {
+		Branch branch = new Branch();
+		branch.setId(1L);
+		Currency currency = new Currency();
+		currency.setId(7L);
+		PawnLoan loan = new PawnLoan();
+		loan.setBranch(branch);
+		loan.setCurrency(currency);
+		loan.setLoanAmount(new BigDecimal(loanAmount));
+		loan.setPrincipalPaid(new BigDecimal(principalPaid));
+		return loan;
+	}
+
+	private static final class MutableClock extends Clock {
+		private Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
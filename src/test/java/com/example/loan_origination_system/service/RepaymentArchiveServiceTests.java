@@ -0,0 +1,242 @@
+package com.example.loan_origination_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.loan_origination_system.metrics.LoanMetrics;
+import com.example.loan_origination_system.model.enums.LoanStatus;
+import com.example.loan_origination_system.model.loan.PawnItem;
+import com.example.loan_origination_system.model.loan.PawnLoan;
+import com.example.loan_origination_system.model.loan.PawnRepayment;
+import com.example.loan_origination_system.model.master.Branch;
+import com.example.loan_origination_system.model.master.Currency;
+import com.example.loan_origination_system.model.people.Customer;
+import com.example.loan_origination_system.repository.CurrencyRepository;
+import com.example.loan_origination_system.repository.PawnLoanRepository;
+import com.example.loan_origination_system.repository.PawnRepaymentArchiveRepository;
+import com.example.loan_origination_system.repository.PawnRepaymentRepository;
+import com.example.loan_origination_system.repository.PaymentMethodRepository;
+import com.example.loan_origination_system.repository.PaymentTypeRepository;
+import com.example.loan_origination_system.repository.ReportReader;
+import com.example.loan_origination_system.repository.UserRepository;
+import com.example.loan_origination_system.service.RepaymentArchiveService.ArchiveChunkResult;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Archives a closed loan and checks every read path gives the same answer from the archive
+ * as it did from pawn_repayment. H2 has no partitioning, so the PostgreSQL partition
+ * migration itself is not exercised here.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:archive")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test-h2")
+@Import({RepaymentArchiveService.class, ReportReader.class})
+class RepaymentArchiveServiceTests {
+
+	@Autowired
+	private RepaymentArchiveService archiveService;
+
+	@Autowired
+	private PawnLoanRepository pawnLoanRepository;
+
+	@Autowired
+	private PawnRepaymentRepository pawnRepaymentRepository;
+
+	@Autowired
+	private PawnRepaymentArchiveRepository archiveRepository;
+
+	@Autowired
+	private ReportReader reportReader;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void archivedLoanKeepsItsHistorySummaryAndTotals() {
+		PawnRepaymentService repayments = repaymentService();
+		LocalDate today = LocalDate.now();
+		Branch branch = branch("Archive Branch");
+		Currency currency = currency("ARC");
+		PawnLoan closed = loan(branch, currency, LoanStatus.REDEEMED);
+		PawnLoan active = loan(branch, currency, LoanStatus.ACTIVE);
+		repayment(closed, currency, today.minusMonths(2), "400.00", "380.00", "20.00", "0.00", "620.00");
+		repayment(closed, currency, today.minusMonths(1), "300.00", "290.00", "10.00", "0.00", "330.00");
+		repayment(closed, currency, today.minusDays(3), "345.00", "330.00", "10.00", "5.00", "0.00");
+		repayment(active, currency, today.minusDays(3), "100.00", "100.00", "0.00", "0.00", "900.00");
+		entityManager.flush();
+		entityManager.clear();
+
+		List<Tuple> historyBefore = history(repayments, closed.getId());
+		List<Tuple> pageBefore = page(repayments, closed.getId());
+		Long firstRepaymentId = repayments.getRepaymentHistory(closed.getId()).get(0).getId();
+		PawnRepaymentService.CustomerRepaymentSummary summaryBefore =
+			repayments.getCustomerRepaymentSummary(closed.getCustomer().getId(), 6);
+		BigDecimal totalBefore = repayments.getTotalPaidAmountByLoanId(closed.getId());
+		List<Tuple> dateRangeBefore = dateRange(repayments, today.minusMonths(3), today);
+		List<Tuple> customerMonthsBefore = customerMonths(repayments, closed.getCustomer().getId());
+		PawnRepaymentService.DailyCollectionReport collectionBefore =
+			repayments.getDailyCollectionReport(branch.getId(), today.minusDays(3));
+		entityManager.clear();
+
+		ArchiveChunkResult result = archiveService.archiveChunk(0L, LocalDateTime.now().plusMinutes(1), 10);
+		entityManager.clear();
+
+		// Only the closed loan moves; the active loan keeps its row in pawn_repayment
+		assertThat(result.loansArchived()).isEqualTo(1);
+		assertThat(result.repaymentsArchived()).isEqualTo(3);
+		assertThat(pawnLoanRepository.isArchived(closed.getId())).isTrue();
+		assertThat(pawnLoanRepository.isArchived(active.getId())).isFalse();
+		assertThat(pawnRepaymentRepository.findByPawnLoanIdOrderByPaymentDateDesc(closed.getId())).isEmpty();
+		assertThat(pawnRepaymentRepository.findByPawnLoanIdOrderByPaymentDateDesc(active.getId())).hasSize(1);
+		assertThat(archiveRepository.findByPawnLoanIdOrderByPaymentDateDesc(closed.getId())).hasSize(3);
+
+		assertThat(history(repayments, closed.getId())).containsExactlyElementsOf(historyBefore);
+		assertThat(page(repayments, closed.getId())).containsExactlyInAnyOrderElementsOf(pageBefore);
+		assertThat(repayments.getRepaymentById(firstRepaymentId).getPaidAmount()).isEqualByComparingTo("345.00");
+		assertThat(repayments.getTotalPaidAmountByLoanId(closed.getId())).isEqualByComparingTo(totalBefore);
+
+		// Date range and customer logs merge both tables by payment date, across page boundaries
+		assertThat(dateRangeBefore).hasSize(4);
+		assertThat(dateRange(repayments, today.minusMonths(3), today)).containsExactlyElementsOf(dateRangeBefore);
+		assertThat(customerMonthsBefore).hasSize(3);
+		assertThat(customerMonths(repayments, closed.getCustomer().getId())).containsExactlyElementsOf(customerMonthsBefore);
+
+		PawnRepaymentService.DailyCollectionReport collectionAfter =
+			repayments.getDailyCollectionReport(branch.getId(), today.minusDays(3));
+		assertThat(collectionAfter.getNumberOfTransactions()).isEqualTo(2);
+		assertThat(collectionAfter.getNumberOfTransactions()).isEqualTo(collectionBefore.getNumberOfTransactions());
+		assertThat(collectionAfter.getTotalCollection()).isEqualByComparingTo(collectionBefore.getTotalCollection());
+		assertThat(collectionAfter.getTotalPrincipal()).isEqualByComparingTo(collectionBefore.getTotalPrincipal());
+		assertThat(collectionAfter.getTotalPenalty()).isEqualByComparingTo(collectionBefore.getTotalPenalty());
+
+		PawnRepaymentService.CustomerRepaymentSummary summaryAfter =
+			repayments.getCustomerRepaymentSummary(closed.getCustomer().getId(), 6);
+		assertThat(summaryAfter.getTotalRepayments()).isEqualTo(3);
+		assertThat(summaryAfter.getTotalRepayments()).isEqualTo(summaryBefore.getTotalRepayments());
+		assertThat(summaryAfter.getTotalPaidAmount()).isEqualByComparingTo(summaryBefore.getTotalPaidAmount());
+		assertThat(summaryAfter.getTotalPrincipal()).isEqualByComparingTo(summaryBefore.getTotalPrincipal());
+		assertThat(summaryAfter.getTotalInterest()).isEqualByComparingTo(summaryBefore.getTotalInterest());
+		assertThat(summaryAfter.getTotalPenalty()).isEqualByComparingTo(summaryBefore.getTotalPenalty());
+		assertThat(summaryAfter.getMonthlyTotals()).isEqualTo(summaryBefore.getMonthlyTotals());
+
+		// A rerun finds nothing left to archive
+		assertThat(archiveService.archiveChunk(0L, LocalDateTime.now().plusMinutes(1), 10).loansArchived()).isZero();
+	}
+
+	private PawnRepaymentService repaymentService() {
+		return new PawnRepaymentService(pawnRepaymentRepository, archiveRepository,
+			mock(PortfolioSnapshotService.class), pawnLoanRepository, mock(CurrencyRepository.class),
+			mock(PaymentMethodRepository.class), mock(PaymentTypeRepository.class), mock(UserRepository.class),
+			mock(LoanStateMachine.class), reportReader, mock(LedgerService.class), mock(LoanMetrics.class),
+			mock(LoanStatusCache.class), mock(CfgLoanService.class));
+	}
+
+	private static List<Tuple> history(PawnRepaymentService repayments, Long loanId) {
+		return repayments.getRepaymentHistory(loanId).stream()
+			.map(RepaymentArchiveServiceTests::tuple)
+			.toList();
+	}
+
+	private static List<Tuple> page(PawnRepaymentService repayments, Long loanId) {
+		return repayments.getRepaymentHistory(loanId, PageRequest.of(0, 10)).stream()
+			.map(RepaymentArchiveServiceTests::tuple)
+			.toList();
+	}
+
+	private static List<Tuple> dateRange(PawnRepaymentService repayments, LocalDate startDate, LocalDate endDate) {
+		Sort newestFirst = Sort.by(Sort.Direction.DESC, "paymentDate");
+		return Stream.of(0, 1)
+			.flatMap(page -> repayments.getRepaymentsByDateRange(startDate, endDate, PageRequest.of(page, 3, newestFirst)).stream())
+			.map(RepaymentArchiveServiceTests::tuple)
+			.toList();
+	}
+
+	private static List<Tuple> customerMonths(PawnRepaymentService repayments, Long customerId) {
+		Sort oldestFirst = Sort.by(Sort.Direction.ASC, "paymentDate");
+		return Stream.of(0, 1)
+			.flatMap(page -> repayments.getCustomerRepaymentsByMonthRange(customerId, 6, PageRequest.of(page, 2, oldestFirst)).stream())
+			.map(RepaymentArchiveServiceTests::tuple)
+			.toList();
+	}
+
+	private static Tuple tuple(PawnRepayment repayment) {
+		return new Tuple(repayment.getId(), repayment.getPaymentDate(),
+			repayment.getPaidAmount().stripTrailingZeros(), repayment.getPrincipalPaid().stripTrailingZeros(),
+			repayment.getInterestPaid().stripTrailingZeros(), repayment.getPenaltyPaid().stripTrailingZeros(),
+			repayment.getRemainingPrincipal().stripTrailingZeros());
+	}
+
+	private Branch branch(String name) {
+		Branch branch = new Branch();
+		branch.setName(name);
+		entityManager.persist(branch);
+		return branch;
+	}
+
+	private Currency currency(String code) {
+		Currency currency = new Currency();
+		currency.setCode(code);
+		currency.setDecimalPlace(2);
+		entityManager.persist(currency);
+		return currency;
+	}
+
+	private PawnLoan loan(Branch branch, Currency currency, LoanStatus status) {
+		Customer customer = new Customer();
+		customer.setFullName("Archive Customer");
+		customer.setIdNumber("ARCHIVE" + System.nanoTime());
+		entityManager.persist(customer);
+		PawnItem item = new PawnItem();
+		item.setCustomer(customer);
+		entityManager.persist(item);
+
+		PawnLoan loan = new PawnLoan();
+		loan.setLoanCode("ARCHIVE-" + item.getId());
+		loan.setBranch(branch);
+		loan.setCurrency(currency);
+		loan.setCustomer(customer);
+		loan.setPawnItem(item);
+		loan.setLoanAmount(new BigDecimal("1000.00"));
+		loan.setInterestRate(new BigDecimal("3.00"));
+		loan.setTotalPayableAmount(new BigDecimal("1030.00"));
+		loan.setLoanDate(LocalDate.now().minusMonths(3));
+		loan.setStatus(status);
+		entityManager.persist(loan);
+		return loan;
+	}
+
+	private void repayment(PawnLoan loan, Currency currency, LocalDate paymentDate, String paid, String principal,
+						   String interest, String penalty, String remaining) {
+		PawnRepayment repayment = new PawnRepayment();
+		repayment.setPawnLoan(loan);
+		repayment.setCurrency(currency);
+		repayment.setPaymentDate(paymentDate);
+		repayment.setPaidAmount(new BigDecimal(paid));
+		repayment.setPrincipalPaid(new BigDecimal(principal));
+		repayment.setInterestPaid(new BigDecimal(interest));
+		repayment.setPenaltyPaid(new BigDecimal(penalty));
+		repayment.setRemainingPrincipal(new BigDecimal(remaining));
+		entityManager.persist(repayment);
+
+		loan.setPrincipalPaid(loan.getPrincipalPaid().add(repayment.getPrincipalPaid()));
+		loan.setInterestPaid(loan.getInterestPaid().add(repayment.getInterestPaid()));
+		loan.setPenaltyPaid(loan.getPenaltyPaid().add(repayment.getPenaltyPaid()));
+	}
+}
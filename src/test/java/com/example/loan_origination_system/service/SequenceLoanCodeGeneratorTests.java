@@ -0,0 +1,126 @@
+package com.example.loan_origination_system.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class SequenceLoanCodeGeneratorTests {
+
+	private static final int BLOCK_SIZE = 50;
+
+	@Test
+	void issuesUniqueIncreasingCodesUnderConcurrency() throws Exception {
+		// Stands in for the database sequence: INCREMENT BY the block size
+		AtomicLong sequence = new AtomicLong(1 - BLOCK_SIZE);
+		AtomicInteger roundTrips = new AtomicInteger();
+		SequenceLoanCodeGenerator generator = new SequenceLoanCodeGenerator(() -> {
+			roundTrips.incrementAndGet();
+			return sequence.addAndGet(BLOCK_SIZE);
+		}, BLOCK_SIZE);
+
+		int threads = 32;
+		int codesPerThread = 2_000;
+		Set<String> codes = ConcurrentHashMap.newKeySet();
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			long branchId = t % 4 + 1;
+			tasks.add(() -> {
+				String previous = "";
+				for (int i = 0; i < codesPerThread; i++) {
+					String code = generator.nextCode(branchId);
+					// Fixed-width numbers, so string order is issue order
+					assertThat(code).isGreaterThan(previous);
+					assertThat(generator.isPlausible(code)).isTrue();
+					codes.add(code);
+					previous = code;
+				}
+				return null;
+			});
+		}
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+			for (Future<Void> result : executor.invokeAll(tasks)) {
+				result.get();
+			}
+		}
+
+		assertThat(codes).hasSize(threads * codesPerThread);
+		assertThat(roundTrips.get()).isEqualTo(threads * codesPerThread / BLOCK_SIZE);
+	}
+
+	@Test
+	void checkDigitRejectsTyposButAcceptsForeignFormats() {
+		SequenceLoanCodeGenerator generator = new SequenceLoanCodeGenerator(() -> 1L, BLOCK_SIZE);
+		String code = generator.nextCode(7L);
+
+		assertThat(code).matches("LOAN-007-0000000001-\\d");
+		assertThat(generator.isPlausible(code)).isTrue();
+
+		// Every single-digit substitution in the number is caught
+		int numberStart = "LOAN-007-".length();
+		for (int i = numberStart; i < numberStart + 10; i++) {
+			char original = code.charAt(i);
+			for (char c = '0'; c <= '9'; c++) {
+				if (c != original) {
+					String typo = code.substring(0, i) + c + code.substring(i + 1);
+					assertThat(generator.isPlausible(typo)).as(typo).isFalse();
+				}
+			}
+		}
+
+		assertThat(generator.isPlausible("LOAN-123456-ABCDEF12")).isTrue();
+	}
+
+	@Test
+	void failedSequenceCreationIsRetriedOnNextUse() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		doThrow(new QueryTimeoutException("lock timeout")).doNothing().when(jdbcTemplate).execute(anyString());
+		when(jdbcTemplate.queryForObject("NEXTVAL", Long.class)).thenReturn(1L, 51L);
+		LongSupplier nextValue = SequenceLoanCodeGenerator.nextValueOf(jdbcTemplate,
+			mock(PlatformTransactionManager.class), "NEXTVAL", BLOCK_SIZE, true);
+
+		assertThatThrownBy(nextValue::getAsLong).isInstanceOf(QueryTimeoutException.class);
+		assertThat(nextValue.getAsLong()).isEqualTo(1L);
+		assertThat(nextValue.getAsLong()).isEqualTo(51L);
+
+		// Created once it succeeded, and not again after that
+		verify(jdbcTemplate, times(2)).execute(anyString());
+	}
+
+	@Test
+	void sequenceIsLeftToTheMigrationWhenHibernateOnlyValidates() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.queryForObject("NEXTVAL", Long.class)).thenReturn(1L);
+		LongSupplier nextValue = SequenceLoanCodeGenerator.nextValueOf(jdbcTemplate,
+			mock(PlatformTransactionManager.class), "NEXTVAL", BLOCK_SIZE,
+			SequenceLoanCodeGenerator.createsSchema("validate"));
+
+		assertThat(nextValue.getAsLong()).isEqualTo(1L);
+		verify(jdbcTemplate, never()).execute(anyString());
+		assertThat(SequenceLoanCodeGenerator.createsSchema("create-drop")).isTrue();
+		assertThat(SequenceLoanCodeGenerator.createsSchema("none")).isFalse();
+	}
+}